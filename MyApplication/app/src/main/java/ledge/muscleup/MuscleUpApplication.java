@@ -1,12 +1,27 @@
 package ledge.muscleup;
 
 import android.app.Application;
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.os.Looper;
 
 import net.danlew.android.joda.JodaTimeAndroid;
 
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+import ledge.muscleup.application.Main;
+import ledge.muscleup.trace.Tracer;
+import ledge.muscleup.business.AccessFactory;
+import ledge.muscleup.business.DashboardSnapshot;
+import ledge.muscleup.persistence.QueryStatistics;
+
 /**
- * The application, for which the only change needed is to initialize libraries when the application
- * is created
+ * The application, which initializes libraries when the application is created and starts
+ * opening the database in the background. Debug builds also collect query statistics, trace
+ * startup, and record business calls that block the main thread
  *
  * @author Cole Kehler
  * @version 1.0
@@ -14,6 +29,12 @@ import net.danlew.android.joda.JodaTimeAndroid;
  */
 
 public final class MuscleUpApplication extends Application {
+    private static final long MAIN_THREAD_BUDGET_MS = 16;   //one frame at 60 fps
+    private static final String DB_PATH = "db";
+    private static final String SEED_PATH = "seed";
+
+    private volatile String databaseError = null;
+
     /**
      * Called when the application is starting, and calls the default application {@code onCreate()}
      * and then initializes any necessary libraries
@@ -21,6 +42,111 @@ public final class MuscleUpApplication extends Application {
     @Override
     public void onCreate() {
         super.onCreate();
+        Tracer.setEnabled(BuildConfig.DEBUG);
+        Tracer.beginSection("MuscleUpApplication.onCreate");
+        Tracer.beginSection("JodaTimeAndroid.init");
         JodaTimeAndroid.init(this);
+        Tracer.endSection();
+        QueryStatistics.setEnabled(BuildConfig.DEBUG);
+        if (BuildConfig.DEBUG)
+            Main.setMainThreadDetection(Looper.getMainLooper().getThread(), MAIN_THREAD_BUDGET_MS, false);
+        startDataAccess();
+        Tracer.endSection();
+    }
+
+    /**
+     * Starts copying the database to the device and opening it on a background thread, if it
+     * isn't already open or opening. Once open, old completed sessions are archived, and rolled up
+     * if the user has chosen to, and the queries of the main screen are run once so that they are
+     * fast when the screen asks for them. What they find is saved as the main screen's snapshot,
+     * so a snapshot left from an earlier day is replaced before the screen is next drawn from it
+     */
+    public void startDataAccess() {
+        Main.startUpInBackground(new Runnable() {
+            @Override
+            public void run() {
+                Tracer.beginSection("MuscleUpApplication.copyDatabaseToDevice");
+                copyDatabaseToDevice();
+                Tracer.endSection();
+            }
+        }, new Runnable() {
+            @Override
+            public void run() {
+                if (Main.getSessionArchiveAgeDays() > 0)
+                    AccessFactory.newAccessWorkoutSessions().archiveOldSessions(Main.getSessionArchiveAgeDays());
+                if (Main.getSessionRollUpAgeDays() > 0)
+                    AccessFactory.newAccessWorkoutSessions().rollUpOldSessions(Main.getSessionRollUpAgeDays());
+                AccessFactory.newAccessDashboard(new File(getFilesDir(), DashboardSnapshot.FILE_NAME)).refreshSnapshot();
+            }
+        });
+    }
+
+    /**
+     * Returns the error that occurred while copying the database to the device, if any
+     * @return the error message, or {@code null} if the database was copied
+     */
+    public String getDatabaseError() {
+        return databaseError;
+    }
+
+    /**
+     * Copies all database files to the device, once for the default profile and once more as the
+     * seed that new profiles start with a copy of
+     */
+    private void copyDatabaseToDevice() {
+        String[] assetNames;
+        File dataDirectory = getDir(DB_PATH, Context.MODE_PRIVATE);
+        File seedDirectory = getDir(SEED_PATH, Context.MODE_PRIVATE);
+        AssetManager assetManager = getAssets();
+
+        try {
+
+            assetNames = assetManager.list(DB_PATH);
+            for (int i = 0; i < assetNames.length; i++) {
+                assetNames[i] = DB_PATH + "/" + assetNames[i];
+            }
+
+            copyAssetsToDirectory(assetNames, dataDirectory);
+            copyAssetsToDirectory(assetNames, seedDirectory);
+
+            Main.setDBPathName(dataDirectory.toString() + "/" + Main.dbName);
+            Main.setSeedPathName(seedDirectory.toString() + "/" + Main.dbName);
+
+        } catch (IOException ioe) {
+            databaseError = "Unable to access application data: " + ioe.getMessage();
+        }
+    }
+
+    /**
+     * Copies all assets files to a given directory, provided they don't already exists
+     * @param assets the files in the assets folder
+     * @param directory the directory to copy to
+     * @throws IOException when an error occurring while reading or writing
+     */
+    private void copyAssetsToDirectory(String[] assets, File directory) throws IOException {
+        AssetManager assetManager = getAssets();
+
+        for (String asset : assets) {
+            String[] components = asset.split("/");
+            String copyPath = directory.toString() + "/" + components[components.length - 1];
+            char[] buffer = new char[1024];
+            int count;
+
+            File outFile = new File(copyPath);
+
+            if (!outFile.exists()) {
+                InputStreamReader in = new InputStreamReader(assetManager.open(asset));
+                FileWriter out = new FileWriter(outFile);
+
+                count = in.read(buffer);
+                while (count != -1) {
+                    out.write(buffer, 0, count);
+                    count = in.read(buffer);
+                }
+
+                out.close();
+                in.close();
+            }
+        }
     }
 }
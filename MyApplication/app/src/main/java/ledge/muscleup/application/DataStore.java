@@ -0,0 +1,433 @@
+package ledge.muscleup.application;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import ledge.muscleup.persistence.InterfaceBackupDataAccess;
+import ledge.muscleup.persistence.InterfaceDataAccess;
+import ledge.muscleup.persistence.InterfaceExerciseDataAccess;
+import ledge.muscleup.persistence.InterfaceExperienceDataAccess;
+import ledge.muscleup.persistence.InterfaceExportDataAccess;
+import ledge.muscleup.persistence.InterfaceImportDataAccess;
+import ledge.muscleup.persistence.InterfaceSyncDataAccess;
+import ledge.muscleup.persistence.InterfaceWorkoutDataAccess;
+import ledge.muscleup.persistence.InterfaceWorkoutSessionDataAccess;
+import ledge.muscleup.trace.Tracer;
+
+/**
+ * A store of profile databases, with the data access objects that use them, which is created,
+ * opened and closed on its own. Every profile has a database of its own, and the most recently
+ * used profiles are kept open, up to a limit, so that switching back to one of them doesn't need
+ * to open its database again. The database can be opened on a background thread, in which case
+ * retrieving it blocks until it is open.
+ * <p>
+ * The app uses the default store through Services. Stores kept at paths of their own share
+ * nothing with it or with each other, so a test or a server can open several at once and use
+ * them from different threads, one thread per store at a time
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-07
+ */
+public class DataStore {
+    public static final int DEFAULT_PROFILE_LIMIT = 3;
+    public static final String PROFILE_NAME_PATTERN = "[A-Za-z0-9_-]+";
+
+    private static final String OPEN_THREAD_NAME = "Services.open";
+
+    //the open profiles, from the least to the most recently used
+    private final Map<String, ProfileStore> openProfiles = new LinkedHashMap<>(16, 0.75f, true);
+    private final String dbPathName;
+    private final String seedPathName;
+    //changed under the lock, but read without it by the getters
+    private volatile ProfileStore activeProfile = null;
+    private String profileDBName = Main.dbName;
+    private int profileLimit = DEFAULT_PROFILE_LIMIT;
+
+    private volatile CountDownLatch openLatch = null;
+    private volatile Thread openThread = null;
+
+    /**
+     * The constructor for a DataStore kept where the application keeps its database
+     */
+    public DataStore() {
+        this(null, null);
+    }
+
+    /**
+     * The constructor for a DataStore kept at a path of its own, whose profiles are kept next to
+     * its default profile the same way the profiles of the application are
+     * @param dbPathName the path of the database file of the default profile, or {@code null} to
+     *                   use the database file of the application
+     * @param seedPathName the path of the database file new profiles start with a copy of, or
+     *                     {@code null} if there is none
+     */
+    public DataStore(String dbPathName, String seedPathName) {
+        this.dbPathName = dbPathName;
+        this.seedPathName = seedPathName;
+    }
+
+    /**
+     * Creates and opens the database of the default profile, if it hasn't already been created
+     * @param dbName the name of the database
+     */
+    public void createDataAccess(String dbName) {
+        awaitDataAccess();
+        synchronized (this) {
+            if (activeProfile == null) {
+                Tracer.beginSection("Services.createDataAccess");
+                try {
+                    profileDBName = dbName;
+                    activate(newProfileStore(Main.DEFAULT_PROFILE));
+                }
+                finally {
+                    Tracer.endSection();
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts creating and opening the database on a background thread, if it hasn't already been
+     * created or started. Until the background thread is done, retrieving or closing the database
+     * from any other thread blocks
+     * @param dbName the name of the database
+     * @param prepare work to run on the background thread before the database is opened, such as
+     *                copying the database to the device, or {@code null}
+     * @param warmUp work to run on the background thread once the database is open, before other
+     *               threads may use it, such as the queries of the first screen, or {@code null}
+     */
+    public synchronized void createDataAccessInBackground(final String dbName, final Runnable prepare,
+                                                          final Runnable warmUp) {
+        final CountDownLatch latch;
+
+        if (activeProfile == null && openLatch == null) {
+            latch = new CountDownLatch(1);
+            openThread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        if (prepare != null)
+                            prepare.run();
+                        createDataAccess(dbName);
+                        if (warmUp != null && activeProfile != null) {
+                            Tracer.beginSection("Services.warmUp");
+                            try {
+                                warmUp.run();
+                            }
+                            finally {
+                                Tracer.endSection();
+                            }
+                        }
+                    }
+                    finally {
+                        openThread = null;
+                        latch.countDown();
+                    }
+                }
+            }, OPEN_THREAD_NAME);
+            openLatch = latch;
+            openThread.start();
+        }
+    }
+
+    /**
+     * Creates and opens the database of the default profile, using an alternative database
+     * implementation
+     * @param altDataAccessService the alternative database implementation
+     */
+    public void createDataAccess(InterfaceDataAccess altDataAccessService,
+                                 InterfaceExerciseDataAccess altExerciseDataAccessService,
+                                 InterfaceExperienceDataAccess altExperienceDataAccess,
+                                 InterfaceWorkoutDataAccess altWorkoutDataAccess,
+                                 InterfaceWorkoutSessionDataAccess altWorkoutSessionDataAccess,
+                                 InterfaceExportDataAccess altExportDataAccess,
+                                 InterfaceImportDataAccess altImportDataAccess,
+                                 InterfaceBackupDataAccess altBackupDataAccess,
+                                 InterfaceSyncDataAccess altSyncDataAccess) {
+        awaitDataAccess();
+        synchronized (this) {
+            if (activeProfile == null) {
+                activate(new ProfileStore(Main.DEFAULT_PROFILE, altDataAccessService, altExerciseDataAccessService,
+                        altExperienceDataAccess, altWorkoutDataAccess, altWorkoutSessionDataAccess,
+                        altExportDataAccess, altImportDataAccess, altBackupDataAccess, altSyncDataAccess));
+            }
+        }
+    }
+
+    /**
+     * Switches to another profile, opening its database if it isn't one of the profiles that are
+     * still open, and creating it if the profile is new. Business objects created before keep
+     * using the profile that was in use when they were created, so they should be created again
+     * @param profile the name of the profile, made of letters, digits, '-' and '_'
+     * @throws IllegalArgumentException if the name of the profile is invalid
+     */
+    public void switchProfile(String profile) {
+        ProfileStore store;
+
+        if (profile == null || !profile.matches(PROFILE_NAME_PATTERN))
+            throw new IllegalArgumentException("Invalid or null data passed to a method!!!");
+
+        awaitDataAccess();
+        synchronized (this) {
+            if (activeProfile == null || !activeProfile.getProfile().equals(profile)) {
+                Tracer.beginSection("Services.switchProfile");
+                try {
+                    store = openProfiles.get(profile);
+                    if (store != null)
+                        activeProfile = store;
+                    else
+                        activate(newProfileStore(profile));
+                }
+                finally {
+                    Tracer.endSection();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the name of the profile in use
+     * @return the name of the profile, or {@code null} if the database hasn't been created
+     */
+    public String getProfile() {
+        ProfileStore store;
+
+        awaitDataAccess();
+        store = activeProfile;
+        return store == null ? null : store.getProfile();
+    }
+
+    /**
+     * Gets the names of the profiles whose databases are open
+     * @return the names of the open profiles, from the least to the most recently used
+     */
+    public List<String> getOpenProfiles() {
+        awaitDataAccess();
+        synchronized (this) {
+            return new ArrayList<>(openProfiles.keySet());
+        }
+    }
+
+    /**
+     * Sets how many profiles are kept open. The least recently used profiles are closed when
+     * there are more open than the limit, but the profile in use is never closed
+     * @param limit the most profiles to keep open, at least 1
+     * @throws IllegalArgumentException if the limit is less than 1
+     */
+    public void setProfileLimit(int limit) {
+        if (limit < 1)
+            throw new IllegalArgumentException("Invalid or null data passed to a method!!!");
+
+        awaitDataAccess();
+        synchronized (this) {
+            profileLimit = limit;
+            closeLeastRecentlyUsed();
+        }
+    }
+
+    /**
+     * Gets the class which gives access to exercise data
+     * @return access to exercise data
+     */
+    public InterfaceExerciseDataAccess getExerciseDataAccess() {
+        ProfileStore store = getActiveProfile();
+        return store == null ? null : store.getExerciseDataAccess();
+    }
+
+    /**
+     * Gets the class which gives access to workout data
+     * @return access to workout data
+     */
+    public InterfaceWorkoutDataAccess getWorkoutDataAccess() {
+        ProfileStore store = getActiveProfile();
+        return store == null ? null : store.getWorkoutDataAccess();
+    }
+
+    /**
+     * Gets the class which gives access to workout session data
+     * @return access to workout session data
+     */
+    public InterfaceWorkoutSessionDataAccess getWorkoutSessionDataAccess() {
+        ProfileStore store = getActiveProfile();
+        return store == null ? null : store.getWorkoutSessionDataAccess();
+    }
+
+    /**
+     * Gets the class which gives access to experience data
+     * @return access to experience data
+     */
+    public InterfaceExperienceDataAccess getExperienceDataAccess() {
+        ProfileStore store = getActiveProfile();
+        return store == null ? null : store.getExperienceDataAccess();
+    }
+
+    /**
+     * Gets the class which exports the workout history
+     * @return access to exporting the workout history
+     */
+    public InterfaceExportDataAccess getExportDataAccess() {
+        ProfileStore store = getActiveProfile();
+        return store == null ? null : store.getExportDataAccess();
+    }
+
+    /**
+     * Gets the class which imports workout history
+     * @return access to importing workout history
+     */
+    public InterfaceImportDataAccess getImportDataAccess() {
+        ProfileStore store = getActiveProfile();
+        return store == null ? null : store.getImportDataAccess();
+    }
+
+    /**
+     * Gets the class which backs up and restores the database
+     * @return access to backing up and restoring the database
+     */
+    public InterfaceBackupDataAccess getBackupDataAccess() {
+        ProfileStore store = getActiveProfile();
+        return store == null ? null : store.getBackupDataAccess();
+    }
+
+    /**
+     * Gets the class which syncs the workout sessions with other devices
+     * @return access to syncing the workout sessions
+     */
+    public InterfaceSyncDataAccess getSyncDataAccess() {
+        ProfileStore store = getActiveProfile();
+        return store == null ? null : store.getSyncDataAccess();
+    }
+
+    /**
+     * Closes the database of every open profile, if the database exists. Sets the activeProfile
+     * variable to null
+     */
+    public void closeDataAccess() {
+        awaitDataAccess();
+        synchronized (this) {
+            openLatch = null;
+            for (ProfileStore store : openProfiles.values())
+                store.close();
+            openProfiles.clear();
+            activeProfile = null;
+        }
+    }
+
+    /**
+     * Closes and opens the database of the profile in use again, keeping the same data access
+     * objects, so that business objects created before still work. Opening the database applies
+     * any restore that has been requested, so restoring doesn't need the application to be
+     * restarted. Nothing else should use the database while it is reopened
+     */
+    public void reopenDataAccess() {
+        awaitDataAccess();
+        synchronized (this) {
+            if (activeProfile != null) {
+                Tracer.beginSection("Services.reopenDataAccess");
+                try {
+                    activeProfile.close();
+                    activeProfile.open();
+                }
+                finally {
+                    Tracer.endSection();
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the store of a profile, kept where the profiles of this DataStore belong
+     * @param profile the name of the profile
+     * @return the store of the profile, not yet open
+     */
+    private ProfileStore newProfileStore(String profile) {
+        if (dbPathName == null)
+            return new ProfileStore(profileDBName, profile);
+        else
+            return new ProfileStore(profileDBName, profile, Main.getProfileDBPathName(dbPathName, profile),
+                    seedPathName);
+    }
+
+    /**
+     * Opens the database of a profile and starts using it, closing the least recently used
+     * profiles if there are too many open
+     * @param store the profile to open
+     */
+    private void activate(ProfileStore store) {
+        store.open();
+        openProfiles.put(store.getProfile(), store);
+        activeProfile = store;
+        closeLeastRecentlyUsed();
+    }
+
+    /**
+     * Closes the least recently used profiles until there are no more open than the limit,
+     * leaving the profile in use open
+     */
+    private void closeLeastRecentlyUsed() {
+        Iterator<ProfileStore> stores = openProfiles.values().iterator();
+        ProfileStore store;
+
+        while (openProfiles.size() > profileLimit && stores.hasNext()) {
+            store = stores.next();
+            if (store != activeProfile) {
+                stores.remove();
+                store.close();
+            }
+        }
+    }
+
+    /**
+     * Gets the profile in use, waiting for its database to finish opening if needed
+     * @return the profile in use, or {@code null} if the database hasn't been created
+     */
+    private ProfileStore getActiveProfile() {
+        if (!awaitDataAccess())
+            handleUninitializedDB();
+        return activeProfile;
+    }
+
+    /**
+     * Waits for the database to finish opening if it is being opened on a background thread. The
+     * background thread itself never waits, so that it can warm up the database. Since the
+     * background thread takes the lock to open the database, this is called before taking it
+     * @return {@code true} if the database is open, or {@code false} otherwise
+     */
+    private boolean awaitDataAccess() {
+        CountDownLatch latch = openLatch;
+        boolean interrupted = false;
+
+        if (latch != null && latch.getCount() > 0 && Thread.currentThread() != openThread) {
+            Tracer.beginSection("Services.awaitDataAccess");
+            try {
+                while (latch.getCount() > 0) {
+                    try {
+                        latch.await();
+                    }
+                    catch (InterruptedException ie) {
+                        interrupted = true;
+                    }
+                }
+            }
+            finally {
+                Tracer.endSection();
+            }
+
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+
+        return activeProfile != null;
+    }
+
+    /**
+     * Handles cases where attempts are made to modify an uninitialized database
+     */
+    private void handleUninitializedDB() {
+        System.out.println("Connection to data access has not been established");
+    }
+}
@@ -1,5 +1,8 @@
 package ledge.muscleup.application;
 
+import ledge.muscleup.business.MainThreadDetector;
+import ledge.muscleup.trace.Tracer;
+
 /**
  * A class containing static methods for initializing the application and the database
  *
@@ -9,14 +12,81 @@ package ledge.muscleup.application;
  */
 public class Main {
     public static final String dbName = "MU_DB";
+    public static final String DEFAULT_PROFILE = "default";
+    private static final String PROFILES_DIRECTORY_SUFFIX = "_profiles";
     private static String dbPathName = "app/MU_DB";
+    private static String seedPathName = "app/MU_DB";
+    private static int sessionArchiveAgeDays = 90;     //reads almost always hit the last few weeks
+    private static int sessionRollUpAgeDays = 0;
+
+    private static Thread detectedThread = null;
+    private static long detectionBudgetMillis;
+    private static boolean failOnDetection;
 
     /**
-     * Create the database
+     * Create the database, and turn on main thread detection if it was requested
      */
     public static void startUp()
     {
-        Services.createDataAccess(dbName);
+        Tracer.beginSection("Main.startUp");
+        try {
+            Services.createDataAccess(dbName);
+            enableDetection();
+        }
+        finally {
+            Tracer.endSection();
+        }
+    }
+
+    /**
+     * Start creating the database on a background thread, and turn on main thread detection if it
+     * was requested. Anything that needs the database waits until it has been created
+     * @param prepare work to run on the background thread before the database is opened, or
+     *                {@code null}
+     * @param warmUp work to run on the background thread once the database is open, such as the
+     *               queries of the first screen, or {@code null}
+     */
+    public static void startUpInBackground(Runnable prepare, Runnable warmUp)
+    {
+        Services.createDataAccessInBackground(dbName, prepare, warmUp);
+        enableDetection();
+    }
+
+    /**
+     * Requests that business calls blocking the given thread for longer than the budget are
+     * detected once the application has started up
+     * @param mainThread the thread to detect blocking calls on, or {@code null} to turn
+     *                   detection off
+     * @param budgetMillis the longest a call may block the thread, in milliseconds
+     * @param failOnViolation {@code true} to fail calls that go over the budget, or
+     *                        {@code false} to only record them
+     */
+    public static void setMainThreadDetection(Thread mainThread, long budgetMillis, boolean failOnViolation)
+    {
+        detectedThread = mainThread;
+        detectionBudgetMillis = budgetMillis;
+        failOnDetection = failOnViolation;
+
+        if (mainThread == null)
+            MainThreadDetector.disable();
+    }
+
+    /**
+     * Turn on main thread detection, if it was requested
+     */
+    private static void enableDetection()
+    {
+        if (detectedThread != null)
+            MainThreadDetector.enable(detectedThread, detectionBudgetMillis, failOnDetection);
+    }
+
+    /**
+     * Switch to another profile, creating it if it is new
+     * @param profile the name of the profile, made of letters, digits, '-' and '_'
+     */
+    public static void switchProfile(String profile)
+    {
+        Services.switchProfile(profile);
     }
 
     /**
@@ -45,4 +115,86 @@ public class Main {
     public static void setDBPathName(String pathName) {
         dbPathName = pathName;
     }
+
+    /**
+     * Get the path of the database file of a profile. The default profile uses the database file
+     * the application has always used, and every other profile has a directory of its own next
+     * to it, so that its backups are kept apart as well
+     * @param profile the name of the profile
+     * @return the path of the database file of the profile
+     */
+    public static String getProfileDBPathName(String profile) {
+        return getProfileDBPathName(getDBPathName(), profile);
+    }
+
+    /**
+     * Get the path of the database file of a profile of a store kept somewhere other than the
+     * database file of the application, laid out the same way
+     * @param dbPathName the path of the database file of the default profile of the store
+     * @param profile the name of the profile
+     * @return the path of the database file of the profile
+     */
+    public static String getProfileDBPathName(String dbPathName, String profile) {
+        if (DEFAULT_PROFILE.equals(profile))
+            return dbPathName;
+        else
+            return dbPathName + PROFILES_DIRECTORY_SUFFIX + "/" + profile + "/" + dbName;
+    }
+
+    /**
+     * Get the path of the database file that new profiles start with a copy of
+     * @return the path of the seed database file, or {@code null} if there is none
+     */
+    public static String getSeedPathName() {
+        return seedPathName;
+    }
+
+    /**
+     * Set the path of the database file that new profiles start with a copy of
+     * @param pathName the new path of the seed database file, or {@code null} if there is none
+     */
+    public static void setSeedPathName(String pathName) {
+        seedPathName = pathName;
+    }
+
+    /**
+     * Get how many days old a completed workout session must be before it is archived
+     * @return the age in days, or 0 if sessions are never archived
+     */
+    public static int getSessionArchiveAgeDays() {
+        return sessionArchiveAgeDays;
+    }
+
+    /**
+     * Set how many days old a completed workout session must be before it is archived. Archived
+     * sessions are still read as before, so this only changes how many sessions stay in the tables
+     * read and changed day to day
+     * @param ageDays the age in days, or 0 to never archive sessions
+     * @throws IllegalArgumentException if passed a negative age
+     */
+    public static void setSessionArchiveAgeDays(int ageDays) throws IllegalArgumentException {
+        if (ageDays < 0)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        sessionArchiveAgeDays = ageDays;
+    }
+
+    /**
+     * Get how many days old a completed workout session must be before only its summary is kept
+     * @return the age in days, or 0 if sessions are never rolled up
+     */
+    public static int getSessionRollUpAgeDays() {
+        return sessionRollUpAgeDays;
+    }
+
+    /**
+     * Set how many days old a completed workout session must be before only its summary is kept.
+     * Sessions are never rolled up unless this is set, since their exercises can't be brought back
+     * @param ageDays the age in days, or 0 to never roll up sessions
+     * @throws IllegalArgumentException if passed a negative age
+     */
+    public static void setSessionRollUpAgeDays(int ageDays) throws IllegalArgumentException {
+        if (ageDays < 0)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        sessionRollUpAgeDays = ageDays;
+    }
 }
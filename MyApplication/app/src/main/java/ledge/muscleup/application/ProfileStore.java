@@ -0,0 +1,330 @@
+package ledge.muscleup.application;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import ledge.muscleup.persistence.BackupDataAccess;
+import ledge.muscleup.persistence.DataAccess;
+import ledge.muscleup.persistence.ExerciseDataAccess;
+import ledge.muscleup.persistence.ExperienceDataAccess;
+import ledge.muscleup.persistence.ExportDataAccess;
+import ledge.muscleup.persistence.ImportDataAccess;
+import ledge.muscleup.persistence.InterfaceBackupDataAccess;
+import ledge.muscleup.persistence.InterfaceDataAccess;
+import ledge.muscleup.persistence.InterfaceExerciseDataAccess;
+import ledge.muscleup.persistence.InterfaceExperienceDataAccess;
+import ledge.muscleup.persistence.InterfaceExportDataAccess;
+import ledge.muscleup.persistence.InterfaceImportDataAccess;
+import ledge.muscleup.persistence.InterfaceSyncDataAccess;
+import ledge.muscleup.persistence.InterfaceWorkoutDataAccess;
+import ledge.muscleup.persistence.InterfaceWorkoutSessionDataAccess;
+import ledge.muscleup.persistence.SyncDataAccess;
+import ledge.muscleup.persistence.WorkoutDataAccess;
+import ledge.muscleup.persistence.WorkoutSessionDataAccess;
+import ledge.muscleup.trace.Tracer;
+
+/**
+ * The database of one profile, along with the data access objects that use it. Every profile has
+ * a database file of its own, so each one only ever holds the data of one person. A profile that
+ * doesn't have a database yet starts with a copy of the seed database. The app keeps a store for
+ * each of its profiles through a DataStore, and the headless server keeps one for each of its
+ * tenants
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-04
+ */
+public final class ProfileStore {
+    private static final String SCRIPT_EXTENSION = ".script";
+
+    private final String profile;
+    private final InterfaceDataAccess dataAccess;
+    private final InterfaceExerciseDataAccess exerciseDataAccess;
+    private final InterfaceExperienceDataAccess experienceDataAccess;
+    private final InterfaceWorkoutDataAccess workoutDataAccess;
+    private final InterfaceWorkoutSessionDataAccess workoutSessionDataAccess;
+    private final InterfaceExportDataAccess exportDataAccess;
+    private final InterfaceImportDataAccess importDataAccess;
+    private final InterfaceBackupDataAccess backupDataAccess;
+    private final InterfaceSyncDataAccess syncDataAccess;
+    private String dbPathName = null;
+    private String seedPathName = null;
+
+    /**
+     * The constructor for the ProfileStore, for a profile using the HSQL database
+     * @param dbName the name of the database
+     * @param profile the name of the profile
+     */
+    public ProfileStore(String dbName, String profile) {
+        this(profile, new DataAccess(dbName), new ExerciseDataAccess(), new ExperienceDataAccess(),
+                new WorkoutDataAccess(), new WorkoutSessionDataAccess(), new ExportDataAccess(),
+                new ImportDataAccess(), new BackupDataAccess(), new SyncDataAccess());
+    }
+
+    /**
+     * The constructor for the ProfileStore, for a profile using the HSQL database kept at a path
+     * of its own rather than where the application keeps its profiles
+     * @param dbName the name of the database
+     * @param profile the name of the profile
+     * @param dbPathName the path of the database file of the profile
+     * @param seedPathName the path of the database file to start the profile with a copy of, or
+     *                     {@code null} if there is none
+     */
+    public ProfileStore(String dbName, String profile, String dbPathName, String seedPathName) {
+        this(dbName, profile);
+        this.dbPathName = dbPathName;
+        this.seedPathName = seedPathName;
+    }
+
+    /**
+     * The constructor for the ProfileStore, for a profile using the given data access objects
+     * @param profile the name of the profile
+     */
+    public ProfileStore(String profile, InterfaceDataAccess dataAccess,
+                        InterfaceExerciseDataAccess exerciseDataAccess,
+                        InterfaceExperienceDataAccess experienceDataAccess,
+                        InterfaceWorkoutDataAccess workoutDataAccess,
+                        InterfaceWorkoutSessionDataAccess workoutSessionDataAccess,
+                        InterfaceExportDataAccess exportDataAccess,
+                        InterfaceImportDataAccess importDataAccess,
+                        InterfaceBackupDataAccess backupDataAccess,
+                        InterfaceSyncDataAccess syncDataAccess) {
+        this.profile = profile;
+        this.dataAccess = dataAccess;
+        this.exerciseDataAccess = exerciseDataAccess;
+        this.experienceDataAccess = experienceDataAccess;
+        this.workoutDataAccess = workoutDataAccess;
+        this.workoutSessionDataAccess = workoutSessionDataAccess;
+        this.exportDataAccess = exportDataAccess;
+        this.importDataAccess = importDataAccess;
+        this.backupDataAccess = backupDataAccess;
+        this.syncDataAccess = syncDataAccess;
+    }
+
+    /**
+     * Opens the database of the profile, creating it from the seed database first if the profile
+     * doesn't have one yet, and then opens each data access object on it
+     */
+    public void open() {
+        String dbPathName = this.dbPathName != null ? this.dbPathName : Main.getProfileDBPathName(profile);
+
+        createFromSeed(dbPathName);
+
+        //opening a data access object only creates its statement, so they are all opened here,
+        //on the thread opening the database, rather than on first use
+        Tracer.beginSection("DataAccess.open");
+        try {
+            dataAccess.open(dbPathName);
+        }
+        finally {
+            Tracer.endSection();
+        }
+        Tracer.beginSection("ExerciseDataAccess.open");
+        try {
+            exerciseDataAccess.open(dataAccess.getNewStatement());
+        }
+        finally {
+            Tracer.endSection();
+        }
+        Tracer.beginSection("ExperienceDataAccess.open");
+        try {
+            experienceDataAccess.open(dataAccess.getNewStatement());
+        }
+        finally {
+            Tracer.endSection();
+        }
+        Tracer.beginSection("WorkoutDataAccess.open");
+        try {
+            workoutDataAccess.open(dataAccess.getNewStatement());
+        }
+        finally {
+            Tracer.endSection();
+        }
+        Tracer.beginSection("WorkoutSessionDataAccess.open");
+        try {
+            workoutSessionDataAccess.open(dataAccess.getNewStatement());
+        }
+        finally {
+            Tracer.endSection();
+        }
+        Tracer.beginSection("ExportDataAccess.open");
+        try {
+            exportDataAccess.open(dataAccess.getNewStatement());
+        }
+        finally {
+            Tracer.endSection();
+        }
+        Tracer.beginSection("ImportDataAccess.open");
+        try {
+            importDataAccess.open(dataAccess.getNewStatement());
+        }
+        finally {
+            Tracer.endSection();
+        }
+        Tracer.beginSection("BackupDataAccess.open");
+        try {
+            backupDataAccess.open(dataAccess.getNewStatement());
+        }
+        finally {
+            Tracer.endSection();
+        }
+        Tracer.beginSection("SyncDataAccess.open");
+        try {
+            syncDataAccess.open(dataAccess.getNewStatement());
+        }
+        finally {
+            Tracer.endSection();
+        }
+    }
+
+    /**
+     * Closes each data access object, and then the database of the profile
+     */
+    public void close() {
+        exerciseDataAccess.close();
+        experienceDataAccess.close();
+        workoutDataAccess.close();
+        workoutSessionDataAccess.close();
+        exportDataAccess.close();
+        importDataAccess.close();
+        backupDataAccess.close();
+        syncDataAccess.close();
+        dataAccess.close();
+    }
+
+    /**
+     * Copies the seed database to where the database of the profile belongs, if the profile
+     * doesn't have a database yet and there is a seed database to copy
+     * @param dbPathName the path of the database of the profile
+     */
+    private void createFromSeed(String dbPathName) {
+        File script = new File(dbPathName + SCRIPT_EXTENSION);
+        String seedPathName = this.dbPathName != null ? this.seedPathName : Main.getSeedPathName();
+        File seedScript;
+        File directory;
+
+        if (seedPathName != null && !script.exists()) {
+            seedScript = new File(seedPathName + SCRIPT_EXTENSION);
+            directory = script.getAbsoluteFile().getParentFile();
+            try {
+                if (!directory.isDirectory() && !directory.mkdirs())
+                    throw new IOException("Unable to create " + directory);
+                copy(seedScript, script);
+            }
+            catch (IOException ioe) {
+                System.out.println("Unable to create the database of profile " + profile + ": " + ioe.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Copies a file
+     * @param source the file to copy
+     * @param destination the file to copy to
+     * @throws IOException if the file could not be read or written
+     */
+    private static void copy(File source, File destination) throws IOException {
+        byte[] buffer = new byte[8192];
+        InputStream in = new FileInputStream(source);
+        OutputStream out = null;
+        int count;
+
+        try {
+            out = new FileOutputStream(destination);
+            count = in.read(buffer);
+            while (count != -1) {
+                out.write(buffer, 0, count);
+                count = in.read(buffer);
+            }
+        }
+        finally {
+            in.close();
+            if (out != null)
+                out.close();
+        }
+    }
+
+    /**
+     * Gets the name of the profile
+     * @return the name of the profile
+     */
+    public String getProfile() {
+        return profile;
+    }
+
+    /**
+     * Gets the database of the profile
+     * @return the database of the profile
+     */
+    public InterfaceDataAccess getDataAccess() {
+        return dataAccess;
+    }
+
+    /**
+     * Gets the access to exercise data of the profile
+     * @return access to exercise data
+     */
+    public InterfaceExerciseDataAccess getExerciseDataAccess() {
+        return exerciseDataAccess;
+    }
+
+    /**
+     * Gets the access to experience data of the profile
+     * @return access to experience data
+     */
+    public InterfaceExperienceDataAccess getExperienceDataAccess() {
+        return experienceDataAccess;
+    }
+
+    /**
+     * Gets the access to workout data of the profile
+     * @return access to workout data
+     */
+    public InterfaceWorkoutDataAccess getWorkoutDataAccess() {
+        return workoutDataAccess;
+    }
+
+    /**
+     * Gets the access to workout session data of the profile
+     * @return access to workout session data
+     */
+    public InterfaceWorkoutSessionDataAccess getWorkoutSessionDataAccess() {
+        return workoutSessionDataAccess;
+    }
+
+    /**
+     * Gets the access to exporting the workout history of the profile
+     * @return access to exporting the workout history
+     */
+    public InterfaceExportDataAccess getExportDataAccess() {
+        return exportDataAccess;
+    }
+
+    /**
+     * Gets the access to importing workout history into the profile
+     * @return access to importing workout history
+     */
+    public InterfaceImportDataAccess getImportDataAccess() {
+        return importDataAccess;
+    }
+
+    /**
+     * Gets the access to backing up and restoring the database of the profile
+     * @return access to backing up and restoring the database
+     */
+    public InterfaceBackupDataAccess getBackupDataAccess() {
+        return backupDataAccess;
+    }
+
+    /**
+     * Gets the access to syncing the workout sessions of the profile with other devices
+     * @return access to syncing the workout sessions
+     */
+    public InterfaceSyncDataAccess getSyncDataAccess() {
+        return syncDataAccess;
+    }
+}
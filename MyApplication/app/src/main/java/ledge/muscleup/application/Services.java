@@ -1,74 +1,120 @@
 package ledge.muscleup.application;
 
-import ledge.muscleup.persistence.DataAccess;
-import ledge.muscleup.persistence.ExerciseDataAccess;
-import ledge.muscleup.persistence.ExperienceDataAccess;
+import java.util.List;
+
+import ledge.muscleup.persistence.InterfaceBackupDataAccess;
 import ledge.muscleup.persistence.InterfaceDataAccess;
 import ledge.muscleup.persistence.InterfaceExerciseDataAccess;
 import ledge.muscleup.persistence.InterfaceExperienceDataAccess;
+import ledge.muscleup.persistence.InterfaceExportDataAccess;
+import ledge.muscleup.persistence.InterfaceImportDataAccess;
+import ledge.muscleup.persistence.InterfaceSyncDataAccess;
 import ledge.muscleup.persistence.InterfaceWorkoutDataAccess;
 import ledge.muscleup.persistence.InterfaceWorkoutSessionDataAccess;
-import ledge.muscleup.persistence.WorkoutDataAccess;
-import ledge.muscleup.persistence.WorkoutSessionDataAccess;
 
 /**
- * A class containing static methods for creating, retrieving, and closing the DataAccess.
- * The methods in this class also ensure that only one DataAccess is created
+ * A class containing static methods for creating, retrieving, and closing the DataAccess of the
+ * application, which it keeps in the default DataStore. The methods in this class also ensure
+ * that only one DataAccess is created for each profile. The DataAccess can be opened on a
+ * background thread, in which case retrieving it blocks until it is open. Every profile has a
+ * database of its own, and the most recently used profiles are kept open, up to a limit, so that
+ * switching back to one of them doesn't need to open its database again. Anything that needs a
+ * database of its own, apart from the application's, should create a DataStore instead
  *
  * @author Ryan Koop
- * @version 1.0
+ * @version 2.0
  * @since 2017-06-05
  */
 public class Services {
-    private static InterfaceDataAccess dataAccessService = null;
-    private static InterfaceExerciseDataAccess exerciseDataAccessService = null;
-    private static InterfaceExperienceDataAccess experienceDataAccessService = null;
-    private static InterfaceWorkoutDataAccess workoutDataAccessService = null;
-    private static InterfaceWorkoutSessionDataAccess workoutSessionDataAccessService = null;
+    public static final int DEFAULT_PROFILE_LIMIT = DataStore.DEFAULT_PROFILE_LIMIT;
+    public static final String PROFILE_NAME_PATTERN = DataStore.PROFILE_NAME_PATTERN;
+
+    private static final DataStore defaultStore = new DataStore();
+
+    /**
+     * Gets the store the application keeps its databases in
+     * @return the default DataStore
+     */
+    public static DataStore getDefaultStore() {
+        return defaultStore;
+    }
 
     /**
-     * Creates and opens the database, if it hasn't already been created
+     * Creates and opens the database of the default profile, if it hasn't already been created
      * @param dbName the name of the database
      */
     public static void createDataAccess(String dbName) {
-        if (dataAccessService == null) {
-            dataAccessService = new DataAccess(dbName);
-            exerciseDataAccessService = new ExerciseDataAccess();
-            experienceDataAccessService = new ExperienceDataAccess();
-            workoutDataAccessService = new WorkoutDataAccess();
-            workoutSessionDataAccessService = new WorkoutSessionDataAccess();
-
-            dataAccessService.open(Main.getDBPathName());
-            exerciseDataAccessService.open(dataAccessService.getNewStatement());
-            experienceDataAccessService.open(dataAccessService.getNewStatement());
-            workoutDataAccessService.open(dataAccessService.getNewStatement());
-            workoutSessionDataAccessService.open(dataAccessService.getNewStatement());
+        defaultStore.createDataAccess(dbName);
+    }
 
-        }
+    /**
+     * Starts creating and opening the database on a background thread, if it hasn't already been
+     * created or started. Until the background thread is done, retrieving or closing the database
+     * from any other thread blocks
+     * @param dbName the name of the database
+     * @param prepare work to run on the background thread before the database is opened, such as
+     *                copying the database to the device, or {@code null}
+     * @param warmUp work to run on the background thread once the database is open, before other
+     *               threads may use it, such as the queries of the first screen, or {@code null}
+     */
+    public static void createDataAccessInBackground(String dbName, Runnable prepare, Runnable warmUp) {
+        defaultStore.createDataAccessInBackground(dbName, prepare, warmUp);
     }
 
     /**
-     * Creates and opens the database, using an alternative database implementation
+     * Creates and opens the database of the default profile, using an alternative database
+     * implementation
      * @param altDataAccessService the alternative database implementation
      */
     public static void createDataAccess(InterfaceDataAccess altDataAccessService,
                                         InterfaceExerciseDataAccess altExerciseDataAccessService,
                                         InterfaceExperienceDataAccess altExperienceDataAccess,
                                         InterfaceWorkoutDataAccess altWorkoutDataAccess,
-                                        InterfaceWorkoutSessionDataAccess altWorkoutSessionDataAccess) {
-        if (dataAccessService == null) {
-            dataAccessService = altDataAccessService;
-            exerciseDataAccessService = altExerciseDataAccessService;
-            experienceDataAccessService = altExperienceDataAccess;
-            workoutDataAccessService = altWorkoutDataAccess;
-            workoutSessionDataAccessService = altWorkoutSessionDataAccess;
+                                        InterfaceWorkoutSessionDataAccess altWorkoutSessionDataAccess,
+                                        InterfaceExportDataAccess altExportDataAccess,
+                                        InterfaceImportDataAccess altImportDataAccess,
+                                        InterfaceBackupDataAccess altBackupDataAccess,
+                                        InterfaceSyncDataAccess altSyncDataAccess) {
+        defaultStore.createDataAccess(altDataAccessService, altExerciseDataAccessService, altExperienceDataAccess,
+                altWorkoutDataAccess, altWorkoutSessionDataAccess, altExportDataAccess, altImportDataAccess,
+                altBackupDataAccess, altSyncDataAccess);
+    }
+
+    /**
+     * Switches to another profile, opening its database if it isn't one of the profiles that are
+     * still open, and creating it if the profile is new. Business objects created before keep
+     * using the profile that was in use when they were created, so they should be created again
+     * @param profile the name of the profile, made of letters, digits, '-' and '_'
+     * @throws IllegalArgumentException if the name of the profile is invalid
+     */
+    public static void switchProfile(String profile) {
+        defaultStore.switchProfile(profile);
+    }
+
+    /**
+     * Gets the name of the profile in use
+     * @return the name of the profile, or {@code null} if the database hasn't been created
+     */
+    public static String getProfile() {
+        return defaultStore.getProfile();
+    }
+
+    /**
+     * Gets the names of the profiles whose databases are open
+     * @return the names of the open profiles, from the least to the most recently used
+     */
+    public static List<String> getOpenProfiles() {
+        return defaultStore.getOpenProfiles();
+    }
 
-            dataAccessService.open(Main.getDBPathName());
-            exerciseDataAccessService.open(dataAccessService.getNewStatement());
-            experienceDataAccessService.open(dataAccessService.getNewStatement());
-            workoutDataAccessService.open(dataAccessService.getNewStatement());
-            workoutSessionDataAccessService.open(dataAccessService.getNewStatement());
-        }
+    /**
+     * Sets how many profiles are kept open. The least recently used profiles are closed when
+     * there are more open than the limit, but the profile in use is never closed
+     * @param limit the most profiles to keep open, at least 1
+     * @throws IllegalArgumentException if the limit is less than 1
+     */
+    public static void setProfileLimit(int limit) {
+        defaultStore.setProfileLimit(limit);
     }
 
     /**
@@ -76,9 +122,7 @@ public class Services {
      * @return access to exercise data
      */
     public static InterfaceExerciseDataAccess getExerciseDataAccess() {
-        if (dataAccessService == null)
-            handleUninitializedDB();
-        return exerciseDataAccessService;
+        return defaultStore.getExerciseDataAccess();
     }
 
     /**
@@ -86,9 +130,7 @@ public class Services {
      * @return access to workout data
      */
     public static InterfaceWorkoutDataAccess getWorkoutDataAccess() {
-        if (dataAccessService == null)
-            handleUninitializedDB();
-        return workoutDataAccessService;
+        return defaultStore.getWorkoutDataAccess();
     }
 
     /**
@@ -96,9 +138,7 @@ public class Services {
      * @return access to workout session data
      */
     public static InterfaceWorkoutSessionDataAccess getWorkoutSessionDataAccess() {
-        if (dataAccessService == null)
-            handleUninitializedDB();
-        return workoutSessionDataAccessService;
+        return defaultStore.getWorkoutSessionDataAccess();
     }
 
     /**
@@ -106,34 +146,55 @@ public class Services {
      * @return access to experience data
      */
     public static InterfaceExperienceDataAccess getExperienceDataAccess() {
-        if (dataAccessService == null)
-            handleUninitializedDB();
-        return experienceDataAccessService;
+        return defaultStore.getExperienceDataAccess();
+    }
+
+    /**
+     * Gets the class which exports the workout history
+     * @return access to exporting the workout history
+     */
+    public static InterfaceExportDataAccess getExportDataAccess() {
+        return defaultStore.getExportDataAccess();
+    }
+
+    /**
+     * Gets the class which imports workout history
+     * @return access to importing workout history
+     */
+    public static InterfaceImportDataAccess getImportDataAccess() {
+        return defaultStore.getImportDataAccess();
+    }
+
+    /**
+     * Gets the class which backs up and restores the database
+     * @return access to backing up and restoring the database
+     */
+    public static InterfaceBackupDataAccess getBackupDataAccess() {
+        return defaultStore.getBackupDataAccess();
+    }
+
+    /**
+     * Gets the class which syncs the workout sessions with other devices
+     * @return access to syncing the workout sessions
+     */
+    public static InterfaceSyncDataAccess getSyncDataAccess() {
+        return defaultStore.getSyncDataAccess();
     }
 
     /**
-     * Closes the database connection, if the database exists. Sets the dataAccessService variable
-     * to null
+     * Closes the database of every open profile, if the database exists
      */
     public static void closeDataAccess() {
-        if (dataAccessService != null) {
-            dataAccessService.close();
-            dataAccessService = null;
-            exerciseDataAccessService.close();
-            exerciseDataAccessService = null;
-            experienceDataAccessService.close();
-            experienceDataAccessService = null;
-            workoutDataAccessService.close();
-            workoutDataAccessService = null;
-            workoutSessionDataAccessService.close();
-            workoutSessionDataAccessService = null;
-        }
+        defaultStore.closeDataAccess();
     }
 
     /**
-     * Handles cases where attempts are made to modify an uninitialized database
+     * Closes and opens the database of the profile in use again, keeping the same data access
+     * objects, so that business objects created before still work. Opening the database applies
+     * any restore that has been requested, so restoring doesn't need the application to be
+     * restarted. Nothing else should use the database while it is reopened
      */
-    private static void handleUninitializedDB() {
-        System.out.println("Connection to data access has not been established");
+    public static void reopenDataAccess() {
+        defaultStore.reopenDataAccess();
     }
 }
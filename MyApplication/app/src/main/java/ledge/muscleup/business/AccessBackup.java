@@ -0,0 +1,78 @@
+package ledge.muscleup.business;
+
+import java.io.IOException;
+import java.util.List;
+
+import ledge.muscleup.application.DataStore;
+import ledge.muscleup.application.Services;
+import ledge.muscleup.persistence.BackupPoint;
+import ledge.muscleup.persistence.InterfaceBackupDataAccess;
+
+/**
+ * This class contains methods for backing up and restoring the user's data, by calling the
+ * methods defined in the InterfaceBackupDataAccess interface
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-31
+ */
+public class AccessBackup implements InterfaceAccessBackup {
+    private InterfaceBackupDataAccess dataAccess;
+    private DataStore store;
+
+    /**
+     * Constructor for AccessBackup, which initializes the dataAccess variable to the HSQL database
+     */
+    public AccessBackup() {
+        this(Services.getDefaultStore());
+    }
+
+    /**
+     * Constructor for AccessBackup, which initializes the dataAccess variable to the database of
+     * the profile in use in a DataStore, which is reopened after a restore
+     */
+    public AccessBackup(DataStore store) {
+        this.store = store;
+        dataAccess = store.getBackupDataAccess();
+    }
+
+    /**
+     * Constructor for AccessBackup, which initializes the dataAccess variable to a custom database
+     */
+    public AccessBackup(InterfaceBackupDataAccess dataAccess) {
+        this.dataAccess = dataAccess;
+        store = Services.getDefaultStore();
+    }
+
+    /**
+     * Backs up the database, copying only the changes since the last backup where possible
+     * @return the point the backup can be restored to
+     * @throws IOException if the backup could not be taken
+     */
+    public BackupPoint backup() throws IOException {
+        return dataAccess.backup();
+    }
+
+    /**
+     * Gets every point the database can be restored to
+     * @return a list of the backup points, oldest first
+     */
+    public List<BackupPoint> getBackupPoints() {
+        return dataAccess.getBackupPoints();
+    }
+
+    /**
+     * Restores the database to a backup point. The database is reopened in place, so business
+     * objects created before the restore see the restored data
+     * @param point the point to restore to
+     * @throws IOException if the database could not be restored
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public void restore(BackupPoint point) throws IOException, IllegalArgumentException {
+        if (point == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        dataAccess.requestRestore(point);
+        store.reopenDataAccess();
+    }
+}
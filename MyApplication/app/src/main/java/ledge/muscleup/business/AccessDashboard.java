@@ -0,0 +1,191 @@
+package ledge.muscleup.business;
+
+import org.joda.time.LocalDate;
+
+import java.io.File;
+
+import ledge.muscleup.application.Services;
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
+import ledge.muscleup.persistence.InterfaceWorkoutDataAccess;
+import ledge.muscleup.persistence.InterfaceWorkoutSessionDataAccess;
+
+/**
+ * This class keeps the snapshot of the main screen, today's workout session and the suggested
+ * workout, up to date in its file. While refreshing, every write made through an
+ * AccessWorkoutSessions of the same database queues a refresh on a background thread of the
+ * dashboard's own, which reads the snapshot again and writes the file. Writes made while a
+ * refresh is still queued are covered by it, so a burst of writes is read once. The file is only
+ * written when the snapshot changes, and a snapshot of an earlier day is replaced the next time
+ * the snapshot is refreshed
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-08
+ */
+public class AccessDashboard implements InterfaceAccessDashboard {
+    private static final String REFRESH_THREAD_NAME = "AccessDashboard.refresh";
+
+    private final File snapshotFile;
+    private final InterfaceWorkoutSessionDataAccess sessionDataAccess;
+    private final AccessWorkouts accessWorkouts;
+    private final Object readLock = new Object();
+    private final Object fileLock = new Object();
+    private final Runnable writeListener = new Runnable() {
+        @Override
+        public void run() {
+            queueRefresh();
+        }
+    };
+
+    private DashboardSnapshot writtenSnapshot;
+    private boolean refreshQueued = false;
+    private Thread refreshThread = null;
+
+    /**
+     * Constructor for AccessDashboard, which reads today's workout session and the suggested
+     * workout from the HSQL database
+     * @param snapshotFile the file to keep the snapshot in
+     * @throws IllegalArgumentException if passed a {@code null} file
+     */
+    public AccessDashboard(File snapshotFile) throws IllegalArgumentException {
+        this(snapshotFile, Services.getWorkoutSessionDataAccess(), Services.getWorkoutDataAccess());
+    }
+
+    /**
+     * Constructor for AccessDashboard, which reads today's workout session and the suggested
+     * workout from a custom database
+     * @param snapshotFile the file to keep the snapshot in
+     * @param sessionDataAccess the data access object to read workout sessions with
+     * @param workoutDataAccess the data access object to read workouts with
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public AccessDashboard(File snapshotFile, InterfaceWorkoutSessionDataAccess sessionDataAccess,
+                           InterfaceWorkoutDataAccess workoutDataAccess) throws IllegalArgumentException {
+        if (snapshotFile == null || sessionDataAccess == null || workoutDataAccess == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        this.snapshotFile = snapshotFile;
+        this.sessionDataAccess = sessionDataAccess;
+        this.accessWorkouts = new AccessWorkouts(workoutDataAccess);
+        writtenSnapshot = DashboardSnapshot.read(snapshotFile);
+    }
+
+    /**
+     * Reads what the main screen shows today from the database, and writes it to the snapshot
+     * file if it differs from the snapshot already there
+     * @return what the main screen shows today
+     */
+    public DashboardSnapshot refreshSnapshot() {
+        DashboardSnapshot snapshot = readSnapshot();
+
+        writeSnapshot(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Starts refreshing the snapshot after each write to the workout sessions, until stopped
+     */
+    public synchronized void startRefreshing() {
+        if (refreshThread == null) {
+            refreshThread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    while (awaitQueuedRefresh())
+                        refreshSnapshot();
+                }
+            }, REFRESH_THREAD_NAME);
+            refreshThread.setDaemon(true);
+            refreshThread.start();
+            SessionWrites.listen(sessionDataAccess, writeListener);
+        }
+    }
+
+    /**
+     * Stops refreshing the snapshot, once the writes already made have been seen, waiting for the
+     * refresh that is queued to be written. The background thread isn't interrupted, so that it
+     * never leaves the file half written
+     */
+    public void stopRefreshing() {
+        Thread stoppedThread;
+
+        try {
+            SessionWrites.awaitDelivered();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        SessionWrites.stopListening(sessionDataAccess, writeListener);
+        synchronized (this) {
+            stoppedThread = refreshThread;
+            refreshThread = null;
+            notifyAll();
+        }
+
+        if (stoppedThread != null) {
+            try {
+                stoppedThread.join();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Reads what the main screen shows today from the database
+     * @return what the main screen shows today
+     */
+    private DashboardSnapshot readSnapshot() {
+        LocalDate today;
+        WorkoutSessionSummary sessionSummary;
+
+        synchronized (readLock) {
+            today = new LocalDate();
+            sessionSummary = sessionDataAccess.getWorkoutSessionSummary(today);
+            return new DashboardSnapshot(sessionSummary == null ? new WorkoutSessionSummary(today) : sessionSummary,
+                    accessWorkouts.getSuggestedWorkout());
+        }
+    }
+
+    /**
+     * Writes a snapshot to the snapshot file, unless it is the snapshot already there
+     * @param snapshot the snapshot to write
+     */
+    private void writeSnapshot(DashboardSnapshot snapshot) {
+        synchronized (fileLock) {
+            if (!snapshot.equals(writtenSnapshot) && snapshot.write(snapshotFile))
+                writtenSnapshot = snapshot;
+        }
+    }
+
+    /**
+     * Queues a refresh of the snapshot in the background, unless one is queued already, since it
+     * will read the write this is queued for too
+     */
+    private synchronized void queueRefresh() {
+        refreshQueued = true;
+        notifyAll();
+    }
+
+    /**
+     * Waits until a refresh of the snapshot is queued
+     * @return {@code true} if a refresh was queued, or {@code false} if refreshing has been
+     * stopped and there is no refresh left to do
+     */
+    private synchronized boolean awaitQueuedRefresh() {
+        Thread thread = Thread.currentThread();
+
+        try {
+            while (refreshThread == thread && !refreshQueued)
+                wait();
+        }
+        catch (InterruptedException e) {
+            return false;
+        }
+        if (!refreshQueued)
+            return false;
+        refreshQueued = false;
+
+        return true;
+    }
+}
@@ -4,6 +4,8 @@ import java.util.List;
 
 import ledge.muscleup.application.Services;
 import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
 import ledge.muscleup.persistence.InterfaceExerciseDataAccess;
 
 /**
@@ -16,6 +18,7 @@ import ledge.muscleup.persistence.InterfaceExerciseDataAccess;
  */
 public class AccessExercises implements InterfaceAccessExercises {
     private InterfaceExerciseDataAccess dataAccess;
+    private ExerciseSearchIndex searchIndex = null;
 
     /**
      * Constructor for AccessExercises, which initializes the dataAccess variable to the HSQL database
@@ -38,4 +41,20 @@ public class AccessExercises implements InterfaceAccessExercises {
     public List<Exercise> getExercisesList() {
         return dataAccess.getExercisesList();
     }
+
+    /**
+     * This method finds the exercises matching all of the given filters, in name order. The
+     * exercises are loaded and indexed the first time this is called
+     * @param namePrefix the start of the exercise's name or of any word in it, ignoring case, or
+     *                   {@code null} to match any name
+     * @param type the type of the exercise, or {@code null} to match any type
+     * @param intensity the intensity of the exercise, or {@code null} to match any intensity
+     * @return a list of the matching exercises
+     */
+    public List<Exercise> searchExercises(String namePrefix, ExerciseType type, ExerciseIntensity intensity) {
+        if (searchIndex == null)
+            searchIndex = new ExerciseSearchIndex(dataAccess.getExercisesList());
+
+        return searchIndex.search(namePrefix, type, intensity);
+    }
 }
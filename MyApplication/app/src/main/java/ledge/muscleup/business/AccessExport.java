@@ -0,0 +1,110 @@
+package ledge.muscleup.business;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import ledge.muscleup.application.Services;
+import ledge.muscleup.persistence.ExportFormat;
+import ledge.muscleup.persistence.InterfaceExportDataAccess;
+
+/**
+ * This class contains methods for exporting the user's complete schedule and progress, by calling
+ * the methods defined in the InterfaceExportDataAccess interface
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-29
+ */
+public class AccessExport implements InterfaceAccessExport {
+    private static final String SESSIONS_FILE_NAME = "sessions";
+    private static final String PROGRESS_FILE_NAME = "progress";
+
+    private InterfaceExportDataAccess dataAccess;
+
+    /**
+     * Constructor for AccessExport, which initializes the dataAccess variable to the HSQL database
+     */
+    public AccessExport() {
+        dataAccess = Services.getExportDataAccess();
+    }
+
+    /**
+     * Constructor for AccessExport, which initializes the dataAccess variable to a custom database
+     */
+    public AccessExport(InterfaceExportDataAccess dataAccess) {
+        this.dataAccess = dataAccess;
+    }
+
+    /**
+     * Exports every scheduled workout session and its exercises, with their completed states
+     * @param writer the stream to write the export to, which is flushed but not closed
+     * @param format the format to write the export in
+     * @return the number of rows exported
+     * @throws IOException if the export could not be written
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public int exportSessions(Writer writer, ExportFormat format) throws IOException, IllegalArgumentException {
+        if (writer == null || format == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        return dataAccess.exportSessions(writer, format);
+    }
+
+    /**
+     * Exports the experience gained from each completed workout session
+     * @param writer the stream to write the export to, which is flushed but not closed
+     * @param format the format to write the export in
+     * @return the number of rows exported
+     * @throws IOException if the export could not be written
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public int exportProgress(Writer writer, ExportFormat format) throws IOException, IllegalArgumentException {
+        if (writer == null || format == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        return dataAccess.exportProgress(writer, format);
+    }
+
+    /**
+     * Exports the sessions and the experience history to two files in the given directory,
+     * replacing any earlier export in the same format
+     * @param directory the directory to write the files to
+     * @param format the format to write the files in
+     * @return the files written, sessions first
+     * @throws IOException if the files could not be written
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public File[] exportHistory(File directory, ExportFormat format) throws IOException, IllegalArgumentException {
+        String extension;
+        File sessionsFile, progressFile;
+        Writer writer;
+
+        if (directory == null || format == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        extension = format == ExportFormat.CSV ? ".csv" : ".jsonl";
+        sessionsFile = new File(directory, SESSIONS_FILE_NAME + extension);
+        progressFile = new File(directory, PROGRESS_FILE_NAME + extension);
+
+        writer = new OutputStreamWriter(new FileOutputStream(sessionsFile), "UTF-8");
+        try {
+            dataAccess.exportSessions(writer, format);
+        }
+        finally {
+            writer.close();
+        }
+
+        writer = new OutputStreamWriter(new FileOutputStream(progressFile), "UTF-8");
+        try {
+            dataAccess.exportProgress(writer, format);
+        }
+        finally {
+            writer.close();
+        }
+
+        return new File[]{sessionsFile, progressFile};
+    }
+}
@@ -0,0 +1,80 @@
+package ledge.muscleup.business;
+
+import java.io.File;
+
+/**
+ * A class containing static methods for creating the business objects used by the presentation
+ * layer. The objects are wrapped by MainThreadDetector when detection is enabled, so the
+ * presentation layer should get its business objects from here rather than constructing them
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-23
+ */
+public class AccessFactory {
+
+    /**
+     * Creates a business object for backing up and restoring the database
+     * @return a business object for backing up and restoring the database
+     */
+    public static InterfaceAccessBackup newAccessBackup() {
+        return MainThreadDetector.wrap(InterfaceAccessBackup.class, new AccessBackup());
+    }
+
+    /**
+     * Creates a business object for keeping the snapshot of the main screen up to date
+     * @param snapshotFile the file to keep the snapshot in
+     * @return a business object for keeping the snapshot of the main screen up to date
+     */
+    public static InterfaceAccessDashboard newAccessDashboard(File snapshotFile) {
+        return MainThreadDetector.wrap(InterfaceAccessDashboard.class, new AccessDashboard(snapshotFile));
+    }
+
+    /**
+     * Creates a business object for accessing exercises
+     * @return a business object for accessing exercises
+     */
+    public static InterfaceAccessExercises newAccessExercises() {
+        return MainThreadDetector.wrap(InterfaceAccessExercises.class, new AccessExercises());
+    }
+
+    /**
+     * Creates a business object for accessing experience
+     * @return a business object for accessing experience
+     */
+    public static InterfaceAccessExperience newAccessExperience() {
+        return MainThreadDetector.wrap(InterfaceAccessExperience.class, new AccessExperience());
+    }
+
+    /**
+     * Creates a business object for exporting the workout history
+     * @return a business object for exporting the workout history
+     */
+    public static InterfaceAccessExport newAccessExport() {
+        return MainThreadDetector.wrap(InterfaceAccessExport.class, new AccessExport());
+    }
+
+    /**
+     * Creates a business object for importing workout history
+     * @return a business object for importing workout history
+     */
+    public static InterfaceAccessImport newAccessImport() {
+        return MainThreadDetector.wrap(InterfaceAccessImport.class, new AccessImport());
+    }
+
+    /**
+     * Creates a business object for accessing workouts
+     * @return a business object for accessing workouts
+     */
+    public static InterfaceAccessWorkouts newAccessWorkouts() {
+        return MainThreadDetector.wrap(InterfaceAccessWorkouts.class, new AccessWorkouts());
+    }
+
+    /**
+     * Creates a business object for accessing workout sessions
+     * @return a business object for accessing workout sessions
+     */
+    public static InterfaceAccessWorkoutSessions newAccessWorkoutSessions() {
+        return MainThreadDetector.wrap(InterfaceAccessWorkoutSessions.class, new AccessWorkoutSessions());
+    }
+}
@@ -0,0 +1,110 @@
+package ledge.muscleup.business;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import ledge.muscleup.application.Services;
+import ledge.muscleup.persistence.ExportFormat;
+import ledge.muscleup.persistence.ImportReport;
+import ledge.muscleup.persistence.InterfaceImportDataAccess;
+
+/**
+ * This class contains methods for importing workout history, by calling the methods defined in
+ * the InterfaceImportDataAccess interface
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-30
+ */
+public class AccessImport implements InterfaceAccessImport {
+    private static final String SESSIONS_FILE_NAME = "sessions";
+    private static final String PROGRESS_FILE_NAME = "progress";
+
+    private InterfaceImportDataAccess dataAccess;
+
+    /**
+     * Constructor for AccessImport, which initializes the dataAccess variable to the HSQL database
+     */
+    public AccessImport() {
+        dataAccess = Services.getImportDataAccess();
+    }
+
+    /**
+     * Constructor for AccessImport, which initializes the dataAccess variable to a custom database
+     */
+    public AccessImport(InterfaceImportDataAccess dataAccess) {
+        this.dataAccess = dataAccess;
+    }
+
+    /**
+     * Imports workout sessions and their exercises, skipping dates that already have a session
+     * @param reader the stream to read the sessions from, which is not closed
+     * @param format the format the sessions are in
+     * @return a report of the rows imported and skipped
+     * @throws IOException if the sessions could not be imported
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public ImportReport importSessions(Reader reader, ExportFormat format) throws IOException, IllegalArgumentException {
+        if (reader == null || format == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        return dataAccess.importSessions(reader, format);
+    }
+
+    /**
+     * Imports the experience gained from completed workout sessions
+     * @param reader the stream to read the history from, which is not closed
+     * @param format the format the history is in
+     * @return a report of the rows imported and skipped
+     * @throws IOException if the history could not be imported
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public ImportReport importProgress(Reader reader, ExportFormat format) throws IOException, IllegalArgumentException {
+        if (reader == null || format == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        return dataAccess.importProgress(reader, format);
+    }
+
+    /**
+     * Imports the sessions and the experience history from the two files written by exporting
+     * the history to the given directory. The sessions are imported first, so the experience
+     * history can refer to them
+     * @param directory the directory to read the files from
+     * @param format the format the files are in
+     * @return the reports of the sessions and the experience history, sessions first
+     * @throws IOException if the files could not be imported
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public ImportReport[] importHistory(File directory, ExportFormat format) throws IOException, IllegalArgumentException {
+        String extension;
+        ImportReport sessionsReport, progressReport;
+        Reader reader;
+
+        if (directory == null || format == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        extension = format == ExportFormat.CSV ? ".csv" : ".jsonl";
+
+        reader = new InputStreamReader(new FileInputStream(new File(directory, SESSIONS_FILE_NAME + extension)), "UTF-8");
+        try {
+            sessionsReport = dataAccess.importSessions(reader, format);
+        }
+        finally {
+            reader.close();
+        }
+
+        reader = new InputStreamReader(new FileInputStream(new File(directory, PROGRESS_FILE_NAME + extension)), "UTF-8");
+        try {
+            progressReport = dataAccess.importProgress(reader, format);
+        }
+        finally {
+            reader.close();
+        }
+
+        return new ImportReport[]{sessionsReport, progressReport};
+    }
+}
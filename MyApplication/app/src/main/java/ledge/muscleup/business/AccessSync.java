@@ -0,0 +1,88 @@
+package ledge.muscleup.business;
+
+import java.io.IOException;
+
+import ledge.muscleup.application.Services;
+import ledge.muscleup.persistence.ChangeBatch;
+import ledge.muscleup.persistence.InterfaceSyncDataAccess;
+import ledge.muscleup.persistence.InterfaceSyncPeer;
+
+/**
+ * This class syncs the user's workout sessions with another device, by calling the methods
+ * defined in the InterfaceSyncDataAccess interface. The changes the peer made since the last one
+ * received from it are applied here first, and the changes made here since the last one sent to
+ * it are then applied there, a batch at a time. How far each direction got is recorded after each
+ * batch, so a sync that fails part way carries on from there the next time. Both devices keep the
+ * later change to a date changed on both, so they agree once they have synced both ways
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-06
+ */
+public class AccessSync implements InterfaceAccessSync {
+    private InterfaceSyncDataAccess dataAccess;
+
+    /**
+     * Constructor for AccessSync, which initializes the dataAccess variable to the HSQL database
+     */
+    public AccessSync() {
+        dataAccess = Services.getSyncDataAccess();
+    }
+
+    /**
+     * Constructor for AccessSync, which initializes the dataAccess variable to a custom database
+     */
+    public AccessSync(InterfaceSyncDataAccess dataAccess) {
+        this.dataAccess = dataAccess;
+    }
+
+    /**
+     * Gets the ID of this device, which peers know it by
+     * @return the ID of the device
+     */
+    public String getDeviceID() {
+        return dataAccess.getDeviceID();
+    }
+
+    /**
+     * Syncs with another device, receiving its changes first and then sending the changes made
+     * here. Only the changes since the last sync with the device are exchanged
+     * @param peer the device to sync with
+     * @return how many changes were exchanged and applied
+     * @throws IOException if the changes could not be exchanged
+     * @throws IllegalArgumentException if passed a {@code null} peer, or this device itself
+     */
+    public SyncReport sync(InterfaceSyncPeer peer) throws IOException, IllegalArgumentException {
+        long start = System.nanoTime();
+        String deviceID = dataAccess.getDeviceID(), peerID;
+        long sentSequence, receivedSequence;
+        int changesSent = 0, changesAppliedByPeer = 0, changesReceived = 0, changesApplied = 0;
+        ChangeBatch batch;
+
+        if (peer == null || peer.getDeviceID() == null || peer.getDeviceID().equals(deviceID))
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        peerID = peer.getDeviceID();
+        sentSequence = dataAccess.getLastSentSequence(peerID);
+        receivedSequence = dataAccess.getLastReceivedSequence(peerID);
+
+        do {
+            batch = peer.getChangesSince(receivedSequence, deviceID);
+            changesApplied += dataAccess.applyChanges(batch.getChanges());
+            changesReceived += batch.getChanges().size();
+            receivedSequence = batch.getLastSequence();
+            dataAccess.acknowledge(peerID, sentSequence, receivedSequence);
+        } while (batch.hasMore());
+
+        do {
+            batch = dataAccess.getChangesSince(sentSequence, peerID);
+            changesAppliedByPeer += peer.applyChanges(batch.getChanges());
+            changesSent += batch.getChanges().size();
+            sentSequence = batch.getLastSequence();
+            dataAccess.acknowledge(peerID, sentSequence, receivedSequence);
+        } while (batch.hasMore());
+
+        return new SyncReport(changesSent, changesAppliedByPeer, changesReceived, changesApplied,
+                System.nanoTime() - start);
+    }
+}
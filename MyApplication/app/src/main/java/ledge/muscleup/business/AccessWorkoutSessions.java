@@ -2,16 +2,22 @@ package ledge.muscleup.business;
 
 import org.joda.time.DateTimeConstants;
 import org.joda.time.LocalDate;
+
 import java.util.List;
 
 import ledge.muscleup.application.Services;
+import ledge.muscleup.model.exercise.WorkoutSessionExercise;
 import ledge.muscleup.model.schedule.ScheduleWeek;
 import ledge.muscleup.model.workout.WorkoutSession;
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
+import ledge.muscleup.persistence.InterfaceExperienceDataAccess;
 import ledge.muscleup.persistence.InterfaceWorkoutSessionDataAccess;
 
 /**
  * This class contains methods for retrieving, adding, and removing workout sessions from the
  * database, by calling the methods defined in the InterfaceWorkoutSessionDataAccess interface.
+ * Each write tells the open SessionQuery objects reading the same database which dates it touched,
+ * and completing a session tells its open ProgressQuery objects too.
  *
  * @author Ryan Koop
  * @version 1.0
@@ -19,21 +25,34 @@ import ledge.muscleup.persistence.InterfaceWorkoutSessionDataAccess;
  */
 public class AccessWorkoutSessions implements InterfaceAccessWorkoutSessions {
     private InterfaceWorkoutSessionDataAccess dataAccess;
+    private InterfaceExperienceDataAccess experienceDataAccess;
 
     /**
      * Constructor for AccessWorkoutSessions, which initializes the dataAccess variable to the HSQL database
      */
     public AccessWorkoutSessions() {
         dataAccess = Services.getWorkoutSessionDataAccess();
+        experienceDataAccess = Services.getExperienceDataAccess();
     }
 
     /**
-     * Constructor for AccessWorkoutSessions, which initializes the dataAccess variable to a custom database
+     * Constructor for AccessWorkoutSessions, which initializes the dataAccess variable to a custom
+     * database. The progress of the database can't be observed without its experience data access
      */
     public AccessWorkoutSessions(InterfaceWorkoutSessionDataAccess dataAccess) {
         this.dataAccess = dataAccess;
     }
 
+    /**
+     * Constructor for AccessWorkoutSessions, which initializes the dataAccess variables to a custom
+     * database
+     */
+    public AccessWorkoutSessions(InterfaceWorkoutSessionDataAccess dataAccess,
+                                 InterfaceExperienceDataAccess experienceDataAccess) {
+        this.dataAccess = dataAccess;
+        this.experienceDataAccess = experienceDataAccess;
+    }
+
     /**
      * This method gets a workout session from the database with the given date
      * @param dateOfSession the date of the workout session
@@ -67,12 +86,105 @@ public class AccessWorkoutSessions implements InterfaceAccessWorkoutSessions {
         return dataAccess.getSessionsInDateRange(firstOfThisWeek, firstOfThisWeek.plusDays(DateTimeConstants.DAYS_PER_WEEK - 1));
     }
 
+    /**
+     * This method gets the summary of the workout session scheduled on the given date, without
+     * loading its exercises
+     * @param dateOfSession the date of the workout session
+     * @return the summary of the workout session scheduled on the given date, or null if there is none
+     */
+    public WorkoutSessionSummary getWorkoutSessionSummary(LocalDate dateOfSession) {
+        return dataAccess.getWorkoutSessionSummary(dateOfSession);
+    }
+
+    /**
+     * A method that returns the summaries of the workout sessions scheduled in a date range,
+     * without loading their exercises
+     * @param startDate the first date of the date range
+     * @param endDate the last date of the date range
+     * @return a list of summaries of the workout sessions scheduled between startDate and
+     * endDate, inclusive
+     */
+    public List<WorkoutSessionSummary> getSessionSummariesInDateRange(LocalDate startDate,
+                                                                      LocalDate endDate) {
+        return dataAccess.getSessionSummariesInDateRange(startDate, endDate);
+    }
+
+    /**
+     * A method that returns a summary for each day of the week containing the given date, with
+     * an empty summary for each day that has no workout scheduled
+     * @param weekStartDay day to start week at
+     * @param dayInWeek a day in the week to get the summaries for
+     * @return a list of seven workout session summaries, ordered by date
+     */
+    public List<WorkoutSessionSummary> getWeekSessionSummaries(int weekStartDay, LocalDate dayInWeek) {
+        LocalDate firstDayOfWeek = firstDayOfWeek(weekStartDay, dayInWeek);
+
+        return SessionQuery.fillDays(firstDayOfWeek, DateTimeConstants.DAYS_PER_WEEK,
+                getSessionSummariesInDateRange(firstDayOfWeek, firstDayOfWeek.plusDays(DateTimeConstants.DAYS_PER_WEEK - 1)));
+    }
+
+    /**
+     * Opens a query of the summaries of the workout sessions in a date range, one for each day,
+     * which is kept up to date as sessions are written
+     * @param startDate the first date of the date range
+     * @param endDate the last date of the date range
+     * @return the query, which should be closed once it is no longer needed
+     * @throws IllegalArgumentException if passed a {@code null} date, or an end date before the
+     * start date
+     */
+    @Override
+    public SessionQuery observeSessionRange(LocalDate startDate, LocalDate endDate) throws IllegalArgumentException {
+        return new SessionQuery(dataAccess, startDate, endDate);
+    }
+
+    /**
+     * Opens a query of the summaries of the workout sessions in the week containing the given
+     * date, one for each day, which is kept up to date as sessions are written
+     * @param weekStartDay day to start week at
+     * @param dayInWeek a day in the week to observe
+     * @return the query, which should be closed once it is no longer needed
+     * @throws IllegalArgumentException if passed a {@code null} date
+     */
+    @Override
+    public SessionQuery observeWeek(int weekStartDay, LocalDate dayInWeek) throws IllegalArgumentException {
+        LocalDate firstDayOfWeek;
+
+        if (dayInWeek == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        firstDayOfWeek = firstDayOfWeek(weekStartDay, dayInWeek);
+        return new SessionQuery(dataAccess, firstDayOfWeek, firstDayOfWeek.plusDays(DateTimeConstants.DAYS_PER_WEEK - 1));
+    }
+
+    /**
+     * Opens a query of the summary of today's workout session, which is kept up to date as
+     * sessions are written
+     * @return the query, which should be closed once it is no longer needed
+     */
+    @Override
+    public SessionQuery observeToday() {
+        LocalDate today = LocalDate.now();
+        return new SessionQuery(dataAccess, today, today);
+    }
+
+    /**
+     * Opens a query of the experience history behind the progress summary, which is kept up to
+     * date as workout sessions are completed or uncompleted
+     * @return the query, which should be closed once it is no longer needed
+     * @throws IllegalArgumentException if this was made without an experience data access
+     */
+    @Override
+    public ProgressQuery observeProgress() throws IllegalArgumentException {
+        return new ProgressQuery(dataAccess, experienceDataAccess);
+    }
+
     /**
      * Adds a new workout session to the database
      * @param workoutSession the workout session to be added to the database
      */
     public void insertWorkoutSession(WorkoutSession workoutSession) {
         dataAccess.insertWorkoutSession(workoutSession);
+        SessionWrites.written(dataAccess, workoutSession.getDate());
     }
 
     /**
@@ -81,6 +193,43 @@ public class AccessWorkoutSessions implements InterfaceAccessWorkoutSessions {
      */
     public void removeWorkoutSession(WorkoutSession workoutSession) {
         dataAccess.removeWorkoutSession(workoutSession);
+        SessionWrites.written(dataAccess, workoutSession.getDate());
+    }
+
+    /**
+     * Removes the workout session with the given summary from the database, if it exists
+     * @param sessionSummary the summary of the workout session to be removed
+     */
+    public void removeWorkoutSession(WorkoutSessionSummary sessionSummary) {
+        //sessions are removed by date, so there is no need to load the session's exercises
+        dataAccess.removeWorkoutSession(new WorkoutSession(sessionSummary.getDate()));
+        SessionWrites.written(dataAccess, sessionSummary.getDate());
+    }
+
+    /**
+     * Moves a workout session to a new date, keeping its exercises and completed state
+     * @param workoutSession the workout session to move
+     * @param newDate the date to move the workout session to
+     * @return a boolean representing whether the workout session was moved
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public boolean moveWorkoutSession(WorkoutSession workoutSession, LocalDate newDate)
+            throws IllegalArgumentException {
+        LocalDate oldDate;
+        boolean sessionMoved;
+
+        if (workoutSession == null || newDate == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        oldDate = workoutSession.getDate();
+        sessionMoved = dataAccess.moveWorkoutSession(oldDate, newDate);
+
+        if (sessionMoved) {
+            workoutSession.setDate(newDate);
+            SessionWrites.written(dataAccess, oldDate, newDate);
+        }
+
+        return sessionMoved;
     }
 
     /**
@@ -90,8 +239,85 @@ public class AccessWorkoutSessions implements InterfaceAccessWorkoutSessions {
      */
     public void toggleWorkoutCompleted(WorkoutSession workoutSession) {
         dataAccess.toggleWorkoutComplete(workoutSession);
+        SessionWrites.completionWritten(dataAccess, workoutSession.getDate());
+    }
+
+    /**
+     * Toggles the completed state of a single exercise in a workout session. Exercises ticked off
+     * close together are saved together, so this can be called on every tap. The summary of the
+     * session doesn't change, so open queries aren't told, which would write the exercises at once
+     *
+     * @param workoutSession the workout session the exercise is in
+     * @param exercise the exercise to change the state of
+     * @return a boolean representing whether the exercise was found in the workout session
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    @Override
+    public boolean toggleExerciseCompleted(WorkoutSession workoutSession, WorkoutSessionExercise exercise)
+            throws IllegalArgumentException {
+        WorkoutSessionExercise sessionExercise;
+
+        if (workoutSession == null || exercise == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        sessionExercise = workoutSession.getExercise(exercise.getName());
+        if (sessionExercise != null) {
+            sessionExercise.toggleCompleted();
+            dataAccess.setExerciseComplete(workoutSession.getDate(), sessionExercise.getName(),
+                    sessionExercise.isComplete());
+        }
+
+        return sessionExercise != null;
     }
 
+    /**
+     * Archives the completed workout sessions older than the given age, so the sessions read and
+     * changed day to day stay few. Archived sessions are still read as before
+     *
+     * @param minimumAgeDays how many days old a completed session must be to be archived
+     * @return the number of workout sessions archived
+     * @throws IllegalArgumentException if passed a negative age
+     */
+    @Override
+    public int archiveOldSessions(int minimumAgeDays) throws IllegalArgumentException {
+        if (minimumAgeDays < 0)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        return dataAccess.archiveSessions(LocalDate.now().minusDays(minimumAgeDays));
+    }
+
+    /**
+     * Rolls up the completed workout sessions older than the given age, keeping only their
+     * summary and experience value. Their exercises are dropped for good, so this is only done
+     * for users who have chosen it
+     *
+     * @param minimumAgeDays how many days old a completed session must be to be rolled up
+     * @return the number of workout sessions rolled up
+     * @throws IllegalArgumentException if passed a negative age
+     */
+    @Override
+    public int rollUpOldSessions(int minimumAgeDays) throws IllegalArgumentException {
+        if (minimumAgeDays < 0)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        return dataAccess.rollUpSessions(LocalDate.now().minusDays(minimumAgeDays));
+    }
+
+
+    /**
+     * Gets the first day of the week containing the given date
+     * @param weekStartDay day to start week at
+     * @param dayInWeek a day in the week
+     * @return the first day of the week
+     */
+    private static LocalDate firstDayOfWeek(int weekStartDay, LocalDate dayInWeek) {
+        LocalDate firstDayOfWeek = dayInWeek.withDayOfWeek(weekStartDay);
+
+        if (firstDayOfWeek.isAfter(dayInWeek)) {
+            firstDayOfWeek = firstDayOfWeek.minusWeeks(1);
+        }
+        return firstDayOfWeek;
+    }
 
     /**
      * Creates a new ScheduleWeek based on the given date
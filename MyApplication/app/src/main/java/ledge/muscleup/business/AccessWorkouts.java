@@ -1,9 +1,17 @@
 package ledge.muscleup.business;
 
+import org.joda.time.LocalDate;
+
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import ledge.muscleup.application.Services;
+import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.ExerciseTypeRecovery;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
 import ledge.muscleup.model.workout.Workout;
+import ledge.muscleup.model.workout.WorkoutSummary;
 import ledge.muscleup.persistence.InterfaceWorkoutDataAccess;
 
 /**
@@ -15,6 +23,9 @@ import ledge.muscleup.persistence.InterfaceWorkoutDataAccess;
  * @since 2017-06-05
  */
 public class AccessWorkouts implements InterfaceAccessWorkouts {
+    private static final Map<InterfaceWorkoutDataAccess, IndexedContents> contentsByDataAccess =
+            new WeakHashMap<>();
+
     private InterfaceWorkoutDataAccess dataAccess;
 
     /**
@@ -57,10 +68,97 @@ public class AccessWorkouts implements InterfaceAccessWorkouts {
     }
 
     /**
-     * Retrieves the name of the workout that is suggested for the user
+     * This method gets the summaries of all workouts in the database, without their exercises
+     * @return a list of the summaries of the workouts stored in the database
+     */
+    public List<WorkoutSummary> getWorkoutSummaries() {
+        return dataAccess.getWorkoutSummaries();
+    }
+
+    /**
+     * This method gets the summary of the workout with the given name, without its exercises
+     * @param workoutName the name of the workout
+     * @return the summary of the workout with the given name, if it exists. Otherwise, returns null
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public WorkoutSummary getWorkoutSummary(String workoutName) throws IllegalArgumentException {
+        if (workoutName == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        return dataAccess.getWorkoutSummary(workoutName);
+    }
+
+    /**
+     * This method finds the workouts containing the given exercise and an exercise of the given
+     * type. The workout contents are indexed the first time this is called on a database, and
+     * indexed again whenever the database reports that they have changed
+     * @param exerciseName the name of an exercise the workouts must contain, or null to match any
+     *                     exercise
+     * @param type the type of an exercise the workouts must contain, or null to match any type
+     * @return a list of the names of the matching workouts
+     */
+    public List<String> findWorkoutNames(String exerciseName, ExerciseType type) {
+        return getContents().index.findWorkouts(exerciseName, type);
+    }
+
+    /**
+     * Retrieves the name of the workout that is suggested for the user, favouring workouts whose
+     * exercise types have recovered the most since they were last trained. Workouts are scored
+     * in memory, so this only reads how rested each exercise type is from the database
      * @return the workout that is suggested for the user
      */
     public String getSuggestedWorkout() {
-        return dataAccess.getLeastCompletedWorkout();
+        WorkoutRecommender recommender = getContents().recommender;
+        List<ExerciseTypeRecovery> recoveries = dataAccess.getTypeRecoveries();
+        String suggested;
+
+        //the recommender is shared with the other business objects on the same database
+        synchronized (recommender) {
+            for (ExerciseTypeRecovery recovery : recoveries)
+                recommender.setRecovery(recovery);
+            suggested = recommender.suggest(new LocalDate());
+        }
+
+        return suggested;
+    }
+
+    /**
+     * Gets the workout contents indexed for the database, which every business object on the same
+     * data access object shares. The contents are indexed again if the database reports that they
+     * have changed since they were last indexed, or if they haven't been indexed yet
+     * @return the indexed workout contents
+     */
+    private IndexedContents getContents() {
+        int version = dataAccess.getWorkoutContentsVersion();
+        Map<String, List<Exercise>> workoutContents;
+        IndexedContents contents;
+
+        synchronized (contentsByDataAccess) {
+            contents = contentsByDataAccess.get(dataAccess);
+            if (contents == null || version != contents.version) {
+                workoutContents = dataAccess.getWorkoutContents();
+                contents = new IndexedContents(version, new WorkoutContentsIndex(workoutContents),
+                        new WorkoutRecommender(workoutContents));
+                contentsByDataAccess.put(dataAccess, contents);
+            }
+        }
+
+        return contents;
+    }
+
+    /**
+     * The workout contents of a database as of one version, indexed for finding and suggesting
+     * workouts
+     */
+    private static class IndexedContents {
+        private final int version;
+        private final WorkoutContentsIndex index;
+        private final WorkoutRecommender recommender;
+
+        IndexedContents(int version, WorkoutContentsIndex index, WorkoutRecommender recommender) {
+            this.version = version;
+            this.index = index;
+            this.recommender = recommender;
+        }
     }
 }
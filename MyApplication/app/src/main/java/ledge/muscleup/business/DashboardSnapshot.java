@@ -0,0 +1,209 @@
+package ledge.muscleup.business;
+
+import org.joda.time.LocalDate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
+
+/**
+ * What the main screen shows for a day: the header of the workout session scheduled on it and
+ * the suggested workout. A snapshot is kept in a small file of its own, which is read without
+ * opening the database, so that the main screen can be drawn from it before the database is
+ * open. A snapshot is only a head start, so a file that is missing, unreadable, or written by
+ * another version is treated as if there were no snapshot
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-08
+ */
+public class DashboardSnapshot {
+    public static final String FILE_NAME = "dashboard_snapshot";
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private WorkoutSessionSummary sessionSummary;
+    private String suggestedWorkoutName;
+
+    /**
+     * The constructor for the DashboardSnapshot class
+     * @param sessionSummary the summary of the day's workout session, which is empty if no
+     *                       workout is scheduled on the day
+     * @param suggestedWorkoutName the name of the suggested workout, or {@code null} if there is
+     *                             none
+     * @throws IllegalArgumentException if passed a {@code null} summary
+     */
+    public DashboardSnapshot(WorkoutSessionSummary sessionSummary, String suggestedWorkoutName)
+            throws IllegalArgumentException {
+        if (sessionSummary == null) {
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        }
+        else {
+            this.sessionSummary = sessionSummary;
+            this.suggestedWorkoutName = suggestedWorkoutName;
+        }
+    }
+
+    /**
+     * Returns the date of the snapshot
+     * @return the date the snapshot was taken for
+     */
+    public LocalDate getDate() {
+        return sessionSummary.getDate();
+    }
+
+    /**
+     * Returns the summary of the day's workout session
+     * @return the summary, which is empty if no workout is scheduled on the day
+     */
+    public WorkoutSessionSummary getSessionSummary() {
+        return sessionSummary;
+    }
+
+    /**
+     * Returns the name of the suggested workout
+     * @return the name of the suggested workout, or {@code null} if there is none
+     */
+    public String getSuggestedWorkoutName() {
+        return suggestedWorkoutName;
+    }
+
+    /**
+     * Reads a snapshot from a file
+     * @param file the file the snapshot was written to
+     * @return the snapshot, or {@code null} if the file doesn't hold one that can be read
+     */
+    public static DashboardSnapshot read(File file) {
+        DataInputStream in = null;
+        WorkoutSessionSummary sessionSummary;
+        LocalDate date;
+        String suggestedWorkoutName = null;
+
+        if (file == null || !file.isFile())
+            return null;
+
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (in.readInt() != FORMAT_VERSION)
+                return null;
+
+            date = LocalDate.parse(in.readUTF());
+            if (in.readBoolean())
+                sessionSummary = new WorkoutSessionSummary(in.readUTF(), date, in.readBoolean());
+            else
+                sessionSummary = new WorkoutSessionSummary(date);
+            if (in.readBoolean())
+                suggestedWorkoutName = in.readUTF();
+
+            return new DashboardSnapshot(sessionSummary, suggestedWorkoutName);
+        }
+        catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+        finally {
+            closeQuietly(in);
+        }
+    }
+
+    /**
+     * Writes the snapshot to a file, replacing the snapshot in it. The snapshot is written next to
+     * the file first, so the file never holds half of a snapshot
+     * @param file the file to write the snapshot to
+     * @return {@code true} if the snapshot was written
+     */
+    public boolean write(File file) {
+        File tempFile = new File(file.getPath() + TEMP_SUFFIX);
+        DataOutputStream out = null;
+        boolean written = false;
+
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(getDate().toString());
+            out.writeBoolean(!sessionSummary.isEmpty());
+            if (!sessionSummary.isEmpty()) {
+                out.writeUTF(sessionSummary.getName());
+                out.writeBoolean(sessionSummary.isComplete());
+            }
+            out.writeBoolean(suggestedWorkoutName != null);
+            if (suggestedWorkoutName != null)
+                out.writeUTF(suggestedWorkoutName);
+            out.close();
+            out = null;
+
+            //renaming over an existing file fails on some platforms, so remove it first there
+            written = tempFile.renameTo(file) || (file.delete() && tempFile.renameTo(file));
+        }
+        catch (IOException e) {
+            written = false;
+        }
+        finally {
+            closeQuietly(out);
+            if (!written)
+                tempFile.delete();
+        }
+
+        return written;
+    }
+
+    /**
+     * Compares the current DashboardSnapshot to another object, which is only equal if it is a
+     * DashboardSnapshot of the same day showing the same things
+     * @param other the object to compare to
+     * @return a boolean representing whether the two objects were equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        DashboardSnapshot snapshot;
+
+        if (!(other instanceof DashboardSnapshot))
+            return false;
+
+        snapshot = (DashboardSnapshot) other;
+        return sessionSummary.equals(snapshot.getSessionSummary()) &&
+                (suggestedWorkoutName == null ? snapshot.getSuggestedWorkoutName() == null :
+                        suggestedWorkoutName.equals(snapshot.getSuggestedWorkoutName()));
+    }
+
+    /**
+     * Returns a hash code for the DashboardSnapshot
+     * @return the hash code of the DashboardSnapshot
+     */
+    @Override
+    public int hashCode() {
+        return 31 * sessionSummary.hashCode() + (suggestedWorkoutName == null ? 0 : suggestedWorkoutName.hashCode());
+    }
+
+    /**
+     * Returns the DashboardSnapshot as a String
+     * @return the DashboardSnapshot as a String
+     */
+    @Override
+    public String toString() {
+        return sessionSummary + ", suggested: " + suggestedWorkoutName;
+    }
+
+    /**
+     * Closes a stream, if there is one, ignoring any error, since the snapshot has been read or
+     * written by then
+     * @param stream the stream, or {@code null}
+     */
+    private static void closeQuietly(Closeable stream) {
+        try {
+            if (stream != null)
+                stream.close();
+        }
+        catch (IOException e) {
+            //nothing to do, the snapshot is only a head start
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package ledge.muscleup.business;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
+
+/**
+ * An in-memory index for searching exercises by name prefix, type and intensity. Each exercise is
+ * given a position in name order, and every filter is answered with a bit set of positions: a trie
+ * over the start of every word in the exercise names, and a bit set per type and per intensity.
+ * A search with several filters intersects their bit sets, so it never looks at exercises that
+ * don't match. The index is not changed once built, so it can be shared between threads
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-26
+ */
+public class ExerciseSearchIndex {
+    private final List<Exercise> exercises;
+    private final TrieNode root;
+    private final EnumMap<ExerciseType, BitSet> typePostings;
+    private final EnumMap<ExerciseIntensity, BitSet> intensityPostings;
+
+    /**
+     * Constructor for an ExerciseSearchIndex, which indexes the given exercises
+     * @param exerciseList the exercises to index
+     * @throws IllegalArgumentException if passed a {@code null} list or a list containing
+     * {@code null}
+     */
+    public ExerciseSearchIndex(List<Exercise> exerciseList) throws IllegalArgumentException {
+        Exercise exercise;
+
+        if (exerciseList == null || exerciseList.contains(null))
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        exercises = new ArrayList<>(exerciseList);
+        Collections.sort(exercises, new Comparator<Exercise>() {
+            @Override
+            public int compare(Exercise first, Exercise second) {
+                return first.getName().compareToIgnoreCase(second.getName());
+            }
+        });
+
+        root = new TrieNode();
+        typePostings = new EnumMap<>(ExerciseType.class);
+        for (ExerciseType type : ExerciseType.values())
+            typePostings.put(type, new BitSet(exercises.size()));
+        intensityPostings = new EnumMap<>(ExerciseIntensity.class);
+        for (ExerciseIntensity intensity : ExerciseIntensity.values())
+            intensityPostings.put(intensity, new BitSet(exercises.size()));
+
+        for (int i = 0; i < exercises.size(); i++) {
+            exercise = exercises.get(i);
+            indexName(exercise.getName(), i);
+            typePostings.get(exercise.getType()).set(i);
+            intensityPostings.get(exercise.getIntensity()).set(i);
+        }
+    }
+
+    /**
+     * Returns the number of exercises in the index
+     * @return the number of exercises in the index
+     */
+    public int size() {
+        return exercises.size();
+    }
+
+    /**
+     * Finds the exercises matching all of the given filters, in name order
+     * @param namePrefix the start of the exercise's name or of any word in it, ignoring case, or
+     *                   {@code null} to match any name
+     * @param type the type of the exercise, or {@code null} to match any type
+     * @param intensity the intensity of the exercise, or {@code null} to match any intensity
+     * @return a list of the matching exercises
+     */
+    public List<Exercise> search(String namePrefix, ExerciseType type, ExerciseIntensity intensity) {
+        List<Exercise> results = new ArrayList<>();
+        BitSet matches = findPrefix(namePrefix);
+
+        if (type != null)
+            matches.and(typePostings.get(type));
+        if (intensity != null)
+            matches.and(intensityPostings.get(intensity));
+
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1))
+            results.add(exercises.get(i));
+
+        return results;
+    }
+
+    /**
+     * Adds an exercise's name to the trie, under the start of the name and of each word in it
+     * @param name the name of the exercise
+     * @param position the position of the exercise in the index
+     */
+    private void indexName(String name, int position) {
+        String key = normalize(name);
+        TrieNode node;
+
+        for (int start = 0; start < key.length(); start++) {
+            if (start == 0 || !Character.isLetterOrDigit(key.charAt(start - 1))) {
+                node = root;
+                for (int i = start; i < key.length(); i++) {
+                    node = node.getOrCreateChild(key.charAt(i));
+                    node.matches.set(position);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the exercises whose names have a word starting with the given prefix
+     * @param namePrefix the prefix to find, or {@code null} to match every exercise
+     * @return a new bit set of the positions of the matching exercises
+     */
+    private BitSet findPrefix(String namePrefix) {
+        BitSet matches = new BitSet(exercises.size());
+        String key = namePrefix == null ? "" : normalize(namePrefix);
+        TrieNode node = root;
+
+        for (int i = 0; i < key.length() && node != null; i++)
+            node = node.children.get(key.charAt(i));
+
+        if (key.length() == 0)
+            matches.set(0, exercises.size());
+        else if (node != null)
+            matches.or(node.matches);
+
+        return matches;
+    }
+
+    /**
+     * Puts a name or prefix in the form it is indexed in
+     * @param text the name or prefix
+     * @return the text in lower case with surrounding whitespace removed
+     */
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.US);
+    }
+
+    /**
+     * A node of the name trie, holding the exercises with a word starting with the characters on
+     * the path to it
+     */
+    private static class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private final BitSet matches = new BitSet();
+
+        /**
+         * Gets the child for the given character, adding it if there isn't one
+         * @param c the next character of the path
+         * @return the child node
+         */
+        TrieNode getOrCreateChild(char c) {
+            TrieNode child = children.get(c);
+
+            if (child == null) {
+                child = new TrieNode();
+                children.put(c, child);
+            }
+
+            return child;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ledge.muscleup.business;
+
+import java.io.IOException;
+import java.util.List;
+
+import ledge.muscleup.persistence.BackupPoint;
+
+/**
+ * An interface for backing up the user's data while the application is in use, and restoring it
+ * to an earlier backup
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-31
+ */
+public interface InterfaceAccessBackup {
+    /**
+     * Backs up the database, copying only the changes since the last backup where possible
+     * @return the point the backup can be restored to
+     * @throws IOException if the backup could not be taken
+     */
+    BackupPoint backup() throws IOException;
+
+    /**
+     * Gets every point the database can be restored to
+     * @return a list of the backup points, oldest first
+     */
+    List<BackupPoint> getBackupPoints();
+
+    /**
+     * Restores the database to a backup point, reopening it in place
+     * @param point the point to restore to
+     * @throws IOException if the database could not be restored
+     */
+    void restore(BackupPoint point) throws IOException;
+}
@@ -0,0 +1,29 @@
+package ledge.muscleup.business;
+
+/**
+ * An interface for keeping the snapshot of the main screen up to date, so that the main screen
+ * can be drawn from it the next time the application starts, before the database is open
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-08
+ */
+public interface InterfaceAccessDashboard {
+    /**
+     * Reads what the main screen shows today from the database, and writes it to the snapshot
+     * file if it differs from the snapshot already there
+     * @return what the main screen shows today
+     */
+    DashboardSnapshot refreshSnapshot();
+
+    /**
+     * Starts refreshing the snapshot after each write to the workout sessions, reading it and
+     * writing the file on a background thread, until stopped
+     */
+    void startRefreshing();
+
+    /**
+     * Stops refreshing the snapshot, waiting for the refresh that is queued to be written
+     */
+    void stopRefreshing();
+}
@@ -3,6 +3,8 @@ package ledge.muscleup.business;
 import java.util.List;
 
 import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
 
 /**
  * An Interface for communicating with the database to retrieve, add, and remove exercises from the
@@ -18,4 +20,14 @@ public interface InterfaceAccessExercises {
      * @return a list of exercises in the database
      */
     List<Exercise> getExercisesList();
+
+    /**
+     * This method finds the exercises matching all of the given filters, in name order
+     * @param namePrefix the start of the exercise's name or of any word in it, ignoring case, or
+     *                   {@code null} to match any name
+     * @param type the type of the exercise, or {@code null} to match any type
+     * @param intensity the intensity of the exercise, or {@code null} to match any intensity
+     * @return a list of the matching exercises
+     */
+    List<Exercise> searchExercises(String namePrefix, ExerciseType type, ExerciseIntensity intensity);
 }
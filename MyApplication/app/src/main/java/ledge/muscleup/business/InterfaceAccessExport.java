@@ -0,0 +1,44 @@
+package ledge.muscleup.business;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+
+import ledge.muscleup.persistence.ExportFormat;
+
+/**
+ * An interface for exporting the user's complete schedule and progress
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-29
+ */
+public interface InterfaceAccessExport {
+    /**
+     * Exports every scheduled workout session and its exercises, with their completed states
+     * @param writer the stream to write the export to, which is flushed but not closed
+     * @param format the format to write the export in
+     * @return the number of rows exported
+     * @throws IOException if the export could not be written
+     */
+    int exportSessions(Writer writer, ExportFormat format) throws IOException;
+
+    /**
+     * Exports the experience gained from each completed workout session
+     * @param writer the stream to write the export to, which is flushed but not closed
+     * @param format the format to write the export in
+     * @return the number of rows exported
+     * @throws IOException if the export could not be written
+     */
+    int exportProgress(Writer writer, ExportFormat format) throws IOException;
+
+    /**
+     * Exports the sessions and the experience history to two files in the given directory,
+     * replacing any earlier export in the same format
+     * @param directory the directory to write the files to
+     * @param format the format to write the files in
+     * @return the files written, sessions first
+     * @throws IOException if the files could not be written
+     */
+    File[] exportHistory(File directory, ExportFormat format) throws IOException;
+}
@@ -0,0 +1,45 @@
+package ledge.muscleup.business;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+
+import ledge.muscleup.persistence.ExportFormat;
+import ledge.muscleup.persistence.ImportReport;
+
+/**
+ * An interface for importing workout history, such as history exported from another device
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-30
+ */
+public interface InterfaceAccessImport {
+    /**
+     * Imports workout sessions and their exercises, skipping dates that already have a session
+     * @param reader the stream to read the sessions from, which is not closed
+     * @param format the format the sessions are in
+     * @return a report of the rows imported and skipped
+     * @throws IOException if the sessions could not be imported
+     */
+    ImportReport importSessions(Reader reader, ExportFormat format) throws IOException;
+
+    /**
+     * Imports the experience gained from completed workout sessions
+     * @param reader the stream to read the history from, which is not closed
+     * @param format the format the history is in
+     * @return a report of the rows imported and skipped
+     * @throws IOException if the history could not be imported
+     */
+    ImportReport importProgress(Reader reader, ExportFormat format) throws IOException;
+
+    /**
+     * Imports the sessions and the experience history from the two files written by exporting
+     * the history to the given directory
+     * @param directory the directory to read the files from
+     * @param format the format the files are in
+     * @return the reports of the sessions and the experience history, sessions first
+     * @throws IOException if the files could not be imported
+     */
+    ImportReport[] importHistory(File directory, ExportFormat format) throws IOException;
+}
@@ -0,0 +1,29 @@
+package ledge.muscleup.business;
+
+import java.io.IOException;
+
+import ledge.muscleup.persistence.InterfaceSyncPeer;
+
+/**
+ * An interface for syncing the user's workout sessions with another device, such as the kiosk
+ * backend, exchanging only what changed on either side since they last synced
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-06
+ */
+public interface InterfaceAccessSync {
+    /**
+     * Gets the ID of this device, which peers know it by
+     * @return the ID of the device
+     */
+    String getDeviceID();
+
+    /**
+     * Syncs with another device, so both have the latest change to every date either changed
+     * @param peer the device to sync with
+     * @return how many changes were exchanged and applied
+     * @throws IOException if the changes could not be exchanged
+     */
+    SyncReport sync(InterfaceSyncPeer peer) throws IOException;
+}
@@ -4,8 +4,10 @@ import org.joda.time.LocalDate;
 
 import java.util.List;
 
+import ledge.muscleup.model.exercise.WorkoutSessionExercise;
 import ledge.muscleup.model.schedule.ScheduleWeek;
 import ledge.muscleup.model.workout.WorkoutSession;
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
 
 /**
  * An Interface for communicating with the database to retrieve, add, and remove workout sessions
@@ -40,6 +42,66 @@ public interface InterfaceAccessWorkoutSessions {
      */
     List<WorkoutSession> getCurrentWeekSessions(int weekStartDay);
 
+    /**
+     * This method gets the summary of the workout session scheduled on the given date, without
+     * loading its exercises
+     * @param dateOfSession the date of the workout session
+     * @return the summary of the workout session scheduled on the given date, or null if there is none
+     */
+    WorkoutSessionSummary getWorkoutSessionSummary(LocalDate dateOfSession);
+
+    /**
+     * A method that returns the summaries of the workout sessions scheduled in a date range,
+     * without loading their exercises
+     * @param startDate the first date of the date range
+     * @param endDate the last date of the date range
+     * @return a list of summaries of the workout sessions scheduled between startDate and
+     * endDate, inclusive
+     */
+    List<WorkoutSessionSummary> getSessionSummariesInDateRange(LocalDate startDate,
+                                                               LocalDate endDate);
+
+    /**
+     * A method that returns a summary for each day of the week containing the given date, with
+     * an empty summary for each day that has no workout scheduled
+     * @param weekStartDay day to start week at
+     * @param dayInWeek a day in the week to get the summaries for
+     * @return a list of seven workout session summaries, ordered by date
+     */
+    List<WorkoutSessionSummary> getWeekSessionSummaries(int weekStartDay, LocalDate dayInWeek);
+
+    /**
+     * Opens a query of the summaries of the workout sessions in a date range, one for each day,
+     * which is kept up to date as sessions are written
+     * @param startDate the first date of the date range
+     * @param endDate the last date of the date range
+     * @return the query, which should be closed once it is no longer needed
+     */
+    SessionQuery observeSessionRange(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Opens a query of the summaries of the workout sessions in the week containing the given
+     * date, one for each day, which is kept up to date as sessions are written
+     * @param weekStartDay day to start week at
+     * @param dayInWeek a day in the week to observe
+     * @return the query, which should be closed once it is no longer needed
+     */
+    SessionQuery observeWeek(int weekStartDay, LocalDate dayInWeek);
+
+    /**
+     * Opens a query of the summary of today's workout session, which is kept up to date as
+     * sessions are written
+     * @return the query, which should be closed once it is no longer needed
+     */
+    SessionQuery observeToday();
+
+    /**
+     * Opens a query of the experience history behind the progress summary, which is kept up to
+     * date as workout sessions are completed or uncompleted
+     * @return the query, which should be closed once it is no longer needed
+     */
+    ProgressQuery observeProgress();
+
     /**
      * Adds a new workout session to the database
      * @param workoutSession the workout session to be added to the database
@@ -52,6 +114,21 @@ public interface InterfaceAccessWorkoutSessions {
      */
     void removeWorkoutSession(WorkoutSession workoutSession);
 
+    /**
+     * Removes the workout session with the given summary from the database, if it exists
+     * @param sessionSummary the summary of the workout session to be removed
+     */
+    void removeWorkoutSession(WorkoutSessionSummary sessionSummary);
+
+    /**
+     * Moves a workout session to a new date, keeping its exercises and completed state
+     * @param workoutSession the workout session to move
+     * @param newDate the date to move the workout session to
+     * @return a boolean representing whether the workout session was moved
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    boolean moveWorkoutSession(WorkoutSession workoutSession, LocalDate newDate) throws IllegalArgumentException;
+
     /**
      * Toggles the completed state of a workout
      *
@@ -59,6 +136,39 @@ public interface InterfaceAccessWorkoutSessions {
      */
     void toggleWorkoutCompleted(WorkoutSession workoutSession);
 
+    /**
+     * Toggles the completed state of a single exercise in a workout session. Exercises ticked off
+     * close together are saved together, so this can be called on every tap
+     *
+     * @param workoutSession the workout session the exercise is in
+     * @param exercise the exercise to change the state of
+     * @return a boolean representing whether the exercise was found in the workout session
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    boolean toggleExerciseCompleted(WorkoutSession workoutSession, WorkoutSessionExercise exercise)
+            throws IllegalArgumentException;
+
+    /**
+     * Archives the completed workout sessions older than the given age, so the sessions read and
+     * changed day to day stay few. Archived sessions are still read as before
+     *
+     * @param minimumAgeDays how many days old a completed session must be to be archived
+     * @return the number of workout sessions archived
+     * @throws IllegalArgumentException if passed a negative age
+     */
+    int archiveOldSessions(int minimumAgeDays) throws IllegalArgumentException;
+
+    /**
+     * Rolls up the completed workout sessions older than the given age, keeping only their
+     * summary and experience value. Their exercises are dropped for good, so this is only done
+     * for users who have chosen it
+     *
+     * @param minimumAgeDays how many days old a completed session must be to be rolled up
+     * @return the number of workout sessions rolled up
+     * @throws IllegalArgumentException if passed a negative age
+     */
+    int rollUpOldSessions(int minimumAgeDays) throws IllegalArgumentException;
+
     /**
      * Sets the manager to contain the scheduled workouts for the previous week
      *
@@ -2,7 +2,9 @@ package ledge.muscleup.business;
 
 import java.util.List;
 
+import ledge.muscleup.model.exercise.enums.ExerciseType;
 import ledge.muscleup.model.workout.Workout;
+import ledge.muscleup.model.workout.WorkoutSummary;
 
 /**
  * An Interface for communicating with the database to retrieve, add, and remove workouts from the
@@ -33,7 +35,31 @@ public interface InterfaceAccessWorkouts {
     List<String> getWorkoutNamesList();
 
     /**
-     * Retrieves the name of the workout that is suggested for the user
+     * This method gets the summaries of all workouts in the database, without their exercises
+     * @return a list of the summaries of the workouts stored in the database
+     */
+    List<WorkoutSummary> getWorkoutSummaries();
+
+    /**
+     * This method gets the summary of the workout with the given name, without its exercises
+     * @param workoutName the name of the workout
+     * @return the summary of the workout with the given name, if it exists. Otherwise, returns null
+     */
+    WorkoutSummary getWorkoutSummary(String workoutName);
+
+    /**
+     * This method finds the workouts containing the given exercise and an exercise of the given
+     * type, taking time proportional to the number of workouts found
+     * @param exerciseName the name of an exercise the workouts must contain, or null to match any
+     *                     exercise
+     * @param type the type of an exercise the workouts must contain, or null to match any type
+     * @return a list of the names of the matching workouts
+     */
+    List<String> findWorkoutNames(String exerciseName, ExerciseType type);
+
+    /**
+     * Retrieves the name of the workout that is suggested for the user, favouring workouts whose
+     * exercise types have recovered the most since they were last trained
      * @return the workout that is suggested for the user
      */
     String getSuggestedWorkout();
@@ -0,0 +1,21 @@
+package ledge.muscleup.business;
+
+import ledge.muscleup.model.experience.ExperienceHistory;
+
+/**
+ * An interface for being told when the experience history a ProgressQuery holds changes
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-07
+ */
+public interface InterfaceProgressObserver {
+    /**
+     * Called once the query holds the changed history, on the background thread that re-reads
+     * the query after a workout session is completed, or on the thread that refreshed it
+     * @param query the query whose history changed
+     * @param previous the history held before the change
+     * @param current the history held now
+     */
+    void onProgressChanged(ProgressQuery query, ExperienceHistory previous, ExperienceHistory current);
+}
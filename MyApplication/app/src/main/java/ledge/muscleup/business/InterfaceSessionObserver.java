@@ -0,0 +1,20 @@
+package ledge.muscleup.business;
+
+import java.util.List;
+
+/**
+ * An interface for being told when the workout sessions a SessionQuery holds change
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-07
+ */
+public interface InterfaceSessionObserver {
+    /**
+     * Called once the query holds the changed sessions, on the background thread that re-reads
+     * the query after a write, or on the thread that refreshed it
+     * @param query the query whose sessions changed
+     * @param changes the days that changed, in order of date, never empty
+     */
+    void onSessionsChanged(SessionQuery query, List<SessionSummaryChange> changes);
+}
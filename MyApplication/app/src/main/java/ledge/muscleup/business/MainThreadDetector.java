@@ -0,0 +1,161 @@
+package ledge.muscleup.business;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detects calls into the business layer that block the main thread. While detection is enabled,
+ * the business objects handed out by AccessFactory time every call made on the main thread, and a
+ * call that goes over the time budget is either recorded or failed with a MainThreadViolation.
+ * Calls made on other threads are passed straight through
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-23
+ */
+public class MainThreadDetector {
+    private static final List<MainThreadViolation> violations = new ArrayList<>();
+
+    private static volatile Thread mainThread = null;
+    private static volatile long budgetNanos;
+    private static volatile boolean failOnViolation;
+
+    /**
+     * Turns on detection for business objects created from now on
+     * @param thread the main thread, on which calls are timed
+     * @param budgetMillis the longest a call may block the main thread, in milliseconds
+     * @param fail {@code true} to throw a MainThreadViolation when a call goes over the budget,
+     *             or {@code false} to only record it
+     * @throws IllegalArgumentException if {@code thread == null || budgetMillis < 0}
+     */
+    public static void enable(Thread thread, long budgetMillis, boolean fail) throws IllegalArgumentException {
+        if (thread == null || budgetMillis < 0)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        else {
+            budgetNanos = budgetMillis * 1000000;
+            failOnViolation = fail;
+            mainThread = thread;
+        }
+    }
+
+    /**
+     * Turns off detection, so that calls on business objects already handed out are no longer
+     * timed
+     */
+    public static void disable() {
+        mainThread = null;
+    }
+
+    /**
+     * Returns {@code true} if detection is enabled, or {@code false} otherwise
+     * @return a boolean representing whether detection is enabled
+     */
+    public static boolean isEnabled() {
+        return mainThread != null;
+    }
+
+    /**
+     * Returns the violations recorded so far, oldest first
+     * @return a list of the violations recorded so far
+     */
+    public static List<MainThreadViolation> getViolations() {
+        synchronized (violations) {
+            return new ArrayList<>(violations);
+        }
+    }
+
+    /**
+     * Forgets the violations recorded so far
+     */
+    public static void clearViolations() {
+        synchronized (violations) {
+            violations.clear();
+        }
+    }
+
+    /**
+     * Wraps a business object so that its calls on the main thread are timed, if detection is
+     * enabled
+     * @param accessInterface the interface the business object is used through
+     * @param access the business object to wrap
+     * @param <T> the type of the interface
+     * @return the wrapped business object, or the same object if detection is off
+     */
+    public static <T> T wrap(Class<T> accessInterface, T access) {
+        T wrapped = access;
+
+        if (isEnabled())
+            wrapped = accessInterface.cast(Proxy.newProxyInstance(accessInterface.getClassLoader(),
+                    new Class<?>[]{accessInterface}, new TimingHandler(access)));
+
+        return wrapped;
+    }
+
+    /**
+     * Handles a call that went over the budget, recording it and failing it if configured to
+     * @param violation the call that went over the budget
+     * @throws MainThreadViolation if calls over the budget should fail
+     */
+    private static void report(MainThreadViolation violation) throws MainThreadViolation {
+        synchronized (violations) {
+            violations.add(violation);
+        }
+
+        if (failOnViolation)
+            throw violation;
+        else
+            System.out.println(violation.getMessage() + " at " + violation.getCallSite());
+    }
+
+    /**
+     * Times the calls made on a business object from the main thread
+     */
+    private static class TimingHandler implements InvocationHandler {
+        private Object access;
+
+        TimingHandler(Object access) {
+            this.access = access;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            long start, elapsed;
+
+            if (Thread.currentThread() != mainThread)
+                result = call(method, args);
+            else {
+                start = System.nanoTime();
+                result = call(method, args);
+                elapsed = System.nanoTime() - start;
+
+                if (elapsed > budgetNanos)
+                    report(new MainThreadViolation(access.getClass().getSimpleName() + "." + method.getName(),
+                            elapsed, budgetNanos));
+            }
+
+            return result;
+        }
+
+        /**
+         * Calls a method on the business object, unwrapping the exception thrown through
+         * reflection
+         * @param method the method to call
+         * @param args the arguments of the call
+         * @return the result of the call
+         * @throws Throwable the exception thrown by the business method
+         */
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(access, args);
+            }
+            catch (InvocationTargetException ite) {
+                throw ite.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ledge.muscleup.business;
+
+/**
+ * A call into the business layer that blocked the main thread for longer than its time budget.
+ * The violation is created on the thread that made the call, so its stack trace shows where the
+ * call came from
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-23
+ */
+public class MainThreadViolation extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private static final String PACKAGE_PREFIX = "ledge.muscleup.";
+    private static final String BUSINESS_PREFIX = "ledge.muscleup.business.";
+
+    private String methodName;
+    private long durationNanos;
+    private long budgetNanos;
+
+    /**
+     * Constructor for a MainThreadViolation
+     * @param methodName the name of the business method that was called, such as
+     *                   {@code AccessWorkoutSessions.getWorkoutSession}
+     * @param durationNanos how long the call took, in nanoseconds
+     * @param budgetNanos the time budget the call went over, in nanoseconds
+     */
+    public MainThreadViolation(String methodName, long durationNanos, long budgetNanos) {
+        super(methodName + " blocked the main thread for " + (durationNanos / 1000000) + " ms (budget " +
+                (budgetNanos / 1000000) + " ms)");
+        this.methodName = methodName;
+        this.durationNanos = durationNanos;
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Returns the name of the business method that was called
+     * @return the name of the business method that was called
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * Returns how long the call took, in nanoseconds
+     * @return how long the call took
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Returns the time budget the call went over, in nanoseconds
+     * @return the time budget of the call
+     */
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    /**
+     * Returns the place in the application that made the call, which is the first frame of the
+     * stack trace outside of the business layer
+     * @return the call site, or {@code null} if it could not be found
+     */
+    public StackTraceElement getCallSite() {
+        StackTraceElement callSite = null;
+        StackTraceElement[] stackTrace = getStackTrace();
+        String className;
+
+        for (int i = 0; i < stackTrace.length && callSite == null; i++) {
+            className = stackTrace[i].getClassName();
+            if (className.startsWith(PACKAGE_PREFIX) && !className.startsWith(BUSINESS_PREFIX))
+                callSite = stackTrace[i];
+        }
+
+        return callSite;
+    }
+}
@@ -0,0 +1,130 @@
+package ledge.muscleup.business;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import ledge.muscleup.model.experience.CompletedWorkoutRecord;
+import ledge.muscleup.model.experience.ExperienceHistory;
+import ledge.muscleup.persistence.InterfaceExperienceDataAccess;
+import ledge.muscleup.persistence.InterfaceWorkoutSessionDataAccess;
+
+/**
+ * The experience history behind the progress summary, kept up to date as workout sessions are
+ * completed or uncompleted through AccessWorkoutSessions. The history is re-read after each such
+ * write, and observers are only told when the completed workouts actually changed, on the same
+ * background thread that re-reads the SessionQuery objects of the database. Writes made some other
+ * way, such as an import or a sync, are picked up by refreshing the query. A query should be
+ * closed once it is no longer needed, so that writes stop reaching it
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-07
+ */
+public class ProgressQuery {
+    private final InterfaceWorkoutSessionDataAccess sessionDataAccess;
+    private final InterfaceExperienceDataAccess experienceDataAccess;
+    private final List<InterfaceProgressObserver> observers = new CopyOnWriteArrayList<>();
+    private List<CompletedWorkoutRecord> completedWorkouts;
+    private ExperienceHistory history;
+    private boolean closed = false;
+
+    /**
+     * The constructor for the ProgressQuery class, which reads the history and starts following
+     * the completions written to the database
+     * @param sessionDataAccess the data access object the sessions are written with
+     * @param experienceDataAccess the data access object to read the history with
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    ProgressQuery(InterfaceWorkoutSessionDataAccess sessionDataAccess,
+                  InterfaceExperienceDataAccess experienceDataAccess) throws IllegalArgumentException {
+        if (sessionDataAccess == null || experienceDataAccess == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        this.sessionDataAccess = sessionDataAccess;
+        this.experienceDataAccess = experienceDataAccess;
+        completedWorkouts = experienceDataAccess.getCompletedWorkouts();
+        history = new ExperienceHistory(completedWorkouts);
+        SessionWrites.register(sessionDataAccess, this);
+    }
+
+    /**
+     * Gets the experience history, with the current level and the workouts completed
+     * @return the history read last
+     */
+    public synchronized ExperienceHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Starts telling an observer when the history changes
+     * @param observer the observer
+     * @throws IllegalArgumentException if passed a {@code null} observer
+     */
+    public void subscribe(InterfaceProgressObserver observer) throws IllegalArgumentException {
+        if (observer == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        observers.add(observer);
+    }
+
+    /**
+     * Stops telling an observer when the history changes
+     * @param observer the observer
+     */
+    public void unsubscribe(InterfaceProgressObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Reads the history again, telling the observers if it changed. Only needed after sessions
+     * were completed other than through AccessWorkoutSessions
+     */
+    public void refresh() {
+        List<CompletedWorkoutRecord> current;
+        ExperienceHistory previous;
+        ExperienceHistory currentHistory;
+
+        synchronized (this) {
+            if (closed)
+                return;
+            current = experienceDataAccess.getCompletedWorkouts();
+            if (current.equals(completedWorkouts))
+                return;
+            previous = history;
+            completedWorkouts = current;
+            history = new ExperienceHistory(current);
+            currentHistory = history;
+        }
+
+        for (InterfaceProgressObserver observer : observers)
+            observer.onProgressChanged(this, previous, currentHistory);
+    }
+
+    /**
+     * Waits until the completions written before the call have been re-read and told to the
+     * observers, for a caller that needs the history to show its own writes
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitWrites() throws InterruptedException {
+        SessionWrites.awaitDelivered();
+    }
+
+    /**
+     * Stops following the completions written to the database and drops the observers. The
+     * history read last is still returned
+     */
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        SessionWrites.unregister(sessionDataAccess, this);
+        observers.clear();
+    }
+
+    /**
+     * Re-reads the history after a workout session was completed or uncompleted
+     */
+    void completionWritten() {
+        refresh();
+    }
+}
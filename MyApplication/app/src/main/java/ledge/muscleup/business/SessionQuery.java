@@ -0,0 +1,266 @@
+package ledge.muscleup.business;
+
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
+import ledge.muscleup.persistence.InterfaceWorkoutSessionDataAccess;
+
+/**
+ * The summaries of the workout sessions in a date range, one for each day, kept up to date as
+ * sessions are written through AccessWorkoutSessions. A write only re-reads the days it touched,
+ * and observers are only told when one of the days in the range actually changed, with the days
+ * that did, so a screen that stays open can update those rows instead of reloading the range.
+ * Writes made some other way, such as an import or a sync, are picked up by refreshing the query.
+ * The days written are re-read, and the observers told, on a background thread rather than the
+ * thread that wrote them. A query should be closed once it is no longer needed, so that writes
+ * stop reaching it
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-07
+ */
+public class SessionQuery {
+    private final InterfaceWorkoutSessionDataAccess dataAccess;
+    private final LocalDate firstDate;
+    private final LocalDate lastDate;
+    private final List<WorkoutSessionSummary> summaries;
+    private final List<InterfaceSessionObserver> observers = new CopyOnWriteArrayList<>();
+    private boolean closed = false;
+
+    /**
+     * The constructor for the SessionQuery class, which reads the range and starts following the
+     * writes made to it
+     * @param dataAccess the data access object to read the sessions with
+     * @param firstDate the first date of the range
+     * @param lastDate the last date of the range
+     * @throws IllegalArgumentException if passed a {@code null} parameter, or a last date before
+     * the first
+     */
+    SessionQuery(InterfaceWorkoutSessionDataAccess dataAccess, LocalDate firstDate, LocalDate lastDate)
+            throws IllegalArgumentException {
+        if (dataAccess == null || firstDate == null || lastDate == null || lastDate.isBefore(firstDate))
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        this.dataAccess = dataAccess;
+        this.firstDate = firstDate;
+        this.lastDate = lastDate;
+        summaries = readRange();
+        SessionWrites.register(dataAccess, this);
+    }
+
+    /**
+     * Gets the first date of the range
+     * @return the first date
+     */
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    /**
+     * Gets the last date of the range
+     * @return the last date
+     */
+    public LocalDate getLastDate() {
+        return lastDate;
+    }
+
+    /**
+     * Gets the summary of each day in the range, with an empty summary for each day that has no
+     * workout scheduled
+     * @return a copy of the summaries, ordered by date
+     */
+    public synchronized List<WorkoutSessionSummary> getSummaries() {
+        return new ArrayList<>(summaries);
+    }
+
+    /**
+     * Gets the summary of one day in the range
+     * @param date the date of the day
+     * @return the summary of the day, which is empty if it has no workout scheduled, or
+     * {@code null} if the date isn't in the range
+     */
+    public synchronized WorkoutSessionSummary getSummary(LocalDate date) {
+        return contains(date) ? summaries.get(positionOf(date)) : null;
+    }
+
+    /**
+     * Starts telling an observer when the sessions in the range change
+     * @param observer the observer
+     * @throws IllegalArgumentException if passed a {@code null} observer
+     */
+    public void subscribe(InterfaceSessionObserver observer) throws IllegalArgumentException {
+        if (observer == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        observers.add(observer);
+    }
+
+    /**
+     * Stops telling an observer when the sessions in the range change
+     * @param observer the observer
+     */
+    public void unsubscribe(InterfaceSessionObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Reads the whole range again, telling the observers about any day that changed. Only needed
+     * after sessions were written other than through AccessWorkoutSessions
+     */
+    public void refresh() {
+        List<SessionSummaryChange> changes = new ArrayList<>();
+        List<WorkoutSessionSummary> current;
+
+        synchronized (this) {
+            if (closed)
+                return;
+            current = readRange();
+            for (int i = 0; i < current.size(); i++)
+                replace(i, current.get(i), changes);
+        }
+
+        notifyObservers(changes);
+    }
+
+    /**
+     * Waits until the writes made before the call have been re-read and told to the observers, for
+     * a caller that needs the summaries to show its own writes. An observer doesn't need to, since
+     * it is told on the thread that re-reads them
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitWrites() throws InterruptedException {
+        SessionWrites.awaitDelivered();
+    }
+
+    /**
+     * Stops following the writes made to the range and drops the observers. The summaries read
+     * last are still returned
+     */
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        SessionWrites.unregister(dataAccess, this);
+        observers.clear();
+    }
+
+    /**
+     * Re-reads the days in the range that were written, telling the observers about those that
+     * changed. Written dates outside the range are ignored without reading them
+     * @param dates the dates written
+     */
+    void datesWritten(LocalDate... dates) {
+        List<SessionSummaryChange> changes = new ArrayList<>();
+        WorkoutSessionSummary summary;
+
+        synchronized (this) {
+            if (closed)
+                return;
+            for (LocalDate date : dates) {
+                if (contains(date)) {
+                    summary = dataAccess.getWorkoutSessionSummary(date);
+                    replace(positionOf(date), summary == null ? new WorkoutSessionSummary(date) : summary, changes);
+                }
+            }
+        }
+
+        if (changes.size() > 1)
+            Collections.sort(changes, new Comparator<SessionSummaryChange>() {
+                @Override
+                public int compare(SessionSummaryChange a, SessionSummaryChange b) {
+                    return a.getPosition() - b.getPosition();
+                }
+            });
+        notifyObservers(changes);
+    }
+
+    /**
+     * Fills in the days of a range that have no workout scheduled with empty summaries
+     * @param firstDate the first date of the range
+     * @param days the number of days in the range
+     * @param scheduledSummaries the summaries of the sessions scheduled in the range, ordered by
+     *                           date
+     * @return a summary for each day of the range, ordered by date
+     */
+    static List<WorkoutSessionSummary> fillDays(LocalDate firstDate, int days,
+                                                List<WorkoutSessionSummary> scheduledSummaries) {
+        List<WorkoutSessionSummary> daySummaries = new ArrayList<>(days);
+        LocalDate currDate;
+        int scheduledIndex = 0;
+
+        //the scheduled summaries are ordered by date, so fill in the empty days between them
+        for (int i = 0; i < days; i++) {
+            currDate = firstDate.plusDays(i);
+            if (scheduledIndex < scheduledSummaries.size() &&
+                    scheduledSummaries.get(scheduledIndex).getDate().equals(currDate)) {
+                daySummaries.add(scheduledSummaries.get(scheduledIndex));
+                scheduledIndex++;
+            }
+            else
+                daySummaries.add(new WorkoutSessionSummary(currDate));
+        }
+
+        return daySummaries;
+    }
+
+    /**
+     * Reads a summary for each day of the range
+     * @return the summaries, ordered by date
+     */
+    private List<WorkoutSessionSummary> readRange() {
+        return fillDays(firstDate, positionOf(lastDate) + 1,
+                dataAccess.getSessionSummariesInDateRange(firstDate, lastDate));
+    }
+
+    /**
+     * Replaces the summary of a day, noting the change if the summary is different
+     * @param position the position of the day
+     * @param summary the new summary of the day
+     * @param changes the changes to add to
+     */
+    private void replace(int position, WorkoutSessionSummary summary, List<SessionSummaryChange> changes) {
+        WorkoutSessionSummary previous = summaries.get(position);
+
+        if (!previous.equals(summary)) {
+            summaries.set(position, summary);
+            changes.add(new SessionSummaryChange(position, previous, summary));
+        }
+    }
+
+    /**
+     * Tells each observer about the changes, if there are any
+     * @param changes the changes
+     */
+    private void notifyObservers(List<SessionSummaryChange> changes) {
+        if (!changes.isEmpty()) {
+            changes = Collections.unmodifiableList(changes);
+            for (InterfaceSessionObserver observer : observers)
+                observer.onSessionsChanged(this, changes);
+        }
+    }
+
+    /**
+     * Returns whether a date is in the range
+     * @param date the date
+     * @return {@code true} if the date is in the range
+     */
+    private boolean contains(LocalDate date) {
+        return date != null && !date.isBefore(firstDate) && !date.isAfter(lastDate);
+    }
+
+    /**
+     * Gets the position of a date in the range
+     * @param date the date
+     * @return the number of days from the first date to the date
+     */
+    private int positionOf(LocalDate date) {
+        return Days.daysBetween(firstDate, date).getDays();
+    }
+}
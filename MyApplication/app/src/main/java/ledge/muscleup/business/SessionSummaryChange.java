@@ -0,0 +1,69 @@
+package ledge.muscleup.business;
+
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
+
+/**
+ * A change to one day of a SessionQuery: the position of the day in the query, and its summary
+ * before and after the change. A day with no workout scheduled has an empty summary
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-07
+ */
+public class SessionSummaryChange {
+    private int position;
+    private WorkoutSessionSummary previous;
+    private WorkoutSessionSummary current;
+
+    /**
+     * The constructor for the SessionSummaryChange class
+     * @param position the position of the day in the query
+     * @param previous the summary of the day before the change
+     * @param current the summary of the day after the change
+     * @throws IllegalArgumentException if passed a {@code null} summary or a negative position
+     */
+    public SessionSummaryChange(int position, WorkoutSessionSummary previous, WorkoutSessionSummary current)
+            throws IllegalArgumentException {
+        if (position < 0 || previous == null || current == null) {
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        }
+        else {
+            this.position = position;
+            this.previous = previous;
+            this.current = current;
+        }
+    }
+
+    /**
+     * Returns the position of the day in the query
+     * @return the position of the day, from 0
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the summary of the day before the change
+     * @return the previous summary
+     */
+    public WorkoutSessionSummary getPrevious() {
+        return previous;
+    }
+
+    /**
+     * Returns the summary of the day after the change
+     * @return the current summary
+     */
+    public WorkoutSessionSummary getCurrent() {
+        return current;
+    }
+
+    /**
+     * Returns the SessionSummaryChange as a String
+     * @return the SessionSummaryChange as a String
+     */
+    @Override
+    public String toString() {
+        return "Day " + position + ": " + previous + " -> " + current;
+    }
+}
@@ -0,0 +1,231 @@
+package ledge.muscleup.business;
+
+import org.joda.time.LocalDate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import ledge.muscleup.persistence.InterfaceWorkoutSessionDataAccess;
+
+/**
+ * Keeps track of the open SessionQuery objects for each database, so that a write made through
+ * any AccessWorkoutSessions reaches the queries reading the same database, whichever business
+ * object they were made with, along with anything else that wants to know a database was written,
+ * such as the dashboard snapshot. Completing or uncompleting a session also reaches the open
+ * ProgressQuery objects of the database, since it changes the experience history. Databases are told apart by their data access object, which
+ * every business object of a profile shares. The queries and listeners are told on a background
+ * thread of their own, one write after another in the order they were made, so that re-reading
+ * the dates written never holds up the thread that wrote them
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-07
+ */
+final class SessionWrites {
+    private static final String DELIVERY_THREAD_NAME = "SessionWrites";
+
+    private static final Map<InterfaceWorkoutSessionDataAccess, List<SessionQuery>> queriesByDataAccess =
+            new WeakHashMap<>();
+    private static final Map<InterfaceWorkoutSessionDataAccess, List<ProgressQuery>> progressByDataAccess =
+            new WeakHashMap<>();
+    private static final Map<InterfaceWorkoutSessionDataAccess, List<Runnable>> listenersByDataAccess =
+            new WeakHashMap<>();
+    private static Thread deliveryThread = null;
+    private static final ExecutorService deliveries = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, DELIVERY_THREAD_NAME);
+
+            thread.setDaemon(true);
+            synchronized (SessionWrites.class) {
+                deliveryThread = thread;
+            }
+            return thread;
+        }
+    });
+
+    private SessionWrites() { }
+
+    /**
+     * Starts telling a query about the writes made to its database
+     * @param dataAccess the data access object the query reads with
+     * @param query the query
+     */
+    static synchronized void register(InterfaceWorkoutSessionDataAccess dataAccess, SessionQuery query) {
+        List<SessionQuery> queries = queriesByDataAccess.get(dataAccess);
+
+        if (queries == null) {
+            queries = new ArrayList<>();
+            queriesByDataAccess.put(dataAccess, queries);
+        }
+        queries.add(query);
+    }
+
+    /**
+     * Stops telling a query about writes
+     * @param dataAccess the data access object the query reads with
+     * @param query the query
+     */
+    static synchronized void unregister(InterfaceWorkoutSessionDataAccess dataAccess, SessionQuery query) {
+        List<SessionQuery> queries = queriesByDataAccess.get(dataAccess);
+
+        if (queries != null) {
+            queries.remove(query);
+            if (queries.isEmpty())
+                queriesByDataAccess.remove(dataAccess);
+        }
+    }
+
+    /**
+     * Starts telling a progress query about the sessions completed in its database
+     * @param dataAccess the data access object the sessions are written with
+     * @param query the query
+     */
+    static synchronized void register(InterfaceWorkoutSessionDataAccess dataAccess, ProgressQuery query) {
+        List<ProgressQuery> queries = progressByDataAccess.get(dataAccess);
+
+        if (queries == null) {
+            queries = new ArrayList<>();
+            progressByDataAccess.put(dataAccess, queries);
+        }
+        queries.add(query);
+    }
+
+    /**
+     * Stops telling a progress query about completions
+     * @param dataAccess the data access object the sessions are written with
+     * @param query the query
+     */
+    static synchronized void unregister(InterfaceWorkoutSessionDataAccess dataAccess, ProgressQuery query) {
+        List<ProgressQuery> queries = progressByDataAccess.get(dataAccess);
+
+        if (queries != null) {
+            queries.remove(query);
+            if (queries.isEmpty())
+                progressByDataAccess.remove(dataAccess);
+        }
+    }
+
+    /**
+     * Starts running a listener after each write made to a database, once the queries reading it
+     * have been told
+     * @param dataAccess the data access object of the database
+     * @param listener the listener, which runs on the background thread the writes are told on
+     */
+    static synchronized void listen(InterfaceWorkoutSessionDataAccess dataAccess, Runnable listener) {
+        List<Runnable> listeners = listenersByDataAccess.get(dataAccess);
+
+        if (listeners == null) {
+            listeners = new ArrayList<>();
+            listenersByDataAccess.put(dataAccess, listeners);
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Stops running a listener after writes
+     * @param dataAccess the data access object of the database
+     * @param listener the listener
+     */
+    static synchronized void stopListening(InterfaceWorkoutSessionDataAccess dataAccess, Runnable listener) {
+        List<Runnable> listeners = listenersByDataAccess.get(dataAccess);
+
+        if (listeners != null) {
+            listeners.remove(listener);
+            if (listeners.isEmpty())
+                listenersByDataAccess.remove(dataAccess);
+        }
+    }
+
+    /**
+     * Tells the queries reading a database that the sessions on some dates were written, and then
+     * runs its listeners, on the background thread. Both are told outside the lock, so that they
+     * may open or close queries
+     * @param dataAccess the data access object the write was made with
+     * @param dates the dates written
+     */
+    static void written(InterfaceWorkoutSessionDataAccess dataAccess, LocalDate... dates) {
+        deliver(dataAccess, false, dates);
+    }
+
+    /**
+     * Tells the queries reading a database that a session was completed or uncompleted, the same
+     * way as any other write, and has its progress queries re-read the experience history before
+     * the listeners run
+     * @param dataAccess the data access object the write was made with
+     * @param date the date of the session
+     */
+    static void completionWritten(InterfaceWorkoutSessionDataAccess dataAccess, LocalDate date) {
+        deliver(dataAccess, true, date);
+    }
+
+    /**
+     * Waits until every write made before the call has been told to the queries and listeners.
+     * Returns at once on the background thread itself, which has told them already
+     * @throws InterruptedException if interrupted while waiting
+     */
+    static void awaitDelivered() throws InterruptedException {
+        synchronized (SessionWrites.class) {
+            if (Thread.currentThread() == deliveryThread)
+                return;
+        }
+
+        try {
+            deliveries.submit(new Runnable() {
+                @Override
+                public void run() { }
+            }).get();
+        }
+        catch (ExecutionException e) {
+            //an empty task can't fail
+        }
+    }
+
+    /**
+     * Tells the queries and listeners of a database about a write on the background thread
+     * @param dataAccess the data access object the write was made with
+     * @param completion whether the write completed or uncompleted a session
+     * @param dates the dates written
+     */
+    private static void deliver(InterfaceWorkoutSessionDataAccess dataAccess, boolean completion,
+                                final LocalDate... dates) {
+        final List<SessionQuery> queries;
+        final List<ProgressQuery> progressQueries;
+        final List<Runnable> listeners;
+
+        synchronized (SessionWrites.class) {
+            queries = copyOf(queriesByDataAccess.get(dataAccess));
+            progressQueries = completion ? copyOf(progressByDataAccess.get(dataAccess)) : new ArrayList<ProgressQuery>();
+            listeners = copyOf(listenersByDataAccess.get(dataAccess));
+        }
+
+        if (!queries.isEmpty() || !progressQueries.isEmpty() || !listeners.isEmpty()) {
+            deliveries.execute(new Runnable() {
+                @Override
+                public void run() {
+                    for (SessionQuery query : queries)
+                        query.datesWritten(dates);
+                    for (ProgressQuery query : progressQueries)
+                        query.completionWritten();
+                    for (Runnable listener : listeners)
+                        listener.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Copies a list that may be missing
+     * @param list the list, or {@code null}
+     * @return a copy of the list, which is empty if there was no list
+     */
+    private static <T> List<T> copyOf(List<T> list) {
+        return list == null ? new ArrayList<T>() : new ArrayList<>(list);
+    }
+}
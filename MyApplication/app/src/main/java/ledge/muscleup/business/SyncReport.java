@@ -0,0 +1,95 @@
+package ledge.muscleup.business;
+
+import java.util.Locale;
+
+/**
+ * The outcome of syncing with another device: how many changes were sent and received, how many
+ * of them each side applied, and how long it took. A change that isn't applied lost to a later
+ * change to the same date, or left the date as it already was
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-06
+ */
+public class SyncReport {
+    private int changesSent;
+    private int changesAppliedByPeer;
+    private int changesReceived;
+    private int changesApplied;
+    private long elapsedNanos;
+
+    /**
+     * The constructor for the SyncReport class
+     * @param changesSent the number of changes sent to the peer
+     * @param changesAppliedByPeer the number of changes sent that the peer applied
+     * @param changesReceived the number of changes received from the peer
+     * @param changesApplied the number of changes received that were applied here
+     * @param elapsedNanos how long syncing took, in nanoseconds
+     * @throws IllegalArgumentException if passed a negative value, or more changes applied than
+     * were sent or received
+     */
+    public SyncReport(int changesSent, int changesAppliedByPeer, int changesReceived, int changesApplied,
+                      long elapsedNanos) throws IllegalArgumentException {
+        if (changesAppliedByPeer < 0 || changesSent < changesAppliedByPeer || changesApplied < 0 ||
+                changesReceived < changesApplied || elapsedNanos < 0) {
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        }
+        else {
+            this.changesSent = changesSent;
+            this.changesAppliedByPeer = changesAppliedByPeer;
+            this.changesReceived = changesReceived;
+            this.changesApplied = changesApplied;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    /**
+     * Returns the number of changes sent to the peer
+     * @return the number of changes sent
+     */
+    public int getChangesSent() {
+        return changesSent;
+    }
+
+    /**
+     * Returns the number of changes sent that the peer applied
+     * @return the number of changes the peer applied
+     */
+    public int getChangesAppliedByPeer() {
+        return changesAppliedByPeer;
+    }
+
+    /**
+     * Returns the number of changes received from the peer
+     * @return the number of changes received
+     */
+    public int getChangesReceived() {
+        return changesReceived;
+    }
+
+    /**
+     * Returns the number of changes received that were applied here
+     * @return the number of changes applied
+     */
+    public int getChangesApplied() {
+        return changesApplied;
+    }
+
+    /**
+     * Returns how long syncing took
+     * @return the time taken, in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the SyncReport as a String
+     * @return the SyncReport as a String
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "Sent %d changes (%d applied) and received %d (%d applied) in %.1f ms",
+                changesSent, changesAppliedByPeer, changesReceived, changesApplied, elapsedNanos / 1e6);
+    }
+}
@@ -0,0 +1,107 @@
+package ledge.muscleup.business;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
+
+/**
+ * An inverted index from exercises and exercise types to the workouts that contain them. Each
+ * workout is given a position, and each exercise and type has a bit set of the positions of the
+ * workouts containing it, so finding workouts never looks at workouts that don't match. The index
+ * is not changed once built, so it can be shared between threads
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-27
+ */
+public class WorkoutContentsIndex {
+    private final List<String> workoutNames;
+    private final Map<String, BitSet> exercisePostings;
+    private final EnumMap<ExerciseType, BitSet> typePostings;
+
+    /**
+     * Constructor for a WorkoutContentsIndex, which indexes the given workout contents
+     * @param workoutContents a map from the name of each workout to the exercises it contains
+     * @throws IllegalArgumentException if passed a {@code null} map
+     */
+    public WorkoutContentsIndex(Map<String, List<Exercise>> workoutContents) throws IllegalArgumentException {
+        int position = 0;
+
+        if (workoutContents == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        workoutNames = new ArrayList<>(workoutContents.keySet());
+        exercisePostings = new HashMap<>();
+        typePostings = new EnumMap<>(ExerciseType.class);
+        for (ExerciseType type : ExerciseType.values())
+            typePostings.put(type, new BitSet(workoutNames.size()));
+
+        for (String workoutName : workoutNames) {
+            for (Exercise exercise : workoutContents.get(workoutName)) {
+                getOrCreatePostings(exercise.getName()).set(position);
+                typePostings.get(exercise.getType()).set(position);
+            }
+            position++;
+        }
+    }
+
+    /**
+     * Returns the number of workouts in the index
+     * @return the number of workouts in the index
+     */
+    public int size() {
+        return workoutNames.size();
+    }
+
+    /**
+     * Finds the workouts containing the given exercise and an exercise of the given type
+     * @param exerciseName the name of an exercise the workouts must contain, or {@code null} to
+     *                     match any exercise
+     * @param type the type of an exercise the workouts must contain, or {@code null} to match any
+     *             type
+     * @return a list of the names of the matching workouts, in workout order
+     */
+    public List<String> findWorkouts(String exerciseName, ExerciseType type) {
+        List<String> results = new ArrayList<>();
+        BitSet matches = new BitSet(workoutNames.size());
+        BitSet postings;
+
+        if (exerciseName == null)
+            matches.set(0, workoutNames.size());
+        else {
+            postings = exercisePostings.get(exerciseName);
+            if (postings != null)
+                matches.or(postings);
+        }
+
+        if (type != null)
+            matches.and(typePostings.get(type));
+
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1))
+            results.add(workoutNames.get(i));
+
+        return results;
+    }
+
+    /**
+     * Gets the postings for an exercise, adding empty postings if it has none
+     * @param exerciseName the name of the exercise
+     * @return the bit set of workouts containing the exercise
+     */
+    private BitSet getOrCreatePostings(String exerciseName) {
+        BitSet postings = exercisePostings.get(exerciseName);
+
+        if (postings == null) {
+            postings = new BitSet(workoutNames.size());
+            exercisePostings.put(exerciseName, postings);
+        }
+
+        return postings;
+    }
+}
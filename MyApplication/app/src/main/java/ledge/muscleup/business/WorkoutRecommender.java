@@ -0,0 +1,123 @@
+package ledge.muscleup.business;
+
+import org.joda.time.LocalDate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.ExerciseTypeRecovery;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
+
+/**
+ * Suggests the workout that best fits how rested each muscle group is. Every workout's load on
+ * each exercise type is worked out once when the recommender is built, and the recovery of each
+ * type is kept alongside it, so scoring every workout is a few multiplications each and never
+ * looks at the workout history. A workout scores the intensity-weighted average of how recovered
+ * its types are, counting fully rested types for it and types still recovering against it, so
+ * hard exercises on tired muscle groups are avoided most. Ties go to the workout with the most
+ * load, then to the workout listed first
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-28
+ */
+public class WorkoutRecommender {
+    private static final ExerciseType[] TYPES = ExerciseType.values();
+
+    private final List<String> workoutNames;
+    private final int[][] typeLoads;
+    private final int[] totalLoads;
+    private final EnumMap<ExerciseType, ExerciseTypeRecovery> recoveries;
+
+    /**
+     * Constructor for a WorkoutRecommender, which recommends from the given workouts with every
+     * exercise type fully rested
+     * @param workoutContents a map from the name of each workout to the exercises it contains
+     * @throws IllegalArgumentException if passed a {@code null} map
+     */
+    public WorkoutRecommender(Map<String, List<Exercise>> workoutContents) throws IllegalArgumentException {
+        int position = 0;
+        int weight;
+
+        if (workoutContents == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        workoutNames = new ArrayList<>(workoutContents.keySet());
+        typeLoads = new int[workoutNames.size()][TYPES.length];
+        totalLoads = new int[workoutNames.size()];
+
+        for (String workoutName : workoutNames) {
+            for (Exercise exercise : workoutContents.get(workoutName)) {
+                weight = ExerciseTypeRecovery.getLoadWeight(exercise.getIntensity());
+                typeLoads[position][exercise.getType().ordinal()] += weight;
+                totalLoads[position] += weight;
+            }
+            position++;
+        }
+
+        recoveries = new EnumMap<>(ExerciseType.class);
+        for (ExerciseType type : TYPES)
+            recoveries.put(type, new ExerciseTypeRecovery(type, null, 0));
+    }
+
+    /**
+     * Sets the recovery of an exercise type
+     * @param recovery the recovery of the type
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public void setRecovery(ExerciseTypeRecovery recovery) throws IllegalArgumentException {
+        if (recovery == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        recoveries.put(recovery.getType(), recovery);
+    }
+
+    /**
+     * Returns the recovery of an exercise type
+     * @param type the exercise type
+     * @return the recovery of the type
+     */
+    public ExerciseTypeRecovery getRecovery(ExerciseType type) {
+        return recoveries.get(type);
+    }
+
+    /**
+     * Suggests the workout that best fits how rested each exercise type is on the given date.
+     * Workouts with no exercises are only suggested if there is nothing else
+     * @param date the date the workout would be done on
+     * @return the name of the suggested workout, or {@code null} if there are no workouts
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public String suggest(LocalDate date) throws IllegalArgumentException {
+        double[] readiness = new double[TYPES.length];
+        double score, bestScore = Double.NEGATIVE_INFINITY;
+        int best = -1;
+
+        if (date == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        //a rested type counts 1 for each unit of load, and a type trained today counts -1
+        for (ExerciseType type : TYPES)
+            readiness[type.ordinal()] = 2 * recoveries.get(type).getRecovery(date) - 1;
+
+        for (int i = 0; i < workoutNames.size(); i++) {
+            score = -2; //below any workout with exercises
+            if (totalLoads[i] > 0) {
+                score = 0;
+                for (int t = 0; t < TYPES.length; t++)
+                    score += typeLoads[i][t] * readiness[t];
+                score /= totalLoads[i];
+            }
+
+            if (best < 0 || score > bestScore || (score == bestScore && totalLoads[i] > totalLoads[best])) {
+                best = i;
+                bestScore = score;
+            }
+        }
+
+        return best < 0 ? null : workoutNames.get(best);
+    }
+}
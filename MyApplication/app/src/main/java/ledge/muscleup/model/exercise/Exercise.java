@@ -10,7 +10,7 @@ import ledge.muscleup.model.exercise.enums.ExerciseType;
  * @version 1.0
  * @since 2017-05-25
  */
-public class Exercise {
+public class Exercise implements InterfaceNamedExercise {
     private String name;
     private ExerciseIntensity intensity;
     private ExerciseType exerciseType;
@@ -39,6 +39,7 @@ public class Exercise {
      *
      * @return the name of the exercise
      */
+    @Override
     public String getName() {
         return name;
     }
@@ -71,6 +72,28 @@ public class Exercise {
         return other != null && name.equals(other.getName());
     }
 
+    /**
+     * Compares the current Exercise to another object, which is only equal if it is an
+     * instance of Exercise equal to this one
+     *
+     * @param other the object to compare to
+     * @return a boolean representing whether the two objects were equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Exercise && equals((Exercise) other);
+    }
+
+    /**
+     * Returns a hash code for the Exercise, which only depends on its name, like equals()
+     *
+     * @return the hash code of the Exercise
+     */
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
     /**
      * Returns the Exercise as a String
      * @return the Exercise as a String
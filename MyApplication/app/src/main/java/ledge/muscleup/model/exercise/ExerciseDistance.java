@@ -70,6 +70,29 @@ public class ExerciseDistance implements InterfaceExerciseDistance {
         return isEqual;
     }
 
+    /**
+     * Compares the current ExerciseDistance to another object, which is only equal if it is an
+     * instance of InterfaceExerciseQuantity equal to this one
+     *
+     * @param other the object to compare to
+     * @return a boolean representing whether the two objects were equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof InterfaceExerciseQuantity && equals((InterfaceExerciseQuantity) other);
+    }
+
+    /**
+     * Returns a hash code for the ExerciseDistance, which depends on the same fields as equals()
+     *
+     * @return the hash code of the ExerciseDistance
+     */
+    @Override
+    public int hashCode() {
+        //adding 0.0 makes -0.0 hash the same as 0.0, since the two are equal
+        return 31 * Double.valueOf(distance + 0.0).hashCode() + unitOfMeasure.hashCode();
+    }
+
     /**
      * Returns the ExerciseDistance as a string
      * @return the ExerciseDistance as a string
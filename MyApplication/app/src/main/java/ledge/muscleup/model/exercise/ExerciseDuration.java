@@ -68,6 +68,28 @@ public class ExerciseDuration implements InterfaceExerciseDuration {
         return isEqual;
     }
 
+    /**
+     * Compares the current ExerciseDuration to another object, which is only equal if it is an
+     * instance of InterfaceExerciseQuantity equal to this one
+     *
+     * @param other the object to compare to
+     * @return a boolean representing whether the two objects were equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof InterfaceExerciseQuantity && equals((InterfaceExerciseQuantity) other);
+    }
+
+    /**
+     * Returns a hash code for the ExerciseDuration, which depends on the same fields as equals()
+     *
+     * @return the hash code of the ExerciseDuration
+     */
+    @Override
+    public int hashCode() {
+        return 31 * time + unitOfMeasure.hashCode();
+    }
+
     /**
      * Returns the ExerciseDuration as a string
      * @return the ExerciseDuration as a string
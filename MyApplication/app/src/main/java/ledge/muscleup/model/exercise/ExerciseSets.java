@@ -66,6 +66,28 @@ public class ExerciseSets implements InterfaceExerciseSets {
         return isEqual;
     }
 
+    /**
+     * Compares the current ExerciseSets to another object, which is only equal if it is an
+     * instance of InterfaceExerciseQuantity equal to this one
+     *
+     * @param other the object to compare to
+     * @return a boolean representing whether the two objects were equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof InterfaceExerciseQuantity && equals((InterfaceExerciseQuantity) other);
+    }
+
+    /**
+     * Returns a hash code for the ExerciseSets, which depends on the same fields as equals()
+     *
+     * @return the hash code of the ExerciseSets
+     */
+    @Override
+    public int hashCode() {
+        return 31 * sets + reps;
+    }
+
     /**
      * Returns the ExerciseSets as a string
      * @return the ExerciseSets as a string
@@ -76,6 +76,17 @@ public class ExerciseSetsAndWeight extends ExerciseSets implements InterfaceExer
         return isEqual;
     }
 
+    /**
+     * Returns a hash code for the ExerciseSetsAndWeight, which depends on the same fields as equals()
+     *
+     * @return the hash code of the ExerciseSetsAndWeight
+     */
+    @Override
+    public int hashCode() {
+        //adding 0.0 makes -0.0 hash the same as 0.0, since the two are equal
+        return 31 * (31 * super.hashCode() + Double.valueOf(weight + 0.0).hashCode()) + unitOfMeasure.hashCode();
+    }
+
     /**
      * Returns the ExerciseSets as a string
      *
@@ -0,0 +1,147 @@
+package ledge.muscleup.model.exercise;
+
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
+
+/**
+ * How rested the muscle group worked by an exercise type is: the date the type was last trained
+ * in a completed workout session, and the load of that session on the type. The load is the sum
+ * of the intensity weights of the session's exercises of that type, and each unit of load needs
+ * a third of a day of rest, with at least a day of rest after any training
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-28
+ */
+
+public class ExerciseTypeRecovery {
+    private static final int LOAD_PER_REST_DAY = getLoadWeight(ExerciseIntensity.HIGH);
+
+    private ExerciseType type;
+    private LocalDate lastTrained;
+    private int load;
+
+    /**
+     * The constructor for the ExerciseTypeRecovery class
+     * @param type the exercise type
+     * @param lastTrained the date the type was last trained, or {@code null} if it never has been
+     * @param load the load of the last training on the type
+     * @throws IllegalArgumentException if passed a {@code null} type or a negative load
+     */
+    public ExerciseTypeRecovery(ExerciseType type, LocalDate lastTrained, int load) throws IllegalArgumentException {
+        if (type == null || load < 0) {
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        }
+        else {
+            this.type = type;
+            this.lastTrained = lastTrained;
+            this.load = lastTrained == null ? 0 : load;
+        }
+    }
+
+    /**
+     * Returns the weight an exercise of the given intensity adds to the load on its type
+     *
+     * @param intensity the intensity of the exercise
+     * @return the load weight of the intensity
+     */
+    public static int getLoadWeight(ExerciseIntensity intensity) {
+        return intensity.ordinal() + 1;
+    }
+
+    /**
+     * Returns the exercise type
+     *
+     * @return the exercise type
+     */
+    public ExerciseType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the date the type was last trained
+     *
+     * @return the date the type was last trained, or {@code null} if it never has been
+     */
+    public LocalDate getLastTrained() {
+        return lastTrained;
+    }
+
+    /**
+     * Returns the load of the last training on the type
+     *
+     * @return the load of the last training on the type
+     */
+    public int getLoad() {
+        return load;
+    }
+
+    /**
+     * Returns how recovered the type is on the given date, from 0 on the day it was trained to 1
+     * once it has had all the rest its last load needs
+     *
+     * @param date the date to check the recovery on
+     * @return the recovery of the type, between 0 and 1
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public double getRecovery(LocalDate date) throws IllegalArgumentException {
+        double restDays, daysRested;
+
+        if (date == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        if (lastTrained == null)
+            return 1;
+
+        restDays = Math.max(1.0, (double) load / LOAD_PER_REST_DAY);
+        daysRested = Math.max(0, Days.daysBetween(lastTrained, date).getDays());
+
+        return Math.min(1.0, daysRested / restDays);
+    }
+
+    /**
+     * Compares the current ExerciseTypeRecovery to another instance of ExerciseTypeRecovery
+     *
+     * @param other the instance of ExerciseTypeRecovery to compare to
+     * @return a boolean representing whether the two instances were equal
+     */
+    public boolean equals(ExerciseTypeRecovery other) {
+        return other != null &&
+                type == other.getType() &&
+                (lastTrained == null ? other.getLastTrained() == null : lastTrained.equals(other.getLastTrained())) &&
+                load == other.getLoad();
+    }
+
+    /**
+     * Compares the current ExerciseTypeRecovery to another object, which is only equal if it is an
+     * instance of ExerciseTypeRecovery equal to this one
+     *
+     * @param other the object to compare to
+     * @return a boolean representing whether the two objects were equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ExerciseTypeRecovery && equals((ExerciseTypeRecovery) other);
+    }
+
+    /**
+     * Returns a hash code for the ExerciseTypeRecovery, which depends on the same fields as equals()
+     *
+     * @return the hash code of the ExerciseTypeRecovery
+     */
+    @Override
+    public int hashCode() {
+        return 31 * (31 * type.hashCode() + (lastTrained == null ? 0 : lastTrained.hashCode())) + load;
+    }
+
+    /**
+     * Returns the ExerciseTypeRecovery as a String
+     * @return the ExerciseTypeRecovery as a String
+     */
+    @Override
+    public String toString() {
+        return type + (lastTrained == null ? ": never trained" : ": load " + load + " on " + lastTrained);
+    }
+}
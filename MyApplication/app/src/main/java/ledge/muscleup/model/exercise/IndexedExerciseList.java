@@ -0,0 +1,142 @@
+package ledge.muscleup.model.exercise;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * An ordered list of exercises that also keeps the position of each exercise by name, so an
+ * exercise can be found without searching the list. If the same exercise is in the list more
+ * than once, its first position is kept. Changing the list anywhere but the end only updates the
+ * positions of the exercises after the change
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-01
+ */
+public class IndexedExerciseList<E extends InterfaceNamedExercise> extends AbstractList<E> implements RandomAccess {
+    private final List<E> exercises;
+    private final Map<String, Integer> positions;
+
+    /**
+     * The constructor for the IndexedExerciseList class, which creates an empty list
+     */
+    public IndexedExerciseList() {
+        exercises = new ArrayList<>();
+        positions = new HashMap<>();
+    }
+
+    /**
+     * Returns the position of the first exercise in the list with the given name
+     * @param name the name of the exercise
+     * @return the position of the exercise, or -1 if it is not in the list
+     */
+    public int indexOfName(String name) {
+        Integer position = positions.get(name);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * Moves an exercise to a new position, shifting the exercises in between by one
+     * @param from the position of the exercise to move
+     * @param to the position the exercise should end up at
+     * @throws IndexOutOfBoundsException if either position is outside the list
+     */
+    public void move(int from, int to) throws IndexOutOfBoundsException {
+        E exercise = exercises.get(from);
+        int step = from < to ? 1 : -1;
+
+        if (to < 0 || to >= exercises.size())
+            throw(new IndexOutOfBoundsException("Invalid index " + to));
+
+        for (int i = from; i != to; i += step)
+            exercises.set(i, exercises.get(i + step));
+        exercises.set(to, exercise);
+        reindexFrom(Math.min(from, to), null);
+        modCount++;
+    }
+
+    @Override
+    public E get(int index) {
+        return exercises.get(index);
+    }
+
+    @Override
+    public int size() {
+        return exercises.size();
+    }
+
+    @Override
+    public E set(int index, E exercise) throws IllegalArgumentException {
+        E replaced;
+
+        if (exercise == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        replaced = exercises.set(index, exercise);
+        reindexFrom(index, replaced);
+        return replaced;
+    }
+
+    @Override
+    public void add(int index, E exercise) throws IllegalArgumentException {
+        if (exercise == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        exercises.add(index, exercise);
+        if (index == exercises.size() - 1) {
+            if (!positions.containsKey(exercise.getName()))
+                positions.put(exercise.getName(), index);
+        }
+        else
+            reindexFrom(index, null);
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        E removed = exercises.remove(index);
+
+        reindexFrom(index, removed);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        exercises.clear();
+        positions.clear();
+        modCount++;
+    }
+
+    /**
+     * Updates the positions of the exercises from a position to the end of the list. Exercises
+     * first found before that position keep their position
+     * @param from the first position that has changed
+     * @param removed an exercise that was taken out of the list at that position, or {@code null}
+     */
+    private void reindexFrom(int from, E removed) {
+        Integer position;
+        String name;
+
+        if (removed != null) {
+            position = positions.get(removed.getName());
+            if (position != null && position >= from)
+                positions.remove(removed.getName());
+        }
+        for (int i = from; i < exercises.size(); i++) {
+            position = positions.get(exercises.get(i).getName());
+            if (position != null && position >= from)
+                positions.remove(exercises.get(i).getName());
+        }
+
+        for (int i = from; i < exercises.size(); i++) {
+            name = exercises.get(i).getName();
+            if (!positions.containsKey(name))
+                positions.put(name, i);
+        }
+    }
+}
@@ -15,6 +15,13 @@ package ledge.muscleup.model.exercise;
      */
     boolean equals(InterfaceExerciseQuantity other);
 
+    /**
+     * Returns a hash code for the InterfaceExerciseQuantity, which is the same for any two
+     * quantities that are equal
+     * @return the hash code of the InterfaceExerciseQuantity
+     */
+    int hashCode();
+
     /**
      * Returns the InterfaceExerciseQuantity as a string
      * @return the InterfaceExerciseQuantity as a string
@@ -0,0 +1,16 @@
+package ledge.muscleup.model.exercise;
+
+/**
+ * The interface for anything that stands for an exercise and can be found by its name
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-01
+ */
+public interface InterfaceNamedExercise {
+    /**
+     * Returns the name of the exercise
+     * @return the name of the exercise
+     */
+    String getName();
+}
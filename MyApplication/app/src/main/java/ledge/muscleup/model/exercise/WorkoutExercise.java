@@ -11,7 +11,7 @@ import ledge.muscleup.model.exercise.enums.ExerciseType;
  * @since 2017-06-24
  */
 
-public abstract class WorkoutExercise {
+public abstract class WorkoutExercise implements InterfaceNamedExercise {
     private Exercise exercise;
     private int experienceValue;
 
@@ -31,6 +31,7 @@ public abstract class WorkoutExercise {
      *
      * @return the name of the exercise
      */
+    @Override
     public String getName() {
         return exercise.getName();
     }
@@ -89,6 +90,31 @@ public abstract class WorkoutExercise {
                 getName().equals(other.getName()));
     }
 
+    /**
+     * Compares the current WorkoutExercise to another object, which is only equal if it is the
+     * same kind of WorkoutExercise, for the same exercise, with the same quantity of exercise
+     *
+     * @param other the object to compare to
+     * @return a boolean representing whether the two objects were equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other != null && other.getClass() == getClass() &&
+                equals((WorkoutExercise) other) &&
+                getQuantity().equals(((WorkoutExercise) other).getQuantity());
+    }
+
+    /**
+     * Returns a hash code for the WorkoutExercise, which only depends on its name, so it does not
+     * change when the quantity is updated
+     *
+     * @return the hash code of the WorkoutExercise
+     */
+    @Override
+    public int hashCode() {
+        return getName().hashCode();
+    }
+
     /**
      * Returns the WorkoutExercise as a String
      *
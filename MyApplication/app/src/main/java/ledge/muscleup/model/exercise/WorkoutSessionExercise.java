@@ -12,7 +12,7 @@ import ledge.muscleup.model.exercise.enums.ExerciseType;
  * @since 2017-06-03
  */
 
-public class WorkoutSessionExercise {
+public class WorkoutSessionExercise implements InterfaceNamedExercise {
     private WorkoutExercise exercise;
     private boolean isComplete;
 
@@ -38,6 +38,7 @@ public class WorkoutSessionExercise {
      *
      * @return the name of the exercise
      */
+    @Override
     public String getName() {
         return exercise.getName();
     }
@@ -107,6 +108,29 @@ public class WorkoutSessionExercise {
                 isComplete == other.isComplete());
     }
 
+    /**
+     * Compares the current WorkoutSessionExercise to another object, which is only equal if it is an
+     * instance of WorkoutSessionExercise equal to this one
+     *
+     * @param other the object to compare to
+     * @return a boolean representing whether the two objects were equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof WorkoutSessionExercise && equals((WorkoutSessionExercise) other);
+    }
+
+    /**
+     * Returns a hash code for the WorkoutSessionExercise, which only depends on its name, so it
+     * does not change when it is completed
+     *
+     * @return the hash code of the WorkoutSessionExercise
+     */
+    @Override
+    public int hashCode() {
+        return getName().hashCode();
+    }
+
     /**
      * Returns the WorkoutSessionExercise as a String
      *
@@ -84,6 +84,28 @@ public class CompletedWorkoutRecord {
                 getDateOfCompletion().equals(other.getDateOfCompletion());
     }
 
+    /**
+     * Compares the current CompletedWorkoutRecord to another object, which is only equal if it is an
+     * instance of CompletedWorkoutRecord equal to this one
+     *
+     * @param other the object to compare to
+     * @return a boolean representing whether the two objects were equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CompletedWorkoutRecord && equals((CompletedWorkoutRecord) other);
+    }
+
+    /**
+     * Returns a hash code for the CompletedWorkoutRecord, which depends on the same fields as equals()
+     *
+     * @return the hash code of the CompletedWorkoutRecord
+     */
+    @Override
+    public int hashCode() {
+        return 31 * (31 * workoutName.hashCode() + getDateOfCompletion().hashCode()) + experienceAfterCompletion;
+    }
+
     /**
      * Returns the {@link CompletedWorkoutRecord} as a {@link String}
      * @return the {@link CompletedWorkoutRecord} as a {@link String}
@@ -1,17 +1,20 @@
 package ledge.muscleup.model.workout;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
 
+import ledge.muscleup.model.exercise.IndexedExerciseList;
 import ledge.muscleup.model.exercise.InterfaceExerciseQuantity;
 import ledge.muscleup.model.exercise.WorkoutExercise;
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
 
 import static java.util.Collections.enumeration;
 
 /**
- * Stores information about workouts, which consists of a workout name and a set of exercises
+ * Stores information about workouts, which consists of a workout name and a set of exercises.
+ * The exercises are indexed by name, so finding one to change doesn't search the workout
  *
  * @author Alexander Mark
  * @version 1.0
@@ -19,7 +22,7 @@ import static java.util.Collections.enumeration;
  */
 public class Workout {
     private String name;
-    private List<WorkoutExercise> exerciseList;
+    private IndexedExerciseList<WorkoutExercise> exerciseList;
 
     /**
      * The constructor for the Workout, which creates an empty workout
@@ -32,7 +35,7 @@ public class Workout {
         }
         else {
             this.name = name;
-            exerciseList = new ArrayList<>();
+            exerciseList = new IndexedExerciseList<>();
         }
     }
 
@@ -49,7 +52,7 @@ public class Workout {
         else {
             this.name = name;
 
-            exerciseList = new ArrayList<>();
+            exerciseList = new IndexedExerciseList<>();
             Collections.addAll(exerciseList, exercises);
         }
     }
@@ -83,16 +86,12 @@ public class Workout {
     public boolean setRecommendedQuantity(WorkoutExercise exercise,
                                           InterfaceExerciseQuantity quantity) throws IllegalArgumentException {
         boolean quantityUpdated = false;
-        int exerciseIndex = -1;
+        int exerciseIndex;
 
         if (exercise == null || quantity == null)
             throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
         else {
-            for(int i = 0; i < exerciseList.size() && exerciseIndex < 0; i++){
-                if(exercise.equals(exerciseList.get(i))){
-                    exerciseIndex = i;
-                }
-            }
+            exerciseIndex = exerciseList.indexOfName(exercise.getName());
 
             //ensure the exercise exists in the list
             if (exerciseIndex != -1)
@@ -135,18 +134,13 @@ public class Workout {
     public boolean moveExercise(WorkoutExercise exercise,
                                 int index) throws IllegalArgumentException {
         boolean exerciseMoved = false;
-        int exerciseIndex = -1;
-        WorkoutExercise listExercise;
+        int exerciseIndex;
         int listSize = exerciseList.size();
 
         if (exercise == null || index <= 0 || index > listSize)
             throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
         else {
-            for(int i = 0; i < exerciseList.size() && exerciseIndex < 0; i++){
-                if(exercise.equals(exerciseList.get(i))){
-                    exerciseIndex = i;
-                }
-            }
+            exerciseIndex = exerciseList.indexOfName(exercise.getName());
 
             //ensure the exercise exists in the list
             if (exerciseIndex != -1) {
@@ -156,8 +150,7 @@ public class Workout {
                     //index, so adjust accordingly
                     if (exerciseIndex < index)
                         index--;
-                    listExercise = exerciseList.remove(exerciseIndex);
-                    exerciseList.add(index, listExercise);
+                    exerciseList.move(exerciseIndex, index);
                 }
                 exerciseMoved = true;
             }
@@ -174,16 +167,12 @@ public class Workout {
      */
     public boolean removeExercise(WorkoutExercise exercise) throws IllegalArgumentException {
         boolean exerciseRemoved = false;
-        int exerciseIndex = -1;
+        int exerciseIndex;
 
         if (exercise == null)
             throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
         else {
-            for(int i = 0; i < exerciseList.size() && exerciseIndex < 0; i++){
-                if(exercise.equals(exerciseList.get(i))){
-                    exerciseIndex = i;
-                }
-            }
+            exerciseIndex = exerciseList.indexOfName(exercise.getName());
 
             //ensure the exercise exists in the list
             if (exerciseIndex != -1) {
@@ -213,6 +202,28 @@ public class Workout {
         return other != null && this.name.equals(other.getName());
     }
 
+    /**
+     * Compares the current Workout to another object, which is only equal if it is an
+     * instance of Workout equal to this one
+     *
+     * @param other the object to compare to
+     * @return a boolean representing whether the two objects were equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Workout && equals((Workout) other);
+    }
+
+    /**
+     * Returns a hash code for the Workout, which only depends on its name, like equals()
+     *
+     * @return the hash code of the Workout
+     */
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
     /**
      * Returns the Workout as a String
      *
@@ -244,4 +255,31 @@ public class Workout {
         }
         return total;
     }
+
+    /**
+     * Returns the totals of this workout, without its exercises
+     * @return a summary of this workout
+     */
+    public WorkoutSummary getSummary() {
+        int[] intensityCounts = new int[ExerciseIntensity.values().length];
+        int[] typeCounts = new int[ExerciseType.values().length];
+        ExerciseType dominantType = null;
+
+        for (WorkoutExercise exercise : exerciseList) {
+            intensityCounts[exercise.getIntensity().ordinal()]++;
+            typeCounts[exercise.getType().ordinal()]++;
+        }
+
+        //ties go to the type declared first
+        for (ExerciseType type : ExerciseType.values()) {
+            if (typeCounts[type.ordinal()] > 0 &&
+                    (dominantType == null || typeCounts[type.ordinal()] > typeCounts[dominantType.ordinal()]))
+                dominantType = type;
+        }
+
+        return new WorkoutSummary(name, exerciseList.size(), getExperienceValue(), dominantType,
+                intensityCounts[ExerciseIntensity.LOW.ordinal()],
+                intensityCounts[ExerciseIntensity.MEDIUM.ordinal()],
+                intensityCounts[ExerciseIntensity.HIGH.ordinal()]);
+    }
 }
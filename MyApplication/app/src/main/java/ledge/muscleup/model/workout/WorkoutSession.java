@@ -9,6 +9,7 @@ import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
 
+import ledge.muscleup.model.exercise.IndexedExerciseList;
 import ledge.muscleup.model.exercise.WorkoutExercise;
 import ledge.muscleup.model.exercise.WorkoutSessionExercise;
 
@@ -26,9 +27,11 @@ public class WorkoutSession {
     private static final DateTimeFormatter format = DateTimeFormat.forPattern("yyyy/MM/dd");
 
     private String name;
-    private List<WorkoutSessionExercise> exerciseList;
+    private IndexedExerciseList<WorkoutSessionExercise> exerciseList;
     private LocalDate scheduledDate;
     private boolean isComplete;
+    private boolean isSummarized;
+    private int summarizedExperienceValue;
 
     /**
      * The constructor for the WorkoutSession class, which is created for a given workout
@@ -45,7 +48,7 @@ public class WorkoutSession {
             this.name = workout.getName();
             this.scheduledDate = scheduledDate;
             this.isComplete = isComplete;
-            this.exerciseList = new ArrayList<>();
+            this.exerciseList = new IndexedExerciseList<>();
             Enumeration<WorkoutExercise> enumeration = workout.getExerciseEnumeration();
             while(enumeration.hasMoreElements())
                 exerciseList.add(new WorkoutSessionExercise(enumeration.nextElement(), false));
@@ -69,7 +72,32 @@ public class WorkoutSession {
             this.name = name;
             this.scheduledDate = scheduledDate;
             this.isComplete = isComplete;
-            this.exerciseList = exerciseList;
+            this.exerciseList = new IndexedExerciseList<>();
+            this.exerciseList.addAll(exerciseList);
+        }
+    }
+
+    /**
+     * The constructor for the WorkoutSession class, which is created for a session whose
+     * exercises are no longer kept, only the experience they were worth
+     *
+     * @param name the name of the workout
+     * @param scheduledDate the date of the WorkoutSession
+     * @param isComplete whether the session has been completed or not
+     * @param experienceValue the experience value of the exercises of the session
+     * @throws IllegalArgumentException if passed a {@code null} date or a negative experience value
+     */
+    public WorkoutSession(String name, LocalDate scheduledDate, boolean isComplete, int experienceValue) throws IllegalArgumentException {
+        if (scheduledDate == null || experienceValue < 0) {
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        }
+        else {
+            this.name = name;
+            this.scheduledDate = scheduledDate;
+            this.isComplete = isComplete;
+            this.exerciseList = new IndexedExerciseList<>();
+            this.isSummarized = true;
+            this.summarizedExperienceValue = experienceValue;
         }
     }
 
@@ -87,7 +115,7 @@ public class WorkoutSession {
 
             this.name = null;
             this.isComplete = false;
-            this.exerciseList = new ArrayList<>();
+            this.exerciseList = new IndexedExerciseList<>();
         }
     }
 
@@ -129,6 +157,15 @@ public class WorkoutSession {
         return isComplete;
     }
 
+    /**
+     * Returns {@code true} if only a summary of the workout session is kept, without its exercises
+     *
+     * @return a boolean representing if the workout session is summarized
+     */
+    public boolean isSummarized() {
+        return isSummarized;
+    }
+
     /**
      * Toggles the completed state of this workout
      */
@@ -156,11 +193,12 @@ public class WorkoutSession {
     }
 
     /**
-     * Returns the experience value of the workout session, which is a sum of the values of its exercises
+     * Returns the experience value of the workout session, which is a sum of the values of its
+     * exercises, or the value they were worth if the session is summarized
      * @return the experience value of the workout session
      */
     public int getExperienceValue() {
-        int total = 0;
+        int total = summarizedExperienceValue;
         for (WorkoutSessionExercise exercise: exerciseList) {
             total+= exercise.getExperienceValue();
         }
@@ -174,19 +212,15 @@ public class WorkoutSession {
      */
     public boolean completeExercise(WorkoutSessionExercise exercise) throws IllegalArgumentException {
         boolean exerciseCompleted = false;
-        int exerciseIndex = -1;
+        int exerciseIndex;
         WorkoutSessionExercise listExercise;
 
         if (exercise == null)
             throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
         else {
-            for(int i = 0; i < exerciseList.size() && exerciseIndex < 0; i++){
-                if(exercise.equals(exerciseList.get(i))){
-                    exerciseIndex = i;
-                }
-            }
-            //ensure the exercise exists in the list
-            if (exerciseIndex != -1) {
+            exerciseIndex = exerciseList.indexOfName(exercise.getName());
+            //ensure the exercise exists in the list, with the same quantity and completed state
+            if (exerciseIndex != -1 && exercise.equals(exerciseList.get(exerciseIndex))) {
                 listExercise = exerciseList.get(exerciseIndex);
                 if (!listExercise.isComplete()) {
                     listExercise.toggleCompleted();
@@ -198,6 +232,17 @@ public class WorkoutSession {
         return exerciseCompleted;
     }
 
+    /**
+     * Returns the exercise in the workout session with the given name
+     *
+     * @param exerciseName the name of the exercise
+     * @return the exercise, or {@code null} if it isn't in the workout session
+     */
+    public WorkoutSessionExercise getExercise(String exerciseName) {
+        int exerciseIndex = exerciseList.indexOfName(exerciseName);
+        return exerciseIndex == -1 ? null : exerciseList.get(exerciseIndex);
+    }
+
     /**
      * Returns an enumeration for traversing over the exercises in the workout
      *
@@ -229,12 +274,37 @@ public class WorkoutSession {
             isEqual = (exercisesEqual &&
                     name.equals(other.getName()) &&
                     this.scheduledDate.equals(other.getDate()) &&
-                    this.isComplete == other.isComplete());
+                    this.isComplete == other.isComplete() &&
+                    this.isSummarized == other.isSummarized() &&
+                    getExperienceValue() == other.getExperienceValue());
         }
 
         return isEqual;
     }
 
+    /**
+     * Compares the current WorkoutSession to another object, which is only equal if it is an
+     * instance of WorkoutSession equal to this one
+     *
+     * @param other the object to compare to
+     * @return a boolean representing whether the two objects were equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof WorkoutSession && equals((WorkoutSession) other);
+    }
+
+    /**
+     * Returns a hash code for the WorkoutSession, which only depends on its workout and date, so
+     * it does not change when it is completed
+     *
+     * @return the hash code of the WorkoutSession
+     */
+    @Override
+    public int hashCode() {
+        return 31 * (name == null ? 0 : name.hashCode()) + scheduledDate.hashCode();
+    }
+
     /**
      * Returns the WorkoutSession as a String
      * @return the WorkoutSession as a String
@@ -244,12 +314,23 @@ public class WorkoutSession {
         String result = "";
 
         result += format.print(scheduledDate) + ": " + name + "\n";
+        if (isSummarized)
+            result += " (summarized, " + summarizedExperienceValue + " XP)\n";
         for (int i = 0; i < exerciseList.size(); i++)
             result += " " + (i + 1) + ". " + exerciseList.get(i).toString() + "\n";
 
         return result;
     }
 
+    /**
+     * Returns the header of this workout session, without its exercises
+     * @return a summary of this workout session
+     */
+    public WorkoutSessionSummary getSummary() {
+        return name == null ? new WorkoutSessionSummary(scheduledDate)
+                : new WorkoutSessionSummary(name, scheduledDate, isComplete);
+    }
+
     /**
      * Returns the list of workout session exercises
      * @return the list of workout session exercises
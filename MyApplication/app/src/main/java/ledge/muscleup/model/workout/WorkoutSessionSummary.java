@@ -0,0 +1,137 @@
+package ledge.muscleup.model.workout;
+
+import org.joda.time.LocalDate;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+/**
+ * The header of a scheduled workout session, holding only what list screens display: its date,
+ * the name of its workout and whether it has been completed. The session's exercises are not
+ * loaded, so the full WorkoutSession should be retrieved when the session is opened
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-21
+ */
+
+public class WorkoutSessionSummary {
+    private static final DateTimeFormatter format = DateTimeFormat.forPattern("yyyy/MM/dd");
+
+    private String name;
+    private LocalDate scheduledDate;
+    private boolean isComplete;
+
+    /**
+     * The constructor for the WorkoutSessionSummary class, which summarizes a scheduled session
+     * @param name the name of the workout
+     * @param scheduledDate the date the session is scheduled on
+     * @param isComplete whether the session has been completed or not
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public WorkoutSessionSummary(String name, LocalDate scheduledDate, boolean isComplete) throws IllegalArgumentException {
+        if (name == null || scheduledDate == null) {
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        }
+        else {
+            this.name = name;
+            this.scheduledDate = scheduledDate;
+            this.isComplete = isComplete;
+        }
+    }
+
+    /**
+     * The constructor for the WorkoutSessionSummary class, which is created for a day with no
+     * workout scheduled
+     * @param scheduledDate the date of the empty day
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public WorkoutSessionSummary(LocalDate scheduledDate) throws IllegalArgumentException {
+        if (scheduledDate == null) {
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        }
+        else {
+            this.scheduledDate = scheduledDate;
+
+            this.name = null;
+            this.isComplete = false;
+        }
+    }
+
+    /**
+     * Returns the name of the workout, or {@code null} if no workout is scheduled
+     *
+     * @return the name of the workout
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the scheduled date of the workout
+     *
+     * @return the scheduled date of the workout
+     */
+    public LocalDate getDate() { return scheduledDate; }
+
+    /**
+     * Returns {@code true} if the workout has been completed, or {@code false} otherwise
+     *
+     * @return a boolean representing if the workout has been completed
+     */
+    public boolean isComplete() {
+        return isComplete;
+    }
+
+    /**
+     * Returns {@code true} if no workout is scheduled on this day, or {@code false} otherwise
+     *
+     * @return a boolean representing if the day has no workout scheduled
+     */
+    public boolean isEmpty() {
+        return name == null;
+    }
+
+    /**
+     * Compares the current WorkoutSessionSummary to another instance of WorkoutSessionSummary
+     *
+     * @param other the instance of WorkoutSessionSummary to compare to
+     * @return a boolean representing whether the two instances were equal
+     */
+    public boolean equals(WorkoutSessionSummary other) {
+        return other != null &&
+                (name == null ? other.getName() == null : name.equals(other.getName())) &&
+                scheduledDate.equals(other.getDate()) &&
+                isComplete == other.isComplete();
+    }
+
+    /**
+     * Compares the current WorkoutSessionSummary to another object, which is only equal if it is an
+     * instance of WorkoutSessionSummary equal to this one
+     *
+     * @param other the object to compare to
+     * @return a boolean representing whether the two objects were equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof WorkoutSessionSummary && equals((WorkoutSessionSummary) other);
+    }
+
+    /**
+     * Returns a hash code for the WorkoutSessionSummary, which only depends on its workout and date
+     *
+     * @return the hash code of the WorkoutSessionSummary
+     */
+    @Override
+    public int hashCode() {
+        return 31 * (name == null ? 0 : name.hashCode()) + scheduledDate.hashCode();
+    }
+
+    /**
+     * Returns the WorkoutSessionSummary as a String
+     * @return the WorkoutSessionSummary as a String
+     */
+    @Override
+    public String toString() {
+        return format.print(scheduledDate) + ": " + name + (isComplete ? " (complete)" : "");
+    }
+}
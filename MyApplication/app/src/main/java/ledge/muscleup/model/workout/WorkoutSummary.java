@@ -0,0 +1,160 @@
+package ledge.muscleup.model.workout;
+
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
+
+/**
+ * The totals of a workout, holding only what list screens display: its name, how many exercises
+ * it has, the experience it is worth, the type most of its exercises are, and how many of its
+ * exercises are of each intensity. The workout's exercises are not loaded, so the full Workout
+ * should be retrieved when the workout is opened
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-25
+ */
+
+public class WorkoutSummary {
+    private String name;
+    private int exerciseCount;
+    private int experienceValue;
+    private ExerciseType dominantType;
+    private int[] intensityCounts;
+
+    /**
+     * The constructor for the WorkoutSummary class
+     * @param name the name of the workout
+     * @param exerciseCount the number of exercises in the workout
+     * @param experienceValue the experience value of the workout
+     * @param dominantType the type most of the workout's exercises are, which may only be
+     *                     {@code null} if the workout has no exercises
+     * @param lowCount the number of low intensity exercises in the workout
+     * @param mediumCount the number of medium intensity exercises in the workout
+     * @param highCount the number of high intensity exercises in the workout
+     * @throws IllegalArgumentException if passed a {@code null} name, a negative value, intensity
+     * counts that don't add up to the exercise count, or a {@code null} dominant type for a
+     * workout that has exercises
+     */
+    public WorkoutSummary(String name, int exerciseCount, int experienceValue, ExerciseType dominantType,
+                          int lowCount, int mediumCount, int highCount) throws IllegalArgumentException {
+        if (name == null || experienceValue < 0 || lowCount < 0 || mediumCount < 0 || highCount < 0 ||
+                lowCount + mediumCount + highCount != exerciseCount ||
+                (dominantType == null && exerciseCount > 0)) {
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        }
+        else {
+            this.name = name;
+            this.exerciseCount = exerciseCount;
+            this.experienceValue = experienceValue;
+            this.dominantType = dominantType;
+
+            intensityCounts = new int[ExerciseIntensity.values().length];
+            intensityCounts[ExerciseIntensity.LOW.ordinal()] = lowCount;
+            intensityCounts[ExerciseIntensity.MEDIUM.ordinal()] = mediumCount;
+            intensityCounts[ExerciseIntensity.HIGH.ordinal()] = highCount;
+        }
+    }
+
+    /**
+     * Returns the name of the workout
+     *
+     * @return the name of the workout
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of exercises in the workout
+     *
+     * @return the number of exercises in the workout
+     */
+    public int numExercises() {
+        return exerciseCount;
+    }
+
+    /**
+     * Returns the experience value of the workout, which is the sum of the xp values of its
+     * exercises
+     *
+     * @return the experience value of the workout
+     */
+    public int getExperienceValue() {
+        return experienceValue;
+    }
+
+    /**
+     * Returns the type most of the workout's exercises are, with ties going to the type declared
+     * first
+     *
+     * @return the dominant type of the workout, or {@code null} if it has no exercises
+     */
+    public ExerciseType getDominantType() {
+        return dominantType;
+    }
+
+    /**
+     * Returns the number of exercises in the workout with the given intensity
+     *
+     * @param intensity the intensity to count
+     * @return the number of exercises with the given intensity
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public int getIntensityCount(ExerciseIntensity intensity) throws IllegalArgumentException {
+        if (intensity == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        return intensityCounts[intensity.ordinal()];
+    }
+
+    /**
+     * Compares the current WorkoutSummary to another instance of WorkoutSummary
+     *
+     * @param other the instance of WorkoutSummary to compare to
+     * @return a boolean representing whether the two instances were equal
+     */
+    public boolean equals(WorkoutSummary other) {
+        boolean equal = other != null &&
+                name.equals(other.getName()) &&
+                exerciseCount == other.numExercises() &&
+                experienceValue == other.getExperienceValue() &&
+                dominantType == other.getDominantType();
+
+        for (int i = 0; i < intensityCounts.length && equal; i++)
+            equal = intensityCounts[i] == other.getIntensityCount(ExerciseIntensity.values()[i]);
+
+        return equal;
+    }
+
+    /**
+     * Compares the current WorkoutSummary to another object, which is only equal if it is an
+     * instance of WorkoutSummary equal to this one
+     *
+     * @param other the object to compare to
+     * @return a boolean representing whether the two objects were equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof WorkoutSummary && equals((WorkoutSummary) other);
+    }
+
+    /**
+     * Returns a hash code for the WorkoutSummary, which only depends on its name and experience value
+     *
+     * @return the hash code of the WorkoutSummary
+     */
+    @Override
+    public int hashCode() {
+        return 31 * name.hashCode() + experienceValue;
+    }
+
+    /**
+     * Returns the WorkoutSummary as a String
+     * @return the WorkoutSummary as a String
+     */
+    @Override
+    public String toString() {
+        return name + ": " + exerciseCount + " exercises, " + experienceValue + " XP" +
+                (dominantType == null ? "" : ", mostly " + dominantType);
+    }
+}
@@ -0,0 +1,639 @@
+package ledge.muscleup.persistence;
+
+import org.joda.time.LocalDateTime;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * The data access class for backing up and restoring the database. A full backup is an online
+ * HSQLDB backup, which copies the database files without blocking other users. The database
+ * logs every change to its .log file, which only grows until the next checkpoint, so each
+ * incremental backup after a full one copies just the part of the log written since the last
+ * backup. A backup set is a full backup and the increments after it, and is described by a
+ * manifest. Restoring copies the full backup back with its log and increments, and happens when
+ * the database is next opened, since the files can't be replaced while it is open
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-31
+ */
+public class BackupDataAccess implements InterfaceBackupDataAccess {
+    static final String BACKUP_DIRECTORY_SUFFIX = "_backups";
+    static final String RESTORE_MARKER_SUFFIX = ".restore";
+    private static final String SET_PREFIX = "set-";
+    private static final String INCREMENT_PREFIX = "increment-";
+    private static final String MANIFEST_NAME = "manifest.properties";
+    private static final String[] DATA_FILE_EXTENSIONS = {".script", ".properties", ".data", ".backup", ".lobs"};
+    private static final int KEPT_SETS = 3;
+    private static final int MAX_FULL_BACKUP_ATTEMPTS = 3;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    //the write delay command is logged as written and recognised in increments by how it starts,
+    //so unlike the other queries it isn't tagged with the method running it
+    private static final String WRITE_DELAY_COMMAND = "SET FILES WRITE DELAY ";
+
+    private Statement statement;
+    private String dbPath;
+    private String dbName;
+    private File backupDirectory;
+
+    /**
+     * Opens the BackupDataAccess, finding where the database files are from its connection
+     * @param statement a statement on the database to back up
+     */
+    public void open(Statement statement) {
+        this.statement = statement;
+
+        try {
+            dbPath = statement.getConnection().getMetaData().getURL().substring(DataAccess.DB_PATH_PREFIX.length());
+            dbName = new File(dbPath).getName();
+            backupDirectory = new File(dbPath + BACKUP_DIRECTORY_SUFFIX);
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+    }
+
+    /**
+     * Close the BackupDataAccess
+     */
+    public void close() {
+        try {
+            statement.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+    }
+
+    /**
+     * Backs up the database without blocking other users of it. Only the changes since the last
+     * backup are copied, unless the database has been checkpointed since, in which case a full
+     * backup is taken
+     *
+     * @return the point the backup can be restored to, or the last point if nothing has changed
+     * since it was taken
+     * @throws IOException if the backup could not be taken
+     */
+    @Override
+    public synchronized BackupPoint backup() throws IOException {
+        File script = dbFile(".script");
+        File log = dbFile(".log");
+        int set = getLatestSet();
+        Properties manifest = set < 0 ? null : readManifest(set);
+        BackupPoint point;
+
+        try {
+            flushLog();
+            if (manifest == null || !matchesScript(manifest, script) ||
+                    log.length() < Long.parseLong(manifest.getProperty("logOffset"))) {
+                point = fullBackup(set + 1);
+            }
+            else {
+                point = incrementalBackup(set, manifest, script, log);
+                //a checkpoint while copying means the copied log may not follow the backup set
+                if (point == null)
+                    point = fullBackup(set + 1);
+            }
+        }
+        catch (SQLException e) {
+            DataAccess.sqlError(e);
+            throw new IOException("Could not back up the database", e);
+        }
+
+        return point;
+    }
+
+    /**
+     * Gets every point the database can be restored to
+     *
+     * @return a list of the backup points, oldest first
+     */
+    @Override
+    public List<BackupPoint> getBackupPoints() {
+        List<BackupPoint> points = new ArrayList<>();
+        Properties manifest;
+
+        for (int set : listSets()) {
+            try {
+                manifest = readManifest(set);
+                for (int i = 0; i <= Integer.parseInt(manifest.getProperty("increments")); i++)
+                    points.add(new BackupPoint(set, i, LocalDateTime.parse(manifest.getProperty("takenAt." + i)),
+                            Long.parseLong(manifest.getProperty("bytes." + i))));
+            }
+            catch (IOException e) {
+                DataAccess.sqlError(e);
+            }
+        }
+
+        return points;
+    }
+
+    /**
+     * Requests that the database be restored to a backup point when it is next opened. The
+     * current version of the workout contents is saved with the request, so that caches built
+     * before the restore see the restored contents as changed, along with the current write
+     * delay, since the restored log may end partway through a backup changing it
+     *
+     * @param point the point to restore to
+     * @throws IOException if the point does not exist or the request could not be saved
+     */
+    @Override
+    public synchronized void requestRestore(BackupPoint point) throws IOException {
+        Properties manifest = readManifest(point.getBackupSet());
+        Properties marker = new Properties();
+        ResultSet resultSet;
+        int contentsVersion = 0, writeDelay;
+
+        if (point.getIncrement() > Integer.parseInt(manifest.getProperty("increments")))
+            throw new IOException("There is no backup point " + point);
+
+        try {
+            resultSet = statement.executeQuery("/* BackupDataAccess.requestRestore */ " +
+                    "SELECT Version FROM WorkoutContentsVersion");
+            if (resultSet.next())
+                contentsVersion = resultSet.getInt("Version");
+            resultSet.close();
+            writeDelay = getWriteDelay();
+        }
+        catch (SQLException e) {
+            DataAccess.sqlError(e);
+            throw new IOException("Could not read the database to restore", e);
+        }
+
+        marker.setProperty("set", Integer.toString(point.getBackupSet()));
+        marker.setProperty("increments", Integer.toString(point.getIncrement()));
+        marker.setProperty("contentsVersion", Integer.toString(contentsVersion));
+        marker.setProperty("writeDelay", Integer.toString(writeDelay));
+        writeProperties(marker, new File(dbPath + RESTORE_MARKER_SUFFIX));
+    }
+
+    /**
+     * Restores the database files from a backup point, if a restore has been requested. Must be
+     * called before the database is opened
+     * @param dbPath the path of the database files, without an extension
+     * @return the restore request, to pass to finishRestore() once the database is open, or
+     * {@code null} if there was no restore to apply
+     */
+    static Properties applyPendingRestore(String dbPath) {
+        File marker = new File(dbPath + RESTORE_MARKER_SUFFIX);
+        File setDirectory, backupFile, restoredLog;
+        Properties request = null;
+        String dbName = new File(dbPath).getName();
+        OutputStream out;
+
+        if (!marker.exists())
+            return null;
+
+        try {
+            request = readProperties(marker);
+            setDirectory = new File(dbPath + BACKUP_DIRECTORY_SUFFIX, SET_PREFIX + request.getProperty("set"));
+
+            //the log is rebuilt beside the database first, so a failed copy leaves the database as it was
+            restoredLog = new File(dbPath + ".log.restore");
+            out = new FileOutputStream(restoredLog);
+            try {
+                backupFile = new File(setDirectory, dbName + ".log");
+                if (backupFile.exists())
+                    copy(backupFile, out, 0);
+                for (int i = 1; i <= Integer.parseInt(request.getProperty("increments")); i++)
+                    copy(new File(setDirectory, INCREMENT_PREFIX + i + ".log"), out, 0);
+            }
+            finally {
+                out.close();
+            }
+
+            for (String extension : DATA_FILE_EXTENSIONS) {
+                backupFile = new File(setDirectory, dbName + extension);
+                if (backupFile.exists())
+                    copy(backupFile, new File(dbPath + extension));
+                else
+                    delete(new File(dbPath + extension));
+            }
+            replace(restoredLog, new File(dbPath + ".log"));
+
+            System.out.println("Restored database " + dbName + " from backup set " + request.getProperty("set") +
+                    "." + request.getProperty("increments"));
+        }
+        catch (IOException | RuntimeException e) {
+            DataAccess.sqlError(e);
+            request = null;
+        }
+        finally {
+            delete(marker);
+        }
+
+        return request;
+    }
+
+    /**
+     * Finishes restoring the database once it is open, moving the version of the workout contents
+     * past the version when the restore was requested and putting the write delay back
+     * @param statement a statement on the restored database
+     * @param request the restore request returned by applyPendingRestore()
+     * @throws SQLException if the database could not be changed
+     */
+    static void finishRestore(Statement statement, Properties request) throws SQLException {
+        statement.execute("/* BackupDataAccess.finishRestore */ " +
+                "UPDATE WorkoutContentsVersion SET Version = GREATEST(Version, " +
+                Integer.parseInt(request.getProperty("contentsVersion")) + ") + 1");
+        setWriteDelay(statement, Integer.parseInt(request.getProperty("writeDelay")));
+    }
+
+    /**
+     * Takes a full backup as a new backup set, then deletes the oldest sets beyond KEPT_SETS. The
+     * backup is retried if the database is checkpointed while it is taken, since the log copied
+     * would not then follow on from the script recorded in the manifest
+     * @param set the number of the new backup set
+     * @return the backup point of the full backup
+     * @throws IOException if the backup files could not be written
+     * @throws SQLException if the database could not be backed up
+     */
+    private BackupPoint fullBackup(int set) throws IOException, SQLException {
+        File script = dbFile(".script");
+        File setDirectory = setDirectory(set);
+        File backupLog = new File(setDirectory, dbName + ".log");
+        Properties manifest = new Properties();
+        LocalDateTime takenAt = new LocalDateTime();
+        long scriptLength, scriptModified, logOffset = 0, bytes = 0;
+        int attempts = 0;
+
+        do {
+            deleteRecursively(setDirectory);
+            scriptLength = script.length();
+            scriptModified = script.lastModified();
+            statement.execute("/* BackupDataAccess.fullBackup */ " +
+                    "BACKUP DATABASE TO '" + setDirectory.getAbsolutePath() + File.separator +
+                    "' NOT BLOCKING AS FILES");
+        } while (++attempts < MAX_FULL_BACKUP_ATTEMPTS &&
+                (script.length() != scriptLength || script.lastModified() != scriptModified));
+
+        if (backupLog.exists())
+            logOffset = truncateToLastLine(backupLog, 0);
+        for (File file : setDirectory.listFiles())
+            bytes += file.length();
+
+        manifest.setProperty("scriptLength", Long.toString(scriptLength));
+        manifest.setProperty("scriptModified", Long.toString(scriptModified));
+        manifest.setProperty("logOffset", Long.toString(logOffset));
+        manifest.setProperty("increments", "0");
+        manifest.setProperty("takenAt.0", takenAt.toString());
+        manifest.setProperty("bytes.0", Long.toString(bytes));
+        writeProperties(manifest, new File(setDirectory, MANIFEST_NAME));
+
+        for (int oldSet : listSets()) {
+            if (oldSet <= set - KEPT_SETS)
+                deleteRecursively(setDirectory(oldSet));
+        }
+
+        return new BackupPoint(set, 0, takenAt, bytes);
+    }
+
+    /**
+     * Copies the part of the log written since the last backup of a set into a new increment.
+     * Only whole lines are copied, so an increment never ends partway through a statement
+     * @param set the number of the backup set
+     * @param manifest the manifest of the backup set
+     * @param script the database script
+     * @param log the database log
+     * @return the backup point of the increment, the last point of the set if nothing has been
+     * logged since it, or {@code null} if the database was checkpointed while copying
+     * @throws IOException if the increment could not be written
+     */
+    private BackupPoint incrementalBackup(int set, Properties manifest, File script, File log) throws IOException {
+        int increment = Integer.parseInt(manifest.getProperty("increments")) + 1;
+        long logOffset = Long.parseLong(manifest.getProperty("logOffset"));
+        File incrementFile = new File(setDirectory(set), INCREMENT_PREFIX + increment + ".log");
+        LocalDateTime takenAt = new LocalDateTime();
+        OutputStream out;
+        long bytes;
+
+        out = new FileOutputStream(incrementFile);
+        try {
+            copy(log, out, logOffset);
+        }
+        finally {
+            out.close();
+        }
+        bytes = truncateToLastLine(incrementFile, 0);
+
+        if (!matchesScript(manifest, script)) {
+            delete(incrementFile);
+            return null;
+        }
+        if (onlyChangesWriteDelay(incrementFile)) {
+            delete(incrementFile);
+            increment--;
+            return new BackupPoint(set, increment, LocalDateTime.parse(manifest.getProperty("takenAt." + increment)),
+                    Long.parseLong(manifest.getProperty("bytes." + increment)));
+        }
+
+        manifest.setProperty("logOffset", Long.toString(logOffset + bytes));
+        manifest.setProperty("increments", Integer.toString(increment));
+        manifest.setProperty("takenAt." + increment, takenAt.toString());
+        manifest.setProperty("bytes." + increment, Long.toString(bytes));
+        writeProperties(manifest, new File(setDirectory(set), MANIFEST_NAME));
+
+        return new BackupPoint(set, increment, takenAt, bytes);
+    }
+
+    /**
+     * Writes every change the database has logged to the log file, rather than waiting for the
+     * write delay, then puts the write delay back. Changing the write delay is itself logged
+     * @throws SQLException if the log could not be written
+     */
+    private void flushLog() throws SQLException {
+        int writeDelay = getWriteDelay();
+
+        statement.execute(WRITE_DELAY_COMMAND + "FALSE");
+        setWriteDelay(statement, writeDelay);
+    }
+
+    /**
+     * Gets how long the database waits before writing changes to its log
+     * @return the write delay, in milliseconds
+     * @throws SQLException if the write delay could not be read
+     */
+    private int getWriteDelay() throws SQLException {
+        ResultSet resultSet = statement.executeQuery(
+                "/* BackupDataAccess.getWriteDelay */ SELECT PROPERTY_VALUE " +
+                "FROM   INFORMATION_SCHEMA.SYSTEM_PROPERTIES " +
+                "WHERE  PROPERTY_NAME = 'hsqldb.write_delay_millis'");
+        int writeDelay = resultSet.next() ? Integer.parseInt(resultSet.getString("PROPERTY_VALUE")) : 0;
+
+        resultSet.close();
+        return writeDelay;
+    }
+
+    /**
+     * Sets how long the database waits before writing changes to its log
+     * @param statement a statement on the database
+     * @param writeDelay the write delay, in milliseconds, with 0 to write every change at once
+     * @throws SQLException if the write delay could not be set
+     */
+    private static void setWriteDelay(Statement statement, int writeDelay) throws SQLException {
+        statement.execute(WRITE_DELAY_COMMAND + (writeDelay == 0 ? "FALSE" : writeDelay + " MILLIS"));
+    }
+
+    /**
+     * Checks whether an increment only holds the write delay changes logged by backing up
+     * @param incrementFile the increment
+     * @return {@code true} if nothing but the write delay has changed
+     * @throws IOException if the increment could not be read
+     */
+    private static boolean onlyChangesWriteDelay(File incrementFile) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(incrementFile), "ISO-8859-1"));
+        boolean onlyWriteDelay = true;
+        String line;
+
+        try {
+            while (onlyWriteDelay && (line = reader.readLine()) != null)
+                onlyWriteDelay = line.startsWith(WRITE_DELAY_COMMAND);
+        }
+        finally {
+            reader.close();
+        }
+
+        return onlyWriteDelay;
+    }
+
+    /**
+     * Checks whether the database script is the one a backup set was taken from. The script is
+     * only rewritten by a checkpoint, which also starts a new log
+     * @param manifest the manifest of the backup set
+     * @param script the database script
+     * @return whether the script is unchanged since the backup set was taken
+     */
+    private boolean matchesScript(Properties manifest, File script) {
+        return script.length() == Long.parseLong(manifest.getProperty("scriptLength")) &&
+                script.lastModified() == Long.parseLong(manifest.getProperty("scriptModified"));
+    }
+
+    /**
+     * Gets the number of the newest backup set
+     * @return the number of the newest backup set, or -1 if there are none
+     */
+    private int getLatestSet() {
+        List<Integer> sets = listSets();
+
+        return sets.isEmpty() ? -1 : sets.get(sets.size() - 1);
+    }
+
+    /**
+     * Lists the numbers of the backup sets that have a manifest
+     * @return the numbers of the backup sets, in order
+     */
+    private List<Integer> listSets() {
+        List<Integer> sets = new ArrayList<>();
+        String[] names = backupDirectory.list();
+
+        if (names != null) {
+            for (String name : names) {
+                if (name.startsWith(SET_PREFIX) && new File(new File(backupDirectory, name), MANIFEST_NAME).exists()) {
+                    try {
+                        sets.add(Integer.parseInt(name.substring(SET_PREFIX.length())));
+                    }
+                    catch (NumberFormatException e) {
+                        //not a backup set
+                    }
+                }
+            }
+        }
+        Collections.sort(sets);
+
+        return sets;
+    }
+
+    /**
+     * Gets the directory of a backup set
+     * @param set the number of the backup set
+     * @return the directory of the backup set
+     */
+    private File setDirectory(int set) {
+        return new File(backupDirectory, SET_PREFIX + set);
+    }
+
+    /**
+     * Gets a file of the database
+     * @param extension the extension of the file
+     * @return the database file
+     */
+    private File dbFile(String extension) {
+        return new File(dbPath + extension);
+    }
+
+    /**
+     * Reads the manifest of a backup set
+     * @param set the number of the backup set
+     * @return the manifest
+     * @throws IOException if the manifest could not be read
+     */
+    private Properties readManifest(int set) throws IOException {
+        return readProperties(new File(setDirectory(set), MANIFEST_NAME));
+    }
+
+    /**
+     * Reads a properties file
+     * @param file the file to read
+     * @return the properties in the file
+     * @throws IOException if the file could not be read
+     */
+    private static Properties readProperties(File file) throws IOException {
+        Properties properties = new Properties();
+        InputStream in = new FileInputStream(file);
+
+        try {
+            properties.load(in);
+        }
+        finally {
+            in.close();
+        }
+
+        return properties;
+    }
+
+    /**
+     * Writes a properties file, replacing the old file only once the new one is written
+     * @param properties the properties to write
+     * @param file the file to write
+     * @throws IOException if the file could not be written
+     */
+    private static void writeProperties(Properties properties, File file) throws IOException {
+        File newFile = new File(file.getPath() + ".new");
+        OutputStream out = new FileOutputStream(newFile);
+
+        try {
+            properties.store(out, null);
+        }
+        finally {
+            out.close();
+        }
+        replace(newFile, file);
+    }
+
+    /**
+     * Truncates a file after its last line break
+     * @param file the file to truncate
+     * @param start the position to look for line breaks from
+     * @return the new length of the file
+     * @throws IOException if the file could not be truncated
+     */
+    private static long truncateToLastLine(File file, long start) throws IOException {
+        RandomAccessFile randomAccess = new RandomAccessFile(file, "rw");
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long position, end = start;
+        int numRead;
+
+        try {
+            //search backwards a buffer at a time, since the last line break is near the end
+            position = randomAccess.length();
+            while (end == start && position > start) {
+                numRead = (int) Math.min(buffer.length, position - start);
+                position -= numRead;
+                randomAccess.seek(position);
+                randomAccess.readFully(buffer, 0, numRead);
+                for (int i = numRead - 1; i >= 0 && end == start; i--) {
+                    if (buffer[i] == '\n')
+                        end = position + i + 1;
+                }
+            }
+            randomAccess.setLength(end);
+        }
+        finally {
+            randomAccess.close();
+        }
+
+        return end;
+    }
+
+    /**
+     * Copies a file to a stream, starting partway through the file
+     * @param source the file to copy
+     * @param out the stream to copy to
+     * @param offset the position in the file to copy from
+     * @throws IOException if the file could not be copied
+     */
+    private static void copy(File source, OutputStream out, long offset) throws IOException {
+        InputStream in = new FileInputStream(source);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long skipped = 0;
+        int numRead;
+
+        try {
+            while (skipped < offset)
+                skipped += in.skip(offset - skipped);
+            while ((numRead = in.read(buffer)) > 0)
+                out.write(buffer, 0, numRead);
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Copies a file, replacing the destination only once the copy is written
+     * @param source the file to copy
+     * @param destination the file to copy to
+     * @throws IOException if the file could not be copied
+     */
+    private static void copy(File source, File destination) throws IOException {
+        File newFile = new File(destination.getPath() + ".new");
+        OutputStream out = new FileOutputStream(newFile);
+
+        try {
+            copy(source, out, 0);
+        }
+        finally {
+            out.close();
+        }
+        replace(newFile, destination);
+    }
+
+    /**
+     * Replaces a file with another
+     * @param source the file to move
+     * @param destination the file to replace
+     * @throws IOException if the file could not be replaced
+     */
+    private static void replace(File source, File destination) throws IOException {
+        delete(destination);
+        if (!source.renameTo(destination))
+            throw new IOException("Could not replace " + destination);
+    }
+
+    /**
+     * Deletes a file, if it exists
+     * @param file the file to delete
+     */
+    private static void delete(File file) {
+        if (file.exists() && !file.delete())
+            System.out.println("Could not delete " + file);
+    }
+
+    /**
+     * Deletes a file, or a directory and everything in it
+     * @param file the file or directory to delete
+     */
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+
+        if (children != null)
+            for (File child : children)
+                deleteRecursively(child);
+        delete(file);
+    }
+}
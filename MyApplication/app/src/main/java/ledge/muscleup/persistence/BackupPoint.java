@@ -0,0 +1,103 @@
+package ledge.muscleup.persistence;
+
+import org.joda.time.LocalDateTime;
+
+/**
+ * A point the database can be restored to. Each full backup starts a new set of points, and each
+ * incremental backup after it adds a point holding the changes logged since the point before
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-31
+ */
+public class BackupPoint {
+    private int backupSet;
+    private int increment;
+    private LocalDateTime takenAt;
+    private long bytesCopied;
+
+    /**
+     * The constructor for the BackupPoint class
+     * @param backupSet the number of the full backup the point belongs to
+     * @param increment the number of incremental backups after the full backup, or 0 for the
+     *                  full backup itself
+     * @param takenAt when the backup was taken
+     * @param bytesCopied the number of bytes copied to take the backup
+     * @throws IllegalArgumentException if passed a {@code null} time or a negative value
+     */
+    public BackupPoint(int backupSet, int increment, LocalDateTime takenAt, long bytesCopied) throws IllegalArgumentException {
+        if (backupSet < 0 || increment < 0 || takenAt == null || bytesCopied < 0) {
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        }
+        else {
+            this.backupSet = backupSet;
+            this.increment = increment;
+            this.takenAt = takenAt;
+            this.bytesCopied = bytesCopied;
+        }
+    }
+
+    /**
+     * Returns the number of the full backup the point belongs to
+     * @return the number of the backup set
+     */
+    public int getBackupSet() {
+        return backupSet;
+    }
+
+    /**
+     * Returns the number of incremental backups after the full backup
+     * @return the number of the increment, or 0 for the full backup
+     */
+    public int getIncrement() {
+        return increment;
+    }
+
+    /**
+     * Returns whether the point is a full backup
+     * @return {@code true} if the point is a full backup, or {@code false} if it is incremental
+     */
+    public boolean isFull() {
+        return increment == 0;
+    }
+
+    /**
+     * Returns when the backup was taken
+     * @return the time the backup was taken
+     */
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+
+    /**
+     * Returns the number of bytes copied to take the backup
+     * @return the number of bytes copied
+     */
+    public long getBytesCopied() {
+        return bytesCopied;
+    }
+
+    /**
+     * Compares the current BackupPoint to another instance of BackupPoint
+     *
+     * @param other the instance of BackupPoint to compare to
+     * @return a boolean representing whether the two instances were equal
+     */
+    public boolean equals(BackupPoint other) {
+        return other != null &&
+                backupSet == other.getBackupSet() &&
+                increment == other.getIncrement() &&
+                takenAt.equals(other.getTakenAt()) &&
+                bytesCopied == other.getBytesCopied();
+    }
+
+    /**
+     * Returns the BackupPoint as a String
+     * @return the BackupPoint as a String
+     */
+    @Override
+    public String toString() {
+        return (isFull() ? "Full backup " + backupSet : "Backup " + backupSet + "." + increment) +
+                " taken at " + takenAt + " (" + bytesCopied + " bytes)";
+    }
+}
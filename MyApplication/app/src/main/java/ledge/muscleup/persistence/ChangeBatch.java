@@ -0,0 +1,64 @@
+package ledge.muscleup.persistence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A batch of the changes a device made since a sequence number, with the sequence number to ask
+ * for the changes after them. Only the latest change to each date is in a batch, and a batch holds
+ * a limited number of changes, so a long history is sent over several batches
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-06
+ */
+public class ChangeBatch {
+    private List<SessionChange> changes;
+    private long lastSequence;
+    private boolean hasMore;
+
+    /**
+     * The constructor for the ChangeBatch class
+     * @param changes the changes in the batch, oldest first
+     * @param lastSequence the sequence number of the last change the batch covers
+     * @param hasMore whether there are more changes after the batch
+     * @throws IllegalArgumentException if passed {@code null} changes or a negative sequence number
+     */
+    public ChangeBatch(List<SessionChange> changes, long lastSequence, boolean hasMore) throws IllegalArgumentException {
+        if (changes == null || lastSequence < 0) {
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        }
+        else {
+            this.changes = Collections.unmodifiableList(new ArrayList<>(changes));
+            this.lastSequence = lastSequence;
+            this.hasMore = hasMore;
+        }
+    }
+
+    /**
+     * Returns the changes in the batch
+     * @return the changes, oldest first
+     */
+    public List<SessionChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Returns the sequence number of the last change the batch covers, which is where the next
+     * batch starts from. Changes left out of the batch, such as those the requester made itself,
+     * are still covered
+     * @return the last sequence number covered
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Returns whether there are more changes after the batch
+     * @return {@code true} if another batch should be asked for
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+}
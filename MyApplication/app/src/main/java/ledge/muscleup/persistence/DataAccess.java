@@ -2,7 +2,11 @@ package ledge.muscleup.persistence;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Properties;
+
+import ledge.muscleup.trace.Tracer;
 
 import ledge.muscleup.model.exercise.Exercise;
 import ledge.muscleup.model.exercise.ExerciseDistance;
@@ -16,6 +20,7 @@ import ledge.muscleup.model.exercise.WorkoutExerciseDuration;
 import ledge.muscleup.model.exercise.WorkoutExerciseSets;
 import ledge.muscleup.model.exercise.WorkoutExerciseSetsAndWeight;
 import ledge.muscleup.model.exercise.enums.DistanceUnit;
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
 import ledge.muscleup.model.exercise.enums.TimeUnit;
 import ledge.muscleup.model.exercise.enums.WeightUnit;
 
@@ -28,7 +33,7 @@ import ledge.muscleup.model.exercise.enums.WeightUnit;
  */
 public class DataAccess implements InterfaceDataAccess {
     private static final String SHUTDOWN_CMD = "shutdown compact";
-    private static final String DB_PATH_PREFIX = "jdbc:hsqldb:file:";
+    static final String DB_PATH_PREFIX = "jdbc:hsqldb:file:";
 
     static final int NULL_NUM = -1;
     static final int XP_PER_INTENSITY = 50;
@@ -47,13 +52,46 @@ public class DataAccess implements InterfaceDataAccess {
     }
 
     /**
-     * Opens the database
+     * Opens the database, upgrading its schema first if it was created by an older version. A
+     * requested restore from a backup is applied before connecting. The connection is
+     * instrumented if query statistics are being collected
      */
     @Override
     public void open(String dbPath) {
+        Statement statement;
+        Properties restoreRequest;
+
         try {
-            Class.forName("org.hsqldb.jdbcDriver").newInstance();
-            connection = DriverManager.getConnection(DB_PATH_PREFIX + dbPath, "SA", "");
+            restoreRequest = BackupDataAccess.applyPendingRestore(dbPath);
+
+            Tracer.beginSection("loadDriver");
+            try {
+                Class.forName("org.hsqldb.jdbcDriver").newInstance();
+            }
+            finally {
+                Tracer.endSection();
+            }
+
+            //connecting replays the database script
+            Tracer.beginSection("connect");
+            try {
+                connection = QueryStatistics.instrument(DriverManager.getConnection(DB_PATH_PREFIX + dbPath, "SA", ""));
+            }
+            finally {
+                Tracer.endSection();
+            }
+
+            Tracer.beginSection("migrateSchema");
+            try {
+                statement = connection.createStatement();
+                SchemaMigrations.migrate(statement);
+                if (restoreRequest != null)
+                    BackupDataAccess.finishRestore(statement, restoreRequest);
+                statement.close();
+            }
+            finally {
+                Tracer.endSection();
+            }
         }
         catch (Exception e) {
             sqlError(e);
@@ -70,7 +108,7 @@ public class DataAccess implements InterfaceDataAccess {
 
         try {
             statement = connection.createStatement();
-            statement.executeQuery(SHUTDOWN_CMD);
+            statement.executeQuery("/* DataAccess.close */ " + SHUTDOWN_CMD);
             statement.close();
             connection.close();
         }
@@ -81,7 +119,19 @@ public class DataAccess implements InterfaceDataAccess {
     }
 
     /**
-     * Get a new statement from the database connection
+     * Returns the experience an exercise of the given intensity is worth. The same values are
+     * kept in ExerciseIntensities for the procedures that compute experience in the database
+     * @param intensity the intensity of the exercise
+     * @return the experience value of the exercise
+     */
+    static int getExperienceValue(ExerciseIntensity intensity) {
+        return XP_PER_INTENSITY * (intensity.ordinal() + 1);
+    }
+
+    /**
+     * Get a new statement from the database connection. A data access object keeps the statement
+     * it is given, and the result sets it reads, in fields for as long as it is open, so its
+     * methods are synchronized: the business objects of different threads share it
      * @return a new statement
      */
     public Statement getNewStatement() {
@@ -97,6 +147,20 @@ public class DataAccess implements InterfaceDataAccess {
         return statement;
     }
 
+    /**
+     * Opens another connection to the database a statement is on. Statements on the shared
+     * connection all take part in any transaction one of them starts, so a writer that commits
+     * on a thread of its own, or in chunks of its own, needs a connection of its own, which its
+     * owner closes
+     * @param statement a statement on the database to connect to
+     * @return a new connection to the same database
+     * @throws SQLException if the connection could not be opened
+     */
+    static Connection getNewConnection(Statement statement) throws SQLException {
+        return QueryStatistics.instrument(DriverManager.getConnection(
+                statement.getConnection().getMetaData().getURL(), "SA", ""));
+    }
+
     /**
      * Handles the creation of a workout exercise based on the values that are stored with a workout exercise
      * in the database
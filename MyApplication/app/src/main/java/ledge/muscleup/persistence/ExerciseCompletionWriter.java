@@ -0,0 +1,216 @@
+package ledge.muscleup.persistence;
+
+import org.joda.time.LocalDate;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes the completed state of single exercises in workout sessions. Ticking exercises off is
+ * done a tap at a time, so rather than writing each tap, the changes are kept until no more have
+ * been made for a short while, or until the first one has waited long enough, and then written
+ * together as one batch in one transaction. Changing the same exercise again before then only
+ * keeps the latest state. Anything still waiting is written before a workout session is read or
+ * changed another way, and when the writer is closed. The batch is written on a connection of the
+ * writer's own, so statements on the shared connection never join its transaction, and a batch
+ * that could not be written is kept to be written with the next one
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-03
+ */
+class ExerciseCompletionWriter {
+    static final long DEBOUNCE_MILLIS = 750;
+    static final long MAX_DELAY_MILLIS = 3000;
+
+    private static final String UPDATE_EXERCISE =
+            "UPDATE     WorkoutSessionExercises WSE " +
+            "SET        WSE.Complete = ? " +
+            "WHERE      WSE.ID IN ( " +
+            "               SELECT      WSC.ExerciseID " +
+            "               FROM        WorkoutSessions WS " +
+            "               INNER JOIN  WorkoutSessionContents WSC " +
+            "                           ON WSC.WorkoutSessionID = WS.ID " +
+            "               INNER JOIN  WorkoutSessionExercises WSE2 " +
+            "                           ON WSC.ExerciseID = WSE2.ID " +
+            "               INNER JOIN  WorkoutExercises WE " +
+            "                           ON WSE2.WorkoutExerciseID = WE.ID " +
+            "               INNER JOIN  Exercises E " +
+            "                           ON WE.ExerciseID = E.ID " +
+            "               WHERE       WS.ScheduledDate = ? " +
+            "                           AND E.Name = ?)";
+
+    private final Statement statement;
+    private Connection connection;
+    private final Map<LocalDate, Map<String, Boolean>> pending = new LinkedHashMap<>();
+    private long firstChange, lastChange;
+    private FlushThread flushThread;
+
+    /**
+     * The constructor for the ExerciseCompletionWriter
+     * @param statement a statement on the database to write to
+     */
+    ExerciseCompletionWriter(Statement statement) {
+        this.statement = statement;
+    }
+
+    /**
+     * Sets whether an exercise in a workout session is complete, to be written with the other
+     * changes made around the same time
+     * @param sessionDate the date of the workout session
+     * @param exerciseName the name of the exercise
+     * @param complete whether the exercise is complete
+     */
+    synchronized void setComplete(LocalDate sessionDate, String exerciseName, boolean complete) {
+        Map<String, Boolean> sessionChanges = pending.get(sessionDate);
+
+        lastChange = System.nanoTime();
+        if (pending.isEmpty())
+            firstChange = lastChange;
+        if (sessionChanges == null) {
+            sessionChanges = new LinkedHashMap<>();
+            pending.put(sessionDate, sessionChanges);
+        }
+        sessionChanges.put(exerciseName, complete);
+
+        if (flushThread == null) {
+            flushThread = new FlushThread();
+            flushThread.start();
+        }
+        notifyAll();
+    }
+
+    /**
+     * Writes every change that is waiting, as one batch in one transaction. If the batch can't be
+     * written, the changes are kept, and the writer waits as if they had just been made before
+     * trying again
+     */
+    synchronized void flush() {
+        PreparedStatement update = null;
+
+        if (pending.isEmpty())
+            return;
+
+        try {
+            if (connection == null) {
+                connection = DataAccess.getNewConnection(statement);
+                connection.setAutoCommit(false);
+            }
+            update = connection.prepareStatement("/* ExerciseCompletionWriter.flush */ " + UPDATE_EXERCISE);
+            for (Map.Entry<LocalDate, Map<String, Boolean>> session : pending.entrySet()) {
+                for (Map.Entry<String, Boolean> exercise : session.getValue().entrySet()) {
+                    update.setBoolean(1, exercise.getValue());
+                    update.setDate(2, Date.valueOf(session.getKey().toString()));
+                    update.setString(3, exercise.getKey());
+                    update.addBatch();
+                }
+            }
+            update.executeBatch();
+            connection.commit();
+            pending.clear();
+        }
+        catch (SQLException e) {
+            DataAccess.sqlError(e);
+            closeConnection();
+            firstChange = lastChange = System.nanoTime();
+        }
+        finally {
+            closeQuietly(update);
+        }
+    }
+
+    /**
+     * Writes every change that is waiting, stops the thread that writes them and closes the
+     * writer's connection. Changes that can't be written by then are lost
+     */
+    synchronized void close() {
+        flush();
+        if (flushThread != null) {
+            flushThread.interrupt();
+            flushThread = null;
+        }
+        closeConnection();
+        pending.clear();
+    }
+
+    /**
+     * Returns how long until the changes that are waiting should be written
+     * @return the time to wait, in milliseconds, which is at most 0 if they are due
+     */
+    private long millisUntilDue() {
+        long due = Math.min(lastChange + DEBOUNCE_MILLIS * 1000000, firstChange + MAX_DELAY_MILLIS * 1000000);
+        return (due - System.nanoTime()) / 1000000;
+    }
+
+    /**
+     * Rolls back the writer's transaction and closes its connection, if it has one, so that the
+     * next batch is written on a new one. Any error is reported rather than thrown
+     */
+    private void closeConnection() {
+        try {
+            if (connection != null) {
+                connection.rollback();
+                connection.close();
+            }
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+        finally {
+            connection = null;
+        }
+    }
+
+    /**
+     * Closes a prepared statement, if there is one, reporting rather than throwing any error
+     * @param prepared the prepared statement, or {@code null}
+     */
+    private static void closeQuietly(PreparedStatement prepared) {
+        try {
+            if (prepared != null)
+                prepared.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+    }
+
+    /**
+     * The thread that waits for the changes to settle and then writes them
+     */
+    private class FlushThread extends Thread {
+        /**
+         * The constructor for the FlushThread
+         */
+        private FlushThread() {
+            super("ExerciseCompletionWriter");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long wait;
+
+            synchronized (ExerciseCompletionWriter.this) {
+                try {
+                    while (flushThread == this) {
+                        if (pending.isEmpty())
+                            ExerciseCompletionWriter.this.wait();
+                        else if ((wait = millisUntilDue()) > 0)
+                            ExerciseCompletionWriter.this.wait(wait);
+                        else
+                            flush();
+                    }
+                }
+                catch (InterruptedException e) {
+                    //closed
+                }
+            }
+        }
+    }
+}
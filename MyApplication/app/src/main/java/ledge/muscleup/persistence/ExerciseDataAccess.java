@@ -24,14 +24,14 @@ public class ExerciseDataAccess implements InterfaceExerciseDataAccess {
      * Opens the ExerciseDataAccess
      * @param statement the statement to use in ExerciseDataAccess queries
      */
-    public void open(Statement statement) {
+    public synchronized void open(Statement statement) {
         this.statement = statement;
     }
 
     /**
      * Closes the ExerciseDataAccess
      */
-    public void close() {
+    public synchronized void close() {
         try {
             statement.close();
         }
@@ -46,7 +46,7 @@ public class ExerciseDataAccess implements InterfaceExerciseDataAccess {
      * @return a list of all exercises in the database
      */
     @Override
-    public List<Exercise> getExercisesList() {
+    public synchronized List<Exercise> getExercisesList() {
         List<Exercise> exerciseList = new ArrayList<>();
         String name;
         ExerciseIntensity intensity;
@@ -55,7 +55,7 @@ public class ExerciseDataAccess implements InterfaceExerciseDataAccess {
         try {
             //get the exercises from the db
             resultSet = statement.executeQuery(
-                    "SELECT     E.Name, " +
+                    "/* ExerciseDataAccess.getExercisesList */ SELECT     E.Name, " +
                     "           EI.Intensity, " +
                     "           ET.Type " +
                     "FROM       Exercises E " +
@@ -24,14 +24,14 @@ public class ExperienceDataAccess implements InterfaceExperienceDataAccess {
      * Opens the ExperienceDataAccess
      * @param statement the statement to use in ExperienceDataAccess queries
      */
-    public void open(Statement statement) {
+    public synchronized void open(Statement statement) {
         this.statement = statement;
     }
 
     /**
      * Close the ExperienceDataAccess
      */
-    public void close() {
+    public synchronized void close() {
         try {
             statement.close();
         }
@@ -46,7 +46,7 @@ public class ExperienceDataAccess implements InterfaceExperienceDataAccess {
      * @return a list of all completed workout records
      */
     @Override
-    public List<CompletedWorkoutRecord> getCompletedWorkouts() {
+    public synchronized List<CompletedWorkoutRecord> getCompletedWorkouts() {
         List<CompletedWorkoutRecord> completedWorkoutRecordList = new ArrayList<>();
         CompletedWorkoutRecord completedWorkoutRecord;
         String workoutName = null;
@@ -57,14 +57,16 @@ public class ExperienceDataAccess implements InterfaceExperienceDataAccess {
         try
         {
             resultSet = statement.executeQuery(
-                    "SELECT         W.Name, " +
+                    "/* ExperienceDataAccess.getCompletedWorkouts */ SELECT         W.Name, " +
                     "               PH.LoggedDate, " +
                     "               PH.CurrentXP " +
                     "FROM           ProgressHistory PH " +
                     "LEFT JOIN      WorkoutSessions WS " +
                     "               ON PH.WorkoutSessionID = WS.ID " +
+                    "LEFT JOIN      ArchivedWorkoutSessions AWS " +
+                    "               ON PH.WorkoutSessionID = AWS.ID " +
                     "LEFT JOIN      Workouts W " +
-                    "               ON WS.WorkoutID = W.ID " +
+                    "               ON W.ID = COALESCE(WS.WorkoutID, AWS.WorkoutID) " +
                     "ORDER BY       PH.LoggedDate DESC ");
 
             while (resultSet.next())
@@ -101,7 +103,7 @@ public class ExperienceDataAccess implements InterfaceExperienceDataAccess {
      * @return the most recent completed workout
      */
     @Override
-    public CompletedWorkoutRecord getMostRecentCompletedWorkout() {
+    public synchronized CompletedWorkoutRecord getMostRecentCompletedWorkout() {
         CompletedWorkoutRecord completedWorkoutRecord = null;
         String workoutName;
         LocalDateTime loggedDate;
@@ -110,14 +112,16 @@ public class ExperienceDataAccess implements InterfaceExperienceDataAccess {
 
         try {
             resultSet = statement.executeQuery(
-                    "SELECT TOP 2   W.Name, " +
+                    "/* ExperienceDataAccess.getMostRecentCompletedWorkout */ SELECT TOP 2   W.Name, " +
                     "               PH.LoggedDate, " +
                     "               PH.CurrentXP " +
                     "FROM           ProgressHistory PH " +
                     "LEFT JOIN      WorkoutSessions WS " +
                     "               ON PH.WorkoutSessionID = WS.ID " +
+                    "LEFT JOIN      ArchivedWorkoutSessions AWS " +
+                    "               ON PH.WorkoutSessionID = AWS.ID " +
                     "LEFT JOIN      Workouts W " +
-                    "               ON WS.WorkoutID = W.ID " +
+                    "               ON W.ID = COALESCE(WS.WorkoutID, AWS.WorkoutID) " +
                     "ORDER BY       PH.LoggedDate DESC ");
 
             if (resultSet.next())
@@ -0,0 +1,268 @@
+package ledge.muscleup.persistence;
+
+import org.joda.time.LocalDateTime;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
+
+/**
+ * The data access class for exporting the workout history. The history is read a page at a time
+ * through a forward-only cursor, each page starting after the last row of the one before, so the
+ * database never builds a result larger than a page however long the history is. Rows are
+ * written through a buffer as they are read
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-29
+ */
+public class ExportDataAccess implements InterfaceExportDataAccess {
+    static final int PAGE_SIZE = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Date BEFORE_FIRST_DATE = Date.valueOf("0001-01-01");
+
+    static final String[] SESSION_COLUMNS = {"date", "workout", "sessionComplete", "exercise",
+            "type", "intensity", "xp", "exerciseComplete"};
+    //a page is the first sessions of both tiers merged, and each session's exercises are found in
+    //the tier it came from, since session IDs are never shared between the tiers
+    private static final String SESSION_PAGE_QUERY =
+            "SELECT     WS.ScheduledDate, " +
+            "           W.Name AS WorkoutName, " +
+            "           WS.Complete AS SessionComplete, " +
+            "           E.Name AS ExerciseName, " +
+            "           ET.Type, " +
+            "           EI.Intensity, " +
+            "           COALESCE(WSE.Complete, AWSE.Complete) AS ExerciseComplete, " +
+            "           WS.ExperienceValue AS SummarizedXP " +
+            "FROM       ( " +
+            "               SELECT      ID, ScheduledDate, WorkoutID, Complete, ExperienceValue " +
+            "               FROM        ( " +
+            "                               (SELECT      ID, ScheduledDate, WorkoutID, Complete, " +
+            "                                            CAST(NULL AS INTEGER) AS ExperienceValue " +
+            "                                FROM        WorkoutSessions " +
+            "                                WHERE       ScheduledDate > ? " +
+            "                                ORDER BY    ScheduledDate " +
+            "                                LIMIT       " + PAGE_SIZE + ") " +
+            "                               UNION ALL " +
+            "                               (SELECT      ID, ScheduledDate, WorkoutID, Complete, ExperienceValue " +
+            "                                FROM        ArchivedWorkoutSessions " +
+            "                                WHERE       ScheduledDate > ? " +
+            "                                ORDER BY    ScheduledDate " +
+            "                                LIMIT       " + PAGE_SIZE + ") " +
+            "                           ) " +
+            "               ORDER BY    ScheduledDate " +
+            "               LIMIT       " + PAGE_SIZE +
+            "           ) WS " +
+            "INNER JOIN Workouts W " +
+            "           ON WS.WorkoutID = W.ID " +
+            "LEFT JOIN  WorkoutSessionContents WSC " +
+            "           ON WSC.WorkoutSessionID = WS.ID " +
+            "LEFT JOIN  WorkoutSessionExercises WSE " +
+            "           ON WSC.ExerciseID = WSE.ID " +
+            "LEFT JOIN  ArchivedWorkoutSessionContents AWSC " +
+            "           ON AWSC.WorkoutSessionID = WS.ID " +
+            "LEFT JOIN  ArchivedWorkoutSessionExercises AWSE " +
+            "           ON AWSC.ExerciseID = AWSE.ID " +
+            "LEFT JOIN  WorkoutExercises WE " +
+            "           ON WE.ID = COALESCE(WSE.WorkoutExerciseID, AWSE.WorkoutExerciseID) " +
+            "LEFT JOIN  Exercises E " +
+            "           ON WE.ExerciseID = E.ID " +
+            "LEFT JOIN  ExerciseTypes ET " +
+            "           ON E.TypeID = ET.ID " +
+            "LEFT JOIN  ExerciseIntensities EI " +
+            "           ON E.IntensityID = EI.ID " +
+            "ORDER BY   WS.ScheduledDate, COALESCE(WSC.ID, AWSC.ID)";
+
+    static final String[] PROGRESS_COLUMNS = {"loggedAt", "sessionDate", "workout", "xpGained", "totalXP"};
+    private static final String PROGRESS_PAGE_QUERY =
+            "SELECT     PH.ID, " +
+            "           PH.LoggedDate, " +
+            "           PH.CurrentXP, " +
+            "           COALESCE(WS.ScheduledDate, AWS.ScheduledDate) AS ScheduledDate, " +
+            "           W.Name AS WorkoutName " +
+            "FROM       ProgressHistory PH " +
+            "LEFT JOIN  WorkoutSessions WS " +
+            "           ON PH.WorkoutSessionID = WS.ID " +
+            "LEFT JOIN  ArchivedWorkoutSessions AWS " +
+            "           ON PH.WorkoutSessionID = AWS.ID " +
+            "LEFT JOIN  Workouts W " +
+            "           ON W.ID = COALESCE(WS.WorkoutID, AWS.WorkoutID) " +
+            "WHERE      PH.ID > ? " +
+            "ORDER BY   PH.ID " +
+            "LIMIT      " + PAGE_SIZE;
+
+    private Statement statement;
+
+    /**
+     * Opens the ExportDataAccess
+     * @param statement a statement on the database to export from
+     */
+    public synchronized void open(Statement statement) {
+        this.statement = statement;
+    }
+
+    /**
+     * Close the ExportDataAccess
+     */
+    public synchronized void close() {
+        try {
+            statement.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+    }
+
+    /**
+     * Exports every scheduled workout session, archived or not, with a row for each exercise in
+     * the session holding whether the session and the exercise have been completed, ordered by
+     * date. A session with no exercises has a single row with no exercise, as does a rolled up
+     * session, whose row holds the experience value of the exercises it had
+     *
+     * @param writer the stream to write the export to, which is flushed but not closed
+     * @param format the format to write the export in
+     * @return the number of rows exported
+     * @throws IOException if the sessions could not be read or written
+     */
+    @Override
+    public synchronized int exportSessions(Writer writer, ExportFormat format) throws IOException {
+        BufferedWriter bufferedWriter = new BufferedWriter(writer, BUFFER_SIZE);
+        RowWriter rowWriter = new RowWriter(bufferedWriter, format, SESSION_COLUMNS);
+        Object[] values = new Object[SESSION_COLUMNS.length];
+        PreparedStatement page = null;
+        ResultSet resultSet;
+        Date lastDate = BEFORE_FIRST_DATE, date;
+        String intensity;
+        int pageSessions;
+
+        try {
+            page = prepareForwardOnly("/* ExportDataAccess.exportSessions */ " + SESSION_PAGE_QUERY);
+            do {
+                pageSessions = 0;
+                page.setDate(1, lastDate);
+                page.setDate(2, lastDate);
+                resultSet = page.executeQuery();
+                while (resultSet.next()) {
+                    date = resultSet.getDate("ScheduledDate");
+                    if (!date.equals(lastDate)) {
+                        pageSessions++;
+                        lastDate = date;
+                    }
+
+                    intensity = resultSet.getString("Intensity");
+                    values[0] = date.toString();
+                    values[1] = resultSet.getString("WorkoutName");
+                    values[2] = resultSet.getBoolean("SessionComplete");
+                    values[3] = resultSet.getString("ExerciseName");
+                    values[4] = resultSet.getString("Type");
+                    values[5] = intensity;
+                    values[6] = intensity == null ? resultSet.getObject("SummarizedXP") :
+                            DataAccess.getExperienceValue(ExerciseIntensity.valueOf(intensity));
+                    values[7] = values[3] == null ? null : resultSet.getBoolean("ExerciseComplete");
+                    rowWriter.writeRow(values);
+                }
+                resultSet.close();
+            } while (pageSessions == PAGE_SIZE);
+        }
+        catch (SQLException e) {
+            DataAccess.sqlError(e);
+            throw new IOException("Could not read the workout sessions to export", e);
+        }
+        finally {
+            closeQuietly(page);
+        }
+
+        bufferedWriter.flush();
+        return rowWriter.getNumRows();
+    }
+
+    /**
+     * Exports the experience ledger, with a row for each completed workout session holding the
+     * experience gained and the total experience afterwards, in the order they were completed
+     *
+     * @param writer the stream to write the export to, which is flushed but not closed
+     * @param format the format to write the export in
+     * @return the number of rows exported
+     * @throws IOException if the ledger could not be read or written
+     */
+    @Override
+    public synchronized int exportProgress(Writer writer, ExportFormat format) throws IOException {
+        BufferedWriter bufferedWriter = new BufferedWriter(writer, BUFFER_SIZE);
+        RowWriter rowWriter = new RowWriter(bufferedWriter, format, PROGRESS_COLUMNS);
+        Object[] values = new Object[PROGRESS_COLUMNS.length];
+        PreparedStatement page = null;
+        ResultSet resultSet;
+        Date sessionDate;
+        int lastID = -1, previousXP = 0, currentXP, pageRows;
+
+        try {
+            page = prepareForwardOnly("/* ExportDataAccess.exportProgress */ " + PROGRESS_PAGE_QUERY);
+            do {
+                pageRows = 0;
+                page.setInt(1, lastID);
+                resultSet = page.executeQuery();
+                while (resultSet.next()) {
+                    pageRows++;
+                    lastID = resultSet.getInt("ID");
+                    currentXP = resultSet.getInt("CurrentXP");
+                    sessionDate = resultSet.getDate("ScheduledDate");
+
+                    values[0] = new LocalDateTime(resultSet.getTimestamp("LoggedDate")).toString();
+                    values[1] = sessionDate == null ? null : sessionDate.toString();
+                    values[2] = resultSet.getString("WorkoutName");
+                    values[3] = currentXP - previousXP;
+                    values[4] = currentXP;
+                    rowWriter.writeRow(values);
+                    previousXP = currentXP;
+                }
+                resultSet.close();
+            } while (pageRows == PAGE_SIZE);
+        }
+        catch (SQLException e) {
+            DataAccess.sqlError(e);
+            throw new IOException("Could not read the experience history to export", e);
+        }
+        finally {
+            closeQuietly(page);
+        }
+
+        bufferedWriter.flush();
+        return rowWriter.getNumRows();
+    }
+
+    /**
+     * Prepares a read-only query whose results are read forward only, fetching a page of rows at
+     * a time
+     * @param sql the query to prepare
+     * @return the prepared query
+     * @throws SQLException if the query could not be prepared
+     */
+    private PreparedStatement prepareForwardOnly(String sql) throws SQLException {
+        PreparedStatement prepared = statement.getConnection().prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+
+        prepared.setFetchSize(PAGE_SIZE);
+        return prepared;
+    }
+
+    /**
+     * Closes a prepared query, if there is one, reporting rather than throwing any error
+     * @param prepared the query to close, or {@code null}
+     */
+    private void closeQuietly(PreparedStatement prepared) {
+        try {
+            if (prepared != null)
+                prepared.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ledge.muscleup.persistence;
+
+/**
+ * The file formats the workout history can be exported in
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-29
+ */
+public enum ExportFormat {
+    //comma separated values, with a header row naming the columns
+    CSV,
+    //one JSON object per line, keyed by column name
+    JSON_LINES
+}
@@ -0,0 +1,749 @@
+package ledge.muscleup.persistence;
+
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The data access class for importing workout history. A parser thread reads rows from the file
+ * into a bounded queue while the calling thread writes them, so parsing and writing overlap and
+ * the parser waits whenever the writer falls behind. Workout and exercise names are looked up in
+ * a dictionary loaded once at the start, IDs are handed out in memory rather than read back after
+ * each insert, and rows are written in batches, committing every chunk of rows
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-30
+ */
+public class ImportDataAccess implements InterfaceImportDataAccess {
+    static final int CHUNK_ROWS = 5000;
+    private static final int BLOCK_ROWS = 256;
+    private static final int QUEUE_BLOCKS = 16;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_YEAR = 9999;
+    private static final int PAGE_SIZE = ExportDataAccess.PAGE_SIZE;
+
+    private static final String INSERT_SESSION =
+            "INSERT INTO    WorkoutSessions (ID, ScheduledDate, WorkoutID, Complete) " +
+            "VALUES         (?, ?, ?, ?)";
+    private static final String INSERT_SESSION_EXERCISE =
+            "INSERT INTO    WorkoutSessionExercises (ID, WorkoutExerciseID, Complete) " +
+            "VALUES         (?, ?, ?)";
+    private static final String INSERT_SESSION_CONTENTS =
+            "INSERT INTO    WorkoutSessionContents (ID, WorkoutSessionID, ExerciseID) " +
+            "VALUES         (?, ?, ?)";
+    private static final String INSERT_PROGRESS =
+            "INSERT INTO    ProgressHistory (ID, WorkoutSessionID, LoggedDate, CurrentXP) " +
+            "SELECT         ?, WS.ID, ?, ? " +
+            "FROM           (SELECT ID FROM WorkoutSessions WHERE ScheduledDate = ? " +
+            "               UNION ALL " +
+            "               SELECT ID FROM ArchivedWorkoutSessions WHERE ScheduledDate = ?) WS " +
+            "WHERE          NOT EXISTS (SELECT 1 FROM ProgressHistory PH WHERE PH.LoggedDate = ?)";
+    private static final String PROGRESS_PAGE_QUERY =
+            "SELECT     ID, LoggedDate, CurrentXP " +
+            "FROM       ProgressHistory " +
+            "WHERE      LoggedDate > ? " +
+            "ORDER BY   LoggedDate " +
+            "LIMIT      " + PAGE_SIZE;
+
+    private Statement statement;
+
+    /**
+     * Opens the ImportDataAccess
+     * @param statement a statement on the database to import into
+     */
+    public synchronized void open(Statement statement) {
+        this.statement = statement;
+    }
+
+    /**
+     * Close the ImportDataAccess
+     */
+    public synchronized void close() {
+        try {
+            statement.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+    }
+
+    /**
+     * Imports workout sessions, with a row for each exercise in a session and the rows of a
+     * session next to each other. Chunks are only committed between sessions, so a failed import
+     * never leaves a session with some of its exercises. Rows naming an unknown workout or
+     * exercise, or a date that already has a session, are skipped
+     *
+     * @param reader the stream to read the sessions from, which is not closed
+     * @param format the format the sessions are in
+     * @return a report of the rows imported and skipped
+     * @throws IOException if the sessions could not be read or written
+     */
+    @Override
+    public synchronized ImportReport importSessions(Reader reader, ExportFormat format) throws IOException {
+        long start = System.nanoTime();
+        ParserThread parser = new ParserThread(reader, format, ExportDataAccess.SESSION_COLUMNS);
+        Connection connection = null;
+        PreparedStatement sessionInsert = null, exerciseInsert = null, contentsInsert = null;
+        Map<String, WorkoutEntry> workouts;
+        BitSet takenDates;
+        WorkoutEntry workout = null;
+        LocalDate date;
+        Map<Integer, int[]> latestTraining = new HashMap<>();
+        int[] exercise, training;
+        String[] row;
+        String lastDate = null;
+        boolean skipSession = false, sessionComplete = false;
+        int nextSessionID, nextExerciseID, nextContentsID, lastDateIndex = -1;
+        int rowsRead = 0, rowsSkipped = 0, chunkRows = 0, chunkSessions = 0, chunkExercises = 0;
+
+        try {
+            //the import commits a chunk at a time, on a connection of its own so that queries on
+            //the shared connection don't join its transaction
+            connection = DataAccess.getNewConnection(statement);
+            workouts = loadWorkouts();
+            takenDates = loadSessionDates();
+            //archived sessions keep their IDs, so new IDs must come after those as well
+            nextSessionID = nextID("WorkoutSessions", "ArchivedWorkoutSessions");
+            nextExerciseID = nextID("WorkoutSessionExercises", "ArchivedWorkoutSessionExercises");
+            nextContentsID = nextID("WorkoutSessionContents", "ArchivedWorkoutSessionContents");
+
+            connection.setAutoCommit(false);
+            sessionInsert = connection.prepareStatement("/* ImportDataAccess.importSessions */ " + INSERT_SESSION);
+            exerciseInsert = connection.prepareStatement("/* ImportDataAccess.importSessions */ " +
+                    INSERT_SESSION_EXERCISE);
+            contentsInsert = connection.prepareStatement("/* ImportDataAccess.importSessions */ " +
+                    INSERT_SESSION_CONTENTS);
+            parser.start();
+
+            while ((row = parser.take()) != null) {
+                rowsRead++;
+
+                //the first row of each session holds the session
+                if (row[0] == null || !row[0].equals(lastDate)) {
+                    if (chunkRows >= CHUNK_ROWS) {
+                        executeBatch(sessionInsert, chunkSessions);
+                        executeBatch(exerciseInsert, chunkExercises);
+                        executeBatch(contentsInsert, chunkExercises);
+                        connection.commit();
+                        chunkRows = chunkSessions = chunkExercises = 0;
+                    }
+
+                    lastDate = row[0];
+                    date = parseDate(row[0]);
+                    workout = row[1] == null ? null : workouts.get(row[1]);
+                    lastDateIndex = date == null ? -1 : dateIndex(date);
+                    skipSession = date == null || workout == null || takenDates.get(lastDateIndex);
+                    if (!skipSession) {
+                        takenDates.set(lastDateIndex);
+                        sessionInsert.setInt(1, nextSessionID++);
+                        sessionInsert.setDate(2, Date.valueOf(date.toString()));
+                        sessionInsert.setInt(3, workout.id);
+                        sessionComplete = Boolean.parseBoolean(row[2]);
+                        sessionInsert.setBoolean(4, sessionComplete);
+                        sessionInsert.addBatch();
+                        chunkSessions++;
+                    }
+                }
+
+                exercise = row[3] == null || skipSession ? null : workout.exercises.get(row[3]);
+                if (skipSession || (row[3] != null && exercise == null)) {
+                    rowsSkipped++;
+                }
+                else if (exercise != null) {
+                    //only the last completed session training each type decides how rested it is
+                    training = latestTraining.get(exercise[1]);
+                    if (sessionComplete && (training == null || training[1] < lastDateIndex)) {
+                        latestTraining.put(exercise[1], new int[]{nextSessionID - 1, lastDateIndex});
+                    }
+
+                    exerciseInsert.setInt(1, nextExerciseID);
+                    exerciseInsert.setInt(2, exercise[0]);
+                    exerciseInsert.setBoolean(3, Boolean.parseBoolean(row[7]));
+                    exerciseInsert.addBatch();
+                    contentsInsert.setInt(1, nextContentsID++);
+                    contentsInsert.setInt(2, nextSessionID - 1);
+                    contentsInsert.setInt(3, nextExerciseID++);
+                    contentsInsert.addBatch();
+                    chunkExercises++;
+                }
+                chunkRows++;
+            }
+
+            executeBatch(sessionInsert, chunkSessions);
+            executeBatch(exerciseInsert, chunkExercises);
+            executeBatch(contentsInsert, chunkExercises);
+            connection.commit();
+
+            //later sessions are inserted with generated IDs, which must start after the imported ones
+            restartID("WorkoutSessions", nextSessionID);
+            restartID("WorkoutSessionExercises", nextExerciseID);
+            restartID("WorkoutSessionContents", nextContentsID);
+            for (int[] latest : latestTraining.values())
+                statement.execute("/* ImportDataAccess.importSessions */ CALL RecordTypeTraining(" + latest[0] + ")");
+        }
+        catch (SQLException e) {
+            DataAccess.sqlError(e);
+            rollbackQuietly(connection);
+            throw new IOException("Could not import the workout sessions", e);
+        }
+        finally {
+            parser.interrupt();
+            closeQuietly(sessionInsert);
+            closeQuietly(exerciseInsert);
+            closeQuietly(contentsInsert);
+            closeQuietly(connection);
+        }
+
+        return new ImportReport(rowsRead, rowsRead - rowsSkipped, rowsSkipped, System.nanoTime() - start);
+    }
+
+    /**
+     * Imports experience history, with a row for each completed workout session holding the
+     * experience gained. Rows logged after the rest of the history are given their totals as
+     * they are inserted; rows logged earlier are inserted with a placeholder total, and the
+     * totals from the earliest of them on are recounted before the chunk is committed. Rows for
+     * sessions that don't exist, or logged at the same time as a row already in the history, are
+     * skipped
+     *
+     * @param reader the stream to read the history from, which is not closed
+     * @param format the format the history is in
+     * @return a report of the rows imported and skipped
+     * @throws IOException if the history could not be read or written
+     */
+    @Override
+    public synchronized ImportReport importProgress(Reader reader, ExportFormat format) throws IOException {
+        long start = System.nanoTime();
+        ParserThread parser = new ParserThread(reader, format, ExportDataAccess.PROGRESS_COLUMNS);
+        Connection connection = null;
+        PreparedStatement progressInsert = null;
+        ResultSet resultSet;
+        BitSet sessionDates;
+        LocalDate sessionDate;
+        LocalDateTime loggedAt;
+        Timestamp loggedTimestamp, latestLogged = null, earliestPlaceholder = null;
+        String[] row;
+        int[] gains = new int[CHUNK_ROWS];
+        int[] results;
+        int nextProgressID, latestTotal = 0, xpGained, numPlaceholders = 0;
+        int rowsRead = 0, rowsSkipped = 0, chunkRows = 0;
+
+        try {
+            connection = DataAccess.getNewConnection(statement);
+            sessionDates = loadSessionDates();
+            nextProgressID = nextID("ProgressHistory");
+            resultSet = statement.executeQuery(
+                    "/* ImportDataAccess.importProgress */ SELECT TOP 1   LoggedDate, CurrentXP " +
+                    "FROM           ProgressHistory " +
+                    "ORDER BY       LoggedDate DESC");
+            if (resultSet.next()) {
+                latestLogged = resultSet.getTimestamp("LoggedDate");
+                latestTotal = resultSet.getInt("CurrentXP");
+            }
+            resultSet.close();
+
+            connection.setAutoCommit(false);
+            progressInsert = connection.prepareStatement("/* ImportDataAccess.importProgress */ " + INSERT_PROGRESS);
+            parser.start();
+
+            while ((row = parser.take()) != null) {
+                rowsRead++;
+                loggedAt = parseDateTime(row[0]);
+                sessionDate = parseDate(row[1]);
+                xpGained = parseInt(row[3]);
+
+                if (loggedAt == null || sessionDate == null || xpGained <= 0 ||
+                        !sessionDates.get(dateIndex(sessionDate))) {
+                    rowsSkipped++;
+                    continue;
+                }
+
+                loggedTimestamp = new Timestamp(loggedAt.toDate().getTime());
+                progressInsert.setInt(1, nextProgressID++);
+                progressInsert.setTimestamp(2, loggedTimestamp);
+                if (latestLogged == null || loggedTimestamp.after(latestLogged)) {
+                    latestTotal += xpGained;
+                    latestLogged = loggedTimestamp;
+                    progressInsert.setInt(3, latestTotal);
+                }
+                else {
+                    //placeholders sit below every negated total, so they stay unique while recounting
+                    if (numPlaceholders == gains.length)
+                        gains = growArray(gains);
+                    gains[numPlaceholders] = xpGained;
+                    progressInsert.setInt(3, Integer.MIN_VALUE + numPlaceholders++);
+                    if (earliestPlaceholder == null || loggedTimestamp.before(earliestPlaceholder))
+                        earliestPlaceholder = loggedTimestamp;
+                }
+                progressInsert.setDate(4, Date.valueOf(sessionDate.toString()));
+                progressInsert.setDate(5, Date.valueOf(sessionDate.toString()));
+                progressInsert.setTimestamp(6, loggedTimestamp);
+                progressInsert.addBatch();
+
+                if (++chunkRows >= CHUNK_ROWS) {
+                    results = executeBatch(progressInsert, chunkRows);
+                    rowsSkipped += countSkipped(results);
+                    if (earliestPlaceholder != null) {
+                        latestTotal = recountTotals(connection, earliestPlaceholder, gains, numPlaceholders);
+                        earliestPlaceholder = null;
+                        numPlaceholders = 0;
+                    }
+                    connection.commit();
+                    chunkRows = 0;
+                }
+            }
+
+            results = executeBatch(progressInsert, chunkRows);
+            rowsSkipped += countSkipped(results);
+            if (earliestPlaceholder != null)
+                recountTotals(connection, earliestPlaceholder, gains, numPlaceholders);
+            connection.commit();
+            restartID("ProgressHistory", nextProgressID);
+        }
+        catch (SQLException e) {
+            DataAccess.sqlError(e);
+            rollbackQuietly(connection);
+            throw new IOException("Could not import the experience history", e);
+        }
+        finally {
+            parser.interrupt();
+            closeQuietly(progressInsert);
+            closeQuietly(connection);
+        }
+
+        return new ImportReport(rowsRead, rowsRead - rowsSkipped, rowsSkipped, System.nanoTime() - start);
+    }
+
+    /**
+     * Recounts the experience totals of the history from the earliest placeholder on. The totals
+     * being recounted are first negated, so that every new total is unique while the rest are
+     * rewritten, and the history is then read a page at a time in the order it was logged
+     * @param connection the connection of the import, in the middle of its transaction
+     * @param earliest the time the earliest placeholder was logged at
+     * @param gains the experience gained by each placeholder, in the order they were given out
+     * @param numPlaceholders the number of placeholders given out
+     * @return the total experience after the last row of the history
+     * @throws SQLException if the totals could not be recounted
+     */
+    private int recountTotals(Connection connection, Timestamp earliest, int[] gains, int numPlaceholders)
+            throws SQLException {
+        PreparedStatement page = null, update = null;
+        ResultSet resultSet;
+        Timestamp lastLogged = new Timestamp(0);
+        int total = 0, previousXP = 0, currentXP, pageRows;
+
+        try {
+            page = connection.prepareStatement(
+                    "/* ImportDataAccess.recountTotals */ SELECT TOP 1   LoggedDate, CurrentXP " +
+                    "FROM           ProgressHistory " +
+                    "WHERE          LoggedDate < ? " +
+                    "ORDER BY       LoggedDate DESC");
+            page.setTimestamp(1, earliest);
+            resultSet = page.executeQuery();
+            if (resultSet.next()) {
+                lastLogged = resultSet.getTimestamp("LoggedDate");
+                total = previousXP = resultSet.getInt("CurrentXP");
+            }
+            resultSet.close();
+            page.close();
+
+            update = connection.prepareStatement(
+                    "/* ImportDataAccess.recountTotals */ " +
+                    "UPDATE ProgressHistory SET CurrentXP = -CurrentXP WHERE LoggedDate >= ? AND CurrentXP > 0");
+            update.setTimestamp(1, earliest);
+            update.executeUpdate();
+            update.close();
+
+            page = connection.prepareStatement("/* ImportDataAccess.recountTotals */ " + PROGRESS_PAGE_QUERY,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            page.setFetchSize(PAGE_SIZE);
+            update = connection.prepareStatement("/* ImportDataAccess.recountTotals */ " +
+                    "UPDATE ProgressHistory SET CurrentXP = ? WHERE ID = ?");
+            do {
+                pageRows = 0;
+                page.setTimestamp(1, lastLogged);
+                resultSet = page.executeQuery();
+                while (resultSet.next()) {
+                    pageRows++;
+                    lastLogged = resultSet.getTimestamp("LoggedDate");
+                    currentXP = resultSet.getInt("CurrentXP");
+                    if (currentXP < Integer.MIN_VALUE + numPlaceholders) {
+                        total += gains[currentXP - Integer.MIN_VALUE];
+                    }
+                    else {
+                        total += -currentXP - previousXP;
+                        previousXP = -currentXP;
+                    }
+                    update.setInt(1, total);
+                    update.setInt(2, resultSet.getInt("ID"));
+                    update.addBatch();
+                }
+                resultSet.close();
+                executeBatch(update, pageRows);
+            } while (pageRows == PAGE_SIZE);
+        }
+        finally {
+            closeQuietly(page);
+            closeQuietly(update);
+        }
+
+        return total;
+    }
+
+    /**
+     * Loads the dictionary of workouts to import into, with the ID of each workout and the ID and
+     * type of each exercise in it, by name
+     * @return a map from the name of each workout to its IDs
+     * @throws SQLException if the workouts could not be read
+     */
+    private Map<String, WorkoutEntry> loadWorkouts() throws SQLException {
+        Map<String, WorkoutEntry> workouts = new HashMap<>();
+        ResultSet resultSet;
+        WorkoutEntry workout;
+        String workoutName, exerciseName;
+
+        resultSet = statement.executeQuery(
+                "/* ImportDataAccess.loadWorkouts */ SELECT     W.ID AS WorkoutID, " +
+                "           W.Name AS WorkoutName, " +
+                "           WE.ID AS WorkoutExerciseID, " +
+                "           E.Name AS ExerciseName, " +
+                "           E.TypeID " +
+                "FROM       Workouts W " +
+                "LEFT JOIN  WorkoutContents WC " +
+                "           ON WC.WorkoutID = W.ID " +
+                "LEFT JOIN  WorkoutExercises WE " +
+                "           ON WC.ExerciseID = WE.ID " +
+                "LEFT JOIN  Exercises E " +
+                "           ON WE.ExerciseID = E.ID " +
+                "ORDER BY   W.ID, WC.ID");
+        while (resultSet.next()) {
+            workoutName = resultSet.getString("WorkoutName");
+            workout = workouts.get(workoutName);
+            if (workout == null) {
+                workout = new WorkoutEntry(resultSet.getInt("WorkoutID"));
+                workouts.put(workoutName, workout);
+            }
+
+            //an exercise listed twice in a workout is imported as the first one
+            exerciseName = resultSet.getString("ExerciseName");
+            if (exerciseName != null && !workout.exercises.containsKey(exerciseName))
+                workout.exercises.put(exerciseName, new int[]{resultSet.getInt("WorkoutExerciseID"),
+                        resultSet.getInt("TypeID")});
+        }
+        resultSet.close();
+
+        return workouts;
+    }
+
+    /**
+     * Loads the dates that have workout sessions, as a bit for each day
+     * @return the dates with sessions, indexed by dateIndex()
+     * @throws SQLException if the dates could not be read
+     */
+    private BitSet loadSessionDates() throws SQLException {
+        BitSet dates = new BitSet(dateIndex(new LocalDate(MAX_YEAR, 12, 31)) + 1);
+        ResultSet resultSet = statement.executeQuery("/* ImportDataAccess.loadSessionDates */ " +
+                "SELECT ScheduledDate FROM AllWorkoutSessions");
+
+        while (resultSet.next())
+            dates.set(dateIndex(new LocalDate(resultSet.getDate("ScheduledDate"))));
+        resultSet.close();
+
+        return dates;
+    }
+
+    /**
+     * Gets the next unused ID of one or more tables sharing their IDs
+     * @param tables the names of the tables
+     * @return one more than the largest ID in the tables, or 0 if they are empty
+     * @throws SQLException if the IDs could not be read
+     */
+    private int nextID(String... tables) throws SQLException {
+        ResultSet resultSet;
+        int next = 0;
+
+        for (String table : tables) {
+            resultSet = statement.executeQuery("/* ImportDataAccess.nextID */ " +
+                    "SELECT COALESCE(MAX(ID), -1) + 1 AS NextID FROM " + table);
+            resultSet.next();
+            next = Math.max(next, resultSet.getInt("NextID"));
+            resultSet.close();
+        }
+
+        return next;
+    }
+
+    /**
+     * Restarts the IDs generated for a table at the given value
+     * @param table the name of the table
+     * @param next the next ID to generate
+     * @throws SQLException if the IDs could not be restarted
+     */
+    private void restartID(String table, int next) throws SQLException {
+        statement.execute("/* ImportDataAccess.restartID */ " +
+                "ALTER TABLE " + table + " ALTER COLUMN ID RESTART WITH " + next);
+    }
+
+    /**
+     * Executes a batch of statements, if any have been added since it was last executed, since
+     * HSQLDB treats executing an empty batch as an error
+     * @param batch the batch to execute
+     * @param batchSize the number of statements added to the batch
+     * @return the update counts of the batch
+     * @throws SQLException if the batch could not be executed
+     */
+    private int[] executeBatch(PreparedStatement batch, int batchSize) throws SQLException {
+        return batchSize == 0 ? new int[0] : batch.executeBatch();
+    }
+
+    /**
+     * Counts the rows of a batch that were not inserted
+     * @param results the update counts of the batch
+     * @return the number of statements that inserted nothing
+     */
+    private int countSkipped(int[] results) {
+        int skipped = 0;
+
+        for (int result : results) {
+            if (result == 0)
+                skipped++;
+        }
+
+        return skipped;
+    }
+
+    /**
+     * Gives each date a bit, so the dates of a long history fit in a fixed amount of memory
+     * @param date the date
+     * @return the position of the date's bit
+     */
+    private static int dateIndex(LocalDate date) {
+        return (date.getYear() * 12 + date.getMonthOfYear() - 1) * 31 + date.getDayOfMonth() - 1;
+    }
+
+    /**
+     * Parses a date, such as 2017-07-30
+     * @param value the date as a String
+     * @return the date, or {@code null} if the value is missing, malformed or out of range
+     */
+    private static LocalDate parseDate(String value) {
+        LocalDate date = null;
+
+        try {
+            if (value != null)
+                date = LocalDate.parse(value);
+        }
+        catch (IllegalArgumentException e) {
+            date = null;
+        }
+
+        return date != null && date.getYear() >= 1 && date.getYear() <= MAX_YEAR ? date : null;
+    }
+
+    /**
+     * Parses a date and time, such as 2017-07-30T18:30:00.000
+     * @param value the date and time as a String
+     * @return the date and time, or {@code null} if the value is missing or malformed
+     */
+    private static LocalDateTime parseDateTime(String value) {
+        try {
+            return value == null ? null : LocalDateTime.parse(value);
+        }
+        catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a whole number
+     * @param value the number as a String
+     * @return the number, or 0 if the value is missing or malformed
+     */
+    private static int parseInt(String value) {
+        try {
+            return value == null ? 0 : Integer.parseInt(value);
+        }
+        catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Returns a copy of an array twice as long
+     * @param array the array to grow
+     * @return the longer array
+     */
+    private static int[] growArray(int[] array) {
+        int[] grown = new int[array.length * 2];
+
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    /**
+     * Rolls back the current transaction, if there is a connection, reporting rather than
+     * throwing any error
+     * @param connection the connection, or {@code null}
+     */
+    private void rollbackQuietly(Connection connection) {
+        try {
+            if (connection != null && !connection.getAutoCommit())
+                connection.rollback();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+    }
+
+    /**
+     * Closes a connection, if there is one, reporting rather than throwing any error
+     * @param connection the connection to close, or {@code null}
+     */
+    private void closeQuietly(Connection connection) {
+        try {
+            if (connection != null)
+                connection.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+    }
+
+    /**
+     * Closes a prepared statement, if there is one, reporting rather than throwing any error
+     * @param prepared the statement to close, or {@code null}
+     */
+    private void closeQuietly(PreparedStatement prepared) {
+        try {
+            if (prepared != null)
+                prepared.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+    }
+
+    /**
+     * The ID of a workout, and the workout exercise ID and type ID of each exercise it contains,
+     * by name
+     */
+    private static class WorkoutEntry {
+        private final int id;
+        private final Map<String, int[]> exercises = new HashMap<>();
+
+        private WorkoutEntry(int id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Reads rows from a file on its own thread, handing them to the importing thread in blocks
+     * through a bounded queue. The parser waits while the queue is full, so no more than a few
+     * blocks of rows are ever held in memory
+     */
+    private static class ParserThread extends Thread {
+        private static final String[][] END_OF_ROWS = new String[0][];
+
+        private final BlockingQueue<String[][]> queue = new ArrayBlockingQueue<>(QUEUE_BLOCKS);
+        private final Reader reader;
+        private final ExportFormat format;
+        private final String[] columns;
+        private volatile IOException error;
+        private String[][] block;
+        private int blockPosition;
+
+        private ParserThread(Reader reader, ExportFormat format, String[] columns) {
+            super("ImportParser");
+            setDaemon(true);
+            this.reader = reader;
+            this.format = format;
+            this.columns = columns;
+        }
+
+        /**
+         * Parses the file into blocks of rows, ending with an empty block
+         */
+        @Override
+        public void run() {
+            RowReader rowReader;
+            String[][] rows = new String[BLOCK_ROWS][];
+            String[] row;
+            int numRows = 0;
+
+            try {
+                rowReader = new RowReader(new BufferedReader(reader, BUFFER_SIZE), format, columns);
+                while ((row = rowReader.readRow()) != null) {
+                    rows[numRows++] = row;
+                    if (numRows == BLOCK_ROWS) {
+                        queue.put(rows);
+                        rows = new String[BLOCK_ROWS][];
+                        numRows = 0;
+                    }
+                }
+                if (numRows > 0) {
+                    String[][] lastRows = new String[numRows][];
+                    System.arraycopy(rows, 0, lastRows, 0, numRows);
+                    queue.put(lastRows);
+                }
+            }
+            catch (IOException e) {
+                error = e;
+            }
+            catch (RuntimeException e) {
+                error = new IOException("Could not read the file to import", e);
+            }
+            catch (InterruptedException e) {
+                return; //the import has stopped, so nothing is waiting for the rows
+            }
+
+            try {
+                queue.put(END_OF_ROWS);
+            }
+            catch (InterruptedException e) {
+                //the import has stopped
+            }
+        }
+
+        /**
+         * Takes the next row, waiting for the parser if it is behind
+         * @return the next row, or {@code null} once every row has been read
+         * @throws IOException if the file could not be read or is malformed
+         */
+        private String[] take() throws IOException {
+            try {
+                while (block == null || blockPosition == block.length) {
+                    if (block == END_OF_ROWS)
+                        break;
+                    block = queue.take();
+                    blockPosition = 0;
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while importing", e);
+            }
+
+            if (block == END_OF_ROWS) {
+                if (error != null)
+                    throw error;
+                return null;
+            }
+            return block[blockPosition++];
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package ledge.muscleup.persistence;
+
+/**
+ * The outcome of importing a file of workout history: how many rows were read, how many were
+ * imported and skipped, and how long it took
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-30
+ */
+public class ImportReport {
+    private int rowsRead;
+    private int rowsImported;
+    private int rowsSkipped;
+    private long elapsedNanos;
+
+    /**
+     * The constructor for the ImportReport class
+     * @param rowsRead the number of rows read from the file
+     * @param rowsImported the number of rows written to the database
+     * @param rowsSkipped the number of rows that could not be imported, such as rows naming an
+     *                    unknown workout or a date that already has a session
+     * @param elapsedNanos how long the import took, in nanoseconds
+     * @throws IllegalArgumentException if passed a negative value
+     */
+    public ImportReport(int rowsRead, int rowsImported, int rowsSkipped, long elapsedNanos) throws IllegalArgumentException {
+        if (rowsRead < 0 || rowsImported < 0 || rowsSkipped < 0 || elapsedNanos < 0) {
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        }
+        else {
+            this.rowsRead = rowsRead;
+            this.rowsImported = rowsImported;
+            this.rowsSkipped = rowsSkipped;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    /**
+     * Returns the number of rows read from the file
+     * @return the number of rows read
+     */
+    public int getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Returns the number of rows written to the database
+     * @return the number of rows imported
+     */
+    public int getRowsImported() {
+        return rowsImported;
+    }
+
+    /**
+     * Returns the number of rows that could not be imported
+     * @return the number of rows skipped
+     */
+    public int getRowsSkipped() {
+        return rowsSkipped;
+    }
+
+    /**
+     * Returns how long the import took
+     * @return the time taken, in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns how many rows were read per second
+     * @return the throughput of the import, in rows per second
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowsRead * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns the ImportReport as a String
+     * @return the ImportReport as a String
+     */
+    @Override
+    public String toString() {
+        return String.format("Imported %d of %d rows (%d skipped) in %.1f ms, %.0f rows/s", rowsImported,
+                rowsRead, rowsSkipped, elapsedNanos / 1e6, getRowsPerSecond());
+    }
+}
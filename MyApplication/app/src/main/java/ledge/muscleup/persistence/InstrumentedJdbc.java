@@ -0,0 +1,345 @@
+package ledge.muscleup.persistence;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps JDBC objects so that every query run through them is recorded in QueryStatistics. The
+ * wrappers are dynamic proxies, so only the calls that run or read a query are intercepted and
+ * everything else is passed straight through to the real object
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-22
+ */
+class InstrumentedJdbc {
+    private static final String PACKAGE_PREFIX = "ledge.muscleup.";
+    private static final int MAX_CACHED_NAMES = 512;
+    private static final String UNTAGGED_NAME = "untagged";
+    private static final String TAG_START = "/*";
+    private static final String TAG_END = "*/";
+
+    private static final ConcurrentMap<String, String> namesByTemplate = new ConcurrentHashMap<>();
+
+    /**
+     * Wraps a connection so that the statements it creates are instrumented
+     * @param connection the connection to wrap
+     * @return the instrumented connection
+     */
+    static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    /**
+     * Wraps a statement so that the queries it runs are recorded
+     * @param statement the statement to wrap
+     * @param preparedSql the SQL the statement was prepared with, or {@code null} if it is a
+     *                    plain statement
+     * @return the instrumented statement
+     */
+    static Statement wrapStatement(Statement statement, String preparedSql) {
+        Class<?> type = statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                new Class<?>[]{type}, new StatementHandler(statement, preparedSql));
+    }
+
+    /**
+     * Wraps a result set so that the rows read from it are counted against a query
+     * @param resultSet the result set to wrap
+     * @param stats the statistics of the query that produced the result set
+     * @return the instrumented result set
+     */
+    static ResultSet wrapResultSet(ResultSet resultSet, QueryStats stats) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, new ResultSetHandler(resultSet, stats));
+    }
+
+    /**
+     * Names a query after the application method that ran it and the kind of statement it is,
+     * such as {@code WorkoutSessionDataAccess.getWorkoutSession:SELECT}. The data access classes
+     * tag each query with the method running it in a comment at the start of its SQL, since the
+     * same SQL can be run from more than one method. A query without a tag is named by walking the stack
+     * the first time it is seen, and the name is cached against its SQL with the literals taken
+     * out. Once the cache is full, untagged queries share a fixed name rather than walking the
+     * stack on every call
+     * @param sql the SQL being run, or {@code null} if it isn't known
+     * @return the logical name of the query
+     */
+    static String nameQuery(String sql) {
+        String name = sql == null ? null : nameFromTag(sql);
+        String template;
+
+        if (name == null) {
+            template = sql == null ? null : toTemplate(sql);
+            name = template == null ? null : namesByTemplate.get(template);
+            if (name == null) {
+                if (namesByTemplate.size() < MAX_CACHED_NAMES) {
+                    name = nameFromStack(sql);
+                    if (template != null)
+                        namesByTemplate.putIfAbsent(template, name);
+                }
+                else
+                    name = UNTAGGED_NAME + ":" + getVerb(sql);
+            }
+        }
+
+        return name;
+    }
+
+    /**
+     * Names a query after the tag in its leading comment
+     * @param sql the SQL being run
+     * @return the logical name of the query, or {@code null} if it isn't tagged
+     */
+    private static String nameFromTag(String sql) {
+        String name = null;
+        String trimmed = sql.trim();
+        int end;
+
+        if (trimmed.startsWith(TAG_START)) {
+            end = trimmed.indexOf(TAG_END);
+            if (end > 0)
+                name = trimmed.substring(TAG_START.length(), end).trim() + ":" +
+                        getVerb(trimmed.substring(end + TAG_END.length()));
+        }
+
+        return name;
+    }
+
+    /**
+     * Names a query after the first application method on the stack that isn't part of the
+     * instrumentation
+     * @param sql the SQL being run, or {@code null} if it isn't known
+     * @return the logical name of the query
+     */
+    private static String nameFromStack(String sql) {
+        StackTraceElement[] stackTrace = new Throwable().getStackTrace();
+        String caller = "unknown", className;
+
+        for (int i = 0; i < stackTrace.length && caller.equals("unknown"); i++) {
+            className = stackTrace[i].getClassName();
+            if (className.startsWith(PACKAGE_PREFIX) && !className.startsWith(InstrumentedJdbc.class.getName()))
+                caller = className.substring(className.lastIndexOf('.') + 1) + "." + stackTrace[i].getMethodName();
+        }
+
+        return caller + ":" + getVerb(sql);
+    }
+
+    /**
+     * Replaces the string and number literals in a SQL statement with question marks, so that a
+     * query built with different values each time it is run is recognised as the same query
+     * @param sql the SQL statement
+     * @return the SQL statement without its literals
+     */
+    private static String toTemplate(String sql) {
+        StringBuilder template = new StringBuilder(sql.length());
+        char current;
+        int i = 0;
+
+        while (i < sql.length()) {
+            current = sql.charAt(i);
+            if (current == '\'') {
+                //a quote inside a string literal is written as two quotes
+                i++;
+                while (i < sql.length() && (sql.charAt(i) != '\'' ||
+                        (i + 1 < sql.length() && sql.charAt(i + 1) == '\'')))
+                    i += sql.charAt(i) == '\'' ? 2 : 1;
+                template.append('?');
+                i++;
+            }
+            else if (Character.isDigit(current) && (i == 0 || !isIdentifierPart(sql.charAt(i - 1)))) {
+                while (i < sql.length() && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.'))
+                    i++;
+                template.append('?');
+            }
+            else {
+                template.append(current);
+                i++;
+            }
+        }
+
+        return template.toString();
+    }
+
+    /**
+     * Returns {@code true} if a character can be part of a SQL identifier, or {@code false}
+     * otherwise
+     * @param character the character to check
+     * @return a boolean representing whether the character can be part of an identifier
+     */
+    private static boolean isIdentifierPart(char character) {
+        return Character.isLetterOrDigit(character) || character == '_';
+    }
+
+    /**
+     * Returns the first keyword of a SQL statement, such as SELECT or UPDATE
+     * @param sql the SQL statement
+     * @return the first keyword of the statement in upper case
+     */
+    private static String getVerb(String sql) {
+        String verb = "SQL";
+        String trimmed;
+        int end;
+
+        if (sql != null) {
+            trimmed = sql.trim();
+            end = 0;
+            while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end)))
+                end++;
+            if (end > 0)
+                verb = trimmed.substring(0, end).toUpperCase();
+        }
+
+        return verb;
+    }
+
+    /**
+     * Calls a method on the real object, unwrapping the exception thrown through reflection
+     * @param target the real object
+     * @param method the method to call
+     * @param args the arguments of the call
+     * @return the result of the call
+     * @throws Throwable the exception thrown by the real method
+     */
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        }
+        catch (InvocationTargetException ite) {
+            throw ite.getCause();
+        }
+    }
+
+    /**
+     * Instruments the statements created by a connection
+     */
+    private static class ConnectionHandler implements InvocationHandler {
+        private Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedJdbc.invoke(connection, method, args);
+
+            if (method.getName().equals("createStatement"))
+                result = wrapStatement((Statement) result, null);
+            else if (method.getName().equals("prepareStatement"))
+                result = wrapStatement((Statement) result, (String) args[0]);
+
+            return result;
+        }
+    }
+
+    /**
+     * Times and counts the queries run by a statement
+     */
+    private static class StatementHandler implements InvocationHandler {
+        private Statement statement;
+        private String preparedSql;
+        private String preparedName;
+        private QueryStats lastStats;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            String sql;
+            long start;
+            boolean failed = true;
+
+            if (method.getName().startsWith("execute")) {
+                sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+                if (sql != preparedSql)
+                    lastStats = QueryStatistics.getOrCreate(nameQuery(sql));
+                else {
+                    //a prepared statement runs the same query every time, so it is only named once
+                    if (preparedName == null)
+                        preparedName = nameQuery(sql);
+                    lastStats = QueryStatistics.getOrCreate(preparedName);
+                }
+
+                start = System.nanoTime();
+                try {
+                    result = InstrumentedJdbc.invoke(statement, method, args);
+                    failed = false;
+                }
+                finally {
+                    lastStats.recordCall(System.nanoTime() - start, failed);
+                }
+
+                result = countResult(result);
+            }
+            else {
+                result = InstrumentedJdbc.invoke(statement, method, args);
+                if (result instanceof ResultSet && lastStats != null)
+                    result = wrapResultSet((ResultSet) result, lastStats);
+                else if (method.getName().equals("getConnection"))
+                    result = QueryStatistics.instrument((Connection) result);
+            }
+
+            return result;
+        }
+
+        /**
+         * Counts the rows changed by an update, or wraps a result set so its rows are counted
+         * as they are read
+         * @param result the result of an execute call
+         * @return the result to hand back to the caller
+         */
+        private Object countResult(Object result) {
+            if (result instanceof ResultSet)
+                result = wrapResultSet((ResultSet) result, lastStats);
+            else if (result instanceof Integer)
+                lastStats.recordRows((Integer) result);
+            else if (result instanceof Long)
+                lastStats.recordRows((Long) result);
+            else if (result instanceof int[]) {
+                for (int count : (int[]) result)
+                    if (count > 0)
+                        lastStats.recordRows(count);
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Counts the rows read from a result set
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+        private ResultSet resultSet;
+        private QueryStats stats;
+
+        ResultSetHandler(ResultSet resultSet, QueryStats stats) {
+            this.resultSet = resultSet;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedJdbc.invoke(resultSet, method, args);
+
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result))
+                stats.recordRows(1);
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ledge.muscleup.persistence;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * An interface for backing up the database while it is in use, and for restoring it to an
+ * earlier backup. Restores are applied the next time the database is opened
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-31
+ */
+public interface InterfaceBackupDataAccess extends InterfaceDataAccessComponent {
+
+    /**
+     * Backs up the database without blocking other users of it. Only the changes since the last
+     * backup are copied, unless the database has been checkpointed since, in which case a full
+     * backup is taken
+     * @return the point the backup can be restored to, or the last point if nothing has changed
+     * since it was taken
+     * @throws IOException if the backup could not be taken
+     */
+    BackupPoint backup() throws IOException;
+
+    /**
+     * Gets every point the database can be restored to
+     * @return a list of the backup points, oldest first
+     */
+    List<BackupPoint> getBackupPoints();
+
+    /**
+     * Requests that the database be restored to a backup point when it is next opened
+     * @param point the point to restore to
+     * @throws IOException if the point does not exist or the request could not be saved
+     */
+    void requestRestore(BackupPoint point) throws IOException;
+}
@@ -0,0 +1,35 @@
+package ledge.muscleup.persistence;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * An interface for exporting the workout history from the database. Rows are written as they are
+ * read, so exporting takes the same amount of memory however long the history is
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-29
+ */
+public interface InterfaceExportDataAccess extends InterfaceDataAccessComponent {
+
+    /**
+     * Exports every scheduled workout session, with a row for each exercise in the session
+     * holding whether the session and the exercise have been completed, ordered by date
+     * @param writer the stream to write the export to, which is flushed but not closed
+     * @param format the format to write the export in
+     * @return the number of rows exported
+     * @throws IOException if the sessions could not be read or written
+     */
+    int exportSessions(Writer writer, ExportFormat format) throws IOException;
+
+    /**
+     * Exports the experience ledger, with a row for each completed workout session holding the
+     * experience gained and the total experience afterwards, in the order they were completed
+     * @param writer the stream to write the export to, which is flushed but not closed
+     * @param format the format to write the export in
+     * @return the number of rows exported
+     * @throws IOException if the ledger could not be read or written
+     */
+    int exportProgress(Writer writer, ExportFormat format) throws IOException;
+}
@@ -0,0 +1,38 @@
+package ledge.muscleup.persistence;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * An interface for importing workout history into the database, such as history brought from
+ * another tracker. Files are read in the formats the history is exported in, and are read as they
+ * are imported, so importing takes the same amount of memory however long the file is
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-30
+ */
+public interface InterfaceImportDataAccess extends InterfaceDataAccessComponent {
+
+    /**
+     * Imports workout sessions, with a row for each exercise in a session and the rows of a
+     * session next to each other. Rows naming an unknown workout or exercise, or a date that
+     * already has a session, are skipped
+     * @param reader the stream to read the sessions from, which is not closed
+     * @param format the format the sessions are in
+     * @return a report of the rows imported and skipped
+     * @throws IOException if the sessions could not be read or written
+     */
+    ImportReport importSessions(Reader reader, ExportFormat format) throws IOException;
+
+    /**
+     * Imports experience history, with a row for each completed workout session holding the
+     * experience gained. The experience is added on top of the experience already earned, and
+     * rows for sessions that don't exist are skipped
+     * @param reader the stream to read the history from, which is not closed
+     * @param format the format the history is in
+     * @return a report of the rows imported and skipped
+     * @throws IOException if the history could not be read or written
+     */
+    ImportReport importProgress(Reader reader, ExportFormat format) throws IOException;
+}
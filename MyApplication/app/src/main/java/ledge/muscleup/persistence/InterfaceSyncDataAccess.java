@@ -0,0 +1,36 @@
+package ledge.muscleup.persistence;
+
+/**
+ * An interface for syncing the workout sessions of the database with other devices. Every change
+ * to a session or to the experience logged for it is recorded in a change log, and the sequence
+ * numbers each peer has seen are kept, so syncing only exchanges what changed since the last sync
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-06
+ */
+public interface InterfaceSyncDataAccess extends InterfaceDataAccessComponent, InterfaceSyncPeer {
+
+    /**
+     * Gets the sequence number of the last change of this device that a peer has been sent
+     * @param peerID the ID of the peer
+     * @return the last sequence number sent, or 0 if the peer has never synced
+     */
+    long getLastSentSequence(String peerID);
+
+    /**
+     * Gets the sequence number of the last change of a peer that this device has received
+     * @param peerID the ID of the peer
+     * @return the last sequence number received, or 0 if the peer has never synced
+     */
+    long getLastReceivedSequence(String peerID);
+
+    /**
+     * Records how far syncing with a peer has got, so the next sync carries on from there. The
+     * changes the peer has now been sent that were since superseded are dropped from the log
+     * @param peerID the ID of the peer
+     * @param sentSequence the sequence number of the last change sent to the peer
+     * @param receivedSequence the sequence number of the last change received from the peer
+     */
+    void acknowledge(String peerID, long sentSequence, long receivedSequence);
+}
@@ -0,0 +1,41 @@
+package ledge.muscleup.persistence;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * An interface for a device whose workout sessions can be synced with, such as the kiosk
+ * backend. Every change the device makes is given a sequence number, so another device only
+ * needs to ask for the changes after the last one it has seen
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-06
+ */
+public interface InterfaceSyncPeer {
+
+    /**
+     * Gets the ID of the device, which never changes
+     * @return the ID of the device
+     */
+    String getDeviceID();
+
+    /**
+     * Gets a batch of the latest change to each date since a sequence number, leaving out the
+     * changes the requesting device made or already sent
+     * @param sequence the sequence number of the last change already seen, or 0 for every change
+     * @param requesterID the ID of the device asking for the changes
+     * @return the next batch of changes
+     * @throws IOException if the changes could not be read
+     */
+    ChangeBatch getChangesSince(long sequence, String requesterID) throws IOException;
+
+    /**
+     * Applies changes made on another device. A change is only applied if it supersedes the last
+     * change to its date on this device, and leaves the date in a different state
+     * @param changes the changes to apply
+     * @return the number of changes applied
+     * @throws IOException if the changes could not be applied
+     */
+    int applyChanges(List<SessionChange> changes) throws IOException;
+}
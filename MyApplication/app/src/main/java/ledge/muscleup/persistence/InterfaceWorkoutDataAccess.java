@@ -1,8 +1,12 @@
 package ledge.muscleup.persistence;
 
 import java.util.List;
+import java.util.Map;
 
+import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.ExerciseTypeRecovery;
 import ledge.muscleup.model.workout.Workout;
+import ledge.muscleup.model.workout.WorkoutSummary;
 
 /**
  * An interface for workout database access, including methods for retrieving, inserting, and
@@ -33,6 +37,41 @@ public interface InterfaceWorkoutDataAccess extends InterfaceDataAccessComponent
      */
     Workout getWorkout(String workoutName);
 
+    /**
+     * Gets the summaries of all workouts in the database, without loading their exercises
+     * @return a list of the summaries of all workouts in the database
+     */
+    List<WorkoutSummary> getWorkoutSummaries();
+
+    /**
+     * Retrieves the summary of the workout with the name given as parameter, without loading its
+     * exercises
+     * @param workoutName the name of the workout to summarize
+     * @return the summary of the workout, or null if no workout exists with that name
+     */
+    WorkoutSummary getWorkoutSummary(String workoutName);
+
+    /**
+     * Gets the exercises each workout in the database contains, without their quantities
+     * @return a map from the name of each workout to the exercises it contains, in workout order
+     */
+    Map<String, List<Exercise>> getWorkoutContents();
+
+    /**
+     * Gets a number that changes whenever what the workouts contain changes, so that anything
+     * built from getWorkoutContents() can tell when it is out of date
+     * @return the current version of the workout contents
+     */
+    int getWorkoutContentsVersion();
+
+    /**
+     * Gets how rested each exercise type is, from when it was last trained in a completed
+     * workout session and how hard. This is kept up to date as sessions are completed, so it
+     * doesn't read the workout history
+     * @return the recovery of each exercise type
+     */
+    List<ExerciseTypeRecovery> getTypeRecoveries();
+
     /**
      * Retrieves the name of a the workout that has been completed the least amount of times
      * @return the workout that has been completed the least amount of times
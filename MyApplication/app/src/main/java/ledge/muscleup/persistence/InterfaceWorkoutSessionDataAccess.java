@@ -5,6 +5,7 @@ import org.joda.time.LocalDate;
 import java.util.List;
 
 import ledge.muscleup.model.workout.WorkoutSession;
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
 
 /**
  * An interface for workout session database access, including methods for retrieving, inserting,
@@ -33,6 +34,25 @@ public interface InterfaceWorkoutSessionDataAccess extends InterfaceDataAccessCo
     List<WorkoutSession> getSessionsInDateRange(LocalDate startDate,
                                                                 LocalDate endDate);
 
+    /**
+     * Retrieves the summary of the workout session scheduled on the given date, without loading
+     * its exercises. If no workout session is found for that date, returns null.
+     * @param dateOfSession the date to get the workout session summary for
+     * @return the summary of the workout session scheduled on the given date
+     */
+    WorkoutSessionSummary getWorkoutSessionSummary(LocalDate dateOfSession);
+
+    /**
+     * A method that returns the summaries of the workout sessions scheduled in a date range,
+     * without loading their exercises
+     * @param startDate the first date of the date range
+     * @param endDate the last date of the date range
+     * @return a list of summaries of the workout sessions scheduled between startDate and
+     * endDate, inclusive, ordered by date
+     */
+    List<WorkoutSessionSummary> getSessionSummariesInDateRange(LocalDate startDate,
+                                                                LocalDate endDate);
+
     /**
      * Inserts a new workout session into the database
      * @param workoutSession the new workout session to insert into the database
@@ -45,10 +65,45 @@ public interface InterfaceWorkoutSessionDataAccess extends InterfaceDataAccessCo
      */
     void removeWorkoutSession(WorkoutSession workoutSession);
 
+    /**
+     * Moves a workout session to a new date in the database, keeping its exercises and completed
+     * state. Nothing is moved if there is no session on fromDate or toDate is already taken
+     * @param fromDate the date the workout session is currently scheduled on
+     * @param toDate the date to move the workout session to
+     * @return a boolean representing whether a workout session was moved
+     */
+    boolean moveWorkoutSession(LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Sets whether an exercise in a workout session is complete. Changes made close together may
+     * be written together, later, but are seen by every read of the workout session
+     * @param sessionDate the date of the workout session
+     * @param exerciseName the name of the exercise
+     * @param complete whether the exercise is complete
+     */
+    void setExerciseComplete(LocalDate sessionDate, String exerciseName, boolean complete);
+
     /**
      * Toggles the completed state of a workout in the database
      *
      * @param workoutSession the workout to change the state of
      */
     void toggleWorkoutComplete(WorkoutSession workoutSession);
+
+    /**
+     * Moves the completed workout sessions scheduled before a date out of the sessions read and
+     * changed day to day, into an archive. Archived sessions are still read and removed as before
+     * @param cutoffDate the date before which completed sessions are archived
+     * @return the number of workout sessions archived
+     */
+    int archiveSessions(LocalDate cutoffDate);
+
+    /**
+     * Archives the completed workout sessions scheduled before a date, and keeps only the summary
+     * and experience value of each, dropping their exercises. They are read as summarized sessions
+     * from then on
+     * @param cutoffDate the date before which completed sessions are rolled up
+     * @return the number of workout sessions rolled up
+     */
+    int rollUpSessions(LocalDate cutoffDate);
 }
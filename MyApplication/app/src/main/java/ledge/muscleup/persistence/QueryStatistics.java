@@ -0,0 +1,174 @@
+package ledge.muscleup.persistence;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collects statistics on every query run against the database, grouped by logical query name.
+ * A query is named after the data access method that ran it and the kind of statement it is, so
+ * the statistics for each screen's queries can be compared between builds.
+ *
+ * Collection is off by default, and must be enabled before the database is opened, since only
+ * connections opened while it is enabled are instrumented
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-22
+ */
+public class QueryStatistics {
+    /**
+     * The name of the file the statistics are dumped to on a device
+     */
+    public static final String DUMP_FILE_NAME = "query_stats.json";
+
+    private static final ConcurrentMap<String, QueryStats> statsByName = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = false;
+
+    /**
+     * Turns collection of query statistics on or off for connections opened from now on
+     * @param isEnabled whether query statistics should be collected
+     */
+    public static void setEnabled(boolean isEnabled) {
+        enabled = isEnabled;
+    }
+
+    /**
+     * Returns {@code true} if query statistics are being collected, or {@code false} otherwise
+     * @return a boolean representing whether query statistics are being collected
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Forgets all of the statistics collected so far
+     */
+    public static void reset() {
+        statsByName.clear();
+    }
+
+    /**
+     * Returns a copy of the statistics for every query that has been run, slowest in total first
+     * @return a list of the statistics for every query
+     */
+    public static List<QueryStats> getSnapshot() {
+        List<QueryStats> snapshot = new ArrayList<>();
+
+        for (QueryStats stats : statsByName.values())
+            snapshot.add(stats.copy());
+
+        Collections.sort(snapshot, new Comparator<QueryStats>() {
+            @Override
+            public int compare(QueryStats first, QueryStats second) {
+                int order = Long.compare(second.getTotalNanos(), first.getTotalNanos());
+                return order != 0 ? order : first.getName().compareTo(second.getName());
+            }
+        });
+
+        return snapshot;
+    }
+
+    /**
+     * Returns a copy of the statistics for one query
+     * @param name the logical name of the query
+     * @return the statistics for the query, or {@code null} if it hasn't been run
+     */
+    public static QueryStats getStats(String name) {
+        QueryStats stats = statsByName.get(name);
+
+        return stats == null ? null : stats.copy();
+    }
+
+    /**
+     * Returns the statistics for every query that has been run as a JSON document
+     * @return the query statistics as JSON
+     */
+    public static String toJson() {
+        StringBuilder json = new StringBuilder();
+        List<QueryStats> snapshot = getSnapshot();
+
+        json.append("{\"queries\":[");
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (i > 0)
+                json.append(",");
+            json.append("\n  ").append(snapshot.get(i).toJson());
+        }
+        json.append("\n]}\n");
+
+        return json.toString();
+    }
+
+    /**
+     * Writes the statistics for every query that has been run as a JSON document
+     * @param writer the writer to write the JSON to
+     * @throws IOException if the JSON could not be written
+     */
+    public static void writeJson(Writer writer) throws IOException {
+        writer.write(toJson());
+        writer.flush();
+    }
+
+    /**
+     * Writes the statistics for every query that has been run to a JSON file, replacing any
+     * earlier dump
+     * @param file the file to write the JSON to
+     * @return a boolean representing whether the file was written
+     */
+    public static boolean writeJson(File file) {
+        boolean written = false;
+        Writer writer;
+
+        try {
+            writer = new FileWriter(file);
+            try {
+                writeJson(writer);
+                written = true;
+            }
+            finally {
+                writer.close();
+            }
+        }
+        catch (IOException ioe) {
+            System.out.println("Unable to write query statistics: " + ioe.getMessage());
+        }
+
+        return written;
+    }
+
+    /**
+     * Instruments a connection if query statistics are being collected
+     * @param connection the connection to instrument
+     * @return the instrumented connection, or the same connection if collection is off
+     */
+    static Connection instrument(Connection connection) {
+        return enabled && connection != null ? InstrumentedJdbc.wrapConnection(connection) : connection;
+    }
+
+    /**
+     * Gets the live statistics for a query, creating them the first time the query is run
+     * @param name the logical name of the query
+     * @return the statistics for the query
+     */
+    static QueryStats getOrCreate(String name) {
+        QueryStats stats = statsByName.get(name);
+        QueryStats existing;
+
+        if (stats == null) {
+            stats = new QueryStats(name);
+            existing = statsByName.putIfAbsent(name, stats);
+            if (existing != null)
+                stats = existing;
+        }
+
+        return stats;
+    }
+}
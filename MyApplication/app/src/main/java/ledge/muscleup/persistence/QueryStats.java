@@ -0,0 +1,230 @@
+package ledge.muscleup.persistence;
+
+import ledge.muscleup.trace.Tracer;
+
+/**
+ * The statistics recorded for one logical query: how often it ran, how many rows it read or
+ * changed, how often it failed and how long it took. Latencies are kept in a histogram of
+ * power-of-two microsecond buckets, so recording a call is constant time and the memory used
+ * doesn't grow with the number of calls
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-22
+ */
+public class QueryStats {
+    /**
+     * The number of latency buckets. Bucket 0 holds calls under 2 microseconds, bucket i holds
+     * calls from 2^i up to 2^(i + 1) microseconds, and the last bucket holds everything slower
+     */
+    public static final int NUM_BUCKETS = 24;
+
+    private String name;
+    private long calls;
+    private long errors;
+    private long rows;
+    private long totalNanos;
+    private long maxNanos;
+    private long[] buckets;
+
+    /**
+     * Constructor for QueryStats, which starts with no calls recorded
+     * @param name the logical name of the query
+     * @throws IllegalArgumentException if passed a {@code null} parameter
+     */
+    public QueryStats(String name) throws IllegalArgumentException {
+        if (name == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        else {
+            this.name = name;
+            this.buckets = new long[NUM_BUCKETS];
+        }
+    }
+
+    /**
+     * Records a single call of the query
+     * @param elapsedNanos how long the call took, in nanoseconds
+     * @param failed whether the call threw an exception
+     */
+    public synchronized void recordCall(long elapsedNanos, boolean failed) {
+        calls++;
+        if (failed)
+            errors++;
+        totalNanos += elapsedNanos;
+        if (elapsedNanos > maxNanos)
+            maxNanos = elapsedNanos;
+        buckets[getBucket(elapsedNanos)]++;
+    }
+
+    /**
+     * Records rows read or changed by the query
+     * @param numRows the number of rows to add
+     */
+    public synchronized void recordRows(long numRows) {
+        rows += numRows;
+    }
+
+    /**
+     * Returns a copy of these statistics that won't change as more calls are recorded
+     * @return a copy of these statistics
+     */
+    public synchronized QueryStats copy() {
+        QueryStats copy = new QueryStats(name);
+
+        copy.calls = calls;
+        copy.errors = errors;
+        copy.rows = rows;
+        copy.totalNanos = totalNanos;
+        copy.maxNanos = maxNanos;
+        copy.buckets = buckets.clone();
+
+        return copy;
+    }
+
+    /**
+     * Returns the logical name of the query
+     * @return the logical name of the query
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of times the query was run
+     * @return the number of times the query was run
+     */
+    public synchronized long getCalls() {
+        return calls;
+    }
+
+    /**
+     * Returns the number of times the query threw an exception
+     * @return the number of times the query threw an exception
+     */
+    public synchronized long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Returns the number of rows read by or changed by the query over all of its calls
+     * @return the number of rows read or changed
+     */
+    public synchronized long getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the total time spent running the query, in nanoseconds
+     * @return the total time spent running the query
+     */
+    public synchronized long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns the time taken by the slowest call of the query, in nanoseconds
+     * @return the time taken by the slowest call
+     */
+    public synchronized long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Returns the number of calls that fell in a latency bucket
+     * @param bucket the index of the bucket
+     * @throws IllegalArgumentException if {@code bucket < 0 || bucket >= NUM_BUCKETS}
+     * @return the number of calls in the bucket
+     */
+    public synchronized long getBucketCount(int bucket) throws IllegalArgumentException {
+        if (bucket < 0 || bucket >= NUM_BUCKETS)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        return buckets[bucket];
+    }
+
+    /**
+     * Returns an upper bound on the given percentile of the query's latency, in microseconds,
+     * which is the upper edge of the bucket the percentile falls into
+     * @param percentile the percentile to get, from 0 to 100
+     * @throws IllegalArgumentException if {@code percentile < 0 || percentile > 100}
+     * @return the upper bound of the percentile in microseconds, or 0 if the query never ran
+     */
+    public synchronized long getPercentileMicros(double percentile) throws IllegalArgumentException {
+        long rank, seen = 0, bound = 0;
+
+        if (percentile < 0 || percentile > 100)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        else if (calls > 0) {
+            rank = Math.max(1, (long) Math.ceil(calls * percentile / 100));
+            for (int i = 0; i < NUM_BUCKETS && bound == 0; i++) {
+                seen += buckets[i];
+                if (seen >= rank)
+                    bound = getBucketUpperMicros(i);
+            }
+        }
+
+        return bound;
+    }
+
+    /**
+     * Returns the exclusive upper edge of a latency bucket in microseconds. The last bucket has
+     * no upper edge, so the slowest recorded call is used instead
+     * @param bucket the index of the bucket
+     * @return the upper edge of the bucket in microseconds
+     */
+    private long getBucketUpperMicros(int bucket) {
+        return bucket == NUM_BUCKETS - 1 ? maxNanos / 1000 : 2L << bucket;
+    }
+
+    /**
+     * Returns the bucket that a call of the given length belongs in
+     * @param elapsedNanos how long the call took, in nanoseconds
+     * @return the index of the bucket
+     */
+    static int getBucket(long elapsedNanos) {
+        long micros = elapsedNanos / 1000;
+        int bucket = 0;
+
+        if (micros > 1)
+            bucket = 63 - Long.numberOfLeadingZeros(micros);
+
+        return Math.min(bucket, NUM_BUCKETS - 1);
+    }
+
+    /**
+     * Returns the statistics as a JSON object
+     * @return the statistics as a JSON object
+     */
+    public synchronized String toJson() {
+        StringBuilder json = new StringBuilder();
+
+        json.append("{\"name\":\"").append(Tracer.escapeJson(name)).append("\"")
+                .append(",\"calls\":").append(calls)
+                .append(",\"errors\":").append(errors)
+                .append(",\"rows\":").append(rows)
+                .append(",\"totalMicros\":").append(totalNanos / 1000)
+                .append(",\"maxMicros\":").append(maxNanos / 1000)
+                .append(",\"p50Micros\":").append(getPercentileMicros(50))
+                .append(",\"p95Micros\":").append(getPercentileMicros(95))
+                .append(",\"p99Micros\":").append(getPercentileMicros(99))
+                .append(",\"histogram\":[");
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            if (i > 0)
+                json.append(",");
+            json.append(buckets[i]);
+        }
+        json.append("]}");
+
+        return json.toString();
+    }
+
+    /**
+     * Returns the statistics as a String
+     * @return the statistics as a String
+     */
+    @Override
+    public synchronized String toString() {
+        return name + ": " + calls + " calls, " + errors + " errors, " + rows + " rows, " +
+                (totalNanos / 1000) + " us total, p95 " + getPercentileMicros(95) + " us";
+    }
+}
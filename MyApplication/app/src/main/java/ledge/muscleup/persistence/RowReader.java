@@ -0,0 +1,284 @@
+package ledge.muscleup.persistence;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads rows of values from a character stream in an export format, one row at a time, so that
+ * nothing but the current row is held in memory. CSV input must start with a header row naming
+ * its columns, and JSON Lines input must hold one flat object per line. Columns may come in any
+ * order and unknown columns are ignored, so files written by RowWriter can be read back
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-30
+ */
+class RowReader {
+    private static final int END = -1;
+
+    private final Reader reader;
+    private final ExportFormat format;
+    private final Map<String, Integer> columnIndexes;
+    private final int numColumns;
+    private int[] csvPositions;
+    private int next;
+    private int lineNumber = 0;
+    private final StringBuilder builder = new StringBuilder();
+
+    /**
+     * Constructor for a RowReader, which reads the CSV header row straight away
+     * @param reader the stream to read the rows from, which should be buffered
+     * @param format the format the rows are in
+     * @param columns the names of the columns to read, in the order they are returned
+     * @throws IOException if the header row could not be read
+     */
+    RowReader(Reader reader, ExportFormat format, String[] columns) throws IOException {
+        String[] header;
+        Integer index;
+
+        this.reader = reader;
+        this.format = format;
+        numColumns = columns.length;
+        columnIndexes = new HashMap<>();
+        for (int i = 0; i < columns.length; i++)
+            columnIndexes.put(columns[i], i);
+
+        next = reader.read();
+        if (format == ExportFormat.CSV && next != END) {
+            header = readCsvFields();
+            csvPositions = new int[header.length];
+            for (int i = 0; i < header.length; i++) {
+                index = columnIndexes.get(header[i]);
+                csvPositions[i] = index == null ? -1 : index;
+            }
+        }
+    }
+
+    /**
+     * Reads the next row, skipping blank lines
+     * @return the values of the row in column order, with {@code null} for a missing or empty
+     * value, or {@code null} once there are no more rows
+     * @throws IOException if the row could not be read or is malformed
+     */
+    String[] readRow() throws IOException {
+        String[] row = null;
+        String[] fields;
+
+        while (row == null && next != END) {
+            if (next == '\n' || next == '\r')
+                skipLineBreak();
+            else if (format == ExportFormat.CSV) {
+                if (csvPositions == null)
+                    throw malformed("a header row");
+                fields = readCsvFields();
+                row = new String[numColumns];
+                for (int i = 0; i < fields.length && i < csvPositions.length; i++) {
+                    if (csvPositions[i] >= 0 && fields[i].length() > 0)
+                        row[csvPositions[i]] = fields[i];
+                }
+            }
+            else
+                row = readJsonObject();
+        }
+
+        return row;
+    }
+
+    /**
+     * Returns the number of the line last read, starting from 1
+     * @return the number of the line last read
+     */
+    int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Reads the fields of one CSV record, which may span lines inside quotes
+     * @return the fields of the record
+     * @throws IOException if the record could not be read
+     */
+    private String[] readCsvFields() throws IOException {
+        List<String> fields = new ArrayList<>();
+        boolean endOfRecord = false;
+
+        lineNumber++;
+        while (!endOfRecord) {
+            builder.setLength(0);
+            if (next == '"') {
+                next = reader.read();
+                while (next != '"' || (next = reader.read()) == '"') {
+                    if (next == END)
+                        throw malformed("'\"'");
+                    builder.append((char) next);
+                    next = reader.read();
+                }
+            }
+            while (next != END && next != ',' && next != '\n' && next != '\r') {
+                builder.append((char) next);
+                next = reader.read();
+            }
+            fields.add(builder.toString());
+
+            if (next == ',')
+                next = reader.read();
+            else
+                endOfRecord = true;
+        }
+
+        skipLineBreak();
+        return fields.toArray(new String[fields.size()]);
+    }
+
+    /**
+     * Reads one flat JSON object on a line of its own
+     * @return the values of the object in column order
+     * @throws IOException if the object could not be read or is malformed
+     */
+    private String[] readJsonObject() throws IOException {
+        String[] row = new String[numColumns];
+        String key, value;
+        Integer index;
+
+        lineNumber++;
+        skipSpaces();
+        expect('{');
+        skipSpaces();
+        while (next != '}') {
+            key = readJsonString();
+            skipSpaces();
+            expect(':');
+            skipSpaces();
+            value = next == '"' ? readJsonString() : readJsonLiteral();
+
+            index = columnIndexes.get(key);
+            if (index != null)
+                row[index] = value;
+
+            skipSpaces();
+            if (next == ',') {
+                next = reader.read();
+                skipSpaces();
+            }
+            else if (next != '}')
+                throw malformed("',' or '}'");
+        }
+        next = reader.read();
+        skipSpaces();
+        if (next != END && next != '\n' && next != '\r')
+            throw malformed("the end of the line");
+        skipLineBreak();
+
+        return row;
+    }
+
+    /**
+     * Reads a JSON string, unescaping it
+     * @return the string
+     * @throws IOException if the string could not be read or is malformed
+     */
+    private String readJsonString() throws IOException {
+        expect('"');
+        builder.setLength(0);
+        while (next != '"') {
+            if (next == END || next == '\n')
+                throw malformed("'\"'");
+            if (next == '\\') {
+                next = reader.read();
+                switch (next) {
+                    case 'n': builder.append('\n'); break;
+                    case 'r': builder.append('\r'); break;
+                    case 't': builder.append('\t'); break;
+                    case 'b': builder.append('\b'); break;
+                    case 'f': builder.append('\f'); break;
+                    case 'u': builder.append(readUnicodeEscape()); break;
+                    default: builder.append((char) next);
+                }
+            }
+            else
+                builder.append((char) next);
+            next = reader.read();
+        }
+        next = reader.read();
+        return builder.toString();
+    }
+
+    /**
+     * Reads the four hex digits of a JSON unicode escape
+     * @return the escaped character
+     * @throws IOException if the digits could not be read or are not hex
+     */
+    private char readUnicodeEscape() throws IOException {
+        char[] hex = new char[4];
+
+        for (int i = 0; i < hex.length; i++)
+            hex[i] = (char) reader.read();
+
+        try {
+            return (char) Integer.parseInt(new String(hex), 16);
+        }
+        catch (NumberFormatException nfe) {
+            throw malformed("a unicode escape");
+        }
+    }
+
+    /**
+     * Reads a JSON number, boolean or null
+     * @return the literal as it was written, or {@code null} for a JSON null
+     * @throws IOException if the literal could not be read
+     */
+    private String readJsonLiteral() throws IOException {
+        builder.setLength(0);
+        while (next != END && next != ',' && next != '}' && !Character.isWhitespace(next)) {
+            builder.append((char) next);
+            next = reader.read();
+        }
+        if (builder.length() == 0)
+            throw malformed("a value");
+
+        return builder.toString().equals("null") ? null : builder.toString();
+    }
+
+    /**
+     * Reads past the given character
+     * @param c the character that must come next
+     * @throws IOException if the next character is a different one
+     */
+    private void expect(char c) throws IOException {
+        if (next != c)
+            throw malformed("'" + c + "'");
+        next = reader.read();
+    }
+
+    /**
+     * Reads past spaces and tabs, but not line breaks
+     * @throws IOException if the stream could not be read
+     */
+    private void skipSpaces() throws IOException {
+        while (next == ' ' || next == '\t')
+            next = reader.read();
+    }
+
+    /**
+     * Reads past a single line break, if there is one
+     * @throws IOException if the stream could not be read
+     */
+    private void skipLineBreak() throws IOException {
+        if (next == '\r')
+            next = reader.read();
+        if (next == '\n')
+            next = reader.read();
+    }
+
+    /**
+     * Creates the exception for malformed input
+     * @param expected what was expected
+     * @return the exception to throw
+     */
+    private IOException malformed(String expected) {
+        return new IOException("Expected " + expected + " on line " + lineNumber);
+    }
+}
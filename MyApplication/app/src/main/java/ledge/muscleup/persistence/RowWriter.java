@@ -0,0 +1,133 @@
+package ledge.muscleup.persistence;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes rows of values to a character stream in an export format, one row at a time, so that
+ * nothing but the current row is held in memory. Values may be Strings, Numbers, Booleans or
+ * {@code null}
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-29
+ */
+class RowWriter {
+    private final Writer writer;
+    private final ExportFormat format;
+    private final String[] columns;
+    private int numRows = 0;
+
+    /**
+     * Constructor for a RowWriter, which writes the CSV header row straight away
+     * @param writer the stream to write the rows to
+     * @param format the format to write the rows in
+     * @param columns the names of the columns of each row
+     * @throws IOException if the header row could not be written
+     */
+    RowWriter(Writer writer, ExportFormat format, String[] columns) throws IOException {
+        this.writer = writer;
+        this.format = format;
+        this.columns = columns;
+
+        if (format == ExportFormat.CSV) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0)
+                    writer.write(',');
+                writeCsvValue(columns[i]);
+            }
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Writes a row of values, one for each column
+     * @param values the values of the row
+     * @throws IOException if the row could not be written
+     */
+    void writeRow(Object[] values) throws IOException {
+        if (format == ExportFormat.CSV) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0)
+                    writer.write(',');
+                if (values[i] != null)
+                    writeCsvValue(values[i].toString());
+            }
+        }
+        else {
+            writer.write('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0)
+                    writer.write(',');
+                writeJsonString(columns[i]);
+                writer.write(':');
+                if (values[i] == null || values[i] instanceof Number || values[i] instanceof Boolean)
+                    writer.write(String.valueOf(values[i]));
+                else
+                    writeJsonString(values[i].toString());
+            }
+            writer.write('}');
+        }
+        writer.write('\n');
+        numRows++;
+    }
+
+    /**
+     * Returns the number of rows written, not counting the CSV header row
+     * @return the number of rows written
+     */
+    int getNumRows() {
+        return numRows;
+    }
+
+    /**
+     * Writes a CSV value, quoting it if it contains a separator, quote or line break
+     * @param value the value to write
+     * @throws IOException if the value could not be written
+     */
+    private void writeCsvValue(String value) throws IOException {
+        char c;
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+            writer.write(value);
+        else {
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                c = value.charAt(i);
+                if (c == '"')
+                    writer.write('"');
+                writer.write(c);
+            }
+            writer.write('"');
+        }
+    }
+
+    /**
+     * Writes a JSON string, escaping quotes, backslashes and control characters
+     * @param value the string to write
+     * @throws IOException if the string could not be written
+     */
+    private void writeJsonString(String value) throws IOException {
+        char c;
+
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            }
+            else if (c == '\n')
+                writer.write("\\n");
+            else if (c == '\r')
+                writer.write("\\r");
+            else if (c == '\t')
+                writer.write("\\t");
+            else if (c < 0x20)
+                writer.write(String.format("\\u%04x", (int) c));
+            else
+                writer.write(c);
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,1205 @@
+package ledge.muscleup.persistence;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import ledge.muscleup.model.exercise.ExerciseTypeRecovery;
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
+
+/**
+ * Brings the schema of an existing database up to the version the data access classes expect.
+ * Databases copied to a device by an older version of the app are upgraded in place the first
+ * time they are opened, and the version reached is recorded in the SchemaVersion table. HSQLDB
+ * commits each schema change on its own, so a migration that is interrupted part way can't be
+ * rolled back. Instead, every step checks whether it has already been applied, so running the
+ * migration again the next time the database is opened picks up where it stopped
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-20
+ */
+class SchemaMigrations {
+
+    /**
+     * One step of a migration, which can be applied again without harm
+     */
+    private interface Step {
+        /**
+         * Applies the step, unless it has already been applied
+         * @param statement a statement on the database to upgrade
+         * @throws SQLException if the step could not be applied
+         */
+        void apply(Statement statement) throws SQLException;
+    }
+
+    /**
+     * A step that defines a procedure or trigger, either creating it unless it already exists or
+     * replacing whatever definition it has
+     */
+    private static class Definition implements Step {
+        private final String type;
+        private final String name;
+        private final String command;
+        private final boolean replace;
+
+        Definition(String type, String name, String command, boolean replace) {
+            this.type = type;
+            this.name = name;
+            this.command = command;
+            this.replace = replace;
+        }
+
+        @Override
+        public void apply(Statement statement) throws SQLException {
+            define(statement, replace, this);
+        }
+
+        /**
+         * Creates the procedure or trigger
+         * @param statement a statement on the database
+         * @param replace {@code true} to replace any definition it already has, or {@code false}
+         *                to only create it if it doesn't exist
+         * @param current the step being applied, which callers dropped along the way are created
+         *                again as defined before
+         * @throws SQLException if it could not be created
+         */
+        private void define(Statement statement, boolean replace, Step current) throws SQLException {
+            List<String> callers = new ArrayList<>();
+            Definition caller;
+
+            if (replace) {
+                if (type.equals("PROCEDURE"))
+                    dropCallers(statement, name, callers);
+                statement.execute("DROP " + type + " " + name + " IF EXISTS");
+            }
+            if (!exists(statement, getExistsQuery()))
+                statement.execute(command);
+
+            //callers are created again before what calls them, and one first defined by a later
+            //migration is left for that migration to create when it runs again
+            for (int i = callers.size() - 1; i >= 0; i--) {
+                caller = findDefinition(callers.get(i), current);
+                if (caller != null)
+                    caller.define(statement, caller.replace, current);
+            }
+        }
+
+        /**
+         * Returns a query that returns a row once the procedure or trigger exists
+         * @return the query
+         */
+        private String getExistsQuery() {
+            String query;
+
+            if (type.equals("PROCEDURE"))
+                query = "SELECT 1 FROM INFORMATION_SCHEMA.ROUTINES " +
+                        "WHERE  ROUTINE_SCHEMA = 'PUBLIC' AND ROUTINE_NAME = '" + toIdentifier(name) + "'";
+            else
+                query = "SELECT 1 FROM INFORMATION_SCHEMA.TRIGGERS " +
+                        "WHERE  TRIGGER_SCHEMA = 'PUBLIC' AND TRIGGER_NAME = '" + toIdentifier(name) + "'";
+
+            return query;
+        }
+    }
+
+    /**
+     * The steps for each schema version, in order. Version n is reached by applying the steps at
+     * index n - 1, so new migrations must only ever be appended
+     */
+    private static final Step[][] MIGRATIONS = {
+            //1: cascade session deletes so removing a session is a single call. The foreign keys
+            //are found by their column, since only the seed database is sure to name them C11 and C12
+            {
+                    replaceForeignKey("WorkoutSessionContents", "WorkoutSessionID", "WorkoutSessionContentsSession",
+                    "ALTER TABLE WorkoutSessionContents ADD CONSTRAINT WorkoutSessionContentsSession " +
+                    "   FOREIGN KEY (WorkoutSessionID) REFERENCES WorkoutSessions (ID) ON DELETE CASCADE"),
+                    replaceForeignKey("WorkoutSessionContents", "ExerciseID", "WorkoutSessionContentsExercise",
+                    "ALTER TABLE WorkoutSessionContents ADD CONSTRAINT WorkoutSessionContentsExercise " +
+                    "   FOREIGN KEY (ExerciseID) REFERENCES WorkoutSessionExercises (ID) ON DELETE CASCADE"),
+                    createRoutine("DeleteWorkoutSession",
+                    "CREATE PROCEDURE DeleteWorkoutSession(IN SessionDate DATE) " +
+                    "MODIFIES SQL DATA " +
+                    "BEGIN ATOMIC " +
+                    "   DECLARE SessionID INTEGER; " +
+                    "   SET SessionID = (SELECT ID FROM WorkoutSessions WHERE ScheduledDate = SessionDate); " +
+                    "   DELETE FROM WorkoutSessionExercises " +
+                    "   WHERE       ID IN ( " +
+                    "                   SELECT  ExerciseID " +
+                    "                   FROM    WorkoutSessionContents " +
+                    "                   WHERE   WorkoutSessionID = SessionID); " +
+                    "   DELETE FROM WorkoutSessions " +
+                    "   WHERE       ID = SessionID; " +
+                    "END")
+            },
+            //2: keep a summary row per workout so list screens don't load every workout's exercises
+            {
+                    run("CREATE TABLE IF NOT EXISTS WorkoutSummaries ( " +
+                    "   WorkoutID       INTEGER NOT NULL PRIMARY KEY, " +
+                    "   ExerciseCount   INTEGER NOT NULL, " +
+                    "   ExperienceValue INTEGER NOT NULL, " +
+                    "   LowCount        INTEGER NOT NULL, " +
+                    "   MediumCount     INTEGER NOT NULL, " +
+                    "   HighCount       INTEGER NOT NULL, " +
+                    "   DominantTypeID  INTEGER, " +
+                    "   CONSTRAINT C14 FOREIGN KEY (WorkoutID) REFERENCES Workouts (ID) ON DELETE CASCADE, " +
+                    "   CONSTRAINT C15 FOREIGN KEY (DominantTypeID) REFERENCES ExerciseTypes (ID))"),
+                    createRoutine("RefreshWorkoutSummary",
+                    "CREATE PROCEDURE RefreshWorkoutSummary(IN SummaryWorkoutID INTEGER) " +
+                    "MODIFIES SQL DATA " +
+                    "BEGIN ATOMIC " +
+                    "   DELETE FROM WorkoutSummaries " +
+                    "   WHERE       WorkoutID = SummaryWorkoutID; " +
+                    "   INSERT INTO WorkoutSummaries " +
+                    "   SELECT      W.ID, " +
+                    "               COUNT(E.ID), " +
+                    "               50 * COALESCE(SUM(CASE EI.Intensity " +
+                    "                   WHEN 'LOW' THEN 1 WHEN 'MEDIUM' THEN 2 WHEN 'HIGH' THEN 3 END), 0), " +
+                    "               COUNT(CASE WHEN EI.Intensity = 'LOW' THEN 1 END), " +
+                    "               COUNT(CASE WHEN EI.Intensity = 'MEDIUM' THEN 1 END), " +
+                    "               COUNT(CASE WHEN EI.Intensity = 'HIGH' THEN 1 END), " +
+                    "               ( " +
+                    "                   SELECT      DE.TypeID " +
+                    "                   FROM        WorkoutContents DWC " +
+                    "                   INNER JOIN  WorkoutExercises DWE " +
+                    "                               ON DWC.ExerciseID = DWE.ID " +
+                    "                   INNER JOIN  Exercises DE " +
+                    "                               ON DWE.ExerciseID = DE.ID " +
+                    "                   WHERE       DWC.WorkoutID = SummaryWorkoutID " +
+                    "                   GROUP BY    DE.TypeID " +
+                    "                   ORDER BY    COUNT(*) DESC, DE.TypeID " +
+                    "                   LIMIT 1 " +
+                    "               ) " +
+                    "   FROM        Workouts W " +
+                    "   LEFT JOIN   WorkoutContents WC " +
+                    "               ON WC.WorkoutID = W.ID " +
+                    "   LEFT JOIN   WorkoutExercises WE " +
+                    "               ON WC.ExerciseID = WE.ID " +
+                    "   LEFT JOIN   Exercises E " +
+                    "               ON WE.ExerciseID = E.ID " +
+                    "   LEFT JOIN   ExerciseIntensities EI " +
+                    "               ON E.IntensityID = EI.ID " +
+                    "   WHERE       W.ID = SummaryWorkoutID " +
+                    "   GROUP BY    W.ID; " +
+                    "END"),
+                    createTrigger("WorkoutsInsertSummary",
+                    "CREATE TRIGGER WorkoutsInsertSummary AFTER INSERT ON Workouts " +
+                    "REFERENCING NEW ROW AS NewRow FOR EACH ROW " +
+                    "CALL RefreshWorkoutSummary(NewRow.ID)"),
+                    createTrigger("WorkoutContentsInsertSummary",
+                    "CREATE TRIGGER WorkoutContentsInsertSummary AFTER INSERT ON WorkoutContents " +
+                    "REFERENCING NEW ROW AS NewRow FOR EACH ROW " +
+                    "CALL RefreshWorkoutSummary(NewRow.WorkoutID)"),
+                    createTrigger("WorkoutContentsDeleteSummary",
+                    "CREATE TRIGGER WorkoutContentsDeleteSummary AFTER DELETE ON WorkoutContents " +
+                    "REFERENCING OLD ROW AS OldRow FOR EACH ROW " +
+                    "CALL RefreshWorkoutSummary(OldRow.WorkoutID)"),
+                    createTrigger("WorkoutContentsUpdateSummary",
+                    "CREATE TRIGGER WorkoutContentsUpdateSummary AFTER UPDATE ON WorkoutContents " +
+                    "REFERENCING OLD ROW AS OldRow NEW ROW AS NewRow FOR EACH ROW " +
+                    "BEGIN ATOMIC " +
+                    "   CALL RefreshWorkoutSummary(OldRow.WorkoutID); " +
+                    "   CALL RefreshWorkoutSummary(NewRow.WorkoutID); " +
+                    "END"),
+                    createTrigger("WorkoutExercisesUpdateSummary",
+                    "CREATE TRIGGER WorkoutExercisesUpdateSummary AFTER UPDATE OF ExerciseID ON WorkoutExercises " +
+                    "REFERENCING NEW ROW AS NewRow FOR EACH ROW " +
+                    "BEGIN ATOMIC " +
+                    "   FOR SELECT WorkoutID FROM WorkoutContents WHERE ExerciseID = NewRow.ID DO " +
+                    "       CALL RefreshWorkoutSummary(WorkoutID); " +
+                    "   END FOR; " +
+                    "END"),
+                    createTrigger("ExercisesUpdateSummary",
+                    "CREATE TRIGGER ExercisesUpdateSummary AFTER UPDATE OF IntensityID, TypeID ON Exercises " +
+                    "REFERENCING NEW ROW AS NewRow FOR EACH ROW " +
+                    "BEGIN ATOMIC " +
+                    "   FOR SELECT DISTINCT WC.WorkoutID FROM WorkoutContents WC " +
+                    "       INNER JOIN WorkoutExercises WE ON WC.ExerciseID = WE.ID " +
+                    "       WHERE WE.ExerciseID = NewRow.ID DO " +
+                    "       CALL RefreshWorkoutSummary(WorkoutID); " +
+                    "   END FOR; " +
+                    "END"),
+                    createRoutine("RefreshAllWorkoutSummaries",
+                    "CREATE PROCEDURE RefreshAllWorkoutSummaries() " +
+                    "MODIFIES SQL DATA " +
+                    "BEGIN ATOMIC " +
+                    "   FOR SELECT ID FROM Workouts DO " +
+                    "       CALL RefreshWorkoutSummary(ID); " +
+                    "   END FOR; " +
+                    "END"),
+                    run("CALL RefreshAllWorkoutSummaries()")
+            },
+            //3: count changes to what workouts contain, so in-memory indexes know when to rebuild
+            {
+                    run("CREATE TABLE IF NOT EXISTS WorkoutContentsVersion (Version INTEGER NOT NULL)"),
+                    runUnless("SELECT 1 FROM WorkoutContentsVersion",
+                    "INSERT INTO WorkoutContentsVersion (Version) VALUES (0)"),
+                    createTrigger("WorkoutContentsInsertVersion",
+                    "CREATE TRIGGER WorkoutContentsInsertVersion AFTER INSERT ON WorkoutContents " +
+                    "FOR EACH STATEMENT UPDATE WorkoutContentsVersion SET Version = Version + 1"),
+                    createTrigger("WorkoutContentsDeleteVersion",
+                    "CREATE TRIGGER WorkoutContentsDeleteVersion AFTER DELETE ON WorkoutContents " +
+                    "FOR EACH STATEMENT UPDATE WorkoutContentsVersion SET Version = Version + 1"),
+                    createTrigger("WorkoutContentsUpdateVersion",
+                    "CREATE TRIGGER WorkoutContentsUpdateVersion AFTER UPDATE ON WorkoutContents " +
+                    "FOR EACH STATEMENT UPDATE WorkoutContentsVersion SET Version = Version + 1"),
+                    createTrigger("WorkoutsInsertVersion",
+                    "CREATE TRIGGER WorkoutsInsertVersion AFTER INSERT ON Workouts " +
+                    "FOR EACH STATEMENT UPDATE WorkoutContentsVersion SET Version = Version + 1"),
+                    createTrigger("WorkoutsDeleteVersion",
+                    "CREATE TRIGGER WorkoutsDeleteVersion AFTER DELETE ON Workouts " +
+                    "FOR EACH STATEMENT UPDATE WorkoutContentsVersion SET Version = Version + 1"),
+                    createTrigger("WorkoutsUpdateVersion",
+                    "CREATE TRIGGER WorkoutsUpdateVersion AFTER UPDATE OF Name ON Workouts " +
+                    "FOR EACH STATEMENT UPDATE WorkoutContentsVersion SET Version = Version + 1"),
+                    createTrigger("WorkoutExercisesUpdateVersion",
+                    "CREATE TRIGGER WorkoutExercisesUpdateVersion AFTER UPDATE OF ExerciseID ON WorkoutExercises " +
+                    "FOR EACH STATEMENT UPDATE WorkoutContentsVersion SET Version = Version + 1"),
+                    createTrigger("ExercisesUpdateVersion",
+                    "CREATE TRIGGER ExercisesUpdateVersion AFTER UPDATE OF Name, IntensityID, TypeID ON Exercises " +
+                    "FOR EACH STATEMENT UPDATE WorkoutContentsVersion SET Version = Version + 1")
+            },
+            //4: keep when each exercise type was last trained and how hard, for suggesting workouts
+            {
+                    run("CREATE TABLE IF NOT EXISTS TypeRecovery ( " +
+                    "   TypeID          INTEGER NOT NULL PRIMARY KEY, " +
+                    "   LastTrained     DATE, " +
+                    "   TrainingLoad    INTEGER NOT NULL, " +
+                    "   CONSTRAINT C16 FOREIGN KEY (TypeID) REFERENCES ExerciseTypes (ID) ON DELETE CASCADE)"),
+                    run("INSERT INTO TypeRecovery (TypeID, LastTrained, TrainingLoad) " +
+                    "SELECT ID, NULL, 0 FROM ExerciseTypes WHERE ID NOT IN (SELECT TypeID FROM TypeRecovery)"),
+                    createRoutine("RecordTypeTraining",
+                    "CREATE PROCEDURE RecordTypeTraining(IN TrainedSessionID INTEGER) " +
+                    "MODIFIES SQL DATA " +
+                    "BEGIN ATOMIC " +
+                    "   FOR SELECT      E.TypeID AS TrainedTypeID, " +
+                    "                   WS.ScheduledDate AS TrainedDate, " +
+                    "                   SUM(CASE EI.Intensity " +
+                    "                       WHEN 'LOW' THEN 1 WHEN 'MEDIUM' THEN 2 WHEN 'HIGH' THEN 3 END) AS SessionLoad " +
+                    "       FROM        WorkoutSessions WS " +
+                    "       INNER JOIN  WorkoutSessionContents WSC " +
+                    "                   ON WSC.WorkoutSessionID = WS.ID " +
+                    "       INNER JOIN  WorkoutSessionExercises WSE " +
+                    "                   ON WSC.ExerciseID = WSE.ID " +
+                    "       INNER JOIN  WorkoutExercises WE " +
+                    "                   ON WSE.WorkoutExerciseID = WE.ID " +
+                    "       INNER JOIN  Exercises E " +
+                    "                   ON WE.ExerciseID = E.ID " +
+                    "       INNER JOIN  ExerciseIntensities EI " +
+                    "                   ON E.IntensityID = EI.ID " +
+                    "       WHERE       WS.ID = TrainedSessionID " +
+                    "       GROUP BY    E.TypeID, WS.ScheduledDate DO " +
+                    "       UPDATE  TypeRecovery " +
+                    "       SET     LastTrained = TrainedDate, " +
+                    "               TrainingLoad = SessionLoad " +
+                    "       WHERE   TypeID = TrainedTypeID " +
+                    "               AND (LastTrained IS NULL OR LastTrained <= TrainedDate); " +
+                    "   END FOR; " +
+                    "END"),
+                    createTrigger("WorkoutSessionsCompleteRecovery",
+                    "CREATE TRIGGER WorkoutSessionsCompleteRecovery AFTER UPDATE OF Complete ON WorkoutSessions " +
+                    "REFERENCING OLD ROW AS OldRow NEW ROW AS NewRow FOR EACH ROW " +
+                    "WHEN (NewRow.Complete AND NOT COALESCE(OldRow.Complete, FALSE)) " +
+                    "CALL RecordTypeTraining(NewRow.ID)"),
+                    createRoutine("RecordAllTypeTraining",
+                    "CREATE PROCEDURE RecordAllTypeTraining() " +
+                    "MODIFIES SQL DATA " +
+                    "BEGIN ATOMIC " +
+                    "   FOR SELECT ID FROM WorkoutSessions WHERE Complete DO " +
+                    "       CALL RecordTypeTraining(ID); " +
+                    "   END FOR; " +
+                    "END"),
+                    run("CALL RecordAllTypeTraining()")
+            },
+            //5: move old completed sessions to CACHED archive tables, which stay on disk rather than
+            //being loaded into memory when the database is opened. IDs are kept, so the progress
+            //history still finds a session in either tier through the AllWorkoutSessions view
+            {
+                    run("CREATE CACHED TABLE IF NOT EXISTS ArchivedWorkoutSessions ( " +
+                    "   ID              INTEGER NOT NULL PRIMARY KEY, " +
+                    "   ScheduledDate   DATE NOT NULL, " +
+                    "   WorkoutID       INTEGER NOT NULL, " +
+                    "   Complete        BOOLEAN, " +
+                    "   UNIQUE (ScheduledDate), " +
+                    "   CONSTRAINT C17 FOREIGN KEY (WorkoutID) REFERENCES Workouts (ID))"),
+                    run("CREATE CACHED TABLE IF NOT EXISTS ArchivedWorkoutSessionExercises ( " +
+                    "   ID                  INTEGER NOT NULL PRIMARY KEY, " +
+                    "   WorkoutExerciseID   INTEGER NOT NULL, " +
+                    "   Complete            BOOLEAN, " +
+                    "   CONSTRAINT C18 FOREIGN KEY (WorkoutExerciseID) REFERENCES WorkoutExercises (ID))"),
+                    run("CREATE CACHED TABLE IF NOT EXISTS ArchivedWorkoutSessionContents ( " +
+                    "   ID                  INTEGER NOT NULL PRIMARY KEY, " +
+                    "   WorkoutSessionID    INTEGER NOT NULL, " +
+                    "   ExerciseID          INTEGER NOT NULL, " +
+                    "   CONSTRAINT C19 FOREIGN KEY (WorkoutSessionID) " +
+                    "       REFERENCES ArchivedWorkoutSessions (ID) ON DELETE CASCADE, " +
+                    "   CONSTRAINT C20 FOREIGN KEY (ExerciseID) " +
+                    "       REFERENCES ArchivedWorkoutSessionExercises (ID) ON DELETE CASCADE)"),
+                    createView("AllWorkoutSessions",
+                    "CREATE VIEW AllWorkoutSessions AS " +
+                    "SELECT ID, ScheduledDate, WorkoutID, Complete FROM WorkoutSessions " +
+                    "UNION ALL " +
+                    "SELECT ID, ScheduledDate, WorkoutID, Complete FROM ArchivedWorkoutSessions"),
+                    //a foreign key can only refer to one table, so deleting a session checks instead
+                    dropForeignKey("ProgressHistory", "WorkoutSessionID"),
+                    run("DROP PROCEDURE DeleteWorkoutSession IF EXISTS"),
+                    createRoutine("DeleteWorkoutSession",
+                    "CREATE PROCEDURE DeleteWorkoutSession(IN SessionDate DATE) " +
+                    "MODIFIES SQL DATA " +
+                    "BEGIN ATOMIC " +
+                    "   DECLARE SessionID INTEGER; " +
+                    "   SET SessionID = COALESCE((SELECT ID FROM WorkoutSessions WHERE ScheduledDate = SessionDate), " +
+                    "       (SELECT ID FROM ArchivedWorkoutSessions WHERE ScheduledDate = SessionDate)); " +
+                    "   IF EXISTS (SELECT 1 FROM ProgressHistory WHERE WorkoutSessionID = SessionID) THEN " +
+                    "       SIGNAL SQLSTATE '23503' SET MESSAGE_TEXT = 'the progress history refers to the session'; " +
+                    "   END IF; " +
+                    "   DELETE FROM WorkoutSessionExercises " +
+                    "   WHERE       ID IN ( " +
+                    "                   SELECT  ExerciseID " +
+                    "                   FROM    WorkoutSessionContents " +
+                    "                   WHERE   WorkoutSessionID = SessionID); " +
+                    "   DELETE FROM WorkoutSessions " +
+                    "   WHERE       ID = SessionID; " +
+                    "   DELETE FROM ArchivedWorkoutSessionExercises " +
+                    "   WHERE       ID IN ( " +
+                    "                   SELECT  ExerciseID " +
+                    "                   FROM    ArchivedWorkoutSessionContents " +
+                    "                   WHERE   WorkoutSessionID = SessionID); " +
+                    "   DELETE FROM ArchivedWorkoutSessions " +
+                    "   WHERE       ID = SessionID; " +
+                    "END"),
+                    createRoutine("ArchiveWorkoutSessions",
+                    "CREATE PROCEDURE ArchiveWorkoutSessions(IN Cutoff DATE) " +
+                    "MODIFIES SQL DATA " +
+                    "BEGIN ATOMIC " +
+                    "   INSERT INTO ArchivedWorkoutSessions (ID, ScheduledDate, WorkoutID, Complete) " +
+                    "   SELECT      ID, ScheduledDate, WorkoutID, Complete " +
+                    "   FROM        WorkoutSessions " +
+                    "   WHERE       Complete AND ScheduledDate < Cutoff; " +
+                    "   INSERT INTO ArchivedWorkoutSessionExercises (ID, WorkoutExerciseID, Complete) " +
+                    "   SELECT      WSE.ID, WSE.WorkoutExerciseID, WSE.Complete " +
+                    "   FROM        WorkoutSessions WS " +
+                    "   INNER JOIN  WorkoutSessionContents WSC " +
+                    "               ON WSC.WorkoutSessionID = WS.ID " +
+                    "   INNER JOIN  WorkoutSessionExercises WSE " +
+                    "               ON WSC.ExerciseID = WSE.ID " +
+                    "   WHERE       WS.Complete AND WS.ScheduledDate < Cutoff; " +
+                    "   INSERT INTO ArchivedWorkoutSessionContents (ID, WorkoutSessionID, ExerciseID) " +
+                    "   SELECT      WSC.ID, WSC.WorkoutSessionID, WSC.ExerciseID " +
+                    "   FROM        WorkoutSessions WS " +
+                    "   INNER JOIN  WorkoutSessionContents WSC " +
+                    "               ON WSC.WorkoutSessionID = WS.ID " +
+                    "   WHERE       WS.Complete AND WS.ScheduledDate < Cutoff; " +
+                    "   DELETE FROM WorkoutSessionExercises " +
+                    "   WHERE       ID IN ( " +
+                    "                   SELECT      WSC.ExerciseID " +
+                    "                   FROM        WorkoutSessions WS " +
+                    "                   INNER JOIN  WorkoutSessionContents WSC " +
+                    "                               ON WSC.WorkoutSessionID = WS.ID " +
+                    "                   WHERE       WS.Complete AND WS.ScheduledDate < Cutoff); " +
+                    "   DELETE FROM WorkoutSessions " +
+                    "   WHERE       Complete AND ScheduledDate < Cutoff; " +
+                    "END")
+            },
+            //6: optionally keep only a summary row of old archived sessions, without their exercises
+            {
+                    //a rolled up session has its experience value set, and no exercises left
+                    addColumn("ArchivedWorkoutSessions", "ExperienceValue",
+                    "ALTER TABLE ArchivedWorkoutSessions ADD COLUMN ExperienceValue INTEGER"),
+                    createRoutine("RollUpWorkoutSessions",
+                    "CREATE PROCEDURE RollUpWorkoutSessions(IN Cutoff DATE) " +
+                    "MODIFIES SQL DATA " +
+                    "BEGIN ATOMIC " +
+                    "   UPDATE      ArchivedWorkoutSessions AWS " +
+                    "   SET         AWS.ExperienceValue = ( " +
+                    "                   SELECT      50 * COALESCE(SUM(CASE EI.Intensity " +
+                    "                                   WHEN 'LOW' THEN 1 WHEN 'MEDIUM' THEN 2 WHEN 'HIGH' THEN 3 END), 0) " +
+                    "                   FROM        ArchivedWorkoutSessionContents AWSC " +
+                    "                   INNER JOIN  ArchivedWorkoutSessionExercises AWSE " +
+                    "                               ON AWSC.ExerciseID = AWSE.ID " +
+                    "                   INNER JOIN  WorkoutExercises WE " +
+                    "                               ON AWSE.WorkoutExerciseID = WE.ID " +
+                    "                   INNER JOIN  Exercises E " +
+                    "                               ON WE.ExerciseID = E.ID " +
+                    "                   INNER JOIN  ExerciseIntensities EI " +
+                    "                               ON E.IntensityID = EI.ID " +
+                    "                   WHERE       AWSC.WorkoutSessionID = AWS.ID) " +
+                    "   WHERE       AWS.ExperienceValue IS NULL AND AWS.ScheduledDate < Cutoff; " +
+                    "   DELETE FROM ArchivedWorkoutSessionExercises " +
+                    "   WHERE       ID IN ( " +
+                    "                   SELECT      AWSC.ExerciseID " +
+                    "                   FROM        ArchivedWorkoutSessions AWS " +
+                    "                   INNER JOIN  ArchivedWorkoutSessionContents AWSC " +
+                    "                               ON AWSC.WorkoutSessionID = AWS.ID " +
+                    "                   WHERE       AWS.ExperienceValue IS NOT NULL " +
+                    "                               AND AWS.ScheduledDate < Cutoff); " +
+                    "END")
+            },
+            //7: log every change to a session date with a sequence number, so syncing with another
+            //device only exchanges the dates that changed since it last synced. Moving sessions to
+            //the archive or rolling them up doesn't change what they hold, so isn't logged
+            {
+                    run("CREATE TABLE IF NOT EXISTS SyncDevice (DeviceID VARCHAR(36) NOT NULL, DatabaseName VARCHAR(1024))"),
+                    runUnless("SELECT 1 FROM SyncDevice",
+                    "INSERT INTO SyncDevice (DeviceID, DatabaseName) VALUES (CAST(UUID() AS VARCHAR(36)), DATABASE())"),
+                    run("CREATE TABLE IF NOT EXISTS SyncPeers ( " +
+                    "   PeerID          VARCHAR(36) NOT NULL PRIMARY KEY, " +
+                    "   LastSentSeq     BIGINT NOT NULL, " +
+                    "   LastReceivedSeq BIGINT NOT NULL)"),
+                    run("CREATE TABLE IF NOT EXISTS ChangeLog ( " +
+                    "   Seq             BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 1) PRIMARY KEY, " +
+                    "   ScheduledDate   DATE NOT NULL, " +
+                    "   ChangedAt       BIGINT NOT NULL, " +
+                    "   Origin          VARCHAR(36) NOT NULL)"),
+                    createIndex("ChangeLogDates", "CREATE INDEX ChangeLogDates ON ChangeLog (ScheduledDate, Seq)"),
+                    createIndex("ProgressHistorySessions",
+                    "CREATE INDEX ProgressHistorySessions ON ProgressHistory (WorkoutSessionID)"),
+                    //the history so far is logged as changed at the epoch, so any real change wins over it
+                    runUnless("SELECT 1 FROM ChangeLog",
+                    "INSERT INTO ChangeLog (ScheduledDate, ChangedAt, Origin) " +
+                    "SELECT ScheduledDate, 0, (SELECT DeviceID FROM SyncDevice) " +
+                    "FROM AllWorkoutSessions ORDER BY ScheduledDate"),
+                    createRoutine("LogSessionChange",
+                    "CREATE PROCEDURE LogSessionChange(IN ChangedDate DATE) " +
+                    "MODIFIES SQL DATA " +
+                    "BEGIN ATOMIC " +
+                    "   IF ChangedDate IS NOT NULL THEN " +
+                    "       INSERT INTO ChangeLog (ScheduledDate, ChangedAt, Origin) " +
+                    "       VALUES (ChangedDate, UNIX_MILLIS(), (SELECT DeviceID FROM SyncDevice)); " +
+                    "   END IF; " +
+                    "END"),
+                    createTrigger("WorkoutSessionsInsertChange",
+                    "CREATE TRIGGER WorkoutSessionsInsertChange AFTER INSERT ON WorkoutSessions " +
+                    "REFERENCING NEW ROW AS NewRow FOR EACH ROW " +
+                    "CALL LogSessionChange(NewRow.ScheduledDate)"),
+                    createTrigger("WorkoutSessionsUpdateChange",
+                    "CREATE TRIGGER WorkoutSessionsUpdateChange AFTER UPDATE OF ScheduledDate, Complete ON WorkoutSessions " +
+                    "REFERENCING OLD ROW AS OldRow NEW ROW AS NewRow FOR EACH ROW " +
+                    "BEGIN ATOMIC " +
+                    "   IF OldRow.ScheduledDate <> NewRow.ScheduledDate THEN " +
+                    "       CALL LogSessionChange(OldRow.ScheduledDate); " +
+                    "   END IF; " +
+                    "   CALL LogSessionChange(NewRow.ScheduledDate); " +
+                    "END"),
+                    //archiving copies a session to the archive before deleting it from the hot tier
+                    createTrigger("WorkoutSessionsDeleteChange",
+                    "CREATE TRIGGER WorkoutSessionsDeleteChange AFTER DELETE ON WorkoutSessions " +
+                    "REFERENCING OLD ROW AS OldRow FOR EACH ROW " +
+                    "BEGIN ATOMIC " +
+                    "   IF NOT EXISTS (SELECT 1 FROM ArchivedWorkoutSessions WHERE ID = OldRow.ID) THEN " +
+                    "       CALL LogSessionChange(OldRow.ScheduledDate); " +
+                    "   END IF; " +
+                    "END"),
+                    createTrigger("ArchivedWorkoutSessionsDeleteChange",
+                    "CREATE TRIGGER ArchivedWorkoutSessionsDeleteChange AFTER DELETE ON ArchivedWorkoutSessions " +
+                    "REFERENCING OLD ROW AS OldRow FOR EACH ROW " +
+                    "CALL LogSessionChange(OldRow.ScheduledDate)"),
+                    createTrigger("WorkoutSessionExercisesUpdateChange",
+                    "CREATE TRIGGER WorkoutSessionExercisesUpdateChange AFTER UPDATE OF Complete ON WorkoutSessionExercises " +
+                    "REFERENCING OLD ROW AS OldRow NEW ROW AS NewRow FOR EACH ROW " +
+                    "WHEN (NewRow.Complete IS DISTINCT FROM OldRow.Complete) " +
+                    "BEGIN ATOMIC " +
+                    "   FOR SELECT      WS.ScheduledDate AS ChangedDate " +
+                    "       FROM        WorkoutSessionContents WSC " +
+                    "       INNER JOIN  WorkoutSessions WS " +
+                    "                   ON WSC.WorkoutSessionID = WS.ID " +
+                    "       WHERE       WSC.ExerciseID = NewRow.ID DO " +
+                    "       CALL LogSessionChange(ChangedDate); " +
+                    "   END FOR; " +
+                    "END"),
+                    createTrigger("ProgressHistoryInsertChange",
+                    "CREATE TRIGGER ProgressHistoryInsertChange AFTER INSERT ON ProgressHistory " +
+                    "REFERENCING NEW ROW AS NewRow FOR EACH ROW " +
+                    "CALL LogSessionChange(COALESCE( " +
+                    "   (SELECT ScheduledDate FROM WorkoutSessions WHERE ID = NewRow.WorkoutSessionID), " +
+                    "   (SELECT ScheduledDate FROM ArchivedWorkoutSessions WHERE ID = NewRow.WorkoutSessionID)))")
+            },
+            //8: keep the weight of each intensity in ExerciseIntensities, so the procedures join on it
+            //rather than spelling the weights out. The weights themselves are set from the model
+            //each time the database is opened, by syncIntensityWeights. Replacing a procedure takes
+            //its callers down with it, which are created again as they were defined before
+            {
+                    addColumn("ExerciseIntensities", "Weight",
+                    "ALTER TABLE ExerciseIntensities ADD COLUMN Weight INTEGER DEFAULT 1 NOT NULL"),
+                    new Step() {
+                        @Override
+                        public void apply(Statement statement) throws SQLException {
+                            syncIntensityWeights(statement);
+                        }
+                    },
+                    replaceRoutine("RefreshWorkoutSummary",
+                    "CREATE PROCEDURE RefreshWorkoutSummary(IN SummaryWorkoutID INTEGER) " +
+                    "MODIFIES SQL DATA " +
+                    "BEGIN ATOMIC " +
+                    "   DELETE FROM WorkoutSummaries " +
+                    "   WHERE       WorkoutID = SummaryWorkoutID; " +
+                    "   INSERT INTO WorkoutSummaries " +
+                    "   SELECT      W.ID, " +
+                    "               COUNT(E.ID), " +
+                    "               50 * COALESCE(SUM(EI.Weight), 0), " +
+                    "               COUNT(CASE WHEN EI.Intensity = 'LOW' THEN 1 END), " +
+                    "               COUNT(CASE WHEN EI.Intensity = 'MEDIUM' THEN 1 END), " +
+                    "               COUNT(CASE WHEN EI.Intensity = 'HIGH' THEN 1 END), " +
+                    "               ( " +
+                    "                   SELECT      DE.TypeID " +
+                    "                   FROM        WorkoutContents DWC " +
+                    "                   INNER JOIN  WorkoutExercises DWE " +
+                    "                               ON DWC.ExerciseID = DWE.ID " +
+                    "                   INNER JOIN  Exercises DE " +
+                    "                               ON DWE.ExerciseID = DE.ID " +
+                    "                   WHERE       DWC.WorkoutID = SummaryWorkoutID " +
+                    "                   GROUP BY    DE.TypeID " +
+                    "                   ORDER BY    COUNT(*) DESC, DE.TypeID " +
+                    "                   LIMIT 1 " +
+                    "               ) " +
+                    "   FROM        Workouts W " +
+                    "   LEFT JOIN   WorkoutContents WC " +
+                    "               ON WC.WorkoutID = W.ID " +
+                    "   LEFT JOIN   WorkoutExercises WE " +
+                    "               ON WC.ExerciseID = WE.ID " +
+                    "   LEFT JOIN   Exercises E " +
+                    "               ON WE.ExerciseID = E.ID " +
+                    "   LEFT JOIN   ExerciseIntensities EI " +
+                    "               ON E.IntensityID = EI.ID " +
+                    "   WHERE       W.ID = SummaryWorkoutID " +
+                    "   GROUP BY    W.ID; " +
+                    "END"),
+                    replaceRoutine("RecordTypeTraining",
+                    "CREATE PROCEDURE RecordTypeTraining(IN TrainedSessionID INTEGER) " +
+                    "MODIFIES SQL DATA " +
+                    "BEGIN ATOMIC " +
+                    "   FOR SELECT      E.TypeID AS TrainedTypeID, " +
+                    "                   WS.ScheduledDate AS TrainedDate, " +
+                    "                   SUM(EI.Weight) AS SessionLoad " +
+                    "       FROM        WorkoutSessions WS " +
+                    "       INNER JOIN  WorkoutSessionContents WSC " +
+                    "                   ON WSC.WorkoutSessionID = WS.ID " +
+                    "       INNER JOIN  WorkoutSessionExercises WSE " +
+                    "                   ON WSC.ExerciseID = WSE.ID " +
+                    "       INNER JOIN  WorkoutExercises WE " +
+                    "                   ON WSE.WorkoutExerciseID = WE.ID " +
+                    "       INNER JOIN  Exercises E " +
+                    "                   ON WE.ExerciseID = E.ID " +
+                    "       INNER JOIN  ExerciseIntensities EI " +
+                    "                   ON E.IntensityID = EI.ID " +
+                    "       WHERE       WS.ID = TrainedSessionID " +
+                    "       GROUP BY    E.TypeID, WS.ScheduledDate DO " +
+                    "       UPDATE  TypeRecovery " +
+                    "       SET     LastTrained = TrainedDate, " +
+                    "               TrainingLoad = SessionLoad " +
+                    "       WHERE   TypeID = TrainedTypeID " +
+                    "               AND (LastTrained IS NULL OR LastTrained <= TrainedDate); " +
+                    "   END FOR; " +
+                    "END"),
+                    replaceRoutine("RollUpWorkoutSessions",
+                    "CREATE PROCEDURE RollUpWorkoutSessions(IN Cutoff DATE) " +
+                    "MODIFIES SQL DATA " +
+                    "BEGIN ATOMIC " +
+                    "   UPDATE      ArchivedWorkoutSessions AWS " +
+                    "   SET         AWS.ExperienceValue = ( " +
+                    "                   SELECT      50 * COALESCE(SUM(EI.Weight), 0) " +
+                    "                   FROM        ArchivedWorkoutSessionContents AWSC " +
+                    "                   INNER JOIN  ArchivedWorkoutSessionExercises AWSE " +
+                    "                               ON AWSC.ExerciseID = AWSE.ID " +
+                    "                   INNER JOIN  WorkoutExercises WE " +
+                    "                               ON AWSE.WorkoutExerciseID = WE.ID " +
+                    "                   INNER JOIN  Exercises E " +
+                    "                               ON WE.ExerciseID = E.ID " +
+                    "                   INNER JOIN  ExerciseIntensities EI " +
+                    "                               ON E.IntensityID = EI.ID " +
+                    "                   WHERE       AWSC.WorkoutSessionID = AWS.ID) " +
+                    "   WHERE       AWS.ExperienceValue IS NULL AND AWS.ScheduledDate < Cutoff; " +
+                    "   DELETE FROM ArchivedWorkoutSessionExercises " +
+                    "   WHERE       ID IN ( " +
+                    "                   SELECT      AWSC.ExerciseID " +
+                    "                   FROM        ArchivedWorkoutSessions AWS " +
+                    "                   INNER JOIN  ArchivedWorkoutSessionContents AWSC " +
+                    "                               ON AWSC.WorkoutSessionID = AWS.ID " +
+                    "                   WHERE       AWS.ExperienceValue IS NOT NULL " +
+                    "                               AND AWS.ScheduledDate < Cutoff); " +
+                    "END"),
+                    //a changed weight changes every summary and the load of every trained type
+                    createTrigger("ExerciseIntensitiesUpdateWeight",
+                    "CREATE TRIGGER ExerciseIntensitiesUpdateWeight AFTER UPDATE OF Weight ON ExerciseIntensities " +
+                    "FOR EACH STATEMENT " +
+                    "BEGIN ATOMIC " +
+                    "   CALL RefreshAllWorkoutSummaries(); " +
+                    "   CALL RecordAllTypeTraining(); " +
+                    "END")
+            },
+            //9: completing a session records its training, so marking it incomplete again takes the
+            //training back, leaving each of its types trained by their latest remaining session
+            {
+                    createRoutine("ForgetTypeTraining",
+                    "CREATE PROCEDURE ForgetTypeTraining(IN UntrainedSessionID INTEGER) " +
+                    "MODIFIES SQL DATA " +
+                    "BEGIN ATOMIC " +
+                    "   FOR SELECT DISTINCT E.TypeID AS UntrainedTypeID " +
+                    "       FROM        WorkoutSessionContents WSC " +
+                    "       INNER JOIN  WorkoutSessionExercises WSE " +
+                    "                   ON WSC.ExerciseID = WSE.ID " +
+                    "       INNER JOIN  WorkoutExercises WE " +
+                    "                   ON WSE.WorkoutExerciseID = WE.ID " +
+                    "       INNER JOIN  Exercises E " +
+                    "                   ON WE.ExerciseID = E.ID " +
+                    "       WHERE       WSC.WorkoutSessionID = UntrainedSessionID DO " +
+                    "       UPDATE  TypeRecovery " +
+                    "       SET     LastTrained = NULL, " +
+                    "               TrainingLoad = 0 " +
+                    "       WHERE   TypeID = UntrainedTypeID; " +
+                    "       FOR SELECT TrainedDate, SessionLoad FROM ( " +
+                    "               SELECT      WS.ScheduledDate AS TrainedDate, SUM(EI.Weight) AS SessionLoad " +
+                    "               FROM        WorkoutSessions WS " +
+                    "               INNER JOIN  WorkoutSessionContents WSC " +
+                    "                           ON WSC.WorkoutSessionID = WS.ID " +
+                    "               INNER JOIN  WorkoutSessionExercises WSE " +
+                    "                           ON WSC.ExerciseID = WSE.ID " +
+                    "               INNER JOIN  WorkoutExercises WE " +
+                    "                           ON WSE.WorkoutExerciseID = WE.ID " +
+                    "               INNER JOIN  Exercises E " +
+                    "                           ON WE.ExerciseID = E.ID " +
+                    "               INNER JOIN  ExerciseIntensities EI " +
+                    "                           ON E.IntensityID = EI.ID " +
+                    "               WHERE       WS.Complete AND E.TypeID = UntrainedTypeID " +
+                    "               GROUP BY    WS.ID, WS.ScheduledDate " +
+                    "               UNION ALL " +
+                    "               SELECT      AWS.ScheduledDate, SUM(EI.Weight) " +
+                    "               FROM        ArchivedWorkoutSessions AWS " +
+                    "               INNER JOIN  ArchivedWorkoutSessionContents AWSC " +
+                    "                           ON AWSC.WorkoutSessionID = AWS.ID " +
+                    "               INNER JOIN  ArchivedWorkoutSessionExercises AWSE " +
+                    "                           ON AWSC.ExerciseID = AWSE.ID " +
+                    "               INNER JOIN  WorkoutExercises WE " +
+                    "                           ON AWSE.WorkoutExerciseID = WE.ID " +
+                    "               INNER JOIN  Exercises E " +
+                    "                           ON WE.ExerciseID = E.ID " +
+                    "               INNER JOIN  ExerciseIntensities EI " +
+                    "                           ON E.IntensityID = EI.ID " +
+                    "               WHERE       E.TypeID = UntrainedTypeID " +
+                    "               GROUP BY    AWS.ID, AWS.ScheduledDate) " +
+                    "           ORDER BY TrainedDate DESC LIMIT 1 DO " +
+                    "           UPDATE  TypeRecovery " +
+                    "           SET     LastTrained = TrainedDate, " +
+                    "                   TrainingLoad = SessionLoad " +
+                    "           WHERE   TypeID = UntrainedTypeID; " +
+                    "       END FOR; " +
+                    "   END FOR; " +
+                    "END"),
+                    createTrigger("WorkoutSessionsUncompleteRecovery",
+                    "CREATE TRIGGER WorkoutSessionsUncompleteRecovery AFTER UPDATE OF Complete ON WorkoutSessions " +
+                    "REFERENCING OLD ROW AS OldRow NEW ROW AS NewRow FOR EACH ROW " +
+                    "WHEN (OldRow.Complete AND NOT COALESCE(NewRow.Complete, FALSE)) " +
+                    "CALL ForgetTypeTraining(NewRow.ID)")
+            },
+            //10: the foreign key from the progress history to its session was dropped in 5, since it
+            //can only refer to one tier, so triggers on both tiers check what it used to. A session is
+            //only deleted from the hot tier without its progress history once it has been archived
+            {
+                    createTrigger("WorkoutSessionsDeleteProgress",
+                    "CREATE TRIGGER WorkoutSessionsDeleteProgress BEFORE DELETE ON WorkoutSessions " +
+                    "REFERENCING OLD ROW AS OldRow FOR EACH ROW " +
+                    "WHEN (EXISTS (SELECT 1 FROM ProgressHistory WHERE WorkoutSessionID = OldRow.ID) " +
+                    "   AND NOT EXISTS (SELECT 1 FROM ArchivedWorkoutSessions WHERE ID = OldRow.ID)) " +
+                    "SIGNAL SQLSTATE '23503' SET MESSAGE_TEXT = 'the progress history refers to the session'"),
+                    createTrigger("ArchivedWorkoutSessionsDeleteProgress",
+                    "CREATE TRIGGER ArchivedWorkoutSessionsDeleteProgress BEFORE DELETE ON ArchivedWorkoutSessions " +
+                    "REFERENCING OLD ROW AS OldRow FOR EACH ROW " +
+                    "WHEN (EXISTS (SELECT 1 FROM ProgressHistory WHERE WorkoutSessionID = OldRow.ID)) " +
+                    "SIGNAL SQLSTATE '23503' SET MESSAGE_TEXT = 'the progress history refers to the session'"),
+                    createTrigger("ProgressHistoryInsertSession",
+                    "CREATE TRIGGER ProgressHistoryInsertSession BEFORE INSERT ON ProgressHistory " +
+                    "REFERENCING NEW ROW AS NewRow FOR EACH ROW " +
+                    "WHEN (NOT EXISTS (SELECT 1 FROM WorkoutSessions WHERE ID = NewRow.WorkoutSessionID) " +
+                    "   AND NOT EXISTS (SELECT 1 FROM ArchivedWorkoutSessions WHERE ID = NewRow.WorkoutSessionID)) " +
+                    "SIGNAL SQLSTATE '23503' SET MESSAGE_TEXT = 'the session of the progress history does not exist'"),
+                    createTrigger("ProgressHistoryUpdateSession",
+                    "CREATE TRIGGER ProgressHistoryUpdateSession BEFORE UPDATE OF WorkoutSessionID ON ProgressHistory " +
+                    "REFERENCING NEW ROW AS NewRow FOR EACH ROW " +
+                    "WHEN (NOT EXISTS (SELECT 1 FROM WorkoutSessions WHERE ID = NewRow.WorkoutSessionID) " +
+                    "   AND NOT EXISTS (SELECT 1 FROM ArchivedWorkoutSessions WHERE ID = NewRow.WorkoutSessionID)) " +
+                    "SIGNAL SQLSTATE '23503' SET MESSAGE_TEXT = 'the session of the progress history does not exist'")
+            },
+            //11: keep the experience each intensity is worth in ExerciseIntensities next to its weight,
+            //rather than deriving it from the weight. The weight is the training load of the recovery
+            //model, and the experience values are set from the persistence layer each time the
+            //database is opened, by syncExperienceValues
+            {
+                    addColumn("ExerciseIntensities", "ExperienceValue",
+                    "ALTER TABLE ExerciseIntensities ADD COLUMN ExperienceValue INTEGER DEFAULT 0 NOT NULL"),
+                    new Step() {
+                        @Override
+                        public void apply(Statement statement) throws SQLException {
+                            syncExperienceValues(statement);
+                        }
+                    },
+                    //HSQLDB 2.3.0 leaves a FOR loop over a table that has had a column added finding
+                    //no rows, until its procedure is created again
+                    recreateRoutine("RecordTypeTraining"),
+                    recreateRoutine("ForgetTypeTraining"),
+                    replaceRoutine("RefreshWorkoutSummary",
+                    "CREATE PROCEDURE RefreshWorkoutSummary(IN SummaryWorkoutID INTEGER) " +
+                    "MODIFIES SQL DATA " +
+                    "BEGIN ATOMIC " +
+                    "   DELETE FROM WorkoutSummaries " +
+                    "   WHERE       WorkoutID = SummaryWorkoutID; " +
+                    "   INSERT INTO WorkoutSummaries " +
+                    "   SELECT      W.ID, " +
+                    "               COUNT(E.ID), " +
+                    "               COALESCE(SUM(EI.ExperienceValue), 0), " +
+                    "               COUNT(CASE WHEN EI.Intensity = 'LOW' THEN 1 END), " +
+                    "               COUNT(CASE WHEN EI.Intensity = 'MEDIUM' THEN 1 END), " +
+                    "               COUNT(CASE WHEN EI.Intensity = 'HIGH' THEN 1 END), " +
+                    "               ( " +
+                    "                   SELECT      DE.TypeID " +
+                    "                   FROM        WorkoutContents DWC " +
+                    "                   INNER JOIN  WorkoutExercises DWE " +
+                    "                               ON DWC.ExerciseID = DWE.ID " +
+                    "                   INNER JOIN  Exercises DE " +
+                    "                               ON DWE.ExerciseID = DE.ID " +
+                    "                   WHERE       DWC.WorkoutID = SummaryWorkoutID " +
+                    "                   GROUP BY    DE.TypeID " +
+                    "                   ORDER BY    COUNT(*) DESC, DE.TypeID " +
+                    "                   LIMIT 1 " +
+                    "               ) " +
+                    "   FROM        Workouts W " +
+                    "   LEFT JOIN   WorkoutContents WC " +
+                    "               ON WC.WorkoutID = W.ID " +
+                    "   LEFT JOIN   WorkoutExercises WE " +
+                    "               ON WC.ExerciseID = WE.ID " +
+                    "   LEFT JOIN   Exercises E " +
+                    "               ON WE.ExerciseID = E.ID " +
+                    "   LEFT JOIN   ExerciseIntensities EI " +
+                    "               ON E.IntensityID = EI.ID " +
+                    "   WHERE       W.ID = SummaryWorkoutID " +
+                    "   GROUP BY    W.ID; " +
+                    "END"),
+                    replaceRoutine("RollUpWorkoutSessions",
+                    "CREATE PROCEDURE RollUpWorkoutSessions(IN Cutoff DATE) " +
+                    "MODIFIES SQL DATA " +
+                    "BEGIN ATOMIC " +
+                    "   UPDATE      ArchivedWorkoutSessions AWS " +
+                    "   SET         AWS.ExperienceValue = ( " +
+                    "                   SELECT      COALESCE(SUM(EI.ExperienceValue), 0) " +
+                    "                   FROM        ArchivedWorkoutSessionContents AWSC " +
+                    "                   INNER JOIN  ArchivedWorkoutSessionExercises AWSE " +
+                    "                               ON AWSC.ExerciseID = AWSE.ID " +
+                    "                   INNER JOIN  WorkoutExercises WE " +
+                    "                               ON AWSE.WorkoutExerciseID = WE.ID " +
+                    "                   INNER JOIN  Exercises E " +
+                    "                               ON WE.ExerciseID = E.ID " +
+                    "                   INNER JOIN  ExerciseIntensities EI " +
+                    "                               ON E.IntensityID = EI.ID " +
+                    "                   WHERE       AWSC.WorkoutSessionID = AWS.ID) " +
+                    "   WHERE       AWS.ExperienceValue IS NULL AND AWS.ScheduledDate < Cutoff; " +
+                    "   DELETE FROM ArchivedWorkoutSessionExercises " +
+                    "   WHERE       ID IN ( " +
+                    "                   SELECT      AWSC.ExerciseID " +
+                    "                   FROM        ArchivedWorkoutSessions AWS " +
+                    "                   INNER JOIN  ArchivedWorkoutSessionContents AWSC " +
+                    "                               ON AWSC.WorkoutSessionID = AWS.ID " +
+                    "                   WHERE       AWS.ExperienceValue IS NOT NULL " +
+                    "                               AND AWS.ScheduledDate < Cutoff); " +
+                    "END"),
+                    //a changed weight now only changes the load of every trained type
+                    replaceTrigger("ExerciseIntensitiesUpdateWeight",
+                    "CREATE TRIGGER ExerciseIntensitiesUpdateWeight AFTER UPDATE OF Weight ON ExerciseIntensities " +
+                    "FOR EACH STATEMENT " +
+                    "CALL RecordAllTypeTraining()"),
+                    createTrigger("ExerciseIntensitiesUpdateExperience",
+                    "CREATE TRIGGER ExerciseIntensitiesUpdateExperience AFTER UPDATE OF ExperienceValue ON ExerciseIntensities " +
+                    "FOR EACH STATEMENT " +
+                    "CALL RefreshAllWorkoutSummaries()"),
+                    run("CALL RefreshAllWorkoutSummaries()")
+            }
+    };
+
+    /**
+     * Upgrades the schema of the database to the latest version, if it isn't already
+     * @param statement a statement on the database to upgrade
+     * @throws SQLException if a migration could not be applied
+     */
+    static void migrate(Statement statement) throws SQLException {
+        int version = getVersion(statement);
+
+        for (int i = version; i < MIGRATIONS.length; i++) {
+            for (Step step : MIGRATIONS[i])
+                step.apply(statement);
+
+            statement.executeUpdate("UPDATE SchemaVersion SET Version = " + (i + 1));
+            System.out.println("Upgraded database schema to version " + (i + 1));
+        }
+
+        syncIntensityWeights(statement);
+        syncExperienceValues(statement);
+    }
+
+    /**
+     * Sets the weight of each intensity in ExerciseIntensities to its load weight in the model,
+     * so the procedures that join on it agree with the model
+     * @param statement a statement on the database
+     * @throws SQLException if the weights could not be read or updated
+     */
+    private static void syncIntensityWeights(Statement statement) throws SQLException {
+        Map<ExerciseIntensity, Integer> weights = new EnumMap<>(ExerciseIntensity.class);
+
+        for (ExerciseIntensity intensity : ExerciseIntensity.values())
+            weights.put(intensity, ExerciseTypeRecovery.getLoadWeight(intensity));
+        syncIntensityColumn(statement, "Weight", weights);
+    }
+
+    /**
+     * Sets the experience value of each intensity in ExerciseIntensities to the one the data
+     * access classes give exercises, so the workout summaries agree with the workouts
+     * @param statement a statement on the database
+     * @throws SQLException if the experience values could not be read or updated
+     */
+    private static void syncExperienceValues(Statement statement) throws SQLException {
+        Map<ExerciseIntensity, Integer> experienceValues = new EnumMap<>(ExerciseIntensity.class);
+
+        for (ExerciseIntensity intensity : ExerciseIntensity.values())
+            experienceValues.put(intensity, DataAccess.getExperienceValue(intensity));
+        syncIntensityColumn(statement, "ExperienceValue", experienceValues);
+    }
+
+    /**
+     * Sets a column of ExerciseIntensities to the value given for each intensity. Only the values
+     * that differ are updated, since updating one refreshes every workout summary or the
+     * recovery of every type
+     * @param statement a statement on the database
+     * @param column the name of the column
+     * @param values the value of the column for each intensity
+     * @throws SQLException if the values could not be read or updated
+     */
+    private static void syncIntensityColumn(Statement statement, String column, Map<ExerciseIntensity, Integer> values)
+            throws SQLException {
+        List<String> updates = new ArrayList<>();
+        ResultSet resultSet;
+        int value;
+
+        resultSet = statement.executeQuery("SELECT Intensity, " + column + " FROM ExerciseIntensities");
+        while (resultSet.next()) {
+            value = values.get(ExerciseIntensity.valueOf(resultSet.getString("Intensity")));
+            if (resultSet.getInt(column) != value)
+                updates.add("UPDATE ExerciseIntensities SET " + column + " = " + value + " " +
+                        "WHERE Intensity = '" + resultSet.getString("Intensity") + "'");
+        }
+        resultSet.close();
+
+        for (String update : updates)
+            statement.executeUpdate(update);
+    }
+
+    /**
+     * Creates a step that runs a command which can be repeated without harm, such as one that
+     * only creates a table if it doesn't exist or that recomputes derived data
+     * @param command the command to run
+     * @return the step
+     */
+    private static Step run(final String command) {
+        return new Step() {
+            @Override
+            public void apply(Statement statement) throws SQLException {
+                statement.execute(command);
+            }
+        };
+    }
+
+    /**
+     * Creates a step that runs a command only if a query returns no rows
+     * @param existsQuery a query that returns a row once the command has been applied
+     * @param command the command to run
+     * @return the step
+     */
+    private static Step runUnless(final String existsQuery, final String command) {
+        return new Step() {
+            @Override
+            public void apply(Statement statement) throws SQLException {
+                if (!exists(statement, existsQuery))
+                    statement.execute(command);
+            }
+        };
+    }
+
+    /**
+     * Creates a step that creates a procedure, unless it already exists
+     * @param name the name of the procedure
+     * @param command the command creating the procedure
+     * @return the step
+     */
+    private static Step createRoutine(String name, String command) {
+        return new Definition("PROCEDURE", name, command, false);
+    }
+
+    /**
+     * Creates a step that replaces a procedure with a new definition. HSQLDB won't drop a
+     * procedure that is still called, so the triggers and procedures calling it are dropped too,
+     * and created again afterwards from the step that last defined them
+     * @param name the name of the procedure
+     * @param command the command creating the new definition of the procedure
+     * @return the step
+     */
+    private static Step replaceRoutine(String name, String command) {
+        return new Definition("PROCEDURE", name, command, true);
+    }
+
+    /**
+     * Creates a step that creates a procedure again as the step that last defined it did
+     * @param name the name of the procedure
+     * @return the step
+     */
+    private static Step recreateRoutine(final String name) {
+        return new Step() {
+            @Override
+            public void apply(Statement statement) throws SQLException {
+                findDefinition(toIdentifier(name), this).define(statement, true, this);
+            }
+        };
+    }
+
+    /**
+     * Creates a step that creates a trigger, unless it already exists
+     * @param name the name of the trigger
+     * @param command the command creating the trigger
+     * @return the step
+     */
+    private static Step createTrigger(String name, String command) {
+        return new Definition("TRIGGER", name, command, false);
+    }
+
+    /**
+     * Creates a step that replaces a trigger with a new definition
+     * @param name the name of the trigger
+     * @param command the command creating the new definition of the trigger
+     * @return the step
+     */
+    private static Step replaceTrigger(String name, String command) {
+        return new Definition("TRIGGER", name, command, true);
+    }
+
+    /**
+     * Creates a step that creates a view, unless it already exists
+     * @param name the name of the view
+     * @param command the command creating the view
+     * @return the step
+     */
+    private static Step createView(String name, String command) {
+        return runUnless(
+                "SELECT 1 FROM INFORMATION_SCHEMA.VIEWS " +
+                "WHERE  TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = '" + toIdentifier(name) + "'",
+                command);
+    }
+
+    /**
+     * Creates a step that creates an index, unless it already exists
+     * @param name the name of the index
+     * @param command the command creating the index
+     * @return the step
+     */
+    private static Step createIndex(String name, String command) {
+        return runUnless(
+                "SELECT 1 FROM INFORMATION_SCHEMA.SYSTEM_INDEXINFO " +
+                "WHERE  TABLE_SCHEM = 'PUBLIC' AND INDEX_NAME = '" + toIdentifier(name) + "'",
+                command);
+    }
+
+    /**
+     * Creates a step that adds a column to a table, unless the table already has it
+     * @param table the name of the table
+     * @param column the name of the column
+     * @param command the command adding the column
+     * @return the step
+     */
+    private static Step addColumn(String table, String column, String command) {
+        return runUnless(
+                "SELECT 1 FROM INFORMATION_SCHEMA.COLUMNS " +
+                "WHERE  TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = '" + toIdentifier(table) + "' " +
+                "       AND COLUMN_NAME = '" + toIdentifier(column) + "'",
+                command);
+    }
+
+    /**
+     * Creates a step that drops the foreign key on a column of a table, if there is one. The
+     * constraint is looked up by its column, since its name depends on how the database was made
+     * @param table the name of the table
+     * @param column the name of the column the foreign key is on
+     * @return the step
+     */
+    private static Step dropForeignKey(final String table, final String column) {
+        return replaceForeignKey(table, column, null, null);
+    }
+
+    /**
+     * Creates a step that replaces the foreign key on a column of a table with a new one. Any
+     * other foreign key on the column is dropped, and the new one is added unless it exists
+     * @param table the name of the table
+     * @param column the name of the column the foreign key is on
+     * @param name the name of the new foreign key, or {@code null} to only drop the old one
+     * @param command the command adding the new foreign key, or {@code null} to only drop the
+     *                old one
+     * @return the step
+     */
+    private static Step replaceForeignKey(final String table, final String column, final String name,
+                                          final String command) {
+        return new Step() {
+            @Override
+            public void apply(Statement statement) throws SQLException {
+                String newName = name == null ? null : toIdentifier(name);
+                String oldName = null;
+                boolean added = false;
+                ResultSet resultSet;
+
+                resultSet = statement.executeQuery(
+                        "SELECT     TC.CONSTRAINT_NAME " +
+                        "FROM       INFORMATION_SCHEMA.TABLE_CONSTRAINTS TC " +
+                        "INNER JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE KCU " +
+                        "           ON KCU.CONSTRAINT_SCHEMA = TC.CONSTRAINT_SCHEMA " +
+                        "           AND KCU.CONSTRAINT_NAME = TC.CONSTRAINT_NAME " +
+                        "WHERE      TC.TABLE_SCHEMA = 'PUBLIC' " +
+                        "           AND TC.TABLE_NAME = '" + toIdentifier(table) + "' " +
+                        "           AND TC.CONSTRAINT_TYPE = 'FOREIGN KEY' " +
+                        "           AND KCU.COLUMN_NAME = '" + toIdentifier(column) + "'");
+                while (resultSet.next()) {
+                    if (resultSet.getString("CONSTRAINT_NAME").equals(newName))
+                        added = true;
+                    else
+                        oldName = resultSet.getString("CONSTRAINT_NAME");
+                }
+                resultSet.close();
+
+                if (oldName != null)
+                    statement.execute("ALTER TABLE " + table + " DROP CONSTRAINT " + oldName);
+                if (command != null && !added)
+                    statement.execute(command);
+            }
+        };
+    }
+
+    /**
+     * Checks whether a query returns any rows
+     * @param statement a statement on the database
+     * @param query the query to run
+     * @return {@code true} if the query returned a row
+     * @throws SQLException if the query could not be run
+     */
+    private static boolean exists(Statement statement, String query) throws SQLException {
+        ResultSet resultSet = statement.executeQuery(query);
+        boolean exists = resultSet.next();
+
+        resultSet.close();
+        return exists;
+    }
+
+    /**
+     * Drops the triggers and procedures calling a procedure, along with whatever calls them in
+     * turn, so that the procedure itself can be dropped
+     * @param statement a statement on the database
+     * @param routine the name of the procedure
+     * @param dropped the names of the triggers and procedures dropped so far, which those dropped
+     *                here are added to after their own callers
+     * @throws SQLException if the callers could not be found or dropped
+     */
+    private static void dropCallers(Statement statement, String routine, List<String> dropped)
+            throws SQLException {
+        List<String> types = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        ResultSet resultSet;
+
+        //the usage views refer to a routine by its specific name rather than its name
+        resultSet = statement.executeQuery(
+                "SELECT     'PROCEDURE' AS CallerType, R.ROUTINE_NAME AS CallerName " +
+                "FROM       INFORMATION_SCHEMA.ROUTINE_ROUTINE_USAGE RRU " +
+                "INNER JOIN INFORMATION_SCHEMA.ROUTINES R " +
+                "           ON R.SPECIFIC_NAME = RRU.SPECIFIC_NAME " +
+                "INNER JOIN INFORMATION_SCHEMA.ROUTINES C " +
+                "           ON C.SPECIFIC_NAME = RRU.ROUTINE_NAME " +
+                "WHERE      RRU.SPECIFIC_SCHEMA = 'PUBLIC' AND C.ROUTINE_NAME = '" + toIdentifier(routine) + "' " +
+                "UNION ALL " +
+                "SELECT     'TRIGGER', TRU.TRIGGER_NAME " +
+                "FROM       INFORMATION_SCHEMA.TRIGGER_ROUTINE_USAGE TRU " +
+                "INNER JOIN INFORMATION_SCHEMA.ROUTINES C " +
+                "           ON C.SPECIFIC_NAME = TRU.SPECIFIC_NAME " +
+                "WHERE      TRU.TRIGGER_SCHEMA = 'PUBLIC' AND C.ROUTINE_NAME = '" + toIdentifier(routine) + "'");
+        while (resultSet.next()) {
+            types.add(resultSet.getString("CallerType"));
+            names.add(resultSet.getString("CallerName"));
+        }
+        resultSet.close();
+
+        for (int i = 0; i < names.size(); i++) {
+            if (!dropped.contains(names.get(i))) {
+                if (types.get(i).equals("PROCEDURE"))
+                    dropCallers(statement, names.get(i), dropped);
+                statement.execute("DROP " + types.get(i) + " " + names.get(i) + " IF EXISTS");
+                dropped.add(names.get(i));
+            }
+        }
+    }
+
+    /**
+     * Finds the step that last defined a trigger or procedure before a given step
+     * @param name the name of the trigger or procedure, as HSQLDB keeps it
+     * @param before the step to stop at
+     * @return the definition, or {@code null} if no earlier step defines it
+     */
+    private static Definition findDefinition(String name, Step before) {
+        Definition found = null;
+        boolean reached = false;
+
+        for (int i = 0; i < MIGRATIONS.length && !reached; i++) {
+            for (int j = 0; j < MIGRATIONS[i].length && !reached; j++) {
+                if (MIGRATIONS[i][j] == before)
+                    reached = true;
+                else if (MIGRATIONS[i][j] instanceof Definition &&
+                        toIdentifier(((Definition) MIGRATIONS[i][j]).name).equals(name))
+                    found = (Definition) MIGRATIONS[i][j];
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Converts a name used in the migrations to the form HSQLDB keeps in INFORMATION_SCHEMA,
+     * where unquoted identifiers are upper case
+     * @param name the name as written in the migrations
+     * @return the name as HSQLDB keeps it
+     */
+    private static String toIdentifier(String name) {
+        return name.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the current schema version of the database, creating the version table for databases
+     * that predate it
+     * @param statement a statement on the database
+     * @return the current schema version of the database
+     * @throws SQLException if the version could not be read
+     */
+    private static int getVersion(Statement statement) throws SQLException {
+        int version = 0;
+        ResultSet resultSet;
+
+        resultSet = statement.executeQuery(
+                "SELECT COUNT(*) AS TableCount " +
+                "FROM   INFORMATION_SCHEMA.TABLES " +
+                "WHERE  TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = 'SCHEMAVERSION'");
+        resultSet.next();
+        if (resultSet.getInt("TableCount") == 0) {
+            statement.execute("CREATE TABLE SchemaVersion (Version INTEGER NOT NULL)");
+            statement.execute("INSERT INTO SchemaVersion (Version) VALUES (0)");
+        }
+        resultSet.close();
+
+        resultSet = statement.executeQuery("SELECT Version FROM SchemaVersion");
+        if (resultSet.next())
+            version = resultSet.getInt("Version");
+        resultSet.close();
+
+        return version;
+    }
+}
@@ -0,0 +1,195 @@
+package ledge.muscleup.persistence;
+
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+
+import java.util.Arrays;
+
+/**
+ * A change to the workout session scheduled on a date, as sent between devices when syncing. A
+ * change holds the whole state of the date once it was made, being the session on it, if any,
+ * which of its exercises are complete, and the experience logged for it, so applying the latest
+ * change to a date is all that's needed to bring it up to date. Each change is versioned by when
+ * and on which device it was made, and when two devices both changed a date, the later change
+ * wins, or the one made on the device with the greater ID if both were made at the same time
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-06
+ */
+public class SessionChange {
+    private LocalDate date;
+    private long changedAt;
+    private String origin;
+    private String workoutName;
+    private boolean complete;
+    private boolean[] exercisesComplete;
+    private LocalDateTime loggedAt;
+    private int experienceGained;
+
+    /**
+     * The constructor for the SessionChange class, for a date that has a workout session
+     * @param date the date of the workout session
+     * @param changedAt when the change was made, in milliseconds since the epoch
+     * @param origin the ID of the device the change was made on
+     * @param workoutName the name of the workout of the session
+     * @param complete whether the session is complete
+     * @param exercisesComplete whether each exercise of the session is complete, in the order of
+     *                          the workout, or an empty array if the session has been rolled up
+     * @param loggedAt when the experience of the session was logged, or {@code null} if it
+     *                 hasn't been
+     * @param experienceGained the experience logged for the session, or 0 if none was
+     * @throws IllegalArgumentException if passed a {@code null} parameter other than loggedAt,
+     * or a negative value
+     */
+    public SessionChange(LocalDate date, long changedAt, String origin, String workoutName, boolean complete,
+                         boolean[] exercisesComplete, LocalDateTime loggedAt, int experienceGained)
+            throws IllegalArgumentException {
+        if (date == null || changedAt < 0 || origin == null || workoutName == null || exercisesComplete == null ||
+                experienceGained < 0 || (loggedAt == null && experienceGained > 0)) {
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        }
+        else {
+            this.date = date;
+            this.changedAt = changedAt;
+            this.origin = origin;
+            this.workoutName = workoutName;
+            this.complete = complete;
+            this.exercisesComplete = exercisesComplete.clone();
+            this.loggedAt = loggedAt;
+            this.experienceGained = experienceGained;
+        }
+    }
+
+    /**
+     * The constructor for the SessionChange class, for a date whose workout session was removed
+     * @param date the date the workout session was removed from
+     * @param changedAt when the change was made, in milliseconds since the epoch
+     * @param origin the ID of the device the change was made on
+     * @throws IllegalArgumentException if passed a {@code null} parameter or a negative time
+     */
+    public SessionChange(LocalDate date, long changedAt, String origin) throws IllegalArgumentException {
+        if (date == null || changedAt < 0 || origin == null) {
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        }
+        else {
+            this.date = date;
+            this.changedAt = changedAt;
+            this.origin = origin;
+            this.exercisesComplete = new boolean[0];
+        }
+    }
+
+    /**
+     * Returns the date of the change
+     * @return the date of the workout session that changed
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Returns when the change was made
+     * @return the time of the change, in milliseconds since the epoch
+     */
+    public long getChangedAt() {
+        return changedAt;
+    }
+
+    /**
+     * Returns the ID of the device the change was made on
+     * @return the ID of the device
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Returns whether the change removed the workout session on its date
+     * @return {@code true} if there is no longer a session on the date
+     */
+    public boolean isRemoval() {
+        return workoutName == null;
+    }
+
+    /**
+     * Returns the name of the workout of the session
+     * @return the name of the workout, or {@code null} if the session was removed
+     */
+    public String getWorkoutName() {
+        return workoutName;
+    }
+
+    /**
+     * Returns whether the session is complete
+     * @return whether the session is complete
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns whether each exercise of the session is complete
+     * @return whether each exercise is complete, in the order of the workout, which is empty if
+     * the session was removed or rolled up
+     */
+    public boolean[] getExercisesComplete() {
+        return exercisesComplete.clone();
+    }
+
+    /**
+     * Returns when the experience of the session was logged
+     * @return the time the experience was logged, or {@code null} if it hasn't been
+     */
+    public LocalDateTime getLoggedAt() {
+        return loggedAt;
+    }
+
+    /**
+     * Returns the experience logged for the session
+     * @return the experience gained, or 0 if none was logged
+     */
+    public int getExperienceGained() {
+        return experienceGained;
+    }
+
+    /**
+     * Returns whether the change wins over another change to the same date, which is when it was
+     * made later, or at the same time on a device with a greater ID
+     * @param other the other change, or {@code null} if the date has never changed
+     * @return whether the change should replace the other one
+     */
+    public boolean supersedes(SessionChange other) {
+        if (other == null)
+            return true;
+        if (changedAt != other.getChangedAt())
+            return changedAt > other.getChangedAt();
+        return origin.compareTo(other.getOrigin()) > 0;
+    }
+
+    /**
+     * Returns whether the change leaves its date in the same state as another change, whenever
+     * and wherever they were made
+     * @param other the other change
+     * @return whether applying either change gives the same session
+     */
+    public boolean hasSameState(SessionChange other) {
+        return other != null &&
+                date.equals(other.getDate()) &&
+                (workoutName == null ? other.getWorkoutName() == null : workoutName.equals(other.getWorkoutName())) &&
+                complete == other.isComplete() &&
+                Arrays.equals(exercisesComplete, other.exercisesComplete) &&
+                (loggedAt == null ? other.getLoggedAt() == null : loggedAt.equals(other.getLoggedAt())) &&
+                experienceGained == other.getExperienceGained();
+    }
+
+    /**
+     * Returns the SessionChange as a String
+     * @return the SessionChange as a String
+     */
+    @Override
+    public String toString() {
+        return date + (isRemoval() ? " removed" : " " + workoutName + (complete ? " (complete)" : "")) +
+                " at " + changedAt + " on " + origin;
+    }
+}
@@ -0,0 +1,770 @@
+package ledge.muscleup.persistence;
+
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The data access class for syncing workout sessions with other devices. Triggers log every
+ * change to a session, its exercises or the experience logged for it in the ChangeLog table, under
+ * a sequence number and the date of the session. A batch of changes is read by walking the log
+ * from a sequence number, and only the dates it names are read, so syncing costs as much as what
+ * changed since the last sync, however long the history is. Applying a change replaces whatever
+ * is on its date, experience included, and logs it under the version it was made with, so it
+ * isn't sent on as a change of this device
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-06
+ */
+public class SyncDataAccess implements InterfaceSyncDataAccess {
+    static final int BATCH_CHANGES = 256;
+
+    private static final String CHANGES_QUERY =
+            "SELECT TOP " + BATCH_CHANGES + " CL.Seq, CL.ScheduledDate, CL.ChangedAt, CL.Origin " +
+            "FROM       ChangeLog CL " +
+            "WHERE      CL.Seq > ? AND CL.Seq <= ? AND CL.Origin <> ? " +
+            "           AND NOT EXISTS ( " +
+            "               SELECT  L.Seq " +
+            "               FROM    ChangeLog L " +
+            "               WHERE   L.ScheduledDate = CL.ScheduledDate AND L.Seq > CL.Seq) " +
+            "ORDER BY   CL.Seq";
+    private static final String VERSION_QUERY =
+            "SELECT TOP 1   CL.ChangedAt, CL.Origin " +
+            "FROM           ChangeLog CL " +
+            "WHERE          CL.ScheduledDate = ? " +
+            "ORDER BY       CL.Seq DESC";
+    private static final String SESSION_QUERY =
+            "SELECT     WS.ID, W.Name AS WorkoutName, WS.Complete " +
+            "FROM       (SELECT ID, WorkoutID, Complete FROM WorkoutSessions WHERE ScheduledDate = ? " +
+            "           UNION ALL " +
+            "           SELECT ID, WorkoutID, Complete FROM ArchivedWorkoutSessions WHERE ScheduledDate = ?) WS " +
+            "INNER JOIN Workouts W " +
+            "           ON WS.WorkoutID = W.ID";
+    private static final String EXERCISES_QUERY =
+            "SELECT     WSC.ID, WSE.Complete " +
+            "FROM       WorkoutSessionContents WSC " +
+            "INNER JOIN WorkoutSessionExercises WSE " +
+            "           ON WSC.ExerciseID = WSE.ID " +
+            "WHERE      WSC.WorkoutSessionID = ? " +
+            "UNION ALL " +
+            "SELECT     AWSC.ID, AWSE.Complete " +
+            "FROM       ArchivedWorkoutSessionContents AWSC " +
+            "INNER JOIN ArchivedWorkoutSessionExercises AWSE " +
+            "           ON AWSC.ExerciseID = AWSE.ID " +
+            "WHERE      AWSC.WorkoutSessionID = ? " +
+            "ORDER BY   ID";
+    //the totals only ever grow, so the total before a row is the largest one below it
+    private static final String PROGRESS_QUERY =
+            "SELECT TOP 1   PH.LoggedDate, " +
+            "               PH.CurrentXP - COALESCE(( " +
+            "                   SELECT  MAX(P.CurrentXP) " +
+            "                   FROM    ProgressHistory P " +
+            "                   WHERE   P.CurrentXP < PH.CurrentXP), 0) AS Gained " +
+            "FROM           ProgressHistory PH " +
+            "WHERE          PH.WorkoutSessionID = ?";
+    private static final String DELETE_PROGRESS =
+            "DELETE FROM    ProgressHistory " +
+            "WHERE          WorkoutSessionID IN ( " +
+            "                   SELECT ID FROM WorkoutSessions WHERE ScheduledDate = ? " +
+            "                   UNION ALL " +
+            "                   SELECT ID FROM ArchivedWorkoutSessions WHERE ScheduledDate = ?)";
+    //the totals being moved are negated first, so every total stays unique while they change
+    private static final String SHIFT_TOTALS =
+            "UPDATE ProgressHistory SET CurrentXP = -(CurrentXP + ?) WHERE LoggedDate > ?";
+    private static final String RESTORE_TOTALS =
+            "UPDATE ProgressHistory SET CurrentXP = -CurrentXP WHERE CurrentXP < 0";
+    private static final String LOGGED_AT_QUERY =
+            "SELECT PH.ID FROM ProgressHistory PH WHERE PH.LoggedDate = ?";
+    private static final String PREVIOUS_TOTAL_QUERY =
+            "SELECT TOP 1   PH.CurrentXP " +
+            "FROM           ProgressHistory PH " +
+            "WHERE          PH.LoggedDate < ? " +
+            "ORDER BY       PH.LoggedDate DESC";
+    private static final String INSERT_PROGRESS =
+            "INSERT INTO    ProgressHistory (WorkoutSessionID, LoggedDate, CurrentXP) " +
+            "VALUES         (?, ?, ?)";
+    private static final String DELETE_SESSION =
+            "CALL DeleteWorkoutSession(?)";
+    private static final String WORKOUT_QUERY =
+            "SELECT W.ID FROM Workouts W WHERE W.Name = ?";
+    private static final String WORKOUT_EXERCISES_QUERY =
+            "SELECT     WC.ExerciseID " +
+            "FROM       WorkoutContents WC " +
+            "WHERE      WC.WorkoutID = ? " +
+            "ORDER BY   WC.ID";
+    private static final String INSERT_SESSION =
+            "INSERT INTO    WorkoutSessions (ScheduledDate, WorkoutID, Complete) " +
+            "VALUES         (?, ?, FALSE)";
+    private static final String INSERT_SESSION_EXERCISE =
+            "INSERT INTO    WorkoutSessionExercises (WorkoutExerciseID, Complete) " +
+            "VALUES         (?, ?)";
+    private static final String INSERT_SESSION_CONTENTS =
+            "INSERT INTO    WorkoutSessionContents (WorkoutSessionID, ExerciseID) " +
+            "VALUES         (?, ?)";
+    private static final String COMPLETE_SESSION =
+            "UPDATE WorkoutSessions SET Complete = TRUE WHERE ID = ?";
+    private static final String DELETE_CHANGES =
+            "DELETE FROM ChangeLog WHERE ScheduledDate = ?";
+    private static final String INSERT_CHANGE =
+            "INSERT INTO    ChangeLog (ScheduledDate, ChangedAt, Origin) " +
+            "VALUES         (?, ?, ?)";
+    private static final String UPDATE_PEER =
+            "UPDATE     SyncPeers " +
+            "SET        LastSentSeq = ?, " +
+            "           LastReceivedSeq = ? " +
+            "WHERE      PeerID = ?";
+    private static final String INSERT_PEER =
+            "INSERT INTO    SyncPeers (PeerID, LastSentSeq, LastReceivedSeq) " +
+            "VALUES         (?, ?, ?)";
+    private static final String PRUNE_CHANGES =
+            "DELETE FROM    ChangeLog CL " +
+            "WHERE          CL.Seq > ? AND CL.Seq <= ? " +
+            "               AND EXISTS ( " +
+            "                   SELECT  L.Seq " +
+            "                   FROM    ChangeLog L " +
+            "                   WHERE   L.ScheduledDate = CL.ScheduledDate AND L.Seq > CL.Seq)";
+
+    private static final String CLAIM_DEVICE =
+            "UPDATE SyncDevice " +
+            "SET    DeviceID = CAST(UUID() AS VARCHAR(36)), DatabaseName = DATABASE() " +
+            "WHERE  DatabaseName IS DISTINCT FROM DATABASE()";
+
+    private Statement statement;
+    private String deviceID;
+    private PreparedStatement changesQuery;
+    private DateQueries dateQueries;
+
+    /**
+     * Opens the SyncDataAccess. A database copied from another one, such as a profile created from
+     * the seed database, is given an ID of its own before it logs any change
+     * @param statement the statement to use in SyncDataAccess queries
+     */
+    public synchronized void open(Statement statement) {
+        this.statement = statement;
+        deviceID = null;
+        try {
+            statement.executeUpdate("/* SyncDataAccess.open */ " + CLAIM_DEVICE);
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+    }
+
+    /**
+     * Close the SyncDataAccess
+     */
+    public synchronized void close() {
+        try {
+            closeQuietly(changesQuery);
+            if (dateQueries != null)
+                dateQueries.close();
+            changesQuery = null;
+            dateQueries = null;
+            statement.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+    }
+
+    /**
+     * Gets the ID of the device, which is made up when the database is first upgraded to keep a
+     * change log, or first opened where it was copied to
+     * @return the ID of the device
+     */
+    @Override
+    public synchronized String getDeviceID() {
+        ResultSet resultSet;
+
+        if (deviceID == null) {
+            try {
+                resultSet = statement.executeQuery("/* SyncDataAccess.getDeviceID */ SELECT DeviceID FROM SyncDevice");
+                if (resultSet.next())
+                    deviceID = resultSet.getString("DeviceID");
+                resultSet.close();
+            }
+            catch (Exception e) {
+                DataAccess.sqlError(e);
+            }
+        }
+
+        return deviceID;
+    }
+
+    /**
+     * Gets a batch of the latest change to each date since a sequence number, leaving out the
+     * changes the requesting device made or already sent. The log is walked in the order of its
+     * sequence numbers, and the state of each date is read as it is now
+     * @param sequence the sequence number of the last change already seen, or 0 for every change
+     * @param requesterID the ID of the device asking for the changes
+     * @return the next batch of changes
+     * @throws IOException if the changes could not be read
+     * @throws IllegalArgumentException if passed a {@code null} ID or a negative sequence number
+     */
+    @Override
+    public synchronized ChangeBatch getChangesSince(long sequence, String requesterID) throws IOException, IllegalArgumentException {
+        List<SessionChange> changes = new ArrayList<>();
+        ResultSet resultSet;
+        long lastSequence = sequence, maxSequence;
+        int numRows = 0;
+
+        if (sequence < 0 || requesterID == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        try {
+            prepareQueries();
+
+            //changes logged while the batch is read are left for the next batch
+            resultSet = statement.executeQuery("/* SyncDataAccess.getChangesSince */ " +
+                    "SELECT COALESCE(MAX(CL.Seq), 0) AS MaxSeq FROM ChangeLog CL");
+            resultSet.next();
+            maxSequence = Math.max(sequence, resultSet.getLong("MaxSeq"));
+            resultSet.close();
+
+            changesQuery.setLong(1, sequence);
+            changesQuery.setLong(2, maxSequence);
+            changesQuery.setString(3, requesterID);
+            resultSet = changesQuery.executeQuery();
+            while (resultSet.next()) {
+                numRows++;
+                lastSequence = resultSet.getLong("Seq");
+                changes.add(dateQueries.readChange(new LocalDate(resultSet.getDate("ScheduledDate")),
+                        resultSet.getLong("ChangedAt"), resultSet.getString("Origin")));
+            }
+            resultSet.close();
+        }
+        catch (SQLException e) {
+            DataAccess.sqlError(e);
+            throw new IOException("Could not read the changes", e);
+        }
+
+        return numRows == BATCH_CHANGES
+                ? new ChangeBatch(changes, lastSequence, true)
+                : new ChangeBatch(changes, maxSequence, false);
+    }
+
+    /**
+     * Applies changes made on another device, as one transaction. A change is only applied if it
+     * supersedes the last change to its date on this device, leaves the date in a different state,
+     * and names a workout this device has
+     * @param changes the changes to apply
+     * @return the number of changes applied
+     * @throws IOException if the changes could not be applied, in which case none are
+     * @throws IllegalArgumentException if passed {@code null} changes
+     */
+    @Override
+    public synchronized int applyChanges(List<SessionChange> changes) throws IOException, IllegalArgumentException {
+        Connection connection = null;
+        DateQueries transactionQueries = null;
+        int numApplied = 0;
+
+        if (changes == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        try {
+            //the changes are applied on a connection of its own, so that queries on the shared
+            //connection don't join the transaction, and every query in it runs on that connection
+            connection = DataAccess.getNewConnection(statement);
+            connection.setAutoCommit(false);
+            transactionQueries = new DateQueries(connection);
+
+            for (SessionChange change : changes) {
+                if (applyChange(connection, transactionQueries, change))
+                    numApplied++;
+            }
+
+            connection.commit();
+        }
+        catch (SQLException e) {
+            DataAccess.sqlError(e);
+            rollbackQuietly(connection);
+            throw new IOException("Could not apply the changes", e);
+        }
+        finally {
+            if (transactionQueries != null)
+                transactionQueries.close();
+            closeQuietly(connection);
+        }
+
+        return numApplied;
+    }
+
+    /**
+     * Gets the sequence number of the last change of this device that a peer has been sent
+     * @param peerID the ID of the peer
+     * @return the last sequence number sent, or 0 if the peer has never synced
+     */
+    @Override
+    public synchronized long getLastSentSequence(String peerID) {
+        return readPeerSequence(peerID, "LastSentSeq");
+    }
+
+    /**
+     * Gets the sequence number of the last change of a peer that this device has received
+     * @param peerID the ID of the peer
+     * @return the last sequence number received, or 0 if the peer has never synced
+     */
+    @Override
+    public synchronized long getLastReceivedSequence(String peerID) {
+        return readPeerSequence(peerID, "LastReceivedSeq");
+    }
+
+    /**
+     * Records how far syncing with a peer has got. Changes the peer has now been sent that were
+     * superseded by a later change to the same date are deleted, since only the latest change to
+     * a date is ever sent
+     * @param peerID the ID of the peer
+     * @param sentSequence the sequence number of the last change sent to the peer
+     * @param receivedSequence the sequence number of the last change received from the peer
+     */
+    @Override
+    public synchronized void acknowledge(String peerID, long sentSequence, long receivedSequence) {
+        long previousSent = getLastSentSequence(peerID);
+        PreparedStatement prepared = null;
+
+        try {
+            prepared = statement.getConnection().prepareStatement("/* SyncDataAccess.acknowledge */ " + UPDATE_PEER);
+            prepared.setLong(1, sentSequence);
+            prepared.setLong(2, receivedSequence);
+            prepared.setString(3, peerID);
+            if (prepared.executeUpdate() == 0) {
+                prepared.close();
+                prepared = statement.getConnection().prepareStatement("/* SyncDataAccess.acknowledge */ " +
+                        INSERT_PEER);
+                prepared.setString(1, peerID);
+                prepared.setLong(2, sentSequence);
+                prepared.setLong(3, receivedSequence);
+                prepared.executeUpdate();
+            }
+            prepared.close();
+
+            prepared = statement.getConnection().prepareStatement("/* SyncDataAccess.acknowledge */ " + PRUNE_CHANGES);
+            prepared.setLong(1, previousSent);
+            prepared.setLong(2, sentSequence);
+            prepared.executeUpdate();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+        finally {
+            closeQuietly(prepared);
+        }
+    }
+
+    /**
+     * Reads one of the sequence numbers kept for a peer
+     * @param peerID the ID of the peer
+     * @param column the column of the sequence number
+     * @return the sequence number, or 0 if the peer has never synced
+     */
+    private long readPeerSequence(String peerID, String column) {
+        PreparedStatement prepared = null;
+        ResultSet resultSet;
+        long sequence = 0;
+
+        try {
+            prepared = statement.getConnection().prepareStatement(
+                    "/* SyncDataAccess.readPeerSequence */ " +
+                    "SELECT SP." + column + " FROM SyncPeers SP WHERE SP.PeerID = ?");
+            prepared.setString(1, peerID);
+            resultSet = prepared.executeQuery();
+            if (resultSet.next())
+                sequence = resultSet.getLong(column);
+            resultSet.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+        finally {
+            closeQuietly(prepared);
+        }
+
+        return sequence;
+    }
+
+    /**
+     * Applies a change made on another device, if it supersedes the last change to its date here
+     * @param connection the connection to the database, in a transaction
+     * @param transactionQueries the queries reading dates on the same connection
+     * @param change the change to apply
+     * @return whether the change was applied
+     * @throws SQLException if the change could not be applied
+     */
+    private boolean applyChange(Connection connection, DateQueries transactionQueries, SessionChange change)
+            throws SQLException {
+        Date date = Date.valueOf(change.getDate().toString());
+        SessionChange current = transactionQueries.readCurrent(change.getDate());
+        PreparedStatement prepared;
+        Integer workoutID = null;
+        ResultSet resultSet;
+
+        if (!change.supersedes(current) || change.hasSameState(current))
+            return false;
+
+        if (!change.isRemoval()) {
+            prepared = connection.prepareStatement("/* SyncDataAccess.applyChange */ " + WORKOUT_QUERY);
+            prepared.setString(1, change.getWorkoutName());
+            resultSet = prepared.executeQuery();
+            if (resultSet.next())
+                workoutID = resultSet.getInt("ID");
+            prepared.close();
+
+            //a workout this device doesn't have can't be scheduled, so the date is left as it is
+            if (workoutID == null)
+                return false;
+        }
+
+        //the experience of the session being replaced is taken back out of the totals after it
+        if (current.getLoggedAt() != null) {
+            prepared = connection.prepareStatement("/* SyncDataAccess.applyChange */ " + DELETE_PROGRESS);
+            prepared.setDate(1, date);
+            prepared.setDate(2, date);
+            prepared.executeUpdate();
+            prepared.close();
+            shiftTotals(connection, toTimestamp(current.getLoggedAt()), -current.getExperienceGained());
+        }
+        if (!current.isRemoval()) {
+            prepared = connection.prepareStatement("/* SyncDataAccess.applyChange */ " + DELETE_SESSION);
+            prepared.setDate(1, date);
+            prepared.execute();
+            prepared.close();
+        }
+        if (workoutID != null)
+            insertSession(connection, change, workoutID);
+
+        //the date is logged as changed by the other device, so it isn't sent back as a change here
+        prepared = connection.prepareStatement("/* SyncDataAccess.applyChange */ " + DELETE_CHANGES);
+        prepared.setDate(1, date);
+        prepared.executeUpdate();
+        prepared.close();
+        prepared = connection.prepareStatement("/* SyncDataAccess.applyChange */ " + INSERT_CHANGE);
+        prepared.setDate(1, date);
+        prepared.setLong(2, change.getChangedAt());
+        prepared.setString(3, change.getOrigin());
+        prepared.executeUpdate();
+        prepared.close();
+
+        return true;
+    }
+
+    /**
+     * Schedules the session of a change, with its exercises in the order of the workout, and logs
+     * its experience if the change has any
+     * @param connection the connection to the database, in a transaction
+     * @param change the change holding the session
+     * @param workoutID the ID of the workout of the session
+     * @throws SQLException if the session could not be scheduled
+     */
+    private void insertSession(Connection connection, SessionChange change, int workoutID) throws SQLException {
+        boolean[] exercisesComplete = change.getExercisesComplete();
+        PreparedStatement prepared, exerciseInsert, contentsInsert;
+        Statement newestQuery;
+        ResultSet resultSet, newest;
+        int sessionID, exerciseID, numExercises = 0;
+        boolean exerciseComplete;
+
+        prepared = connection.prepareStatement("/* SyncDataAccess.insertSession */ " + INSERT_SESSION);
+        prepared.setDate(1, Date.valueOf(change.getDate().toString()));
+        prepared.setInt(2, workoutID);
+        prepared.executeUpdate();
+        prepared.close();
+        newestQuery = connection.createStatement();
+        newest = newestQuery.executeQuery("/* SyncDataAccess.insertSession */ " +
+                "SELECT MAX(WS.ID) AS NewestID FROM WorkoutSessions WS");
+        newest.next();
+        sessionID = newest.getInt("NewestID");
+        newest.close();
+
+        prepared = connection.prepareStatement("/* SyncDataAccess.insertSession */ " + WORKOUT_EXERCISES_QUERY);
+        exerciseInsert = connection.prepareStatement("/* SyncDataAccess.insertSession */ " + INSERT_SESSION_EXERCISE);
+        contentsInsert = connection.prepareStatement("/* SyncDataAccess.insertSession */ " + INSERT_SESSION_CONTENTS);
+        try {
+            prepared.setInt(1, workoutID);
+            resultSet = prepared.executeQuery();
+            while (resultSet.next()) {
+                //a rolled up session has no exercises left, so they take the state of the session
+                exerciseComplete = numExercises < exercisesComplete.length
+                        ? exercisesComplete[numExercises] : change.isComplete();
+                numExercises++;
+
+                exerciseInsert.setInt(1, resultSet.getInt("ExerciseID"));
+                exerciseInsert.setBoolean(2, exerciseComplete);
+                exerciseInsert.executeUpdate();
+                newest = newestQuery.executeQuery("/* SyncDataAccess.insertSession */ " +
+                        "SELECT MAX(WSE.ID) AS NewestID FROM WorkoutSessionExercises WSE");
+                newest.next();
+                exerciseID = newest.getInt("NewestID");
+                newest.close();
+
+                contentsInsert.setInt(1, sessionID);
+                contentsInsert.setInt(2, exerciseID);
+                contentsInsert.executeUpdate();
+            }
+            resultSet.close();
+        }
+        finally {
+            closeQuietly(prepared);
+            closeQuietly(exerciseInsert);
+            closeQuietly(contentsInsert);
+            closeQuietly(newestQuery);
+        }
+
+        //completing the session once its exercises are in lets the recovery of each type be recorded
+        if (change.isComplete()) {
+            prepared = connection.prepareStatement("/* SyncDataAccess.insertSession */ " + COMPLETE_SESSION);
+            prepared.setInt(1, sessionID);
+            prepared.executeUpdate();
+            prepared.close();
+        }
+        if (change.getLoggedAt() != null)
+            insertProgress(connection, sessionID, toTimestamp(change.getLoggedAt()), change.getExperienceGained());
+    }
+
+    /**
+     * Logs the experience of a session at the time it was logged on the other device, adding it
+     * to the totals logged after it. Each time can only be logged once, so the experience is
+     * logged a millisecond later if the time is taken
+     * @param connection the connection to the database, in a transaction
+     * @param sessionID the ID of the session
+     * @param loggedAt when the experience was logged
+     * @param experienceGained the experience gained
+     * @throws SQLException if the experience could not be logged
+     */
+    private void insertProgress(Connection connection, int sessionID, Timestamp loggedAt, int experienceGained)
+            throws SQLException {
+        PreparedStatement prepared = connection.prepareStatement("/* SyncDataAccess.insertProgress */ " +
+                LOGGED_AT_QUERY);
+        ResultSet resultSet;
+        boolean taken;
+        int previousTotal = 0;
+
+        try {
+            do {
+                prepared.setTimestamp(1, loggedAt);
+                resultSet = prepared.executeQuery();
+                taken = resultSet.next();
+                resultSet.close();
+                if (taken)
+                    loggedAt = new Timestamp(loggedAt.getTime() + 1);
+            } while (taken);
+        }
+        finally {
+            prepared.close();
+        }
+
+        shiftTotals(connection, loggedAt, experienceGained);
+
+        prepared = connection.prepareStatement("/* SyncDataAccess.insertProgress */ " + PREVIOUS_TOTAL_QUERY);
+        prepared.setTimestamp(1, loggedAt);
+        resultSet = prepared.executeQuery();
+        if (resultSet.next())
+            previousTotal = resultSet.getInt("CurrentXP");
+        prepared.close();
+
+        prepared = connection.prepareStatement("/* SyncDataAccess.insertProgress */ " + INSERT_PROGRESS);
+        prepared.setInt(1, sessionID);
+        prepared.setTimestamp(2, loggedAt);
+        prepared.setInt(3, previousTotal + experienceGained);
+        prepared.executeUpdate();
+        prepared.close();
+    }
+
+    /**
+     * Adds an amount of experience to every total logged after a time
+     * @param connection the connection to the database, in a transaction
+     * @param after the time after which totals change
+     * @param experience the experience to add, which is negative to take it away
+     * @throws SQLException if the totals could not be changed
+     */
+    private void shiftTotals(Connection connection, Timestamp after, int experience) throws SQLException {
+        PreparedStatement prepared = connection.prepareStatement("/* SyncDataAccess.shiftTotals */ " + SHIFT_TOTALS);
+
+        try {
+            prepared.setInt(1, experience);
+            prepared.setTimestamp(2, after);
+            if (prepared.executeUpdate() > 0) {
+                prepared.close();
+                prepared = connection.prepareStatement("/* SyncDataAccess.shiftTotals */ " + RESTORE_TOTALS);
+                prepared.executeUpdate();
+            }
+        }
+        finally {
+            prepared.close();
+        }
+    }
+
+    /**
+     * Prepares the queries run for every date, the first time they are needed
+     * @throws SQLException if the queries could not be prepared
+     */
+    private void prepareQueries() throws SQLException {
+        if (changesQuery == null) {
+            changesQuery = statement.getConnection().prepareStatement("/* SyncDataAccess.getChangesSince */ " +
+                    CHANGES_QUERY);
+            dateQueries = new DateQueries(statement.getConnection());
+        }
+    }
+
+    /**
+     * Converts a time to a timestamp, in the time zone of the device
+     * @param dateTime the time
+     * @return the timestamp
+     */
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return new Timestamp(dateTime.toDate().getTime());
+    }
+
+    /**
+     * Rolls back the transaction in progress, reporting rather than throwing any error
+     * @param connection the connection, or {@code null}
+     */
+    private static void rollbackQuietly(Connection connection) {
+        try {
+            if (connection != null && !connection.getAutoCommit())
+                connection.rollback();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+    }
+
+    /**
+     * Closes a connection, if there is one, reporting rather than throwing any error
+     * @param connection the connection to close, or {@code null}
+     */
+    private static void closeQuietly(Connection connection) {
+        try {
+            if (connection != null)
+                connection.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+    }
+
+    /**
+     * Closes a statement, if there is one, reporting rather than throwing any error
+     * @param query the statement to close, or {@code null}
+     */
+    private static void closeQuietly(Statement query) {
+        try {
+            if (query != null)
+                query.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+    }
+
+    /**
+     * The queries reading the state of a date, prepared on one connection. Reading dates inside
+     * a transaction has to happen on the connection of the transaction, since the tables it has
+     * changed are locked to every other connection until it commits
+     */
+    private static class DateQueries {
+        private final PreparedStatement versionQuery, sessionQuery, exercisesQuery, progressQuery;
+
+        DateQueries(Connection connection) throws SQLException {
+            versionQuery = connection.prepareStatement("/* SyncDataAccess.readCurrent */ " + VERSION_QUERY);
+            sessionQuery = connection.prepareStatement("/* SyncDataAccess.readChange */ " + SESSION_QUERY);
+            exercisesQuery = connection.prepareStatement("/* SyncDataAccess.readChange */ " + EXERCISES_QUERY);
+            progressQuery = connection.prepareStatement("/* SyncDataAccess.readChange */ " + PROGRESS_QUERY);
+        }
+
+        /**
+         * Reads the state of a date as it is on this device, under the last change logged for it
+         * @param date the date to read
+         * @return the state of the date, under a version older than any change if it was never logged
+         * @throws SQLException if the date could not be read
+         */
+        SessionChange readCurrent(LocalDate date) throws SQLException {
+            ResultSet resultSet;
+            long changedAt = 0;
+            String origin = "";
+
+            versionQuery.setDate(1, Date.valueOf(date.toString()));
+            resultSet = versionQuery.executeQuery();
+            if (resultSet.next()) {
+                changedAt = resultSet.getLong("ChangedAt");
+                origin = resultSet.getString("Origin");
+            }
+            resultSet.close();
+
+            return readChange(date, changedAt, origin);
+        }
+
+        /**
+         * Reads the state of a date, with its session, exercises and experience from whichever tier
+         * the session is in
+         * @param date the date to read
+         * @param changedAt when the date was last changed
+         * @param origin the ID of the device the date was last changed on
+         * @return the state of the date, as a change
+         * @throws SQLException if the date could not be read
+         */
+        SessionChange readChange(LocalDate date, long changedAt, String origin) throws SQLException {
+            Date sqlDate = Date.valueOf(date.toString());
+            List<Boolean> exercises = new ArrayList<>();
+            boolean[] exercisesComplete;
+            LocalDateTime loggedAt = null;
+            ResultSet resultSet;
+            String workoutName;
+            boolean complete;
+            int sessionID, experienceGained = 0;
+
+            sessionQuery.setDate(1, sqlDate);
+            sessionQuery.setDate(2, sqlDate);
+            resultSet = sessionQuery.executeQuery();
+            if (!resultSet.next()) {
+                resultSet.close();
+                return new SessionChange(date, changedAt, origin);
+            }
+            sessionID = resultSet.getInt("ID");
+            workoutName = resultSet.getString("WorkoutName");
+            complete = resultSet.getBoolean("Complete");
+            resultSet.close();
+
+            exercisesQuery.setInt(1, sessionID);
+            exercisesQuery.setInt(2, sessionID);
+            resultSet = exercisesQuery.executeQuery();
+            while (resultSet.next())
+                exercises.add(resultSet.getBoolean("Complete"));
+            resultSet.close();
+            exercisesComplete = new boolean[exercises.size()];
+            for (int i = 0; i < exercisesComplete.length; i++)
+                exercisesComplete[i] = exercises.get(i);
+
+            progressQuery.setInt(1, sessionID);
+            resultSet = progressQuery.executeQuery();
+            if (resultSet.next()) {
+                loggedAt = new LocalDateTime(resultSet.getTimestamp("LoggedDate").getTime());
+                experienceGained = resultSet.getInt("Gained");
+            }
+            resultSet.close();
+
+            return new SessionChange(date, changedAt, origin, workoutName, complete, exercisesComplete, loggedAt,
+                    experienceGained);
+        }
+
+        /**
+         * Closes the queries, reporting rather than throwing any error
+         */
+        void close() {
+            closeQuietly(versionQuery);
+            closeQuietly(sessionQuery);
+            closeQuietly(exercisesQuery);
+            closeQuietly(progressQuery);
+        }
+    }
+}
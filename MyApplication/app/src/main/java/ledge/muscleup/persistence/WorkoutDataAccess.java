@@ -1,12 +1,18 @@
 package ledge.muscleup.persistence;
 
+import org.joda.time.LocalDate;
+
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.ExerciseTypeRecovery;
 import ledge.muscleup.model.exercise.WorkoutExercise;
 import ledge.muscleup.model.exercise.enums.DistanceUnit;
 import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
@@ -14,6 +20,7 @@ import ledge.muscleup.model.exercise.enums.ExerciseType;
 import ledge.muscleup.model.exercise.enums.TimeUnit;
 import ledge.muscleup.model.exercise.enums.WeightUnit;
 import ledge.muscleup.model.workout.Workout;
+import ledge.muscleup.model.workout.WorkoutSummary;
 
 /**
  * The data access class for workout data
@@ -23,6 +30,21 @@ import ledge.muscleup.model.workout.Workout;
  * @since 2017-07-13
  */
 public class WorkoutDataAccess implements InterfaceWorkoutDataAccess {
+    //the WorkoutSummaries table is kept up to date by triggers on the workout contents
+    private static final String SUMMARY_QUERY =
+            "SELECT     W.Name, " +
+            "           WS.ExerciseCount, " +
+            "           WS.ExperienceValue, " +
+            "           WS.LowCount, " +
+            "           WS.MediumCount, " +
+            "           WS.HighCount, " +
+            "           ET.Type " +
+            "FROM       Workouts W " +
+            "INNER JOIN WorkoutSummaries WS " +
+            "           ON WS.WorkoutID = W.ID " +
+            "LEFT JOIN  ExerciseTypes ET " +
+            "           ON WS.DominantTypeID = ET.ID ";
+
     private Statement statement;
     private ResultSet resultSet;
 
@@ -30,14 +52,14 @@ public class WorkoutDataAccess implements InterfaceWorkoutDataAccess {
      * Opens the WorkoutDataAccess
      * @param statement the statement to use in WorkoutDataAccess queries
      */
-    public void open(Statement statement) {
+    public synchronized void open(Statement statement) {
         this.statement = statement;
     }
 
     /**
      * Close the WorkoutDataAccess
      */
-    public void close() {
+    public synchronized void close() {
         try {
             statement.close();
         }
@@ -52,7 +74,7 @@ public class WorkoutDataAccess implements InterfaceWorkoutDataAccess {
      * @return a list of all workouts in the database
      */
     @Override
-    public List<Workout> getWorkoutsList() {
+    public synchronized List<Workout> getWorkoutsList() {
         ArrayList<Workout> workoutList = new ArrayList<>();
         ArrayList<WorkoutExercise> workoutExerciseList = new ArrayList<>();
         Exercise exercise;
@@ -70,7 +92,7 @@ public class WorkoutDataAccess implements InterfaceWorkoutDataAccess {
         {
             //get the list of workouts from the db
             resultSet = statement.executeQuery(
-                    "SELECT		W.Name AS WorkoutName, " +
+                    "/* WorkoutDataAccess.getWorkoutsList */ SELECT		W.Name AS WorkoutName, " +
                     "			E.Name AS ExerciseName, " +
                     "			EI.Intensity, " +
                     "			ET.Type, " +
@@ -120,7 +142,7 @@ public class WorkoutDataAccess implements InterfaceWorkoutDataAccess {
                 exercise = new Exercise(exerciseName, intensity, type);
 
                 //build a workout exercise using the exercise
-                xpValue = DataAccess.XP_PER_INTENSITY * (ExerciseIntensity.valueOf(resultSet.getString("Intensity")).ordinal() + 1);
+                xpValue = DataAccess.getExperienceValue(intensity);
                 distance = resultSet.getDouble("Distance");
                 if (resultSet.wasNull())
                     distance = DataAccess.NULL_NUM;
@@ -171,14 +193,14 @@ public class WorkoutDataAccess implements InterfaceWorkoutDataAccess {
      * @return a list of names of all workouts in the database
      */
     @Override
-    public List<String> getWorkoutNamesList() {
+    public synchronized List<String> getWorkoutNamesList() {
         String workoutName;
         List<String> nameList = new ArrayList<>();
 
         try
         {
             resultSet = statement.executeQuery(
-                    "SELECT *" +
+                    "/* WorkoutDataAccess.getWorkoutNamesList */ SELECT *" +
                     "FROM   Workouts");
             while (resultSet.next())
             {
@@ -200,7 +222,7 @@ public class WorkoutDataAccess implements InterfaceWorkoutDataAccess {
      * @return The workout with name workoutName, or null if no workout exists with that name
      */
     @Override
-    public Workout getWorkout(String workoutName) {
+    public synchronized Workout getWorkout(String workoutName) {
         Workout workout = null;
         Workout maybeWorkout;
         List<Workout> workoutList = getWorkoutsList();
@@ -217,24 +239,210 @@ public class WorkoutDataAccess implements InterfaceWorkoutDataAccess {
         return workout;
     }
 
+    /**
+     * Gets the summaries of all workouts in the database, without loading their exercises
+     *
+     * @return a list of the summaries of all workouts in the database
+     */
+    @Override
+    public synchronized List<WorkoutSummary> getWorkoutSummaries() {
+        List<WorkoutSummary> summaryList = new ArrayList<>();
+
+        try
+        {
+            resultSet = statement.executeQuery("/* WorkoutDataAccess.getWorkoutSummaries */ " +
+                    SUMMARY_QUERY + "ORDER BY   W.ID");
+            while (resultSet.next())
+                summaryList.add(createWorkoutSummary(resultSet));
+            resultSet.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+        return summaryList;
+    }
+
+    /**
+     * Retrieves the summary of the workout with the name given as parameter, without loading its
+     * exercises
+     *
+     * @param workoutName the name of the workout to summarize
+     * @return the summary of the workout, or null if no workout exists with that name
+     */
+    @Override
+    public synchronized WorkoutSummary getWorkoutSummary(String workoutName) {
+        WorkoutSummary summary = null;
+
+        try
+        {
+            resultSet = statement.executeQuery("/* WorkoutDataAccess.getWorkoutSummary */ " + SUMMARY_QUERY +
+                    "WHERE      W.Name = '" + workoutName.replace("'", "''") + "'");
+            if (resultSet.next())
+                summary = createWorkoutSummary(resultSet);
+            resultSet.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+        return summary;
+    }
+
+    /**
+     * Gets the exercises each workout in the database contains, without their quantities
+     *
+     * @return a map from the name of each workout to the exercises it contains, in workout order
+     */
+    @Override
+    public synchronized Map<String, List<Exercise>> getWorkoutContents() {
+        Map<String, List<Exercise>> contents = new LinkedHashMap<>();
+        String workoutName, exerciseName;
+        List<Exercise> exerciseList;
+
+        try
+        {
+            resultSet = statement.executeQuery(
+                    "/* WorkoutDataAccess.getWorkoutContents */ SELECT     W.Name AS WorkoutName, " +
+                    "           E.Name AS ExerciseName, " +
+                    "           EI.Intensity, " +
+                    "           ET.Type " +
+                    "FROM       Workouts W " +
+                    "LEFT JOIN  WorkoutContents WC " +
+                    "           ON WC.WorkoutID = W.ID " +
+                    "LEFT JOIN  WorkoutExercises WE " +
+                    "           ON WC.ExerciseID = WE.ID " +
+                    "LEFT JOIN  Exercises E " +
+                    "           ON WE.ExerciseID = E.ID " +
+                    "LEFT JOIN  ExerciseIntensities EI " +
+                    "           ON E.IntensityID = EI.ID " +
+                    "LEFT JOIN  ExerciseTypes ET " +
+                    "           ON E.TypeID = ET.ID " +
+                    "ORDER BY   W.ID, WC.ID");
+
+            while (resultSet.next()) {
+                workoutName = resultSet.getString("WorkoutName");
+                exerciseList = contents.get(workoutName);
+                if (exerciseList == null) {
+                    exerciseList = new ArrayList<>();
+                    contents.put(workoutName, exerciseList);
+                }
+
+                //workouts without exercises have a single row with no exercise
+                exerciseName = resultSet.getString("ExerciseName");
+                if (exerciseName != null)
+                    exerciseList.add(new Exercise(exerciseName,
+                            ExerciseIntensity.valueOf(resultSet.getString("Intensity")),
+                            ExerciseType.valueOf(resultSet.getString("Type").replace(' ', '_'))));
+            }
+            resultSet.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+        return contents;
+    }
+
+    /**
+     * Gets a number that changes whenever what the workouts contain changes, so that anything
+     * built from getWorkoutContents() can tell when it is out of date
+     *
+     * @return the current version of the workout contents
+     */
+    @Override
+    public synchronized int getWorkoutContentsVersion() {
+        int version = 0;
+
+        try
+        {
+            resultSet = statement.executeQuery(
+                    "/* WorkoutDataAccess.getWorkoutContentsVersion */ SELECT Version " +
+                    "FROM   WorkoutContentsVersion");
+            if (resultSet.next())
+                version = resultSet.getInt("Version");
+            resultSet.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+        return version;
+    }
+
+    /**
+     * Gets how rested each exercise type is, from when it was last trained in a completed
+     * workout session and how hard. The TypeRecovery table is kept up to date by triggers on
+     * completing a session and on marking it incomplete again, so this doesn't read the workout
+     * history
+     *
+     * @return the recovery of each exercise type
+     */
+    @Override
+    public synchronized List<ExerciseTypeRecovery> getTypeRecoveries() {
+        List<ExerciseTypeRecovery> recoveries = new ArrayList<>();
+        LocalDate lastTrained;
+
+        try
+        {
+            resultSet = statement.executeQuery(
+                    "/* WorkoutDataAccess.getTypeRecoveries */ SELECT     ET.Type, " +
+                    "           TR.LastTrained, " +
+                    "           TR.TrainingLoad " +
+                    "FROM       TypeRecovery TR " +
+                    "INNER JOIN ExerciseTypes ET " +
+                    "           ON TR.TypeID = ET.ID");
+
+            while (resultSet.next()) {
+                lastTrained = null;
+                if (resultSet.getDate("LastTrained") != null)
+                    lastTrained = new LocalDate(resultSet.getDate("LastTrained"));
+
+                recoveries.add(new ExerciseTypeRecovery(
+                        ExerciseType.valueOf(resultSet.getString("Type").replace(' ', '_')),
+                        lastTrained, resultSet.getInt("TrainingLoad")));
+            }
+            resultSet.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+        return recoveries;
+    }
+
+    /**
+     * Builds a WorkoutSummary from the current row of a summary query
+     *
+     * @param resultSet the results of a summary query, positioned on a row
+     * @return the summary of the workout in the current row
+     * @throws SQLException if the row could not be read
+     */
+    private WorkoutSummary createWorkoutSummary(ResultSet resultSet) throws SQLException {
+        String typeString = resultSet.getString("Type");
+        ExerciseType dominantType = null;
+
+        if (typeString != null)
+            dominantType = ExerciseType.valueOf(typeString.replace(' ', '_'));
+
+        return new WorkoutSummary(resultSet.getString("Name"), resultSet.getInt("ExerciseCount"),
+                resultSet.getInt("ExperienceValue"), dominantType, resultSet.getInt("LowCount"),
+                resultSet.getInt("MediumCount"), resultSet.getInt("HighCount"));
+    }
+
     /**
      * Retrieves the name of a the workout that has been completed the least amount of times
      *
      * @return the workout that has been completed the least amount of times
      */
     @Override
-    public String getLeastCompletedWorkout() {
+    public synchronized String getLeastCompletedWorkout() {
         String workoutName = null;
 
         try
         {
             resultSet = statement.executeQuery(
-                    "SELECT TOP 1   W.Name " +
+                    "/* WorkoutDataAccess.getLeastCompletedWorkout */ SELECT TOP 1   W.Name " +
                     "FROM           ( " +
                     "                   SELECT      W.Name, " +
                     "                               COUNT(W.Name) AS WorkoutFreq " +
                     "                   FROM        Workouts W " +
-                    "                   RIGHT JOIN  WorkoutSessions WS " +
+                    "                   RIGHT JOIN  AllWorkoutSessions WS " +
                     "                               ON W.ID = WS.WorkoutID " +
                     "                   RIGHT JOIN  ProgressHistory PH " +
                     "                               ON WS.ID = PH.WorkoutSessionID " +
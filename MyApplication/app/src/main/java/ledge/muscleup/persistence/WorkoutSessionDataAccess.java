@@ -7,6 +7,8 @@ import org.joda.time.format.DateTimeFormatter;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import ledge.muscleup.model.exercise.Exercise;
@@ -18,9 +20,15 @@ import ledge.muscleup.model.exercise.enums.ExerciseType;
 import ledge.muscleup.model.exercise.enums.TimeUnit;
 import ledge.muscleup.model.exercise.enums.WeightUnit;
 import ledge.muscleup.model.workout.WorkoutSession;
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
 
 /**
- * The data access class for workout session data
+ * The data access class for workout session data. Completed sessions older than a given age can
+ * be moved to archive tables, which are kept on disk rather than in memory, so the sessions that
+ * are read and changed day to day stay few however long the history grows. Reads of a date range
+ * that reaches back into the archive merge both tiers. Archived sessions can also be rolled up,
+ * keeping only their summary and experience value, which are then read as summarized sessions.
+ * Every change to a session is logged by the database, so it can be synced with other devices
  *
  * @author Cole Kehler
  * @version 3.0
@@ -28,23 +36,36 @@ import ledge.muscleup.model.workout.WorkoutSession;
  */
 public class WorkoutSessionDataAccess implements InterfaceWorkoutSessionDataAccess {
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormat.forPattern("yyyy-MM-dd");
+    private static final String HOT_TIER = "";
+    private static final String ARCHIVE_TIER = "Archived";
+    private static final Comparator<WorkoutSession> SESSION_DATE_ORDER = new Comparator<WorkoutSession>() {
+        @Override
+        public int compare(WorkoutSession first, WorkoutSession second) {
+            return first.getDate().compareTo(second.getDate());
+        }
+    };
 
     private Statement statement;
     private ResultSet resultSet, resultSet2;
+    private ExerciseCompletionWriter completionWriter;
+    private LocalDate lastArchivedDate;
 
     /**
-     * Opens the WorkoutSessionDataAccess
+     * Opens the WorkoutSessionDataAccess, finding the date of the last archived session
      * @param statement the statement to use in WorkoutSessionDataAccess queries
      */
-    public void open(Statement statement) {
+    public synchronized void open(Statement statement) {
         this.statement = statement;
+        completionWriter = new ExerciseCompletionWriter(statement);
+        lastArchivedDate = readLastArchivedDate();
     }
 
     /**
-     * Close the WorkoutSessionDataAccess
+     * Close the WorkoutSessionDataAccess, writing any exercises completed since the last write
      */
-    public void close() {
+    public synchronized void close() {
         try {
+            completionWriter.close();
             statement.close();
         }
         catch (Exception e) {
@@ -60,138 +81,128 @@ public class WorkoutSessionDataAccess implements InterfaceWorkoutSessionDataAcce
      * @return the workout session scheduled on the given date
      */
     @Override
-    public WorkoutSession getWorkoutSession(LocalDate dateOfSession) {
-        ArrayList<WorkoutSessionExercise> workoutSessionExerciseList = new ArrayList<>();
-        Exercise exercise;
-        WorkoutExercise workoutExercise;
-        WorkoutSession workoutSession = null;
+    public synchronized WorkoutSession getWorkoutSession(LocalDate dateOfSession) {
+        ArrayList<WorkoutSession> workoutSessionList = new ArrayList<>();
+        String dateCondition = "WS.ScheduledDate = DATE'" + DATE_TIME_FORMATTER.print(dateOfSession) + "'";
 
-        String workoutName = null, exerciseName, distanceUnitString, timeUnitString, weightUnitString;
-        int xpValue, duration, sets, reps;
-        double distance, weight;
-        DistanceUnit distanceUnit = null;
-        TimeUnit timeUnit = null;
-        WeightUnit weightUnit = null;
-        LocalDate scheduledDate = null;
-        ExerciseIntensity intensity;
-        ExerciseType type;
-        boolean workoutComplete = false, exerciseComplete;
+        completionWriter.flush();
 
         try {
-            //get the workout session matching the given date from the db
-            resultSet = statement.executeQuery(
-                    "SELECT		W.Name AS WorkoutName, " +
-                    "			WS.ScheduledDate, " +
-                    "			WS.Complete AS WorkoutComplete, " +
-                    "			E.Name AS ExerciseName, " +
-                    "			EI.Intensity, " +
-                    "			ET.Type, " +
-                    "			WE.Distance, " +
-                    "			DiU.DistanceUnit, " +
-                    "			WE.Duration, " +
-                    "			DuU.DurationUnit, " +
-                    "			WE.Sets, " +
-                    "			WE.Reps, " +
-                    "			WE.Weight, " +
-                    "			WU.WeightUnit,  " +
-                    "			WSE.Complete AS ExerciseCompleted " +
-                    "FROM		WorkoutSessions WS " +
-                    "LEFT JOIN	Workouts W " +
-                    "			ON WS.WorkoutID = W.ID " +
-                    "LEFT JOIN	WorkoutSessionContents WSC " +
-                    "			ON WSC.WorkoutSessionID = WS.ID " +
-                    "LEFT JOIN	WorkoutSessionExercises WSE " +
-                    "			ON WSC.ExerciseID = WSE.ID " +
-                    "LEFT JOIN	WorkoutExercises WE " +
-                    "			ON WSE.WorkoutExerciseID = WE.ID " +
-                    "LEFT JOIN	DistanceUnits DiU " +
-                    "			ON WE.DistanceUnitID = DiU.ID " +
-                    "LEFT JOIN	DurationUnits DuU " +
-                    "			ON WE.DurationUnitID = DuU.ID " +
-                    "LEFT JOIN	WeightUnits WU " +
-                    "			ON WE.WeightUnitID = WU.ID " +
-                    "LEFT JOIN	Exercises E " +
-                    "			ON WE.ExerciseID = E.ID " +
-                    "LEFT JOIN  ExerciseIntensities EI " +
-                    "           ON E.IntensityID = EI.ID  " +
-                    "LEFT JOIN  ExerciseTypes ET " +
-                    "           ON E.TypeID = ET.ID " +
-                    "WHERE		WS.ScheduledDate = DATE'" + DATE_TIME_FORMATTER.print(dateOfSession) + "'");
-
-            while (resultSet.next()) {
-                //if the name of the workout hasn't been set yet, get the workout information
-                if (workoutName == null) {
-                    workoutName = resultSet.getString("WorkoutName");
-                    scheduledDate = new LocalDate(resultSet.getDate("ScheduledDate"));
-                    workoutComplete = resultSet.getBoolean("WorkoutComplete");
-                }
-
-                //build an exercise from the query results
-                exerciseName = resultSet.getString("ExerciseName");
-                intensity = ExerciseIntensity.valueOf(resultSet.getString("Intensity"));
-                type = ExerciseType.valueOf(resultSet.getString("Type"));
-                exercise = new Exercise(exerciseName, intensity, type);
-
-                //build a workout exercise using the exercise
-                xpValue = DataAccess.XP_PER_INTENSITY * (ExerciseIntensity.valueOf(resultSet.getString("Intensity")).ordinal() + 1);
-                distance = resultSet.getDouble("Distance");
-                if (resultSet.wasNull())
-                    distance = DataAccess.NULL_NUM;
-                distanceUnitString = resultSet.getString("DistanceUnit");
-                if (!resultSet.wasNull())
-                    distanceUnit = DistanceUnit.valueOf(distanceUnitString);
-
-                duration = resultSet.getInt("Duration");
-                if (resultSet.wasNull())
-                    duration = DataAccess.NULL_NUM;
-                timeUnitString = resultSet.getString("DurationUnit");
-                if (!resultSet.wasNull())
-                    timeUnit = TimeUnit.valueOf(timeUnitString);
-
-                sets = resultSet.getInt("Sets");
-                if (resultSet.wasNull())
-                    sets = DataAccess.NULL_NUM;
-                reps = resultSet.getInt("Reps");
-                if (resultSet.wasNull())
-                    reps = DataAccess.NULL_NUM;
-
-                weight = resultSet.getDouble("Weight");
-                if (resultSet.wasNull())
-                    weight = DataAccess.NULL_NUM;
-                weightUnitString = resultSet.getString("WeightUnit");
-                if (!resultSet.wasNull())
-                    weightUnit = WeightUnit.valueOf(weightUnitString);
-                workoutExercise = DataAccess.createWorkoutExercise(exercise, xpValue, distance, distanceUnit, duration,
-                        timeUnit, sets, reps, weight, weightUnit);
-
-                //build a workout session exercise using the workout exercise
-                exerciseComplete = resultSet.getBoolean("ExerciseCompleted");
-                workoutSessionExerciseList.add(new WorkoutSessionExercise(workoutExercise, exerciseComplete));
-            }
-
-            //create the workout session based on the workout session exercises
-            if (workoutName != null)
-                workoutSession = new WorkoutSession(workoutName, scheduledDate, workoutComplete, workoutSessionExerciseList);
-
-            resultSet.close();
+            //get the workout session matching the given date from the db, trying the archive first
+            //only if the date could have been archived
+            if (reachesArchive(dateOfSession))
+                readSessions(statement.executeQuery("/* WorkoutSessionDataAccess.getWorkoutSession */ " +
+                        sessionQuery(ARCHIVE_TIER, dateCondition)), workoutSessionList);
+            if (workoutSessionList.isEmpty())
+                readSessions(statement.executeQuery("/* WorkoutSessionDataAccess.getWorkoutSession */ " +
+                        sessionQuery(HOT_TIER, dateCondition)), workoutSessionList);
         }
         catch (Exception e) {
             DataAccess.sqlError(e);
         }
 
-        return workoutSession;
+        return workoutSessionList.isEmpty() ? null : workoutSessionList.get(0);
     }
 
     /**
-     * A method that returns a list of workout sessions scheduled in a date range
+     * A method that returns a list of workout sessions scheduled in a date range. The archive is
+     * only read if the range starts on or before the last archived session
      *
      * @param startDate the first date of the date range
      * @param endDate   the last date of the date range
-     * @return a list of all workout sessions scheduled between startDate and endDate, inclusive
+     * @return a list of all workout sessions scheduled between startDate and endDate, inclusive,
+     * ordered by date
      */
     @Override
-    public List<WorkoutSession> getSessionsInDateRange(LocalDate startDate, LocalDate endDate) {
+    public synchronized List<WorkoutSession> getSessionsInDateRange(LocalDate startDate, LocalDate endDate) {
         ArrayList<WorkoutSession> workoutSessionList = new ArrayList<>();
+        String dateCondition = "WS.ScheduledDate BETWEEN DATE'" + DATE_TIME_FORMATTER.print(startDate) + "' " +
+                "AND DATE'" + DATE_TIME_FORMATTER.print(endDate) + "'";
+
+        completionWriter.flush();
+
+        try {
+            //get the workout sessions from the db
+            if (reachesArchive(startDate))
+                readSessions(statement.executeQuery("/* WorkoutSessionDataAccess.getSessionsInDateRange */ " +
+                        sessionQuery(ARCHIVE_TIER, dateCondition)), workoutSessionList);
+            readSessions(statement.executeQuery("/* WorkoutSessionDataAccess.getSessionsInDateRange */ " +
+                    sessionQuery(HOT_TIER, dateCondition)), workoutSessionList);
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+
+        if (reachesArchive(startDate))
+            Collections.sort(workoutSessionList, SESSION_DATE_ORDER);
+
+        return workoutSessionList;
+    }
+
+    /**
+     * Builds the query reading the workout sessions matching a condition from one tier of the
+     * database, with a row for each of their exercises, in order of date
+     *
+     * @param tier the prefix of the session tables of the tier to read
+     * @param dateCondition the condition on WS.ScheduledDate the sessions must match
+     * @return the query
+     */
+    private static String sessionQuery(String tier, String dateCondition) {
+        //only archived sessions can be rolled up, so the hot tier never has a summarized value
+        String summarizedXP = ARCHIVE_TIER.equals(tier) ? "WS.ExperienceValue" : "CAST(NULL AS INTEGER)";
+
+        return  "SELECT		W.Name AS WorkoutName, " +
+                "			WS.ScheduledDate, " +
+                "			WS.Complete AS WorkoutComplete, " +
+                "			" + summarizedXP + " AS SummarizedXP, " +
+                "			E.Name AS ExerciseName, " +
+                "			EI.Intensity, " +
+                "			ET.Type, " +
+                "			WE.Distance, " +
+                "			DiU.DistanceUnit, " +
+                "			WE.Duration, " +
+                "			DuU.DurationUnit, " +
+                "			WE.Sets, " +
+                "			WE.Reps, " +
+                "			WE.Weight, " +
+                "			WU.WeightUnit,  " +
+                "			WSE.Complete AS ExerciseCompleted " +
+                "FROM		" + tier + "WorkoutSessions WS " +
+                "LEFT JOIN	Workouts W " +
+                "			ON WS.WorkoutID = W.ID " +
+                "LEFT JOIN	" + tier + "WorkoutSessionContents WSC " +
+                "			ON WSC.WorkoutSessionID = WS.ID " +
+                "LEFT JOIN	" + tier + "WorkoutSessionExercises WSE " +
+                "			ON WSC.ExerciseID = WSE.ID " +
+                "LEFT JOIN	WorkoutExercises WE " +
+                "			ON WSE.WorkoutExerciseID = WE.ID " +
+                "LEFT JOIN	DistanceUnits DiU " +
+                "			ON WE.DistanceUnitID = DiU.ID " +
+                "LEFT JOIN	DurationUnits DuU " +
+                "			ON WE.DurationUnitID = DuU.ID " +
+                "LEFT JOIN	WeightUnits WU " +
+                "			ON WE.WeightUnitID = WU.ID " +
+                "LEFT JOIN	Exercises E " +
+                "			ON WE.ExerciseID = E.ID " +
+                "LEFT JOIN  ExerciseIntensities EI " +
+                "           ON E.IntensityID = EI.ID  " +
+                "LEFT JOIN  ExerciseTypes ET " +
+                "           ON E.TypeID = ET.ID " +
+                "WHERE		" + dateCondition + " " +
+                "ORDER BY   WS.ScheduledDate, WSC.ID";
+    }
+
+    /**
+     * Reads workout sessions, with their exercises, from the result of a session query, adding
+     * them to a list in the order they were read. A rolled up session has a single row with no
+     * exercise, and is read as a summarized session
+     *
+     * @param resultSet the result of a query built by sessionQuery
+     * @param workoutSessionList the list to add the sessions to
+     * @throws Exception if the sessions could not be read
+     */
+    private static void readSessions(ResultSet resultSet, List<WorkoutSession> workoutSessionList)
+            throws Exception {
         ArrayList<WorkoutSessionExercise> workoutSessionExerciseList = new ArrayList<>();
         Exercise exercise;
         WorkoutExercise workoutExercise;
@@ -207,115 +218,141 @@ public class WorkoutSessionDataAccess implements InterfaceWorkoutSessionDataAcce
         ExerciseIntensity intensity;
         ExerciseType type;
         boolean workoutComplete = false, exerciseComplete;
+        Integer summarizedXP = null;
+
+        while (resultSet.next()) {
+            //if the name of the workout hasn't been set yet, get the workout information
+            if (workoutName == null) {
+                workoutName = resultSet.getString("WorkoutName");
+                scheduledDate = new LocalDate(resultSet.getDate("ScheduledDate"));
+                workoutComplete = resultSet.getBoolean("WorkoutComplete");
+                summarizedXP = (Integer) resultSet.getObject("SummarizedXP");
+            }
+            //if the name of the workout has changed, add the old workout and create a new one
+            else if (!scheduledDate.equals(new LocalDate(resultSet.getDate("ScheduledDate")))) {
+                workoutSession = summarizedXP != null
+                        ? new WorkoutSession(workoutName, scheduledDate, workoutComplete, summarizedXP)
+                        : new WorkoutSession(workoutName, scheduledDate, workoutComplete, workoutSessionExerciseList);
+                workoutSessionList.add(workoutSession);
+                workoutSessionExerciseList = new ArrayList<>();
+
+                workoutName = resultSet.getString("WorkoutName");
+                scheduledDate = new LocalDate(resultSet.getDate("ScheduledDate"));
+                workoutComplete = resultSet.getBoolean("WorkoutComplete");
+                summarizedXP = (Integer) resultSet.getObject("SummarizedXP");
+            }
+
+            //a rolled up session has no exercises to build
+            if (summarizedXP != null)
+                continue;
+
+            //build an exercise from the query results
+            exerciseName = resultSet.getString("ExerciseName");
+            intensity = ExerciseIntensity.valueOf(resultSet.getString("Intensity"));
+            type = ExerciseType.valueOf(resultSet.getString("Type"));
+            exercise = new Exercise(exerciseName, intensity, type);
+
+            //build a workout exercise using the exercise
+            xpValue = DataAccess.getExperienceValue(intensity);
+            distance = resultSet.getDouble("Distance");
+            if (resultSet.wasNull())
+                distance = DataAccess.NULL_NUM;
+            distanceUnitString = resultSet.getString("DistanceUnit");
+            if (!resultSet.wasNull())
+                distanceUnit = DistanceUnit.valueOf(distanceUnitString);
+
+            duration = resultSet.getInt("Duration");
+            if (resultSet.wasNull())
+                duration = DataAccess.NULL_NUM;
+            timeUnitString = resultSet.getString("DurationUnit");
+            if (!resultSet.wasNull())
+                timeUnit = TimeUnit.valueOf(timeUnitString);
+
+            sets = resultSet.getInt("Sets");
+            if (resultSet.wasNull())
+                sets = DataAccess.NULL_NUM;
+            reps = resultSet.getInt("Reps");
+            if (resultSet.wasNull())
+                reps = DataAccess.NULL_NUM;
+
+            weight = resultSet.getDouble("Weight");
+            if (resultSet.wasNull())
+                weight = DataAccess.NULL_NUM;
+            weightUnitString = resultSet.getString("WeightUnit");
+            if (!resultSet.wasNull())
+                weightUnit = WeightUnit.valueOf(weightUnitString);
+            workoutExercise = DataAccess.createWorkoutExercise(exercise, xpValue, distance, distanceUnit, duration,
+                    timeUnit, sets, reps, weight, weightUnit);
+
+            //build a workout session exercise using the workout exercise
+            exerciseComplete = resultSet.getBoolean("ExerciseCompleted");
+            workoutSessionExerciseList.add(new WorkoutSessionExercise(workoutExercise, exerciseComplete));
+        }
+
+        //create and add the final workout
+        if (workoutName != null) {
+            workoutSession = summarizedXP != null
+                    ? new WorkoutSession(workoutName, scheduledDate, workoutComplete, summarizedXP)
+                    : new WorkoutSession(workoutName, scheduledDate, workoutComplete, workoutSessionExerciseList);
+            workoutSessionList.add(workoutSession);
+        }
+
+        resultSet.close();
+    }
+
+    /**
+     * Retrieves the summary of the workout session scheduled on the given date, without loading
+     * its exercises. If no workout session is found for that date, returns null.
+     *
+     * @param dateOfSession the date to get the workout session summary for
+     * @return the summary of the workout session scheduled on the given date
+     */
+    @Override
+    public synchronized WorkoutSessionSummary getWorkoutSessionSummary(LocalDate dateOfSession) {
+        List<WorkoutSessionSummary> summaryList = getSessionSummariesInDateRange(dateOfSession, dateOfSession);
+
+        return summaryList.isEmpty() ? null : summaryList.get(0);
+    }
+
+    /**
+     * A method that returns the summaries of the workout sessions scheduled in a date range,
+     * without loading their exercises. The archive is only read if the range starts on or before
+     * the last archived session
+     *
+     * @param startDate the first date of the date range
+     * @param endDate   the last date of the date range
+     * @return a list of summaries of the workout sessions scheduled between startDate and
+     * endDate, inclusive, ordered by date
+     */
+    @Override
+    public synchronized List<WorkoutSessionSummary> getSessionSummariesInDateRange(LocalDate startDate, LocalDate endDate) {
+        ArrayList<WorkoutSessionSummary> summaryList = new ArrayList<>();
+        String dateCondition = "ScheduledDate BETWEEN DATE'" + DATE_TIME_FORMATTER.print(startDate) + "' " +
+                "AND DATE'" + DATE_TIME_FORMATTER.print(endDate) + "'";
+        String sessions = "WorkoutSessions";
+
+        //both tiers are merged in the query, since only the small session headers are read
+        if (reachesArchive(startDate))
+            sessions = "(SELECT ScheduledDate, WorkoutID, Complete FROM WorkoutSessions WHERE " + dateCondition + " " +
+                    "UNION ALL " +
+                    "SELECT ScheduledDate, WorkoutID, Complete FROM ArchivedWorkoutSessions WHERE " + dateCondition + ")";
 
         try {
-            //get the workout sessions from the db
+            //only the session headers are needed, so the exercise tables are left out of the join
             resultSet = statement.executeQuery(
-                    "SELECT		W.Name AS WorkoutName, " +
+                    "/* WorkoutSessionDataAccess.getSessionSummariesInDateRange */ SELECT		W.Name AS WorkoutName, " +
                     "			WS.ScheduledDate, " +
-                    "			WS.Complete AS WorkoutComplete, " +
-                    "			E.Name AS ExerciseName, " +
-                    "			EI.Intensity, " +
-                    "			ET.Type, " +
-                    "			WE.Distance, " +
-                    "			DiU.DistanceUnit, " +
-                    "			WE.Duration, " +
-                    "			DuU.DurationUnit, " +
-                    "			WE.Sets, " +
-                    "			WE.Reps, " +
-                    "			WE.Weight, " +
-                    "			WU.WeightUnit,  " +
-                    "			WSE.Complete AS ExerciseCompleted " +
-                    "FROM		WorkoutSessions WS " +
-                    "LEFT JOIN	Workouts W " +
+                    "			WS.Complete AS WorkoutComplete " +
+                    "FROM		" + sessions + " WS " +
+                    "INNER JOIN	Workouts W " +
                     "			ON WS.WorkoutID = W.ID " +
-                    "LEFT JOIN	WorkoutSessionContents WSC " +
-                    "			ON WSC.WorkoutSessionID = WS.ID " +
-                    "LEFT JOIN	WorkoutSessionExercises WSE " +
-                    "			ON WSC.ExerciseID = WSE.ID " +
-                    "LEFT JOIN	WorkoutExercises WE " +
-                    "			ON WSE.WorkoutExerciseID = WE.ID " +
-                    "LEFT JOIN	DistanceUnits DiU " +
-                    "			ON WE.DistanceUnitID = DiU.ID " +
-                    "LEFT JOIN	DurationUnits DuU " +
-                    "			ON WE.DurationUnitID = DuU.ID " +
-                    "LEFT JOIN	WeightUnits WU " +
-                    "			ON WE.WeightUnitID = WU.ID " +
-                    "LEFT JOIN	Exercises E " +
-                    "			ON WE.ExerciseID = E.ID " +
-                    "LEFT JOIN  ExerciseIntensities EI " +
-                    "           ON E.IntensityID = EI.ID  " +
-                    "LEFT JOIN  ExerciseTypes ET " +
-                    "           ON E.TypeID = ET.ID " +
-                    "WHERE		DATEDIFF('day', WS.ScheduledDate, DATE'" + DATE_TIME_FORMATTER.print(startDate) + "') <= 0" +
-                    "           AND DATEDIFF('day', WS.ScheduledDate, DATE'" + DATE_TIME_FORMATTER.print(endDate) + "') >= 0");
-
-            while (resultSet.next()) {
-                //if the name of the workout hasn't been set yet, get the workout information
-                if (workoutName == null) {
-                    workoutName = resultSet.getString("WorkoutName");
-                    scheduledDate = new LocalDate(resultSet.getDate("ScheduledDate"));
-                    workoutComplete = resultSet.getBoolean("WorkoutComplete");
-                }
-                //if the name of the workout has changed, add the old workout and create a new one
-                else if (!scheduledDate.equals(new LocalDate(resultSet.getDate("ScheduledDate")))) {
-                    workoutSession = new WorkoutSession(workoutName, scheduledDate, workoutComplete, workoutSessionExerciseList);
-                    workoutSessionList.add(workoutSession);
-                    workoutSessionExerciseList = new ArrayList<>();
-
-                    workoutName = resultSet.getString("WorkoutName");
-                    scheduledDate = new LocalDate(resultSet.getDate("ScheduledDate"));
-                    workoutComplete = resultSet.getBoolean("WorkoutComplete");
-                }
+                    "WHERE		WS." + dateCondition + " " +
+                    "ORDER BY   WS.ScheduledDate");
 
-                //build an exercise from the query results
-                exerciseName = resultSet.getString("ExerciseName");
-                intensity = ExerciseIntensity.valueOf(resultSet.getString("Intensity"));
-                type = ExerciseType.valueOf(resultSet.getString("Type"));
-                exercise = new Exercise(exerciseName, intensity, type);
-
-                //build a workout exercise using the exercise
-                xpValue = DataAccess.XP_PER_INTENSITY * (ExerciseIntensity.valueOf(resultSet.getString("Intensity")).ordinal() + 1);
-                distance = resultSet.getDouble("Distance");
-                if (resultSet.wasNull())
-                    distance = DataAccess.NULL_NUM;
-                distanceUnitString = resultSet.getString("DistanceUnit");
-                if (!resultSet.wasNull())
-                    distanceUnit = DistanceUnit.valueOf(distanceUnitString);
-
-                duration = resultSet.getInt("Duration");
-                if (resultSet.wasNull())
-                    duration = DataAccess.NULL_NUM;
-                timeUnitString = resultSet.getString("DurationUnit");
-                if (!resultSet.wasNull())
-                    timeUnit = TimeUnit.valueOf(timeUnitString);
-
-                sets = resultSet.getInt("Sets");
-                if (resultSet.wasNull())
-                    sets = DataAccess.NULL_NUM;
-                reps = resultSet.getInt("Reps");
-                if (resultSet.wasNull())
-                    reps = DataAccess.NULL_NUM;
-
-                weight = resultSet.getDouble("Weight");
-                if (resultSet.wasNull())
-                    weight = DataAccess.NULL_NUM;
-                weightUnitString = resultSet.getString("WeightUnit");
-                if (!resultSet.wasNull())
-                    weightUnit = WeightUnit.valueOf(weightUnitString);
-                workoutExercise = DataAccess.createWorkoutExercise(exercise, xpValue, distance, distanceUnit, duration,
-                        timeUnit, sets, reps, weight, weightUnit);
-
-                //build a workout session exercise using the workout exercise
-                exerciseComplete = resultSet.getBoolean("ExerciseCompleted");
-                workoutSessionExerciseList.add(new WorkoutSessionExercise(workoutExercise, exerciseComplete));
-            }
-
-            //create and add the final workout
-            if (workoutName != null) {
-                workoutSession = new WorkoutSession(workoutName, scheduledDate, workoutComplete, workoutSessionExerciseList);
-                workoutSessionList.add(workoutSession);
-            }
+            while (resultSet.next())
+                summaryList.add(new WorkoutSessionSummary(resultSet.getString("WorkoutName"),
+                        new LocalDate(resultSet.getDate("ScheduledDate")),
+                        resultSet.getBoolean("WorkoutComplete")));
 
             resultSet.close();
         }
@@ -323,7 +360,7 @@ public class WorkoutSessionDataAccess implements InterfaceWorkoutSessionDataAcce
             DataAccess.sqlError(e);
         }
 
-        return workoutSessionList;
+        return summaryList;
     }
 
     /**
@@ -332,33 +369,38 @@ public class WorkoutSessionDataAccess implements InterfaceWorkoutSessionDataAcce
      * @param workoutSession the new workout session to insert into the database
      */
     @Override
-    public void insertWorkoutSession(WorkoutSession workoutSession) {
+    public synchronized void insertWorkoutSession(WorkoutSession workoutSession) {
         int workoutID, workoutSessionID, workoutExerciseID, workoutSessionExerciseID;
+        boolean dateArchived;
 
         try {
+            //the date may be taken by an archived session, which the hot table can't check
+            dateArchived = isArchived(workoutSession.getDate());
+
             //get the ID of the workout to add
             resultSet = statement.executeQuery(
-                    "SELECT	W.ID " +
+                    "/* WorkoutSessionDataAccess.insertWorkoutSession */ SELECT	W.ID " +
                     "FROM	Workouts W " +
                     "WHERE	W.Name = '" + workoutSession.getName() + "'");
-            if (resultSet.next()) {
+            if (!dateArchived && resultSet.next()) {
                 workoutID = resultSet.getInt("ID");
 
                 //create the workout session
                 statement.executeQuery(
+                        "/* WorkoutSessionDataAccess.insertWorkoutSession */ " +
                         "INSERT INTO    WorkoutSessions (ScheduledDate, WorkoutID, Complete) " +
                         "VALUES         (DATE'" + DATE_TIME_FORMATTER.print(workoutSession.getDate()) + "', " + workoutID + ", FALSE)");
 
                 //get the ID of the newly created workout session
                 resultSet = statement.executeQuery(
-                        "SELECT	MAX(WS.ID) AS NewestID " +
+                        "/* WorkoutSessionDataAccess.insertWorkoutSession */ SELECT	MAX(WS.ID) AS NewestID " +
                         "FROM	WorkoutSessions WS");
                 if (resultSet.next()) {
                     workoutSessionID = resultSet.getInt("NewestID");
 
                     //get the ID of the exercises to add
                     resultSet = statement.executeQuery(
-                            "SELECT		WE.ID " +
+                            "/* WorkoutSessionDataAccess.insertWorkoutSession */ SELECT		WE.ID " +
                             "FROM		WorkoutExercises WE " +
                             "LEFT JOIN	Exercises E " +
                             "			ON WE.ExerciseID = E.ID " +
@@ -371,18 +413,20 @@ public class WorkoutSessionDataAccess implements InterfaceWorkoutSessionDataAcce
 
                         //create the workout session exercises
                         statement.executeQuery(
+                                "/* WorkoutSessionDataAccess.insertWorkoutSession */ " +
                                 "INSERT INTO    WorkoutSessionExercises (WorkoutExerciseID, Complete) " +
                                 "VALUES         (" + workoutExerciseID + ", FALSE) ");
 
                         //get the ID of the newly created workout session exercise
                         resultSet2 = statement.executeQuery(
-                                "SELECT	MAX(WSE.ID) AS NewestID " +
+                                "/* WorkoutSessionDataAccess.insertWorkoutSession */ SELECT	MAX(WSE.ID) AS NewestID " +
                                 "FROM	WorkoutSessionExercises WSE ");
                         if (resultSet2.next()) {
                             workoutSessionExerciseID = resultSet2.getInt("NewestID");
 
                             //create the contents of the workout session
                             statement.executeQuery(
+                                    "/* WorkoutSessionDataAccess.insertWorkoutSession */ " +
                                     "INSERT INTO    WorkoutSessionContents (WorkoutSessionID, ExerciseID) " +
                                     "VALUES         (" + workoutSessionID + ", " + workoutSessionExerciseID + ") ");
                         }
@@ -403,50 +447,201 @@ public class WorkoutSessionDataAccess implements InterfaceWorkoutSessionDataAcce
      * @param workoutSession the workout session to remove from the database
      */
     @Override
-    public void removeWorkoutSession(WorkoutSession workoutSession) {
-        int workoutSessionID;
-        String command;
+    public synchronized void removeWorkoutSession(WorkoutSession workoutSession) {
+        completionWriter.flush();
 
         try {
-            //get the ID of the workout session to remove
-            resultSet = statement.executeQuery(
-                    "SELECT	WS.ID " +
-                    "FROM	WorkoutSessions WS " +
-                    "WHERE	WS.ScheduledDate = DATE'" + DATE_TIME_FORMATTER.print(workoutSession.getDate()) + "'");
-            if (resultSet.next()) {
-                workoutSessionID = resultSet.getInt("ID");
+            //the session's contents cascade from its exercises, so this is one atomic call
+            statement.execute(
+                    "/* WorkoutSessionDataAccess.removeWorkoutSession */ " +
+                    "CALL DeleteWorkoutSession(DATE'" + DATE_TIME_FORMATTER.print(workoutSession.getDate()) + "')");
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+    }
 
-                //get the IDs of the workout session exercises that are in the session
-                resultSet = statement.executeQuery(
-                        "SELECT	WSC.ExerciseID " +
-                        "FROM	WorkoutSessionContents WSC " +
-                        "WHERE	WSC.WorkoutSessionID = " + workoutSessionID);
+    /**
+     * Moves a workout session to a new date in the database, keeping its exercises and completed
+     * state. Nothing is moved if there is no session on fromDate or toDate is already taken
+     *
+     * @param fromDate the date the workout session is currently scheduled on
+     * @param toDate the date to move the workout session to
+     * @return a boolean representing whether a workout session was moved
+     */
+    @Override
+    public synchronized boolean moveWorkoutSession(LocalDate fromDate, LocalDate toDate) {
+        int rowsMoved = 0;
 
-                //delete the contents of the workout session
-                statement.executeQuery(
-                        "DELETE FROM	WorkoutSessionContents WSC " +
-                        "WHERE		    WSC.WorkoutSessionID = " + workoutSessionID);
+        completionWriter.flush();
 
-                //delete all workout session exercises in the workout session
-                command = "DELETE FROM  WorkoutSessionExercises WSE " +
-                          "WHERE        WSE.ID IN (";
-                if (resultSet.next())
-                    command += resultSet.getInt("ExerciseID");
-                while (resultSet.next())
-                    command += ", " + resultSet.getInt("ExerciseID");
-                command += ")";
-                statement.executeQuery(command);
+        try {
+            //the exercises hang off the session ID, so only the session's date needs to change
+            rowsMoved = statement.executeUpdate(
+                    "/* WorkoutSessionDataAccess.moveWorkoutSession */ UPDATE     WorkoutSessions WS " +
+                    "SET        WS.ScheduledDate = DATE'" + DATE_TIME_FORMATTER.print(toDate) + "' " +
+                    "WHERE      WS.ScheduledDate = DATE'" + DATE_TIME_FORMATTER.print(fromDate) + "' " +
+                    "           AND NOT EXISTS ( " +
+                    "               SELECT  WS2.ID " +
+                    "               FROM    WorkoutSessions WS2 " +
+                    "               WHERE   WS2.ScheduledDate = DATE'" + DATE_TIME_FORMATTER.print(toDate) + "') " +
+                    "           AND NOT EXISTS ( " +
+                    "               SELECT  AWS.ID " +
+                    "               FROM    ArchivedWorkoutSessions AWS " +
+                    "               WHERE   AWS.ScheduledDate = DATE'" + DATE_TIME_FORMATTER.print(toDate) + "')");
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
 
-                //delete the workout session
-                statement.executeQuery(
-                        "DELETE FROM	WorkoutSessions WS " +
-                        "WHERE		    WS.ScheduledDate = DATE'" + DATE_TIME_FORMATTER.print(workoutSession.getDate()) + "'");
+        return rowsMoved > 0;
+    }
+
+    /**
+     * Moves the completed workout sessions scheduled before a date, with their exercises, from
+     * the tables held in memory to the archive tables on disk, as one atomic call. Sessions keep
+     * their IDs, so nothing that refers to them changes, and they are still read as before
+     *
+     * @param cutoffDate the date before which completed sessions are archived
+     * @return the number of workout sessions archived
+     */
+    @Override
+    public synchronized int archiveSessions(LocalDate cutoffDate) {
+        int numArchived = 0;
+
+        completionWriter.flush();
+
+        try {
+            resultSet = statement.executeQuery(
+                    "/* WorkoutSessionDataAccess.archiveSessions */ SELECT     COUNT(*) AS NumSessions " +
+                    "FROM       WorkoutSessions WS " +
+                    "WHERE      WS.Complete " +
+                    "           AND WS.ScheduledDate < DATE'" + DATE_TIME_FORMATTER.print(cutoffDate) + "'");
+            if (resultSet.next())
+                numArchived = resultSet.getInt("NumSessions");
+            resultSet.close();
+
+            if (numArchived > 0) {
+                statement.execute(
+                        "/* WorkoutSessionDataAccess.archiveSessions */ " +
+                        "CALL ArchiveWorkoutSessions(DATE'" + DATE_TIME_FORMATTER.print(cutoffDate) + "')");
+                lastArchivedDate = readLastArchivedDate();
             }
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+            numArchived = 0;
+        }
+
+        return numArchived;
+    }
+
+    /**
+     * Archives the completed workout sessions scheduled before a date, and then rolls up every
+     * archived session before that date that hasn't been yet, as one atomic call. Their exercises
+     * are deleted and only their summary and experience value are kept. Sessions keep their IDs,
+     * so the progress history still refers to them
+     *
+     * @param cutoffDate the date before which completed sessions are rolled up
+     * @return the number of workout sessions rolled up
+     */
+    @Override
+    public synchronized int rollUpSessions(LocalDate cutoffDate) {
+        int numRolledUp = 0;
+
+        archiveSessions(cutoffDate);
+
+        try {
+            resultSet = statement.executeQuery(
+                    "/* WorkoutSessionDataAccess.rollUpSessions */ SELECT     COUNT(*) AS NumSessions " +
+                    "FROM       ArchivedWorkoutSessions AWS " +
+                    "WHERE      AWS.ExperienceValue IS NULL " +
+                    "           AND AWS.ScheduledDate < DATE'" + DATE_TIME_FORMATTER.print(cutoffDate) + "'");
+            if (resultSet.next())
+                numRolledUp = resultSet.getInt("NumSessions");
             resultSet.close();
+
+            if (numRolledUp > 0)
+                statement.execute(
+                        "/* WorkoutSessionDataAccess.rollUpSessions */ " +
+                        "CALL RollUpWorkoutSessions(DATE'" + DATE_TIME_FORMATTER.print(cutoffDate) + "')");
         }
         catch (Exception e) {
             DataAccess.sqlError(e);
+            numRolledUp = 0;
         }
+
+        return numRolledUp;
+    }
+
+    /**
+     * Returns whether a range of dates starting on the given date may include archived sessions
+     * @param startDate the first date of the range
+     * @return whether the archive needs to be read
+     */
+    private boolean reachesArchive(LocalDate startDate) {
+        return lastArchivedDate != null && !startDate.isAfter(lastArchivedDate);
+    }
+
+    /**
+     * Returns whether there is an archived workout session on the given date
+     * @param date the date to check
+     * @return whether a session on the date has been archived
+     * @throws Exception if the archive could not be read
+     */
+    private boolean isArchived(LocalDate date) throws Exception {
+        ResultSet archived;
+        boolean found;
+
+        if (!reachesArchive(date))
+            return false;
+
+        archived = statement.executeQuery(
+                "/* WorkoutSessionDataAccess.isArchived */ SELECT     AWS.ID " +
+                "FROM       ArchivedWorkoutSessions AWS " +
+                "WHERE      AWS.ScheduledDate = DATE'" + DATE_TIME_FORMATTER.print(date) + "'");
+        found = archived.next();
+        archived.close();
+
+        return found;
+    }
+
+    /**
+     * Reads the date of the last archived workout session
+     * @return the date of the last archived session, or {@code null} if none have been archived
+     */
+    private LocalDate readLastArchivedDate() {
+        LocalDate lastDate = null;
+        ResultSet lastArchived;
+
+        try {
+            lastArchived = statement.executeQuery(
+                    "/* WorkoutSessionDataAccess.readLastArchivedDate */ " +
+                    "SELECT     MAX(AWS.ScheduledDate) AS LastDate " +
+                    "FROM       ArchivedWorkoutSessions AWS");
+            if (lastArchived.next() && lastArchived.getDate("LastDate") != null)
+                lastDate = new LocalDate(lastArchived.getDate("LastDate"));
+            lastArchived.close();
+        }
+        catch (Exception e) {
+            DataAccess.sqlError(e);
+        }
+
+        return lastDate;
+    }
+
+    /**
+     * Sets whether an exercise in a workout session is complete. The change is written together
+     * with the other exercises completed around the same time, but is seen by every read of the
+     * workout session from now on
+     *
+     * @param sessionDate the date of the workout session
+     * @param exerciseName the name of the exercise
+     * @param complete whether the exercise is complete
+     */
+    @Override
+    public synchronized void setExerciseComplete(LocalDate sessionDate, String exerciseName, boolean complete) {
+        completionWriter.setComplete(sessionDate, exerciseName, complete);
     }
 
     /**
@@ -455,13 +650,15 @@ public class WorkoutSessionDataAccess implements InterfaceWorkoutSessionDataAcce
      * @param workoutSession the workout to change the state of
      */
     @Override
-    public void toggleWorkoutComplete(WorkoutSession workoutSession) {
+    public synchronized void toggleWorkoutComplete(WorkoutSession workoutSession) {
         int workoutSessionID, workoutSessionExerciseID, previousXPValue = 0;
 
+        completionWriter.flush();
+
         try {
             //get the ID of the workout session to be updated
             resultSet = statement.executeQuery(
-                    "SELECT     WS.ID " +
+                    "/* WorkoutSessionDataAccess.toggleWorkoutComplete */ SELECT     WS.ID " +
                     "FROM       WorkoutSessions WS " +
                     "WHERE      WS.ScheduledDate = DATE'" + DATE_TIME_FORMATTER.print(workoutSession.getDate()) + "'");
             if (resultSet.next()) {
@@ -469,12 +666,13 @@ public class WorkoutSessionDataAccess implements InterfaceWorkoutSessionDataAcce
 
                 //mark each exercise as complete
                 resultSet = statement.executeQuery(
-                        "SELECT     WSC.ExerciseID " +
+                        "/* WorkoutSessionDataAccess.toggleWorkoutComplete */ SELECT     WSC.ExerciseID " +
                         "FROM       WorkoutSessionContents WSC " +
                         "WHERE      WSC.WorkoutSessionID = " + workoutSessionID);
                 while (resultSet.next()) {
                     workoutSessionExerciseID = resultSet.getInt("ExerciseID");
                     statement.executeQuery(
+                            "/* WorkoutSessionDataAccess.toggleWorkoutComplete */ " +
                             "UPDATE     WorkoutSessionExercises WSE " +
                             "SET        WSE.Complete = True " + 
                             "WHERE      WSE.ID = " + workoutSessionExerciseID);
@@ -482,19 +680,20 @@ public class WorkoutSessionDataAccess implements InterfaceWorkoutSessionDataAcce
 
                 //mark the workout as complete
                 statement.executeQuery(
-                        "UPDATE     WorkoutSessions WS " +
+                        "/* WorkoutSessionDataAccess.toggleWorkoutComplete */ UPDATE     WorkoutSessions WS " +
                         "SET        WS.Complete = True " +
                         "WHERE      WS.ID = " + workoutSessionID);
 
                 //get the last experience value from the history table
                 resultSet = statement.executeQuery(
-                        "SELECT TOP 1   PH.CurrentXP " +
+                        "/* WorkoutSessionDataAccess.toggleWorkoutComplete */ SELECT TOP 1   PH.CurrentXP " +
                         "FROM           ProgressHistory PH " +
                         "ORDER BY       LoggedDate DESC ");
                 if (resultSet.next())
                     previousXPValue = resultSet.getInt("CurrentXP");
 
                 statement.executeQuery(
+                        "/* WorkoutSessionDataAccess.toggleWorkoutComplete */ " +
                         "INSERT INTO    ProgressHistory (WorkoutSessionID, LoggedDate, CurrentXP) " +
                         "VALUES         (" + workoutSessionID + ", CURRENT_TIMESTAMP, "  + (previousXPValue + workoutSession.getExperienceValue()) + ")");
             }
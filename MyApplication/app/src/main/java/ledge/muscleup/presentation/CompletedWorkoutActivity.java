@@ -21,11 +21,9 @@ import org.joda.time.format.DateTimeFormatter;
 import java.util.List;
 
 import ledge.muscleup.R;
-import ledge.muscleup.business.AccessExperience;
-import ledge.muscleup.business.AccessWorkoutSessions;
+import ledge.muscleup.business.AccessFactory;
 import ledge.muscleup.business.InterfaceAccessExperience;
 import ledge.muscleup.business.InterfaceAccessWorkoutSessions;
-import ledge.muscleup.model.exercise.WorkoutSessionExercise;
 import ledge.muscleup.model.experience.ExperienceHistory;
 import ledge.muscleup.model.workout.WorkoutSession;
 
@@ -42,16 +40,51 @@ public class CompletedWorkoutActivity extends Activity {
 
     private static final DateTimeFormatter formatter = DateTimeFormat.forPattern("MM/dd/yyyy");
     private WorkoutSession workoutSession;  //the workout session in view
-    private final InterfaceAccessExperience ae = new AccessExperience();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_completed_workout);
 
-        ListView listView = (ListView) findViewById(R.id.completedExerciseList);
+        loadCompletedWorkout(formatter.parseLocalDate(getIntent().getStringExtra("workoutSessionDate")));
+    }
 
-        getWorkoutSessionInView();
+    /**
+     * Loads the completed workout session, the rows for its exercises and the experience history
+     * on a background thread, and then shows them on the UI thread
+     * @param workoutSessionDate the date of the completed workout session
+     */
+    private void loadCompletedWorkout(final LocalDate workoutSessionDate) {
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                InterfaceAccessWorkoutSessions aws = AccessFactory.newAccessWorkoutSessions();
+                InterfaceAccessExperience ae = AccessFactory.newAccessExperience();
+                final WorkoutSession session = aws.getWorkoutSession(workoutSessionDate);
+                final List<ExerciseRow> rows = ExerciseRow.forSessionExercises(session.getWorkoutSessionExercises());
+                final ExperienceHistory experienceHistory = new ExperienceHistory(ae.getCompletedWorkouts());
+
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (!isDestroyed())
+                            showCompletedWorkout(session, rows, experienceHistory);
+                    }
+                });
+            }
+        }, "CompletedWorkoutActivity.loadCompletedWorkout").start();
+    }
+
+    /**
+     * Shows the exercises of the completed workout session, the experience gained from it and the
+     * progress towards the next level
+     * @param session the completed workout session
+     * @param rows the rows for the exercises in the session
+     * @param experienceHistory the experience history, including the completed session
+     */
+    private void showCompletedWorkout(WorkoutSession session, List<ExerciseRow> rows, ExperienceHistory experienceHistory) {
+        workoutSession = session;
+        ListView listView = (ListView) findViewById(R.id.completedExerciseList);
 
         TextView completedWorkoutNameTextView = (TextView) findViewById(R.id.completedSessionName);
         completedWorkoutNameTextView.setText(workoutSession.getName());
@@ -59,7 +92,7 @@ public class CompletedWorkoutActivity extends Activity {
         TextView completedWorkoutTotalXP = (TextView) findViewById(R.id.completedWorkoutTotalXP);
         completedWorkoutTotalXP.setText(getResources().getString(R.string.text_experienceGained, workoutSession.getExperienceValue()));
 
-        ListItemAdapter adapter = new ListItemAdapter(getApplicationContext(), R.layout.list_item_completed_exercise, workoutSession.getWorkoutSessionExercises());
+        ListItemAdapter adapter = new ListItemAdapter(getApplicationContext(), R.layout.list_item_completed_exercise, rows);
         listView.setAdapter(adapter);
 
         Button backToScheduleButton = (Button) findViewById(R.id.backToScheduleButton);
@@ -71,7 +104,6 @@ public class CompletedWorkoutActivity extends Activity {
             }
         });
 
-        ExperienceHistory experienceHistory = new ExperienceHistory(ae.getCompletedWorkouts());
         TextView currLevelTextView = (TextView) findViewById(R.id.currentLevel);
 
         String currLevelString = "LEVEL " + experienceHistory.getCurrLevel();
@@ -97,28 +129,12 @@ public class CompletedWorkoutActivity extends Activity {
         startActivity(new Intent(CompletedWorkoutActivity.this, ScheduleActivity.class));
     }
 
-    /**
-     * Gets the completed WorkoutSession to view in this activity and show experience gained from it
-     * @return the completed WorkoutSession to be used in the view
-     */
-    private WorkoutSession getWorkoutSessionInView() {
-        LocalDate workoutSessionDate;
-        Intent intent;
-        InterfaceAccessWorkoutSessions aws = new AccessWorkoutSessions();
-
-        //get workout session date
-        intent = getIntent();
-        workoutSessionDate = formatter.parseLocalDate(intent.getStringExtra("workoutSessionDate"));
-        workoutSession = aws.getWorkoutSession(workoutSessionDate);
-        return workoutSession;
-    }
-
     /**
      * A custom extension of the ArrayAdapter class, used for displaying completed exercises in the
      * workout session, with name and quantity completed, as well as xp gained for completing it
      */
-    private class ListItemAdapter extends ArrayAdapter<WorkoutSessionExercise> {
-        private List<WorkoutSessionExercise> exerciseList;
+    private class ListItemAdapter extends ArrayAdapter<ExerciseRow> {
+        private List<ExerciseRow> exerciseList;
         Context context;
 
         /**
@@ -126,9 +142,9 @@ public class CompletedWorkoutActivity extends Activity {
          * exercise name and quantity along with the amount of xp gained from it
          * @param context The activity's context
          * @param resourceId the layout resource used for the adapter
-         * @param exerciseList a list of exercises in the workout session
+         * @param exerciseList the rows for the exercises in the workout session
          */
-        public ListItemAdapter(Context context, int resourceId, List<WorkoutSessionExercise> exerciseList) {
+        public ListItemAdapter(Context context, int resourceId, List<ExerciseRow> exerciseList) {
             super(context, resourceId, exerciseList);
             this.exerciseList = exerciseList;
             this.context = context;
@@ -173,13 +189,11 @@ public class CompletedWorkoutActivity extends Activity {
                 returnedView = convertView;
             }
 
-            WorkoutSessionExercise sessionExercise = exerciseList.get(index);
+            ExerciseRow row = exerciseList.get(index);
 
-            viewHolder.exerciseName.setText(sessionExercise.getName());
-            String recommendedQuantity = ExerciseQuantityDisplayStrings.getExerciseQuantityDisplayString(
-                    sessionExercise.getRecommendedQuantity());
-            viewHolder.exerciseQuantity.setText(recommendedQuantity);
-            viewHolder.exerciseXP.setText("+" + String.valueOf(sessionExercise.getExperienceValue()) + " XP");
+            viewHolder.exerciseName.setText(row.getName());
+            viewHolder.exerciseQuantity.setText(row.getQuantity());
+            viewHolder.exerciseXP.setText(row.getExperience());
             return returnedView;
         }
     }
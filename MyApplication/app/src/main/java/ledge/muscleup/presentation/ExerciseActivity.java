@@ -4,25 +4,34 @@ import android.app.Activity;
 import android.content.Context;
 import android.os.Bundle;
 import android.support.annotation.NonNull;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
+import android.widget.EditText;
 import android.widget.ListView;
+import android.widget.Spinner;
 import android.widget.TextView;
 
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import ledge.muscleup.R;
-import ledge.muscleup.business.AccessExercises;
+import ledge.muscleup.business.AccessFactory;
 import ledge.muscleup.business.InterfaceAccessExercises;
 import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
 
 /**
- * ExerciseActivity displays a list of exercises, showing their name, intensity, and exercise type
+ * ExerciseActivity displays a list of exercises, showing their name, intensity, and exercise type.
+ * The list can be filtered by the start of a name and by type and intensity
  *
  * @author Jon Ingram
  * @version 1.0
@@ -31,28 +40,103 @@ import ledge.muscleup.model.exercise.Exercise;
 
 public class ExerciseActivity extends Activity {
     private static final DateTimeFormatter formatter = DateTimeFormat.forPattern("MM/dd/yyyy");
+    private InterfaceAccessExercises ae;
+    private ListItemAdapter adapter;
+    private EditText searchText;
+    private Spinner typeFilter;
+    private Spinner intensityFilter;
+
     /**
      *  onCreate initializes ExerciseActivity
      * @param savedInstanceState contains context from last activity (eg MainActivity)
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        InterfaceAccessExercises ae = new AccessExercises();
-
         List<Exercise> exerciseList;
 
+        ae = AccessFactory.newAccessExercises();
+
         super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_list_display);
+        setContentView(R.layout.activity_exercise_search);
 
         ListView listView = (ListView) findViewById(R.id.list_panel);
-        exerciseList = ae.getExercisesList();
+        exerciseList = ae.searchExercises(null, null, null);
 
         TextView title = (TextView) findViewById(R.id.activity_title);
         title.setText(R.string.text_exerciseCollection);
 
-        ListItemAdapter adapter = new ListItemAdapter(getApplicationContext(), R.layout.list_item_exercise, exerciseList);
+        adapter = new ListItemAdapter(getApplicationContext(), R.layout.list_item_exercise, exerciseList);
         listView.setAdapter(adapter);
         listView.setItemsCanFocus(true);
+
+        setupFilters();
+    }
+
+    /**
+     * Sets up the search box and the type and intensity filters, which refresh the list of
+     * exercises whenever they change
+     */
+    private void setupFilters() {
+        List<String> typeNames = new ArrayList<>();
+        List<String> intensityNames = new ArrayList<>();
+        AdapterView.OnItemSelectedListener filterListener;
+
+        searchText = (EditText) findViewById(R.id.exercise_search);
+        typeFilter = (Spinner) findViewById(R.id.exercise_type_filter);
+        intensityFilter = (Spinner) findViewById(R.id.exercise_intensity_filter);
+
+        //the first entry of each filter matches everything
+        typeNames.add(getString(R.string.text_allTypes));
+        for (ExerciseType type : ExerciseType.values())
+            typeNames.add(type.toString());
+        intensityNames.add(getString(R.string.text_allIntensities));
+        for (ExerciseIntensity intensity : ExerciseIntensity.values())
+            intensityNames.add(intensity.toString());
+
+        typeFilter.setAdapter(new ArrayAdapter<>(this, android.R.layout.simple_spinner_dropdown_item, typeNames));
+        intensityFilter.setAdapter(new ArrayAdapter<>(this, android.R.layout.simple_spinner_dropdown_item, intensityNames));
+
+        filterListener = new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                refreshExercises();
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) {
+                refreshExercises();
+            }
+        };
+        typeFilter.setOnItemSelectedListener(filterListener);
+        intensityFilter.setOnItemSelectedListener(filterListener);
+
+        searchText.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                refreshExercises();
+            }
+        });
+    }
+
+    /**
+     * Shows the exercises matching the current search text and filters
+     */
+    private void refreshExercises() {
+        int typePosition = typeFilter.getSelectedItemPosition();
+        int intensityPosition = intensityFilter.getSelectedItemPosition();
+        ExerciseType type = typePosition > 0 ? ExerciseType.values()[typePosition - 1] : null;
+        ExerciseIntensity intensity = intensityPosition > 0 ? ExerciseIntensity.values()[intensityPosition - 1] : null;
+
+        adapter.clear();
+        adapter.addAll(ae.searchExercises(searchText.getText().toString(), type, intensity));
     }
 
     /**
@@ -0,0 +1,91 @@
+package ledge.muscleup.presentation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ledge.muscleup.model.exercise.WorkoutExercise;
+import ledge.muscleup.model.exercise.WorkoutSessionExercise;
+
+/**
+ * ExerciseRow holds the text shown in one row of a list of exercises. The rows are built once,
+ * off the UI thread, when a workout or workout session is loaded, so binding a row while the
+ * list scrolls only assigns strings that already exist
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-02
+ */
+
+final class ExerciseRow {
+    private final String name;
+    private final String quantity;
+    private final String experience;
+
+    /**
+     * The constructor for an ExerciseRow
+     * @param name the name of the exercise
+     * @param quantity the quantity of exercise, formatted for display
+     * @param experienceValue the experience value of the exercise
+     */
+    private ExerciseRow(String name, String quantity, int experienceValue) {
+        this.name = name;
+        this.quantity = quantity;
+        this.experience = "+" + experienceValue + " XP";
+    }
+
+    /**
+     * Builds the rows for the exercises in a workout session
+     * @param exercises the exercises in the workout session
+     * @return a row for each exercise, in the same order
+     */
+    static List<ExerciseRow> forSessionExercises(List<WorkoutSessionExercise> exercises) {
+        List<ExerciseRow> rows = new ArrayList<>(exercises.size());
+
+        for (WorkoutSessionExercise exercise : exercises)
+            rows.add(new ExerciseRow(exercise.getName(),
+                    ExerciseQuantityDisplayStrings.getExerciseQuantityDisplayString(exercise.getRecommendedQuantity()),
+                    exercise.getExperienceValue()));
+
+        return rows;
+    }
+
+    /**
+     * Builds the rows for the exercises in a workout
+     * @param exercises the exercises in the workout
+     * @return a row for each exercise, in the same order
+     */
+    static List<ExerciseRow> forWorkoutExercises(List<WorkoutExercise> exercises) {
+        List<ExerciseRow> rows = new ArrayList<>(exercises.size());
+
+        for (WorkoutExercise exercise : exercises)
+            rows.add(new ExerciseRow(exercise.getName(),
+                    ExerciseQuantityDisplayStrings.getExerciseQuantityDisplayString(exercise.getQuantity()),
+                    exercise.getExperienceValue()));
+
+        return rows;
+    }
+
+    /**
+     * Returns the name of the exercise
+     * @return the name of the exercise
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the quantity of exercise, formatted for display
+     * @return the quantity of exercise
+     */
+    String getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Returns the experience gained from the exercise, formatted for display
+     * @return the experience gained from the exercise
+     */
+    String getExperience() {
+        return experience;
+    }
+}
@@ -2,9 +2,10 @@ package ledge.muscleup.presentation;
 
 import android.app.Activity;
 import android.app.AlertDialog;
+import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
-import android.content.res.AssetManager;
+import android.content.IntentFilter;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
@@ -14,45 +15,203 @@ import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
 
 import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.InputStreamReader;
+import java.util.List;
 
+import ledge.muscleup.MuscleUpApplication;
 import ledge.muscleup.R;
 import ledge.muscleup.application.Main;
-import ledge.muscleup.business.AccessWorkoutSessions;
-import ledge.muscleup.business.AccessWorkouts;
+import ledge.muscleup.trace.Tracer;
+import ledge.muscleup.business.AccessFactory;
+import ledge.muscleup.business.DashboardSnapshot;
+import ledge.muscleup.business.InterfaceAccessDashboard;
 import ledge.muscleup.business.InterfaceAccessWorkoutSessions;
-import ledge.muscleup.business.InterfaceAccessWorkouts;
-import ledge.muscleup.model.workout.WorkoutSession;
+import ledge.muscleup.business.InterfaceSessionObserver;
+import ledge.muscleup.business.SessionQuery;
+import ledge.muscleup.business.SessionSummaryChange;
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
+import ledge.muscleup.persistence.QueryStatistics;
 
 public class MainActivity extends Activity {
     public static final String dbName="workout_till_you_dropout";
 
+    private static volatile Thread shutDownThread;
+
+    private volatile SessionQuery todayQuery;
+    private volatile InterfaceAccessDashboard dashboard;
+    private volatile boolean destroyed = false;
+    private File snapshotFile;
+    private Thread dashboardThread;
+    private final BroadcastReceiver dateChangeReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            loadDashboard();
+        }
+    };
+
     /**
-     * Setup for MainActivity
+     * Setup for MainActivity. The database is opened in the background, so the dashboard is drawn
+     * straight away from the snapshot saved the last time it was shown, if it was saved today, and
+     * filled in again once its queries have run. The dashboard is loaded again whenever the date
+     * changes while it is open. In debug builds, the startup trace is written to the app's files
+     * directory once the dashboard has been filled in
      * @param savedInstanceState
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        Tracer.beginSection("MainActivity.onCreate");
 
-        copyDatabaseToDevice();
-
+        Tracer.beginSection("MainActivity.setContentView");
         setContentView(R.layout.activity_main);
+        Tracer.endSection();
+
+        //reopens the database if an earlier MainActivity closed it
+        ((MuscleUpApplication) getApplication()).startDataAccess();
+
+        snapshotFile = new File(getFilesDir(), DashboardSnapshot.FILE_NAME);
+        Tracer.beginSection("DashboardSnapshot.read");
+        DashboardSnapshot snapshot = DashboardSnapshot.read(snapshotFile);
+        Tracer.endSection();
+
+        if (snapshot != null && snapshot.getDate().equals(LocalDate.now())) {
+            showSnapshot(snapshot);
+        } else {
+            Button currentDayWorkoutButton = (Button) findViewById(R.id.btn_currentDayWorkoutSession);
+            Button suggestedWorkoutButton = (Button) findViewById(R.id.btn_suggestedWorkout);
+            currentDayWorkoutButton.setText("Today's Scheduled Workout:" + System.getProperty("line.separator") + "Loading...");
+            currentDayWorkoutButton.setClickable(false);
+            suggestedWorkoutButton.setText("Today's Suggested Workout: " + System.getProperty("line.separator") + "Loading...");
+            suggestedWorkoutButton.setClickable(false);
+        }
+
+        loadDashboard();
+
+        IntentFilter dateChangeFilter = new IntentFilter(Intent.ACTION_DATE_CHANGED);
+        dateChangeFilter.addAction(Intent.ACTION_TIME_CHANGED);
+        dateChangeFilter.addAction(Intent.ACTION_TIMEZONE_CHANGED);
+        registerReceiver(dateChangeReceiver, dateChangeFilter);
+
+        Tracer.endSection();
+    }
+
+    /**
+     * Runs the dashboard's queries on a background thread, which waits for the database to open,
+     * saving what they found as the snapshot, and then fills in the dashboard on the UI thread.
+     * The snapshot is then kept up to date after each write while the dashboard is open. Loading
+     * it again, once the date has changed, follows the new day instead, after any earlier load
+     * has finished. A load that starts after the activity is destroyed does nothing
+     */
+    private void loadDashboard() {
+        final Thread previousThread = dashboardThread;
+
+        dashboardThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                final boolean firstLoad;
+                final SessionQuery query;
+                final DashboardSnapshot snapshot;
+
+                joinQuietly(previousThread);
+                firstLoad = dashboard == null;
+                if (firstLoad && shutDownThread != null) {
+                    //an earlier MainActivity may still be shutting down the database onCreate()
+                    //found open, so it is started again once that has finished
+                    joinQuietly(shutDownThread);
+                    ((MuscleUpApplication) getApplication()).startDataAccess();
+                }
+                if (destroyed)
+                    return;
+                if (todayQuery != null)
+                    todayQuery.close();
+                query = AccessFactory.newAccessWorkoutSessions().observeToday();
+                todayQuery = query;
+                if (firstLoad)
+                    dashboard = AccessFactory.newAccessDashboard(snapshotFile);
+                Tracer.beginSection("refreshSnapshot");
+                snapshot = dashboard.refreshSnapshot();
+                Tracer.endSection();
+                if (firstLoad)
+                    dashboard.startRefreshing();
+
+                //once destroyed, the query and the dashboard are closed by the shut down thread
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (!isDestroyed()) {
+                            if (firstLoad)
+                                showDashboard(snapshot);
+                            else
+                                showSnapshot(snapshot);
+                            observeToday(query);
+                        }
+                    }
+                });
+            }
+        }, "MainActivity.loadDashboard");
+        dashboardThread.start();
+    }
+
+    /**
+     * Fills in the dashboard with what was read from the database, warning the user if the
+     * database couldn't be copied to the device
+     * @param snapshot today's workout session and the suggested workout
+     */
+    private void showDashboard(DashboardSnapshot snapshot) {
+        String databaseError = ((MuscleUpApplication) getApplication()).getDatabaseError();
+
+        Tracer.beginSection("MainActivity.showDashboard");
+        if (databaseError != null) {
+            AlertDialog alertDialog = new AlertDialog.Builder(this).create();
 
-        Main.startUp();
+            alertDialog.setTitle(this.getString(R.string.warning));
+            alertDialog.setMessage(databaseError);
+
+            alertDialog.show();
+        }
+
+        showSnapshot(snapshot);
+        Tracer.endSection();
+
+        if (Tracer.isEnabled())
+            Tracer.writeChromeJson(new File(getFilesDir(), Tracer.DUMP_FILE_NAME));
+    }
 
-        InterfaceAccessWorkoutSessions aws = new AccessWorkoutSessions();
-        final WorkoutSession currentDaySession = aws.getWorkoutSession(LocalDate.now());
+    /**
+     * Fills in the buttons for today's workout session and the suggested workout
+     * @param snapshot today's workout session and the suggested workout
+     */
+    private void showSnapshot(DashboardSnapshot snapshot) {
+        final String suggestedWorkoutName = snapshot.getSuggestedWorkoutName();
+
+        showCurrentDaySession(scheduledOrNull(snapshot.getSessionSummary()));
+
+        Button suggestedWorkoutButton = (Button) findViewById(R.id.btn_suggestedWorkout);
+        suggestedWorkoutButton.setText("Today's Suggested Workout: " + System.getProperty("line.separator") + suggestedWorkoutName);
+        suggestedWorkoutButton.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                Intent suggestedWorkoutIntent = new Intent(MainActivity.this, WorkoutDetailsActivity.class);
+                suggestedWorkoutIntent.putExtra("workoutName", suggestedWorkoutName);
+                startActivity(suggestedWorkoutIntent);
+            }
+        });
+    }
 
+    /**
+     * Fills in the button for today's workout session
+     * @param currentDaySession the summary of today's workout session, or {@code null} if there
+     *                          is none
+     */
+    private void showCurrentDaySession(final WorkoutSessionSummary currentDaySession) {
         Button currentDayWorkoutButton = (Button)  findViewById(R.id.btn_currentDayWorkoutSession);
         if (currentDaySession == null) {
             currentDayWorkoutButton.setText("Today's Scheduled Workout:" + System.getProperty("line.separator") + "None Scheduled");
+            currentDayWorkoutButton.setOnClickListener(null);
             currentDayWorkoutButton.setClickable(false);
             currentDayWorkoutButton.setAlpha(0.5f);
         } else {
             currentDayWorkoutButton.setText("Today's Scheduled Workout:"  + System.getProperty("line.separator") + currentDaySession.getName());
+            currentDayWorkoutButton.setAlpha(1.0f);
             currentDayWorkoutButton.setOnClickListener(new View.OnClickListener() {
                 @Override
                 public void onClick(View v) {
@@ -65,21 +224,37 @@ public class MainActivity extends Activity {
                 }
             });
         }
+    }
 
-        InterfaceAccessWorkouts aw = new AccessWorkouts();
-        Button suggestedWorkoutButton = (Button) findViewById(R.id.btn_suggestedWorkout);
-        final String suggestedWorkoutName = aw.getSuggestedWorkout();
-        suggestedWorkoutButton.setText("Today's Suggested Workout: " + System.getProperty("line.separator") + suggestedWorkoutName);
-        suggestedWorkoutButton.setOnClickListener(new View.OnClickListener() {
+    /**
+     * Keeps the button for today's workout session up to date while the dashboard stays open,
+     * such as when a session is scheduled for today from the schedule
+     * @param query the query of today's workout session
+     */
+    private void observeToday(SessionQuery query) {
+        query.subscribe(new InterfaceSessionObserver() {
             @Override
-            public void onClick(View v) {
-                Intent suggestedWorkoutIntent = new Intent(MainActivity.this, WorkoutDetailsActivity.class);
-                suggestedWorkoutIntent.putExtra("workoutName", suggestedWorkoutName);
-                startActivity(suggestedWorkoutIntent);
+            public void onSessionsChanged(SessionQuery query, final List<SessionSummaryChange> changes) {
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (!isDestroyed())
+                            showCurrentDaySession(scheduledOrNull(changes.get(0).getCurrent()));
+                    }
+                });
             }
         });
     }
 
+    /**
+     * Gets the summary of a day if a workout is scheduled on it
+     * @param summary the summary of the day
+     * @return the summary, or {@code null} if no workout is scheduled on the day
+     */
+    private static WorkoutSessionSummary scheduledOrNull(WorkoutSessionSummary summary) {
+        return summary.isEmpty() ? null : summary;
+    }
+
     /**
      * Overrides the onBackPressed() method to exit the application when back is pressed while on the Main activity
      */
@@ -92,12 +267,47 @@ public class MainActivity extends Activity {
     }
 
     /**
-     * Cleans up the application when destroyed
+     * Waits for a thread to finish, if there is one
+     * @param thread the thread, or {@code null}
+     */
+    private static void joinQuietly(Thread thread) {
+        try {
+            if (thread != null)
+                thread.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Cleans up the application when destroyed. The clean up runs on a background thread, so that
+     * the UI thread never waits for it. It waits for a dashboard that is still loading first,
+     * since that reads the database, then closes the dashboard, dumps the query statistics
+     * collected in debug builds to the app's files directory, and shuts the database down
      */
     protected void onDestroy() {
+        final Thread loadThread = dashboardThread;
+
         super.onDestroy();
 
-        Main.shutDown();
+        unregisterReceiver(dateChangeReceiver);
+        destroyed = true;
+        shutDownThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                joinQuietly(loadThread);
+                if (todayQuery != null)
+                    todayQuery.close();
+                if (dashboard != null)
+                    dashboard.stopRefreshing();
+
+                if (QueryStatistics.isEnabled())
+                    QueryStatistics.writeJson(new File(getFilesDir(), QueryStatistics.DUMP_FILE_NAME));
+                Main.shutDown();
+            }
+        }, "MainActivity.shutDown");
+        shutDownThread.start();
     }
 
     /**
@@ -135,69 +345,4 @@ public class MainActivity extends Activity {
         Intent intent = new Intent (this, ProgressReportActivity.class);
         startActivity(intent);
     }
-
-    /**
-     * Copies all database files to the device
-     */
-    private void copyDatabaseToDevice() {
-        final String DB_PATH = "db";
-
-        String[] assetNames;
-        Context context = getApplicationContext();
-        File dataDirectory = context.getDir(DB_PATH, Context.MODE_PRIVATE);
-        AssetManager assetManager = getAssets();
-
-        try {
-
-            assetNames = assetManager.list(DB_PATH);
-            for (int i = 0; i < assetNames.length; i++) {
-                assetNames[i] = DB_PATH + "/" + assetNames[i];
-            }
-
-            copyAssetsToDirectory(assetNames, dataDirectory);
-
-            Main.setDBPathName(dataDirectory.toString() + "/" + Main.dbName);
-
-        } catch (IOException ioe) {
-            AlertDialog alertDialog = new AlertDialog.Builder(this).create();
-
-            alertDialog.setTitle(this.getString(R.string.warning));
-            alertDialog.setMessage("Unable to access application data: " + ioe.getMessage());
-
-            alertDialog.show();
-        }
-    }
-
-    /**
-     * Copies all assets files to a given directory, provided they don't already exists
-     * @param assets the files in the assets folder
-     * @param directory the directory to copy to
-     * @throws IOException when an error occurring while reading or writing
-     */
-    private void copyAssetsToDirectory(String[] assets, File directory) throws IOException {
-        AssetManager assetManager = getAssets();
-
-        for (String asset : assets) {
-            String[] components = asset.split("/");
-            String copyPath = directory.toString() + "/" + components[components.length - 1];
-            char[] buffer = new char[1024];
-            int count;
-
-            File outFile = new File(copyPath);
-
-            if (!outFile.exists()) {
-                InputStreamReader in = new InputStreamReader(assetManager.open(asset));
-                FileWriter out = new FileWriter(outFile);
-
-                count = in.read(buffer);
-                while (count != -1) {
-                    out.write(buffer, 0, count);
-                    count = in.read(buffer);
-                }
-
-                out.close();
-                in.close();
-            }
-        }
-    }
 }
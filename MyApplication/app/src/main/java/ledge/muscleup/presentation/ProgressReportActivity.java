@@ -21,7 +21,7 @@ import java.util.Enumeration;
 import java.util.List;
 
 import ledge.muscleup.R;
-import ledge.muscleup.business.AccessExperience;
+import ledge.muscleup.business.AccessFactory;
 import ledge.muscleup.business.InterfaceAccessExperience;
 import ledge.muscleup.model.experience.CompletedWorkoutRecord;
 import ledge.muscleup.model.experience.ExperienceHistory;
@@ -37,7 +37,7 @@ import ledge.muscleup.model.experience.ExperienceHistory;
  * @since 2017-07-07
  */
 public class ProgressReportActivity extends Activity {
-    private static final InterfaceAccessExperience ae = new AccessExperience();
+    private static final InterfaceAccessExperience ae = AccessFactory.newAccessExperience();
     private static final DateTimeFormatter formatter = DateTimeFormat.forPattern("MM/dd");
     /**
      *  onCreate initializes WorkoutDetailsActivity
@@ -25,15 +25,20 @@ import org.joda.time.format.DateTimeFormatter;
 import java.util.List;
 
 import ledge.muscleup.R;
-import ledge.muscleup.business.AccessWorkoutSessions;
-
-import ledge.muscleup.model.schedule.ScheduleWeek;
-import ledge.muscleup.business.AccessWorkouts;
+import ledge.muscleup.business.AccessFactory;
+import ledge.muscleup.business.InterfaceAccessWorkoutSessions;
 import ledge.muscleup.business.InterfaceAccessWorkouts;
+import ledge.muscleup.business.InterfaceSessionObserver;
+import ledge.muscleup.business.SessionQuery;
+import ledge.muscleup.business.SessionSummaryChange;
 import ledge.muscleup.model.workout.WorkoutSession;
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
 
 /**
- * ScheduleActivity displays a list of workout sessions
+ * ScheduleActivity displays a list of workout sessions. Only the summaries of the sessions are
+ * loaded, as their exercises are retrieved by WorkoutSessionActivity when a session is opened.
+ * The week shown is observed, so the rows of the days that change are updated in place rather
+ * than the week being loaded again
  *
  * @author Cole Kehler
  * @version 1.0
@@ -43,9 +48,10 @@ public class ScheduleActivity extends Activity {
 
     private ListItemAdapter adapter;
 
-	private AccessWorkoutSessions aws;
-    private ScheduleWeek scheduleWeek;
-    private List<WorkoutSession> sessionList;
+	private InterfaceAccessWorkoutSessions aws;
+    private int weekStartDay;
+    private SessionQuery weekQuery;
+    private List<WorkoutSessionSummary> sessionList;
     private InterfaceAccessWorkouts aw;
 
     private static final DateTimeFormatter formatter = DateTimeFormat.forPattern("MM/dd");
@@ -53,24 +59,61 @@ public class ScheduleActivity extends Activity {
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        int weekStartDay;
-
-        aws = new AccessWorkoutSessions();
+        aws = AccessFactory.newAccessWorkoutSessions();
         weekStartDay = DateTimeConstants.SUNDAY;
-        scheduleWeek = new ScheduleWeek(weekStartDay, aws.getCurrentWeekSessions(weekStartDay));
 
-        aw = new AccessWorkouts();
+        aw = AccessFactory.newAccessWorkouts();
 
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_schedule_list_display);
 
+        showWeek(LocalDate.now());
+    }
+
+    /**
+     * Stops observing the week shown
+     */
+    @Override
+    protected void onDestroy() {
+        if (weekQuery != null)
+            weekQuery.close();
+        super.onDestroy();
+    }
+
+    /**
+     * Shows the week containing the given date, observing it in place of the week shown before
+     * @param dayInWeek a day in the week to show
+     */
+    private void showWeek(LocalDate dayInWeek) {
+        if (weekQuery != null)
+            weekQuery.close();
+        if (adapter != null)
+            adapter.clear();
+
+        weekQuery = aws.observeWeek(weekStartDay, dayInWeek);
+        sessionList = weekQuery.getSummaries();
+        weekQuery.subscribe(new InterfaceSessionObserver() {
+            @Override
+            public void onSessionsChanged(final SessionQuery query, final List<SessionSummaryChange> changes) {
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (query == weekQuery) {
+                            for (SessionSummaryChange change : changes)
+                                sessionList.set(change.getPosition(), change.getCurrent());
+                            adapter.notifyDataSetChanged();
+                        }
+                    }
+                });
+            }
+        });
+
         populateList();
         setWeekRangeTitle();
     }
 
     private void populateList(){
         ListView listView = (ListView) findViewById(R.id.list_panel);
-        sessionList = scheduleWeek.getWorkoutSessionList();
 
         adapter = new ListItemAdapter(getApplicationContext(), R.layout.list_item_workout_session, sessionList);
         listView.setAdapter(adapter);
@@ -120,14 +163,14 @@ public class ScheduleActivity extends Activity {
      * Creates listeners for each workout in the schedule
      * @param workoutSessionList list of workouts to display for currently selected week
      */
-    private void setupListeners(final List<WorkoutSession> workoutSessionList) {
+    private void setupListeners(final List<WorkoutSessionSummary> workoutSessionList) {
         ListView list = (ListView) findViewById(R.id.list_panel);
 
         //will respond to clicks by opening a WorkoutSessionActivity and passing the date of the session clicked
         list.setOnItemClickListener(new AdapterView.OnItemClickListener() {
             @Override
             public void onItemClick(AdapterView<?> adapter, View view, int position, long arg) {
-                if (workoutSessionList.get(position).getName() != null) {   //workout scheduled on day
+                if (!workoutSessionList.get(position).isEmpty()) {   //workout scheduled on day
                     Intent appInfo = new Intent(ScheduleActivity.this, WorkoutSessionActivity.class);
                     LocalDate date = workoutSessionList.get(position).getDate();
                     DateTimeFormatter formatter = DateTimeFormat.forPattern("MM/dd/yyyy");
@@ -143,35 +186,18 @@ public class ScheduleActivity extends Activity {
      * clears current list and repopulates with next week's scheduled workouts
      */
     private void showNextWeek(){
-        adapter.clear();
-
-        aws.setToNextWeek(scheduleWeek);
-        sessionList = scheduleWeek.getWorkoutSessionList();
-
-        populateList();
-        setWeekRangeTitle();
+        showWeek(weekQuery.getFirstDate().plusWeeks(1));
     }
 
     /**
      * clears current list and repopulates with last week's scheduled workouts
      */
     private void showLastWeek(){
-        adapter.clear();
-
-        aws.setToLastWeek(scheduleWeek);
-        sessionList = scheduleWeek.getWorkoutSessionList();
-
-        populateList();
-        setWeekRangeTitle();
+        showWeek(weekQuery.getFirstDate().minusWeeks(1));
     }
 
     private void showCurrentWeek() {
-        adapter.clear();
-        aws.setToCurrentWeek(scheduleWeek);
-        sessionList = scheduleWeek.getWorkoutSessionList();
-
-        populateList();
-        setWeekRangeTitle();
+        showWeek(LocalDate.now());
     }
 
     /**
@@ -188,8 +214,8 @@ public class ScheduleActivity extends Activity {
     /**
      * A custom extension of the ArrayAdapter class, used for displaying workout session date and name
      */
-    private class ListItemAdapter extends ArrayAdapter<WorkoutSession> {
-        private List<WorkoutSession> sessionList;
+    private class ListItemAdapter extends ArrayAdapter<WorkoutSessionSummary> {
+        private List<WorkoutSessionSummary> sessionList;
         Context context;
 
         /**
@@ -197,9 +223,9 @@ public class ScheduleActivity extends Activity {
          * workout session date and name
          * @param context The activity's context
          * @param resourceId the layout resource used for the adapter
-         * @param sessionList a list of workout sessions
+         * @param sessionList a list of workout session summaries
          */
-        public ListItemAdapter(Context context, int resourceId, List<WorkoutSession> sessionList) {
+        public ListItemAdapter(Context context, int resourceId, List<WorkoutSessionSummary> sessionList) {
             super(context, resourceId, sessionList);
             this.sessionList = sessionList;
             this.context = context;
@@ -244,7 +270,7 @@ public class ScheduleActivity extends Activity {
                 returnedView = convertView;
             }
 
-            WorkoutSession session = sessionList.get(index);
+            WorkoutSessionSummary session = sessionList.get(index);
 
             viewHolder.sessionDate.setText(formatter.print(session.getDate()));
             if(session.getDate().isEqual(LocalDate.now())) {
@@ -267,7 +293,7 @@ public class ScheduleActivity extends Activity {
 
             }
 
-            if (session.getName() == null) {//no workout scheduled, add button
+            if (session.isEmpty()) {//no workout scheduled, add button
                 viewHolder.addOrRemoveButton.setText("+");
                 viewHolder.addOrRemoveButton.setTextColor(Color.GREEN);
                 viewHolder.addOrRemoveButton.setOnClickListener(new View.OnClickListener() {
@@ -286,9 +312,7 @@ public class ScheduleActivity extends Activity {
                             public boolean onMenuItemClick(MenuItem item) {
                                 String workoutName = item.getTitle().toString();
                                 WorkoutSession session = new WorkoutSession(aw.getWorkout(workoutName), sessionList.get(index).getDate(), false);
-                                sessionList.set(index, session);
                                 aws.insertWorkoutSession(session);
-                                notifyDataSetChanged();
                                 return true;
                             }
                         });
@@ -301,9 +325,6 @@ public class ScheduleActivity extends Activity {
                     @Override
                     public void onClick(View v) {
                         aws.removeWorkoutSession(sessionList.get(index));
-                        WorkoutSession emptySession = new WorkoutSession(sessionList.get(index).getDate());
-                        sessionList.set(index, emptySession);
-                        notifyDataSetChanged();
                     }
                 });
             }
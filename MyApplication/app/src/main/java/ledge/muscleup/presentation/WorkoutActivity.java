@@ -16,12 +16,14 @@ import android.widget.TextView;
 import java.util.List;
 
 import ledge.muscleup.R;
-import ledge.muscleup.business.AccessWorkouts;
+import ledge.muscleup.business.AccessFactory;
 import ledge.muscleup.business.InterfaceAccessWorkouts;
-import ledge.muscleup.model.workout.Workout;
+import ledge.muscleup.model.workout.WorkoutSummary;
 
 /**
- * WorkoutActivity displays a list of workouts that the user can click on to view list of exercises
+ * WorkoutActivity displays a list of workouts that the user can click on to view list of exercises.
+ * The list is built from workout summaries, so the workouts' exercises aren't loaded until one is
+ * opened
  *
  * @author Jon Ingram
  * @version 1.0
@@ -36,14 +38,14 @@ public class WorkoutActivity extends Activity {
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        InterfaceAccessWorkouts aw = new AccessWorkouts();
-        final List<Workout> workoutList;
+        InterfaceAccessWorkouts aw = AccessFactory.newAccessWorkouts();
+        final List<WorkoutSummary> workoutList;
 
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_list_display);
 
         ListView listView = (ListView) findViewById(R.id.list_panel);
-        workoutList = aw.getWorkoutsList();
+        workoutList = aw.getWorkoutSummaries();
 
         TextView title = (TextView) findViewById(R.id.activity_title);
         title.setText(R.string.text_workoutCollection);
@@ -67,7 +69,7 @@ public class WorkoutActivity extends Activity {
             @Override
             public void onItemClick(AdapterView<?> adapter, View view, int position, long arg) {
                 Intent appInfo = new Intent(WorkoutActivity.this, WorkoutDetailsActivity.class);
-                Workout workout =  (Workout) workoutArray.get(position);
+                WorkoutSummary workout =  (WorkoutSummary) workoutArray.get(position);
                 appInfo.putExtra("workoutName", workout.getName());
                 startActivity(appInfo);
             }
@@ -75,39 +77,40 @@ public class WorkoutActivity extends Activity {
     }
 
     /**
-     * A custom extension of the ArrayAdapter class, used for displaying workout name
+     * A custom extension of the ArrayAdapter class, used for displaying workout name and totals
      */
-    private class ListItemAdapter extends ArrayAdapter<Workout> {
-        private List<Workout> workoutList;
+    private class ListItemAdapter extends ArrayAdapter<WorkoutSummary> {
+        private List<WorkoutSummary> workoutList;
         Context context;
 
         /**
          * A constructor for a ListItemAdapter, which is a custom ArrayAdapter used for displaying
-         * workout name
+         * workout name and totals
          * @param context The activity's context
          * @param resourceId the layout resource used for the adapter
-         * @param workoutList a list of workouts
+         * @param workoutList a list of workout summaries
          */
-        public ListItemAdapter(Context context, int resourceId, List<Workout> workoutList) {
+        public ListItemAdapter(Context context, int resourceId, List<WorkoutSummary> workoutList) {
             super(context, resourceId, workoutList);
             this.workoutList = workoutList;
             this.context = context;
         }
 
         /**
-         * A wrapper class holding the workoutName TextView
+         * A wrapper class holding the workoutName and workoutDetails TextViews
          */
         private class ViewHolder {
             TextView workoutName;
+            TextView workoutDetails;
         }
 
 
         /**
-         * Returns a view containing the workout name
+         * Returns a view containing the workout name and totals
          * @param index the index of the workout in the workout list
          * @param convertView the view used for conversion
          * @param parent the parent ViewGroup
-         * @return a view containing the workout name
+         * @return a view containing the workout name and totals
          */
         @Override
         public View getView(final int index, View convertView, @NonNull ViewGroup parent) {
@@ -119,6 +122,7 @@ public class WorkoutActivity extends Activity {
                 viewHolder = new ViewHolder();
                 convertView = LayoutInflater.from(parent.getContext()).inflate(R.layout.list_item_workout, parent, false);
                 viewHolder.workoutName = (TextView) convertView.findViewById(R.id.workoutName);
+                viewHolder.workoutDetails = (TextView) convertView.findViewById(R.id.workoutDetails);
 
                 returnedView = convertView;
                 convertView.setTag(viewHolder);
@@ -127,9 +131,12 @@ public class WorkoutActivity extends Activity {
                 returnedView = convertView;
             }
 
-            Workout workout = workoutList.get(index);
+            WorkoutSummary workout = workoutList.get(index);
 
             viewHolder.workoutName.setText(workout.getName());
+            viewHolder.workoutDetails.setText(workout.numExercises() + " exercises, " +
+                    workout.getExperienceValue() + " XP" +
+                    (workout.getDominantType() == null ? "" : ", " + workout.getDominantType()));
 
             return returnedView;
         }
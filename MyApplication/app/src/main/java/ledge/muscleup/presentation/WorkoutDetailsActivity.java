@@ -13,13 +13,11 @@ import android.widget.Button;
 import android.widget.ListView;
 import android.widget.TextView;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import ledge.muscleup.R;
-import ledge.muscleup.business.AccessWorkouts;
+import ledge.muscleup.business.AccessFactory;
 import ledge.muscleup.business.InterfaceAccessWorkouts;
-import ledge.muscleup.model.exercise.WorkoutExercise;
 import ledge.muscleup.model.workout.Workout;
 
 /**
@@ -39,21 +37,10 @@ public class WorkoutDetailsActivity extends Activity {
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        List<WorkoutExercise> exerciseList;
-
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_workout_details);
 
-        exerciseList = getExerciseList();
-
-        ListView listView = (ListView) findViewById(R.id.list_panel);
-
-        ListItemAdapter adapter = new ListItemAdapter(getApplicationContext(), R.layout.list_item_workout_exercise, exerciseList);
-        TextView title = (TextView) findViewById(R.id.activity_title);
-        title.setText(workout.getName());
-
-        listView.setAdapter(adapter);
-        listView.setItemsCanFocus(true);
+        loadWorkout(getIntent().getStringExtra("workoutName"));
 
         Button goToSchedule = (Button) findViewById(R.id.goToSchedule);
         goToSchedule.setOnClickListener(new View.OnClickListener() {
@@ -66,26 +53,48 @@ public class WorkoutDetailsActivity extends Activity {
     }
 
     /**
-     * getExerciseList will get the workout that was clicked on in WorkoutActivity and return the exercises associated
-     * @return list of exercises for a workout
+     * Loads the workout that was clicked on in WorkoutActivity and builds the rows for its
+     * exercises on a background thread, and then shows them on the UI thread
+     * @param workoutName the name of the workout to show
      */
-    private List<WorkoutExercise> getExerciseList(){
-        String workoutName;
-        Intent intent;
-        InterfaceAccessWorkouts aw = new AccessWorkouts();
+    private void loadWorkout(final String workoutName) {
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                InterfaceAccessWorkouts aw = AccessFactory.newAccessWorkouts();
+                final Workout loadedWorkout = aw.getWorkout(workoutName);
+                final List<ExerciseRow> rows = ExerciseRow.forWorkoutExercises(loadedWorkout.getExerciseList());
+
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (!isDestroyed())
+                            showWorkout(loadedWorkout, rows);
+                    }
+                });
+            }
+        }, "WorkoutDetailsActivity.loadWorkout").start();
+    }
 
-        //get name of workout
-        intent = getIntent();
-        workoutName = intent.getStringExtra("workoutName");
+    /**
+     * Shows the name of the workout and the list of its exercises
+     * @param loadedWorkout the workout to show
+     * @param rows the rows for the exercises in the workout
+     */
+    private void showWorkout(Workout loadedWorkout, List<ExerciseRow> rows) {
+        workout = loadedWorkout;
+        ListView listView = (ListView) findViewById(R.id.list_panel);
 
-        //get Workout from db
-        workout = aw.getWorkout(workoutName);
+        ListItemAdapter adapter = new ListItemAdapter(getApplicationContext(), R.layout.list_item_workout_exercise, rows);
+        TextView title = (TextView) findViewById(R.id.activity_title);
+        title.setText(workout.getName());
 
-        return workout.getExerciseList();
+        listView.setAdapter(adapter);
+        listView.setItemsCanFocus(true);
     }
 
-    private class ListItemAdapter extends ArrayAdapter<WorkoutExercise> {
-        private List<WorkoutExercise> exerciseList;
+    private class ListItemAdapter extends ArrayAdapter<ExerciseRow> {
+        private List<ExerciseRow> exerciseList;
         Context context;
 
         /**
@@ -93,9 +102,9 @@ public class WorkoutDetailsActivity extends Activity {
          * exercise name and quantity
          * @param context The activity's context
          * @param resourceId the layout resource used for the adapter
-         * @param exerciseList a list of exercises in the workout
+         * @param exerciseList the rows for the exercises in the workout
          */
-        public ListItemAdapter(Context context, int resourceId, List<WorkoutExercise> exerciseList) {
+        public ListItemAdapter(Context context, int resourceId, List<ExerciseRow> exerciseList) {
             super(context, resourceId, exerciseList);
             this.exerciseList = exerciseList;
             this.context = context;
@@ -137,11 +146,10 @@ public class WorkoutDetailsActivity extends Activity {
                 returnedView = convertView;
             }
 
-            WorkoutExercise exercise = exerciseList.get(index);
+            ExerciseRow row = exerciseList.get(index);
 
-            viewHolder.exerciseName.setText(exercise.getName());
-            String exerciseInfo = ExerciseQuantityDisplayStrings.getExerciseQuantityDisplayString(exercise.getQuantity());
-            viewHolder.exerciseInfo.setText(exerciseInfo);
+            viewHolder.exerciseName.setText(row.getName());
+            viewHolder.exerciseInfo.setText(row.getQuantity());
 
             return returnedView;
         }
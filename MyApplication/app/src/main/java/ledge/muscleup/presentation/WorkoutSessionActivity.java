@@ -8,6 +8,7 @@ import android.support.annotation.NonNull;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
 import android.widget.Button;
 import android.widget.ListView;
@@ -20,7 +21,7 @@ import org.joda.time.format.DateTimeFormatter;
 import java.util.List;
 
 import ledge.muscleup.R;
-import ledge.muscleup.business.AccessWorkoutSessions;
+import ledge.muscleup.business.AccessFactory;
 import ledge.muscleup.business.InterfaceAccessWorkoutSessions;
 import ledge.muscleup.model.exercise.WorkoutSessionExercise;
 import ledge.muscleup.model.workout.WorkoutSession;
@@ -37,6 +38,7 @@ public class WorkoutSessionActivity extends Activity {
 
     private WorkoutSession workoutSession;  //the workout session in view
     private static final DateTimeFormatter formatter = DateTimeFormat.forPattern("MM/dd/yyyy");
+    private static final float COMPLETED_ALPHA = 0.5f;
 
     /**
      *  onCreate initializes WorkoutSessionActivity
@@ -44,13 +46,46 @@ public class WorkoutSessionActivity extends Activity {
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        final InterfaceAccessWorkoutSessions aws = new AccessWorkoutSessions();
-
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_workout_session);
 
+        loadWorkoutSession(formatter.parseLocalDate(getIntent().getStringExtra("workoutSessionDate")));
+    }
+
+    /**
+     * Loads the workout session and builds the rows of its checklist on a background thread, and
+     * then shows them on the UI thread
+     * @param workoutSessionDate the date of the workout session to show
+     */
+    private void loadWorkoutSession(final LocalDate workoutSessionDate) {
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                InterfaceAccessWorkoutSessions aws = AccessFactory.newAccessWorkoutSessions();
+                final WorkoutSession session = aws.getWorkoutSession(workoutSessionDate);
+                final List<ExerciseRow> rows = ExerciseRow.forSessionExercises(session.getWorkoutSessionExercises());
+
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (!isDestroyed())
+                            showWorkoutSession(session, rows);
+                    }
+                });
+            }
+        }, "WorkoutSessionActivity.loadWorkoutSession").start();
+    }
+
+    /**
+     * Shows the workout session, with a checklist of its exercises and the button to complete it
+     * @param session the workout session to show
+     * @param rows the rows of the checklist
+     */
+    private void showWorkoutSession(WorkoutSession session, List<ExerciseRow> rows) {
+        final InterfaceAccessWorkoutSessions aws = AccessFactory.newAccessWorkoutSessions();
+
+        workoutSession = session;
         ListView listView = (ListView) findViewById(R.id.checklist);
-        final List<WorkoutSessionExercise> exerciseList = getExercisesInWorkoutSession();
 
         String dateString = formatter.print(workoutSession.getDate());
         TextView sessionDateTextView = (TextView) findViewById(R.id.workoutSessionDate);
@@ -59,7 +94,7 @@ public class WorkoutSessionActivity extends Activity {
         TextView sessionNameTextView = (TextView) findViewById(R.id.workoutSessionName);
         sessionNameTextView.setText(workoutSession.getName());
 
-        ListItemAdapter adapter = new ListItemAdapter(getApplicationContext(), R.layout.list_item_workout_session_exercise, exerciseList);
+        ListItemAdapter adapter = new ListItemAdapter(getApplicationContext(), R.layout.list_item_workout_session_exercise, rows);
 
         listView.setAdapter(adapter);
         listView.setItemsCanFocus(true);
@@ -104,6 +139,17 @@ public class WorkoutSessionActivity extends Activity {
                         startActivity(appInfo);
                     }
                 });
+
+                //exercises are ticked off one at a time, and saved together shortly after
+                listView.setOnItemClickListener(new AdapterView.OnItemClickListener() {
+                    @Override
+                    public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
+                        WorkoutSessionExercise exercise = workoutSession.getWorkoutSessionExercises().get(position);
+
+                        aws.toggleExerciseCompleted(workoutSession, exercise);
+                        view.setAlpha(exercise.isComplete() ? COMPLETED_ALPHA : 1f);
+                    }
+                });
             }
         }
 
@@ -119,28 +165,12 @@ public class WorkoutSessionActivity extends Activity {
     }
 
 
-    /**
-     * Gets a list of all WorkoutSessionExercises in the workout session being viewed
-     * @return a list of WorkoutSessionExercises in the current workout session
-     */
-    private List<WorkoutSessionExercise> getExercisesInWorkoutSession(){
-        LocalDate workoutSessionDate;
-        Intent intent;
-        InterfaceAccessWorkoutSessions aws = new AccessWorkoutSessions();
-
-        //get workout session date
-        intent = getIntent();
-        workoutSessionDate = formatter.parseLocalDate(intent.getStringExtra("workoutSessionDate"));
-        workoutSession = aws.getWorkoutSession(workoutSessionDate);
-        return workoutSession.getWorkoutSessionExercises();
-    }
-
     /**
      * A custom extension of the ArrayAdapter class, used for displaying exercise name and quantity
      *
      */
-    private class ListItemAdapter extends ArrayAdapter<WorkoutSessionExercise> {
-        private List<WorkoutSessionExercise> exerciseList;
+    private class ListItemAdapter extends ArrayAdapter<ExerciseRow> {
+        private List<ExerciseRow> exerciseList;
         Context context;
 
         /**
@@ -148,9 +178,9 @@ public class WorkoutSessionActivity extends Activity {
          * exercise name and quantity
          * @param context The activity's context
          * @param resourceId the layout resource used for the adapter
-         * @param exerciseList a list of exercises in the workout session
+         * @param exerciseList the rows for the exercises in the workout session
          */
-        public ListItemAdapter(Context context, int resourceId, List<WorkoutSessionExercise> exerciseList) {
+        public ListItemAdapter(Context context, int resourceId, List<ExerciseRow> exerciseList) {
             super(context, resourceId, exerciseList);
             this.exerciseList = exerciseList;
             this.context = context;
@@ -191,13 +221,11 @@ public class WorkoutSessionActivity extends Activity {
                 returnedView = convertView;
             }
 
-            WorkoutSessionExercise sessionExercise = exerciseList.get(index);
+            ExerciseRow row = exerciseList.get(index);
 
-            viewHolder.exerciseName.setText(sessionExercise.getName());
-            String exerciseQuantity = ExerciseQuantityDisplayStrings.getExerciseQuantityDisplayString(
-                    sessionExercise.getRecommendedQuantity()
-            );
-            viewHolder.exerciseQuantity.setText(exerciseQuantity);
+            viewHolder.exerciseName.setText(row.getName());
+            viewHolder.exerciseQuantity.setText(row.getQuantity());
+            returnedView.setAlpha(workoutSession.getWorkoutSessionExercises().get(index).isComplete() ? COMPLETED_ALPHA : 1f);
 
             return returnedView;
         }
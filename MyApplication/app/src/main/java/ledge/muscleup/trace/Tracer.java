@@ -0,0 +1,269 @@
+package ledge.muscleup.trace;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A lightweight tracer for timing nested steps of the application, such as startup. Sections are
+ * begun and ended in pairs on the same thread, and sections begun inside another section are
+ * nested inside it. The trace can be written as Chrome trace-event JSON, which can be opened in
+ * chrome://tracing or Perfetto.
+ *
+ * Tracing is off by default, in which case beginning or ending a section only reads one flag
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-24
+ */
+public class Tracer {
+    /**
+     * The name of the file the trace is dumped to on a device
+     */
+    public static final String DUMP_FILE_NAME = "startup_trace.json";
+
+    /**
+     * The most spans kept, so that leaving tracing on can't use up memory
+     */
+    public static final int MAX_SPANS = 10000;
+
+    private static final List<Span> spans = new ArrayList<>();
+    private static final ThreadLocal<Deque<Span>> openSpans = new ThreadLocal<Deque<Span>>() {
+        @Override
+        protected Deque<Span> initialValue() {
+            return new ArrayDeque<>();
+        }
+    };
+
+    private static volatile boolean enabled = false;
+    private static volatile long originNanos = System.nanoTime();
+
+    /**
+     * Turns tracing on or off. Turning it on starts a new trace
+     * @param isEnabled whether sections should be traced
+     */
+    public static void setEnabled(boolean isEnabled) {
+        if (isEnabled && !enabled)
+            reset();
+        enabled = isEnabled;
+    }
+
+    /**
+     * Returns {@code true} if sections are being traced, or {@code false} otherwise
+     * @return a boolean representing whether sections are being traced
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Forgets the spans traced so far and starts timing the trace from now
+     */
+    public static void reset() {
+        synchronized (spans) {
+            spans.clear();
+            originNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Begins a section on the current thread, nested inside any section that is still open
+     * @param name the name of the section
+     */
+    public static void beginSection(String name) {
+        if (enabled)
+            openSpans.get().push(new Span(name, Thread.currentThread(), System.nanoTime()));
+    }
+
+    /**
+     * Ends the section most recently begun on the current thread. Does nothing if no section is
+     * open, so a section begun before tracing was turned on is simply not recorded
+     */
+    public static void endSection() {
+        Span span;
+
+        if (enabled) {
+            span = openSpans.get().poll();
+            if (span != null) {
+                span.endNanos = System.nanoTime();
+                synchronized (spans) {
+                    if (spans.size() < MAX_SPANS)
+                        spans.add(span);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the spans that have ended so far, in the order they ended
+     * @return a list of the ended spans
+     */
+    public static List<Span> getSpans() {
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+
+    /**
+     * Returns the spans that have ended so far as Chrome trace-event JSON, with one complete
+     * event per span
+     * @return the trace as JSON
+     */
+    public static String toChromeJson() {
+        StringBuilder json = new StringBuilder();
+        List<Span> ended = getSpans();
+        Span span;
+
+        json.append("{\"traceEvents\":[");
+        for (int i = 0; i < ended.size(); i++) {
+            span = ended.get(i);
+            if (i > 0)
+                json.append(",");
+            json.append("\n  {\"name\":\"").append(escapeJson(span.getName())).append("\"")
+                    .append(",\"cat\":\"muscleup\",\"ph\":\"X\"")
+                    .append(",\"ts\":").append(span.getStartMicros())
+                    .append(",\"dur\":").append(span.getDurationMicros())
+                    .append(",\"pid\":1,\"tid\":").append(span.getThreadId())
+                    .append(",\"args\":{\"thread\":\"").append(escapeJson(span.getThreadName())).append("\"}}");
+        }
+        json.append("\n],\"displayTimeUnit\":\"ms\"}\n");
+
+        return json.toString();
+    }
+
+    /**
+     * Writes the trace to a file as Chrome trace-event JSON, replacing any earlier dump
+     * @param file the file to write the trace to
+     * @return a boolean representing whether the file was written
+     */
+    public static boolean writeChromeJson(File file) {
+        boolean written = false;
+        FileWriter writer;
+
+        try {
+            writer = new FileWriter(file);
+            try {
+                writer.write(toChromeJson());
+                written = true;
+            }
+            finally {
+                writer.close();
+            }
+        }
+        catch (IOException ioe) {
+            System.out.println("Unable to write trace: " + ioe.getMessage());
+        }
+
+        return written;
+    }
+
+    /**
+     * Escapes a String so that it can be placed inside a JSON string
+     * @param text the String to escape
+     * @return the escaped String
+     */
+    public static String escapeJson(String text) {
+        StringBuilder escaped = new StringBuilder();
+        char c;
+
+        for (int i = 0; i < text.length(); i++) {
+            c = text.charAt(i);
+            if (c == '"' || c == '\\')
+                escaped.append('\\').append(c);
+            else if (c < ' ')
+                escaped.append(String.format("\\u%04x", (int) c));
+            else
+                escaped.append(c);
+        }
+
+        return escaped.toString();
+    }
+
+    /**
+     * A traced section of the application
+     */
+    public static class Span {
+        private String name;
+        private long threadId;
+        private String threadName;
+        private long startNanos;
+        private long endNanos;
+
+        /**
+         * Constructor for a Span, which begins it
+         * @param name the name of the section
+         * @param thread the thread the section runs on
+         * @param startNanos when the section began, from System.nanoTime()
+         */
+        private Span(String name, Thread thread, long startNanos) {
+            this.name = name;
+            this.threadId = thread.getId();
+            this.threadName = thread.getName();
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Returns the name of the section
+         * @return the name of the section
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the ID of the thread the section ran on
+         * @return the ID of the thread
+         */
+        public long getThreadId() {
+            return threadId;
+        }
+
+        /**
+         * Returns the name of the thread the section ran on
+         * @return the name of the thread
+         */
+        public String getThreadName() {
+            return threadName;
+        }
+
+        /**
+         * Returns when the section began, in microseconds since the trace started
+         * @return when the section began
+         */
+        public long getStartMicros() {
+            return (startNanos - originNanos) / 1000;
+        }
+
+        /**
+         * Returns how long the section took, in microseconds
+         * @return how long the section took
+         */
+        public long getDurationMicros() {
+            return (endNanos - startNanos) / 1000;
+        }
+
+        /**
+         * Returns {@code true} if this section ran inside the other section on the same thread,
+         * or {@code false} otherwise
+         * @param other the section that may contain this one
+         * @return a boolean representing whether this section is nested inside the other
+         */
+        public boolean isNestedIn(Span other) {
+            return other != null && other != this && threadId == other.threadId &&
+                    startNanos >= other.startNanos && endNanos <= other.endNanos;
+        }
+
+        /**
+         * Returns the Span as a String
+         * @return the Span as a String
+         */
+        @Override
+        public String toString() {
+            return name + " (" + getDurationMicros() + " us)";
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ledge.muscleup.benchmark;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * BenchmarkTests.java used to run all benchmarks. These work on scratch copies of the database and
+ * take much longer than the other tests, so they are kept out of the unit and integration suites
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-20
+ */
+
+public class BenchmarkTests {
+    public static TestSuite suite;
+
+    public static Test suite()
+    {
+        suite = new TestSuite("Benchmarks");
+        suite.addTestSuite(SessionDeletionBenchmark.class);
+        suite.addTestSuite(HistoryExportBenchmark.class);
+        suite.addTestSuite(HistoryImportBenchmark.class);
+        return suite;
+    }
+}
@@ -0,0 +1,196 @@
+package ledge.muscleup.benchmark;
+
+import junit.framework.TestCase;
+
+import org.joda.time.LocalDate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+import ledge.muscleup.persistence.ExportDataAccess;
+import ledge.muscleup.persistence.ExportFormat;
+
+/**
+ * Measures how long it takes to export a long workout history from the HSQL database, and how
+ * much memory the export needs
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-29
+ */
+public class HistoryExportBenchmark extends TestCase {
+    private static final int NUM_SESSIONS = 100000;
+    private static final int FIRST_ID = 1000;
+    private static final int[] WORKOUT_EXERCISE_IDS = {2, 3};
+    private static final LocalDate FIRST_DATE = new LocalDate(2020, 1, 1);
+
+    private ScratchDatabase database;
+    private ExportDataAccess exportDataAccess;
+
+    /**
+     * Constructor for the HistoryExportBenchmark
+     */
+    public HistoryExportBenchmark(String arg0) {
+        super(arg0);
+    }
+
+    /**
+     * Creates a scratch database with NUM_SESSIONS workout sessions, every other one completed
+     */
+    @Before
+    public void setUp() throws Exception {
+        Statement statement;
+        Connection connection;
+        PreparedStatement sessions, exercises, contents, progress;
+        int sessionID, exerciseID;
+
+        database = new ScratchDatabase();
+        statement = database.getNewStatement();
+        connection = statement.getConnection();
+        sessions = connection.prepareStatement("INSERT INTO WorkoutSessions VALUES (?, ?, 1, ?)");
+        exercises = connection.prepareStatement("INSERT INTO WorkoutSessionExercises VALUES (?, ?, ?)");
+        contents = connection.prepareStatement("INSERT INTO WorkoutSessionContents VALUES (?, ?, ?)");
+        progress = connection.prepareStatement("INSERT INTO ProgressHistory VALUES (?, ?, ?, ?)");
+
+        for (int i = 0; i < NUM_SESSIONS; i++) {
+            sessionID = FIRST_ID + i;
+            sessions.setInt(1, sessionID);
+            sessions.setDate(2, new Date(FIRST_DATE.plusDays(i).toDate().getTime()));
+            sessions.setBoolean(3, i % 2 == 0);
+            sessions.addBatch();
+
+            for (int j = 0; j < WORKOUT_EXERCISE_IDS.length; j++) {
+                exerciseID = FIRST_ID + i * WORKOUT_EXERCISE_IDS.length + j;
+                exercises.setInt(1, exerciseID);
+                exercises.setInt(2, WORKOUT_EXERCISE_IDS[j]);
+                exercises.setBoolean(3, i % 2 == 0);
+                exercises.addBatch();
+                contents.setInt(1, exerciseID);
+                contents.setInt(2, sessionID);
+                contents.setInt(3, exerciseID);
+                contents.addBatch();
+            }
+
+            if (i % 2 == 0) {
+                progress.setInt(1, sessionID);
+                progress.setInt(2, sessionID);
+                progress.setTimestamp(3, new Timestamp(FIRST_DATE.plusDays(i).toDate().getTime()));
+                progress.setInt(4, (i + 1) * 100);
+                progress.addBatch();
+            }
+
+            if (i % 1000 == 999 || i == NUM_SESSIONS - 1) {
+                sessions.executeBatch();
+                exercises.executeBatch();
+                contents.executeBatch();
+                progress.executeBatch();
+            }
+        }
+        sessions.close();
+        exercises.close();
+        contents.close();
+        progress.close();
+        statement.close();
+
+        exportDataAccess = new ExportDataAccess();
+        exportDataAccess.open(database.getNewStatement());
+    }
+
+    /**
+     * Closes and deletes the scratch database
+     */
+    @After
+    public void tearDown() {
+        exportDataAccess.close();
+        database.close();
+    }
+
+    /**
+     * Exports every session and the experience history in both formats and reports the time
+     * taken and the most memory used during each export
+     */
+    @Test
+    public void testExportHistory() throws Exception {
+        int numSessions = database.countRows("WorkoutSessions");
+        int numExercises = database.countRows("WorkoutSessionContents");
+        int numProgress = database.countRows("ProgressHistory");
+
+        System.out.println("\nStarting benchmark of exporting " + numSessions + " workout sessions");
+
+        for (ExportFormat format : ExportFormat.values()) {
+            assertEquals(numExercises, export(format, true));
+            assertEquals(numProgress, export(format, false));
+        }
+
+        System.out.println("Finished benchmark of exporting workout sessions\n");
+    }
+
+    /**
+     * Exports the sessions or the experience history to a stream that only counts what is
+     * written, sampling the memory in use every thousand rows
+     * @param format the format to export in
+     * @param sessions whether to export the sessions rather than the experience history
+     * @return the number of rows exported
+     * @throws IOException if the export failed
+     */
+    private int export(ExportFormat format, boolean sessions) throws IOException {
+        CountingWriter writer = new CountingWriter();
+        long startTime, elapsedNanos, baseline;
+        int numRows;
+
+        System.gc();
+        baseline = writer.usedMemory();
+        startTime = System.nanoTime();
+        numRows = sessions ? exportDataAccess.exportSessions(writer, format) : exportDataAccess.exportProgress(writer, format);
+        elapsedNanos = System.nanoTime() - startTime;
+
+        System.out.printf("Exported %d %s rows as %s (%.1f MB) in %.1f ms, at most %.1f MB above the baseline%n",
+                numRows, sessions ? "session" : "progress", format, writer.chars / 1e6, elapsedNanos / 1e6,
+                (writer.peakMemory - baseline) / 1e6);
+        return numRows;
+    }
+
+    /**
+     * A stream that discards what is written to it, counting the characters and sampling how
+     * much memory is in use
+     */
+    private static class CountingWriter extends Writer {
+        private long chars = 0;
+        private long peakMemory = 0;
+        private int lines = 0;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            chars += length;
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n' && ++lines % 1000 == 0)
+                    peakMemory = Math.max(peakMemory, usedMemory());
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        /**
+         * Gets the memory currently in use by the JVM
+         * @return the memory in use, in bytes
+         */
+        long usedMemory() {
+            Runtime runtime = Runtime.getRuntime();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}
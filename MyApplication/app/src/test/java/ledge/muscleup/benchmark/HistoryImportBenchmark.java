@@ -0,0 +1,207 @@
+package ledge.muscleup.benchmark;
+
+import junit.framework.TestCase;
+
+import org.joda.time.LocalDate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.Reader;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import ledge.muscleup.persistence.ExportFormat;
+import ledge.muscleup.persistence.ImportDataAccess;
+import ledge.muscleup.persistence.ImportReport;
+
+/**
+ * Measures how long it takes to import a million rows of workout history into the HSQL database,
+ * and how much memory the import needs
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-30
+ */
+public class HistoryImportBenchmark extends TestCase {
+    private static final int NUM_SESSIONS = 500000;
+    private static final String WORKOUT_NAME = "Welcome to the Gun Show";
+    private static final LocalDate FIRST_DATE = new LocalDate(2020, 1, 1);
+
+    private ScratchDatabase database;
+    private ImportDataAccess importDataAccess;
+    private String[] exerciseNames;
+
+    /**
+     * Constructor for the HistoryImportBenchmark
+     */
+    public HistoryImportBenchmark(String arg0) {
+        super(arg0);
+    }
+
+    /**
+     * Creates a scratch database and looks up the exercises of the workout to import
+     */
+    @Before
+    public void setUp() throws Exception {
+        Statement statement;
+        ResultSet resultSet;
+        List<String> names = new ArrayList<>();
+
+        database = new ScratchDatabase();
+        statement = database.getNewStatement();
+        resultSet = statement.executeQuery(
+                "SELECT     E.Name " +
+                "FROM       Workouts W " +
+                "INNER JOIN WorkoutContents WC " +
+                "           ON WC.WorkoutID = W.ID " +
+                "INNER JOIN WorkoutExercises WE " +
+                "           ON WC.ExerciseID = WE.ID " +
+                "INNER JOIN Exercises E " +
+                "           ON WE.ExerciseID = E.ID " +
+                "WHERE      W.Name = '" + WORKOUT_NAME + "' " +
+                "ORDER BY   WC.ID");
+        while (resultSet.next())
+            names.add(resultSet.getString("Name"));
+        resultSet.close();
+        statement.close();
+        exerciseNames = names.toArray(new String[names.size()]);
+
+        importDataAccess = new ImportDataAccess();
+        importDataAccess.open(database.getNewStatement());
+    }
+
+    /**
+     * Closes and deletes the scratch database
+     */
+    @After
+    public void tearDown() {
+        importDataAccess.close();
+        database.close();
+    }
+
+    /**
+     * Imports NUM_SESSIONS sessions, every other one completed, and the experience gained from
+     * the completed ones, and reports the throughput and the most memory used during each import
+     */
+    @Test
+    public void testImportHistory() throws Exception {
+        int sessionsBefore = database.countRows("WorkoutSessions");
+        int exercisesBefore = database.countRows("WorkoutSessionContents");
+        GeneratedHistory sessions = new GeneratedHistory(true);
+        GeneratedHistory progress = new GeneratedHistory(false);
+        ImportReport report;
+
+        System.out.println("\nStarting benchmark of importing " + NUM_SESSIONS + " workout sessions");
+
+        System.gc();
+        sessions.baseline = sessions.usedMemory();
+        report = importDataAccess.importSessions(sessions, ExportFormat.CSV);
+        System.out.printf("%s, at most %.1f MB above the baseline%n", report,
+                (sessions.peakMemory - sessions.baseline) / 1e6);
+        assertEquals(NUM_SESSIONS * exerciseNames.length, report.getRowsImported());
+        assertEquals(sessionsBefore + NUM_SESSIONS, database.countRows("WorkoutSessions"));
+        assertEquals(exercisesBefore + NUM_SESSIONS * exerciseNames.length, database.countRows("WorkoutSessionContents"));
+
+        System.gc();
+        progress.baseline = progress.usedMemory();
+        report = importDataAccess.importProgress(progress, ExportFormat.JSON_LINES);
+        System.out.printf("%s, at most %.1f MB above the baseline%n", report,
+                (progress.peakMemory - progress.baseline) / 1e6);
+        assertEquals(NUM_SESSIONS / 2, report.getRowsImported());
+        assertEquals(NUM_SESSIONS / 2, database.countRows("ProgressHistory"));
+
+        System.out.println("Finished benchmark of importing workout sessions\n");
+    }
+
+    /**
+     * A stream that writes the history to import as it is read, so the file never exists in
+     * memory, sampling how much memory is in use every thousand rows
+     */
+    private class GeneratedHistory extends Reader {
+        private final boolean sessions;
+        private final StringBuilder line = new StringBuilder();
+        private int linePosition = 0;
+        private int row = -1;
+        private long baseline = 0;
+        private long peakMemory = 0;
+
+        /**
+         * Constructor for a GeneratedHistory
+         * @param sessions whether to generate sessions as CSV rather than the experience history
+         *                 as JSON Lines
+         */
+        private GeneratedHistory(boolean sessions) {
+            this.sessions = sessions;
+            if (sessions)
+                line.append("date,workout,sessionComplete,exercise,type,intensity,xp,exerciseComplete\n");
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            int numRead = 0;
+            int numChars;
+
+            while (numRead < length && (linePosition < line.length() || nextLine())) {
+                numChars = Math.min(length - numRead, line.length() - linePosition);
+                line.getChars(linePosition, linePosition + numChars, buffer, offset + numRead);
+                linePosition += numChars;
+                numRead += numChars;
+            }
+
+            return numRead == 0 ? -1 : numRead;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        /**
+         * Generates the next line of the history
+         * @return whether there was another line
+         */
+        private boolean nextLine() {
+            int session;
+            String date;
+
+            row++;
+            line.setLength(0);
+            linePosition = 0;
+            if (row % 1000 == 0)
+                peakMemory = Math.max(peakMemory, usedMemory());
+
+            if (sessions) {
+                if (row >= NUM_SESSIONS * exerciseNames.length)
+                    return false;
+
+                session = row / exerciseNames.length;
+                date = FIRST_DATE.plusDays(session).toString();
+                line.append(date).append(',').append(WORKOUT_NAME).append(',').append(session % 2 == 0)
+                        .append(',').append(exerciseNames[row % exerciseNames.length]).append(",,,,")
+                        .append(session % 2 == 0).append('\n');
+            }
+            else {
+                if (row >= NUM_SESSIONS / 2)
+                    return false;
+
+                date = FIRST_DATE.plusDays(row * 2).toString();
+                line.append("{\"loggedAt\":\"").append(date).append("T18:00:00.000\",\"sessionDate\":\"")
+                        .append(date).append("\",\"workout\":\"").append(WORKOUT_NAME)
+                        .append("\",\"xpGained\":90,\"totalXP\":").append((row + 1) * 90).append("}\n");
+            }
+
+            return true;
+        }
+
+        /**
+         * Gets the memory currently in use by the JVM
+         * @return the memory in use, in bytes
+         */
+        private long usedMemory() {
+            Runtime runtime = Runtime.getRuntime();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}
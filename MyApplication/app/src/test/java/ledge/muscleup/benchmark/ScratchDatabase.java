@@ -0,0 +1,100 @@
+package ledge.muscleup.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import ledge.muscleup.application.Main;
+import ledge.muscleup.persistence.DataAccess;
+
+/**
+ * A throwaway copy of the application database, so benchmarks can create and delete large amounts
+ * of data without touching the database used by the other tests
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-20
+ */
+class ScratchDatabase {
+    private static final File SOURCE_SCRIPT = new File("./app/" + Main.dbName + ".script");
+
+    private Path directory;
+    private DataAccess dataAccess;
+
+    /**
+     * Copies the application database to a new temporary directory and opens it
+     * @throws IOException if the database could not be copied
+     */
+    ScratchDatabase() throws IOException {
+        directory = Files.createTempDirectory("muscleup-benchmark");
+        Files.copy(SOURCE_SCRIPT.toPath(), directory.resolve(Main.dbName + ".script"));
+
+        dataAccess = new DataAccess(Main.dbName);
+        dataAccess.open(getPath());
+    }
+
+    /**
+     * Gets the path of the scratch database, as passed to {@code DataAccess.open}
+     * @return the path of the scratch database
+     */
+    String getPath() {
+        return directory.resolve(Main.dbName).toString();
+    }
+
+    /**
+     * Gets a new statement on the scratch database
+     * @return a new statement
+     */
+    Statement getNewStatement() {
+        return dataAccess.getNewStatement();
+    }
+
+    /**
+     * Counts the rows in a table of the scratch database
+     * @param tableName the table to count the rows of
+     * @return the number of rows in the table
+     * @throws Exception if the table could not be read
+     */
+    int countRows(String tableName) throws Exception {
+        Statement statement = getNewStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) AS NumRows FROM " + tableName);
+        int numRows = 0;
+
+        if (resultSet.next())
+            numRows = resultSet.getInt("NumRows");
+
+        resultSet.close();
+        statement.close();
+        return numRows;
+    }
+
+    /**
+     * Closes the scratch database and deletes its files
+     */
+    void close() {
+        File[] files;
+
+        dataAccess.close();
+        files = directory.toFile().listFiles();
+        if (files != null)
+            for (File file : files)
+                deleteRecursively(file);
+        directory.toFile().delete();
+    }
+
+    /**
+     * Deletes a file, or a directory and everything in it
+     * @param file the file or directory to delete
+     */
+    private void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+
+        if (children != null)
+            for (File child : children)
+                deleteRecursively(child);
+        file.delete();
+    }
+}
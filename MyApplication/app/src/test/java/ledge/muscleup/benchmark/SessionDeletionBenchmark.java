@@ -0,0 +1,88 @@
+package ledge.muscleup.benchmark;
+
+import junit.framework.TestCase;
+
+import org.joda.time.LocalDate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import ledge.muscleup.model.workout.Workout;
+import ledge.muscleup.model.workout.WorkoutSession;
+import ledge.muscleup.persistence.WorkoutDataAccess;
+import ledge.muscleup.persistence.WorkoutSessionDataAccess;
+
+/**
+ * Measures how long it takes to remove a large number of workout sessions from the HSQL database
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-20
+ */
+public class SessionDeletionBenchmark extends TestCase {
+    private static final int NUM_SESSIONS = 1000;
+    private static final LocalDate FIRST_DATE = new LocalDate(2020, 1, 1);
+
+    private ScratchDatabase database;
+    private WorkoutSessionDataAccess workoutSessionDataAccess;
+    private Workout workout;
+
+    /**
+     * Constructor for the SessionDeletionBenchmark
+     */
+    public SessionDeletionBenchmark(String arg0) {
+        super(arg0);
+    }
+
+    /**
+     * Creates a scratch database with NUM_SESSIONS scheduled workout sessions
+     */
+    @Before
+    public void setUp() throws Exception {
+        WorkoutDataAccess workoutDataAccess = new WorkoutDataAccess();
+
+        database = new ScratchDatabase();
+        workoutDataAccess.open(database.getNewStatement());
+        workout = workoutDataAccess.getWorkout("Never Skip Leg Day");
+        workoutDataAccess.close();
+
+        workoutSessionDataAccess = new WorkoutSessionDataAccess();
+        workoutSessionDataAccess.open(database.getNewStatement());
+        for (int i = 0; i < NUM_SESSIONS; i++)
+            workoutSessionDataAccess.insertWorkoutSession(new WorkoutSession(workout, FIRST_DATE.plusDays(i), false));
+    }
+
+    /**
+     * Closes and deletes the scratch database
+     */
+    @After
+    public void tearDown() {
+        workoutSessionDataAccess.close();
+        database.close();
+    }
+
+    /**
+     * Removes every scheduled session one at a time and reports the time taken
+     */
+    @Test
+    public void testRemoveWorkoutSessions() throws Exception {
+        int sessionsBefore = database.countRows("WorkoutSessions");
+        int exercisesBefore = database.countRows("WorkoutSessionExercises");
+        long startTime, elapsedNanos;
+
+        System.out.println("\nStarting benchmark of removing " + NUM_SESSIONS + " workout sessions");
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < NUM_SESSIONS; i++)
+            workoutSessionDataAccess.removeWorkoutSession(new WorkoutSession(workout, FIRST_DATE.plusDays(i), false));
+        elapsedNanos = System.nanoTime() - startTime;
+
+        assertEquals(sessionsBefore - NUM_SESSIONS, database.countRows("WorkoutSessions"));
+        assertEquals(exercisesBefore - NUM_SESSIONS * workout.numExercises(), database.countRows("WorkoutSessionExercises"));
+        assertEquals(database.countRows("WorkoutSessionExercises"), database.countRows("WorkoutSessionContents"));
+
+        System.out.printf("Removed %d sessions in %.1f ms (%.1f us per session)%n", NUM_SESSIONS,
+                elapsedNanos / 1e6, elapsedNanos / 1e3 / NUM_SESSIONS);
+        System.out.println("Finished benchmark of removing workout sessions\n");
+    }
+}
@@ -3,6 +3,7 @@ package ledge.muscleup.integration;
 import junit.framework.TestCase;
 
 import org.joda.time.DateTimeConstants;
+import org.joda.time.Days;
 import org.joda.time.LocalDate;
 import org.junit.After;
 import org.junit.Before;
@@ -12,26 +13,46 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.nio.channels.FileChannel;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
+import ledge.muscleup.application.DataStore;
 import ledge.muscleup.application.Services;
 import ledge.muscleup.application.Main;
+import ledge.muscleup.business.AccessBackup;
+import ledge.muscleup.business.AccessDashboard;
 import ledge.muscleup.business.AccessExercises;
 import ledge.muscleup.business.AccessExperience;
+import ledge.muscleup.business.AccessExport;
+import ledge.muscleup.business.AccessImport;
+import ledge.muscleup.business.AccessSync;
 import ledge.muscleup.business.AccessWorkoutSessions;
 import ledge.muscleup.business.AccessWorkouts;
+import ledge.muscleup.business.DashboardSnapshot;
+import ledge.muscleup.business.SyncReport;
 import ledge.muscleup.model.exercise.Exercise;
 import ledge.muscleup.model.exercise.ExerciseDistance;
 import ledge.muscleup.model.exercise.ExerciseDuration;
 import ledge.muscleup.model.exercise.ExerciseSets;
 import ledge.muscleup.model.exercise.ExerciseSetsAndWeight;
+import ledge.muscleup.model.exercise.ExerciseTypeRecovery;
 import ledge.muscleup.model.exercise.WorkoutExercise;
 import ledge.muscleup.model.exercise.WorkoutExerciseDistance;
 import ledge.muscleup.model.exercise.WorkoutExerciseDuration;
 import ledge.muscleup.model.exercise.WorkoutExerciseSets;
 import ledge.muscleup.model.exercise.WorkoutExerciseSetsAndWeight;
+import ledge.muscleup.model.exercise.WorkoutSessionExercise;
 import ledge.muscleup.model.exercise.enums.DistanceUnit;
 import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
 import ledge.muscleup.model.exercise.enums.ExerciseType;
@@ -41,6 +62,15 @@ import ledge.muscleup.model.experience.CompletedWorkoutRecord;
 import ledge.muscleup.model.schedule.ScheduleWeek;
 import ledge.muscleup.model.workout.Workout;
 import ledge.muscleup.model.workout.WorkoutSession;
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
+import ledge.muscleup.model.workout.WorkoutSummary;
+import ledge.muscleup.persistence.BackupPoint;
+import ledge.muscleup.persistence.ExportFormat;
+import ledge.muscleup.persistence.ImportReport;
+import ledge.muscleup.persistence.InterfaceSyncDataAccess;
+import ledge.muscleup.persistence.InterfaceWorkoutSessionDataAccess;
+import ledge.muscleup.persistence.QueryStatistics;
+import ledge.muscleup.persistence.QueryStats;
 
 
 /**
@@ -434,6 +464,1192 @@ public class BusinessPersistenceSeamTest extends TestCase {
         System.out.println("Finishing Integration test of AccessWorkoutSessions to persistence\n");
     }
 
+    @Test
+    public void testMoveWorkoutSession() {
+        System.out.println("\nStarting Integration test of moving a workout session in persistence");
+
+        AccessWorkoutSessions accessWorkoutSessions = new AccessWorkoutSessions();
+        WorkoutSession workoutSession = accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 6, 26));
+
+        assertNotNull(workoutSession);
+        assertTrue(accessWorkoutSessions.moveWorkoutSession(workoutSession, new LocalDate(2017, 6, 27)));
+        assertEquals(new LocalDate(2017, 6, 27), workoutSession.getDate());
+        assertNull(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 6, 26)));
+
+        workoutSession = accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 6, 27));
+        assertNotNull(workoutSession);
+        assertEquals("Work that Core, Get that Score!", workoutSession.getName());
+        assertEquals(2, workoutSession.numExercises());
+
+        // a session can't be moved onto a day that already has one
+        assertFalse(accessWorkoutSessions.moveWorkoutSession(workoutSession, new LocalDate(2017, 6, 29)));
+        assertEquals("Never Skip Leg Day", accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 6, 29)).getName());
+
+        assertTrue(accessWorkoutSessions.moveWorkoutSession(workoutSession, new LocalDate(2017, 6, 26)));
+        assertNotNull(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 6, 26)));
+
+        try {
+            accessWorkoutSessions.moveWorkoutSession(null, new LocalDate(2017, 6, 28));
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) { }
+
+        try {
+            accessWorkoutSessions.moveWorkoutSession(workoutSession, null);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) { }
+
+        System.out.println("Finishing Integration test of moving a workout session in persistence\n");
+    }
+
+    @Test
+    public void testToggleExerciseCompleted() throws InterruptedException {
+        System.out.println("\nStarting Integration test of ticking off exercises in persistence");
+
+        LocalDate date = new LocalDate(2017, 6, 29);
+        AccessWorkoutSessions accessWorkoutSessions;
+        WorkoutSession workoutSession;
+        WorkoutSessionExercise first, second;
+        QueryStats stats;
+
+        Services.closeDataAccess();
+        QueryStatistics.setEnabled(true);
+        QueryStatistics.reset();
+        Services.createDataAccess(Main.dbName);
+        try {
+            accessWorkoutSessions = new AccessWorkoutSessions();
+            workoutSession = accessWorkoutSessions.getWorkoutSession(date);
+            first = workoutSession.getWorkoutSessionExercises().get(0);
+            second = workoutSession.getWorkoutSessionExercises().get(1);
+            assertFalse(first.isComplete());
+            assertFalse(second.isComplete());
+
+            // taps close together are written as one batch, before the session is next read
+            assertTrue(accessWorkoutSessions.toggleExerciseCompleted(workoutSession, first));
+            assertTrue(accessWorkoutSessions.toggleExerciseCompleted(workoutSession, second));
+            assertTrue(accessWorkoutSessions.toggleExerciseCompleted(workoutSession, second));
+            assertTrue(accessWorkoutSessions.toggleExerciseCompleted(workoutSession, second));
+            assertTrue(first.isComplete());
+            assertTrue(second.isComplete());
+            assertNull(QueryStatistics.getStats("ExerciseCompletionWriter.flush:UPDATE"));
+
+            workoutSession = accessWorkoutSessions.getWorkoutSession(date);
+            assertTrue(workoutSession.getExercise(first.getName()).isComplete());
+            assertTrue(workoutSession.getExercise(second.getName()).isComplete());
+            assertFalse(workoutSession.isComplete());
+            stats = QueryStatistics.getStats("ExerciseCompletionWriter.flush:UPDATE");
+            assertNotNull(stats);
+            assertEquals(1, stats.getCalls());
+            assertEquals(0, stats.getErrors());
+
+            // left alone, the tap is written once no more follow it
+            assertTrue(accessWorkoutSessions.toggleExerciseCompleted(workoutSession, workoutSession.getExercise(first.getName())));
+            for (int i = 0; i < 100 && stats.getCalls() < 2; i++) {
+                Thread.sleep(100);
+                stats = QueryStatistics.getStats("ExerciseCompletionWriter.flush:UPDATE");
+            }
+            assertEquals(2, stats.getCalls());
+
+            // what was written is kept after the database is closed
+            Services.closeDataAccess();
+            Services.createDataAccess(Main.dbName);
+            accessWorkoutSessions = new AccessWorkoutSessions();
+            workoutSession = accessWorkoutSessions.getWorkoutSession(date);
+            assertFalse(workoutSession.getExercise(first.getName()).isComplete());
+            assertTrue(workoutSession.getExercise(second.getName()).isComplete());
+
+            assertTrue(accessWorkoutSessions.toggleExerciseCompleted(workoutSession, workoutSession.getExercise(second.getName())));
+            assertFalse(accessWorkoutSessions.toggleExerciseCompleted(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 6, 26)),
+                    workoutSession.getExercise(second.getName())));
+            assertFalse(accessWorkoutSessions.getWorkoutSession(date).getExercise(second.getName()).isComplete());
+
+            try {
+                accessWorkoutSessions.toggleExerciseCompleted(workoutSession, null);
+                fail("Expected the illegal argument.");
+            } catch (IllegalArgumentException e) { }
+        }
+        finally {
+            Services.closeDataAccess();
+            QueryStatistics.setEnabled(false);
+            QueryStatistics.reset();
+        }
+
+        System.out.println("Finishing Integration test of ticking off exercises in persistence\n");
+    }
+
+    @Test
+    public void testRetryExerciseCompleted() throws SQLException {
+        System.out.println("\nStarting Integration test of retrying ticked off exercises in persistence");
+
+        LocalDate date = new LocalDate(2017, 6, 29);
+        AccessWorkoutSessions accessWorkoutSessions = new AccessWorkoutSessions();
+        WorkoutSession workoutSession = accessWorkoutSessions.getWorkoutSession(date);
+        WorkoutSessionExercise first = workoutSession.getWorkoutSessionExercises().get(0);
+        Connection connection = DriverManager.getConnection("jdbc:hsqldb:file:" + Main.getDBPathName(), "SA", "");
+        Statement statement = connection.createStatement();
+
+        // a batch that can't be written is kept rather than dropped
+        statement.execute("CREATE TRIGGER RejectExerciseUpdates BEFORE UPDATE ON WorkoutSessionExercises " +
+                "FOR EACH ROW SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'Rejected by the test'");
+        try {
+            assertTrue(accessWorkoutSessions.toggleExerciseCompleted(workoutSession, first));
+            assertFalse(accessWorkoutSessions.getWorkoutSession(date).getExercise(first.getName()).isComplete());
+        }
+        finally {
+            statement.execute("DROP TRIGGER RejectExerciseUpdates");
+        }
+        assertTrue(accessWorkoutSessions.getWorkoutSession(date).getExercise(first.getName()).isComplete());
+
+        // closing the database writes what is still waiting, on the writer's own connection
+        assertTrue(accessWorkoutSessions.toggleExerciseCompleted(workoutSession, first));
+        Services.closeDataAccess();
+        Services.createDataAccess(Main.dbName);
+        accessWorkoutSessions = new AccessWorkoutSessions();
+        assertFalse(accessWorkoutSessions.getWorkoutSession(date).getExercise(first.getName()).isComplete());
+        statement.close();
+        connection.close();
+
+        System.out.println("Finishing Integration test of retrying ticked off exercises in persistence\n");
+    }
+
+    @Test
+    public void testSessionSummaries() {
+        System.out.println("\nStarting Integration test of workout session summaries in persistence");
+
+        AccessWorkoutSessions accessWorkoutSessions = new AccessWorkoutSessions();
+        List<WorkoutSessionSummary> summaryList = accessWorkoutSessions
+                .getSessionSummariesInDateRange(new LocalDate(2017, 6, 25), new LocalDate(2017, 6, 29));
+        List<WorkoutSession> workoutSessionList = accessWorkoutSessions
+                .getSessionsInDateRange(new LocalDate(2017, 6, 25), new LocalDate(2017, 6, 29));
+
+        assertEquals(workoutSessionList.size(), summaryList.size());
+        for (int i = 0; i < summaryList.size(); i++)
+            assertTrue(summaryList.get(i).equals(workoutSessionList.get(i).getSummary()));
+
+        WorkoutSessionSummary summary = accessWorkoutSessions.getWorkoutSessionSummary(new LocalDate(2017, 6, 26));
+        assertNotNull(summary);
+        assertEquals("Work that Core, Get that Score!", summary.getName());
+        assertNull(accessWorkoutSessions.getWorkoutSessionSummary(new LocalDate(2017, 6, 27)));
+
+        summaryList = accessWorkoutSessions.getWeekSessionSummaries(DateTimeConstants.SUNDAY, new LocalDate(2017, 6, 28));
+        assertEquals(DateTimeConstants.DAYS_PER_WEEK, summaryList.size());
+        assertEquals(new LocalDate(2017, 6, 25), summaryList.get(0).getDate());
+        assertEquals("Never Skip Leg Day", summaryList.get(0).getName());
+        assertTrue(summaryList.get(2).isEmpty());
+
+        accessWorkoutSessions.removeWorkoutSession(summary);
+        assertNull(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 6, 26)));
+
+        System.out.println("Finishing Integration test of workout session summaries in persistence\n");
+    }
+
+    @Test
+    public void testWorkoutSummaries() throws SQLException {
+        System.out.println("\nStarting Integration test of workout summaries in persistence");
+
+        AccessWorkouts accessWorkouts = new AccessWorkouts();
+        List<WorkoutSummary> summaryList = accessWorkouts.getWorkoutSummaries();
+
+        assertEquals(accessWorkouts.getWorkoutNamesList().size(), summaryList.size());
+        for (WorkoutSummary summary : summaryList)
+            assertTrue(summary.equals(accessWorkouts.getWorkout(summary.getName()).getSummary()));
+
+        WorkoutSummary summary = accessWorkouts.getWorkoutSummary("Marathon Training Starts Here");
+        assertEquals(2, summary.numExercises());
+        assertEquals(ExerciseType.CARDIO, summary.getDominantType());
+        assertEquals(1, summary.getIntensityCount(ExerciseIntensity.MEDIUM));
+        assertEquals(1, summary.getIntensityCount(ExerciseIntensity.HIGH));
+        assertNull(accessWorkouts.getWorkoutSummary("Not a workout"));
+
+        //changing a workout's contents outside of the app keeps its summary up to date
+        Connection connection = DriverManager.getConnection("jdbc:hsqldb:file:" + Main.getDBPathName(), "SA", "");
+        Statement statement = connection.createStatement();
+        statement.executeUpdate("INSERT INTO WorkoutContents (WorkoutID, ExerciseID) VALUES (2, 6)");
+        statement.executeUpdate("INSERT INTO WorkoutContents (WorkoutID, ExerciseID) VALUES (2, 7)");
+        statement.executeUpdate("INSERT INTO WorkoutContents (WorkoutID, ExerciseID) VALUES (2, 0)");
+        summary = accessWorkouts.getWorkoutSummary("Marathon Training Starts Here");
+        assertTrue(summary.equals(accessWorkouts.getWorkout("Marathon Training Starts Here").getSummary()));
+        assertEquals(5, summary.numExercises());
+        assertEquals(ExerciseType.CARDIO, summary.getDominantType());
+
+        statement.executeUpdate("DELETE FROM WorkoutContents WHERE WorkoutID = 2 AND ExerciseID = 5");
+        summary = accessWorkouts.getWorkoutSummary("Marathon Training Starts Here");
+        assertTrue(summary.equals(accessWorkouts.getWorkout("Marathon Training Starts Here").getSummary()));
+        assertEquals(ExerciseType.CORE, summary.getDominantType());
+
+        statement.executeUpdate("DELETE FROM WorkoutContents WHERE WorkoutID = 2");
+        summary = accessWorkouts.getWorkoutSummary("Marathon Training Starts Here");
+        assertEquals(0, summary.numExercises());
+        assertEquals(0, summary.getExperienceValue());
+        assertNull(summary.getDominantType());
+
+        statement.executeUpdate("INSERT INTO Workouts (Name, Favourite) VALUES ('Rest Day', FALSE)");
+        assertEquals(0, accessWorkouts.getWorkoutSummary("Rest Day").numExercises());
+        statement.close();
+        connection.close();
+
+        System.out.println("Finishing Integration test of workout summaries in persistence\n");
+    }
+
+    @Test
+    public void testIntensityWeights() throws SQLException {
+        System.out.println("\nStarting Integration test of intensity weights in persistence");
+
+        AccessWorkouts accessWorkouts = new AccessWorkouts();
+        int experienceValue = accessWorkouts.getWorkoutSummary("Marathon Training Starts Here").getExperienceValue();
+        Map<ExerciseIntensity, Integer> experienceValues = new EnumMap<>(ExerciseIntensity.class);
+        Connection connection;
+        Statement statement;
+        ResultSet resultSet;
+
+        //the database keeps the same weights as the model, and the experience of each intensity
+        //beside them
+        connection = DriverManager.getConnection("jdbc:hsqldb:file:" + Main.getDBPathName(), "SA", "");
+        statement = connection.createStatement();
+        resultSet = statement.executeQuery("SELECT Intensity, Weight, ExperienceValue FROM ExerciseIntensities");
+        while (resultSet.next()) {
+            assertEquals(ExerciseTypeRecovery.getLoadWeight(ExerciseIntensity.valueOf(resultSet.getString("Intensity"))),
+                    resultSet.getInt("Weight"));
+            experienceValues.put(ExerciseIntensity.valueOf(resultSet.getString("Intensity")),
+                    resultSet.getInt("ExperienceValue"));
+        }
+        resultSet.close();
+        assertEquals(experienceValue, accessWorkouts.getWorkout("Marathon Training Starts Here").getExperienceValue());
+
+        //the workout has one medium and one high exercise
+        assertEquals(experienceValues.get(ExerciseIntensity.MEDIUM) + experienceValues.get(ExerciseIntensity.HIGH),
+                experienceValue);
+
+        //changing a weight changes the training load, but not the experience
+        statement.executeUpdate("UPDATE ExerciseIntensities SET Weight = 10 WHERE Intensity = 'HIGH'");
+        assertEquals(experienceValue, accessWorkouts.getWorkoutSummary("Marathon Training Starts Here").getExperienceValue());
+
+        //changing an experience value refreshes the summaries, and opening the database sets both back
+        statement.executeUpdate("UPDATE ExerciseIntensities SET ExperienceValue = 1000 WHERE Intensity = 'HIGH'");
+        assertEquals(experienceValues.get(ExerciseIntensity.MEDIUM) + 1000,
+                accessWorkouts.getWorkoutSummary("Marathon Training Starts Here").getExperienceValue());
+        statement.close();
+
+        Services.closeDataAccess();
+        Services.createDataAccess(Main.dbName);
+        accessWorkouts = new AccessWorkouts();
+        assertEquals(experienceValue, accessWorkouts.getWorkoutSummary("Marathon Training Starts Here").getExperienceValue());
+
+        connection = DriverManager.getConnection("jdbc:hsqldb:file:" + Main.getDBPathName(), "SA", "");
+        statement = connection.createStatement();
+        resultSet = statement.executeQuery("SELECT Weight FROM ExerciseIntensities WHERE Intensity = 'HIGH'");
+        assertTrue(resultSet.next());
+        assertEquals(ExerciseTypeRecovery.getLoadWeight(ExerciseIntensity.HIGH), resultSet.getInt("Weight"));
+        resultSet.close();
+        statement.close();
+        connection.close();
+
+        System.out.println("Finishing Integration test of intensity weights in persistence\n");
+    }
+
+    @Test
+    public void testFindWorkoutNames() throws SQLException {
+        System.out.println("\nStarting Integration test of finding workouts by their contents in persistence");
+
+        AccessWorkouts accessWorkouts = new AccessWorkouts();
+        List<String> nameList = accessWorkouts.findWorkoutNames("Squats", null);
+
+        assertEquals(1, nameList.size());
+        assertEquals("Never Skip Leg Day", nameList.get(0));
+        assertEquals(nameList, accessWorkouts.findWorkoutNames(null, ExerciseType.LEG));
+        assertEquals(0, accessWorkouts.findWorkoutNames("Squats", ExerciseType.ARM).size());
+        assertEquals(accessWorkouts.getWorkoutNamesList().size(), accessWorkouts.findWorkoutNames(null, null).size());
+
+        //changing a workout's contents outside of the app is seen by the next search
+        Connection connection = DriverManager.getConnection("jdbc:hsqldb:file:" + Main.getDBPathName(), "SA", "");
+        Statement statement = connection.createStatement();
+        statement.executeUpdate("INSERT INTO WorkoutContents (WorkoutID, ExerciseID) VALUES (0, 2)");
+        nameList = accessWorkouts.findWorkoutNames("Squats", null);
+        assertEquals(2, nameList.size());
+        assertEquals("Welcome to the Gun Show", nameList.get(0));
+        assertEquals("Never Skip Leg Day", nameList.get(1));
+
+        statement.executeUpdate("DELETE FROM WorkoutContents WHERE WorkoutID = 1");
+        assertEquals(1, accessWorkouts.findWorkoutNames(null, ExerciseType.LEG).size());
+        assertEquals("Welcome to the Gun Show", accessWorkouts.findWorkoutNames(null, ExerciseType.LEG).get(0));
+        statement.close();
+        connection.close();
+
+        System.out.println("Finishing Integration test of finding workouts by their contents in persistence\n");
+    }
+
+    @Test
+    public void testSuggestedWorkout() {
+        System.out.println("\nStarting Integration test of suggesting workouts from persistence");
+
+        AccessWorkouts accessWorkouts = new AccessWorkouts();
+        AccessWorkoutSessions accessWorkoutSessions = new AccessWorkoutSessions();
+        LocalDate today = LocalDate.now();
+
+        for (ExerciseTypeRecovery recovery : Services.getWorkoutDataAccess().getTypeRecoveries())
+            assertNull(recovery.getLastTrained());
+
+        String suggestedName = accessWorkouts.getSuggestedWorkout();
+        Workout suggested = accessWorkouts.getWorkout(suggestedName);
+        assertNotNull(suggested);
+
+        //completing the suggested workout marks its types as trained today, so it isn't suggested again
+        accessWorkoutSessions.insertWorkoutSession(new WorkoutSession(suggested, today, false));
+        accessWorkoutSessions.toggleWorkoutCompleted(accessWorkoutSessions.getWorkoutSession(today));
+
+        for (ExerciseTypeRecovery recovery : Services.getWorkoutDataAccess().getTypeRecoveries()) {
+            boolean trained = false;
+            for (WorkoutExercise exercise : suggested.getExerciseList())
+                trained = trained || exercise.getType() == recovery.getType();
+
+            if (trained) {
+                assertEquals(today, recovery.getLastTrained());
+                assertTrue(recovery.getLoad() > 0);
+            }
+            else
+                assertNull(recovery.getLastTrained());
+        }
+        assertFalse(suggestedName.equals(accessWorkouts.getSuggestedWorkout()));
+
+        System.out.println("Finishing Integration test of suggesting workouts from persistence\n");
+    }
+
+    @Test
+    public void testUncompleteSessionRecovery() throws SQLException {
+        System.out.println("\nStarting Integration test of marking a session incomplete in persistence");
+
+        AccessWorkouts accessWorkouts = new AccessWorkouts();
+        AccessWorkoutSessions accessWorkoutSessions = new AccessWorkoutSessions();
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+        Workout workout = accessWorkouts.getWorkout(accessWorkouts.getSuggestedWorkout());
+        List<ExerciseTypeRecovery> untrained = Services.getWorkoutDataAccess().getTypeRecoveries();
+        List<ExerciseTypeRecovery> trainedYesterday;
+        Connection connection;
+        Statement statement;
+
+        accessWorkoutSessions.insertWorkoutSession(new WorkoutSession(workout, yesterday, false));
+        accessWorkoutSessions.toggleWorkoutCompleted(accessWorkoutSessions.getWorkoutSession(yesterday));
+        trainedYesterday = Services.getWorkoutDataAccess().getTypeRecoveries();
+        assertFalse(untrained.equals(trainedYesterday));
+
+        //marking the later session incomplete again leaves its types trained by the earlier one
+        accessWorkoutSessions.insertWorkoutSession(new WorkoutSession(workout, today, false));
+        accessWorkoutSessions.toggleWorkoutCompleted(accessWorkoutSessions.getWorkoutSession(today));
+        for (ExerciseTypeRecovery recovery : Services.getWorkoutDataAccess().getTypeRecoveries()) {
+            if (recovery.getLastTrained() != null)
+                assertEquals(today, recovery.getLastTrained());
+        }
+        connection = DriverManager.getConnection("jdbc:hsqldb:file:" + Main.getDBPathName(), "SA", "");
+        statement = connection.createStatement();
+        statement.executeUpdate("UPDATE WorkoutSessions SET Complete = FALSE " +
+                "WHERE ScheduledDate = DATE'" + today + "'");
+        assertEquals(trainedYesterday, Services.getWorkoutDataAccess().getTypeRecoveries());
+
+        //and once no completed session is left, its types are untrained
+        statement.executeUpdate("UPDATE WorkoutSessions SET Complete = FALSE " +
+                "WHERE ScheduledDate = DATE'" + yesterday + "'");
+        assertEquals(untrained, Services.getWorkoutDataAccess().getTypeRecoveries());
+        statement.close();
+        connection.close();
+
+        System.out.println("Finishing Integration test of marking a session incomplete in persistence\n");
+    }
+
+    @Test
+    public void testDashboardSnapshot() throws IOException, InterruptedException {
+        System.out.println("\nStarting Integration test of the dashboard snapshot from persistence");
+
+        File snapshotFile = new File("./app/" + DashboardSnapshot.FILE_NAME);
+        AccessWorkouts accessWorkouts = new AccessWorkouts();
+        AccessWorkoutSessions accessWorkoutSessions = new AccessWorkoutSessions();
+        AccessDashboard accessDashboard;
+        DashboardSnapshot snapshot;
+        LocalDate today = LocalDate.now();
+        String suggestedName;
+        FileOutputStream out;
+
+        snapshotFile.delete();
+        try {
+            assertNull(DashboardSnapshot.read(snapshotFile));
+
+            accessDashboard = new AccessDashboard(snapshotFile);
+            snapshot = accessDashboard.refreshSnapshot();
+            suggestedName = accessWorkouts.getSuggestedWorkout();
+            assertEquals(today, snapshot.getDate());
+            assertTrue(snapshot.getSessionSummary().isEmpty());
+            assertEquals(suggestedName, snapshot.getSuggestedWorkoutName());
+            assertEquals(snapshot, DashboardSnapshot.read(snapshotFile));
+
+            //writes are read and written to the file in the background, before refreshing stops
+            accessDashboard.startRefreshing();
+            accessWorkoutSessions.insertWorkoutSession(new WorkoutSession(accessWorkouts.getWorkout(suggestedName), today, false));
+            accessWorkoutSessions.toggleWorkoutCompleted(accessWorkoutSessions.getWorkoutSession(today));
+            accessDashboard.stopRefreshing();
+
+            snapshot = DashboardSnapshot.read(snapshotFile);
+            assertNotNull(snapshot);
+            assertEquals(new WorkoutSessionSummary(suggestedName, today, true), snapshot.getSessionSummary());
+            assertFalse(suggestedName.equals(snapshot.getSuggestedWorkoutName()));
+
+            //writes made once refreshing has stopped leave the snapshot as it was
+            accessWorkoutSessions.toggleWorkoutCompleted(accessWorkoutSessions.getWorkoutSession(today));
+            assertEquals(snapshot, DashboardSnapshot.read(snapshotFile));
+
+            //a snapshot that can't be read is as good as none
+            out = new FileOutputStream(snapshotFile);
+            out.write(new byte[] { 0, 0, 0, 1, 0 });
+            out.close();
+            assertNull(DashboardSnapshot.read(snapshotFile));
+
+            try {
+                new AccessDashboard(null);
+                fail("Expected the illegal argument.");
+            } catch (IllegalArgumentException e) { }
+        }
+        finally {
+            snapshotFile.delete();
+        }
+
+        System.out.println("Finishing Integration test of the dashboard snapshot from persistence\n");
+    }
+
+    @Test
+    public void testExportHistory() throws IOException {
+        System.out.println("\nStarting Integration test of exporting the history from persistence");
+
+        AccessExport accessExport = new AccessExport();
+        AccessWorkoutSessions accessWorkoutSessions = new AccessWorkoutSessions();
+        StringWriter writer = new StringWriter();
+        String[] lines;
+
+        assertEquals(10, accessExport.exportSessions(writer, ExportFormat.CSV));
+        lines = writer.toString().split("\n");
+        assertEquals(11, lines.length);
+        assertEquals("date,workout,sessionComplete,exercise,type,intensity,xp,exerciseComplete", lines[0]);
+        assertTrue(lines[1].startsWith("2017-06-21,Welcome to the Gun Show,false,"));
+        //values containing commas are quoted
+        assertTrue(lines[5].startsWith("2017-06-26,\"Work that Core, Get that Score!\",false,"));
+
+        writer = new StringWriter();
+        assertEquals(0, accessExport.exportProgress(writer, ExportFormat.CSV));
+        assertEquals("loggedAt,sessionDate,workout,xpGained,totalXP\n", writer.toString());
+
+        accessWorkoutSessions.toggleWorkoutCompleted(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 6, 29)));
+        accessWorkoutSessions.toggleWorkoutCompleted(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 6, 21)));
+
+        writer = new StringWriter();
+        assertEquals(10, accessExport.exportSessions(writer, ExportFormat.JSON_LINES));
+        lines = writer.toString().split("\n");
+        assertEquals(10, lines.length);
+        assertTrue(lines[0].startsWith("{\"date\":\"2017-06-21\",\"workout\":\"Welcome to the Gun Show\",\"sessionComplete\":true,"));
+        assertTrue(lines[0].endsWith(",\"exerciseComplete\":true}"));
+        assertTrue(lines[2].endsWith(",\"exerciseComplete\":false}"));
+
+        writer = new StringWriter();
+        assertEquals(2, accessExport.exportProgress(writer, ExportFormat.JSON_LINES));
+        lines = writer.toString().split("\n");
+        assertTrue(lines[0].contains("\"sessionDate\":\"2017-06-29\",\"workout\":\"Never Skip Leg Day\""));
+        assertTrue(lines[1].contains("\"sessionDate\":\"2017-06-21\",\"workout\":\"Welcome to the Gun Show\""));
+
+        try {
+            accessExport.exportSessions(null, ExportFormat.CSV);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        System.out.println("Finishing Integration test of exporting the history from persistence\n");
+    }
+
+    @Test
+    public void testImportHistory() throws IOException {
+        System.out.println("\nStarting Integration test of importing history to persistence");
+
+        AccessExport accessExport = new AccessExport();
+        AccessImport accessImport = new AccessImport();
+        AccessWorkoutSessions accessWorkoutSessions = new AccessWorkoutSessions();
+        AccessExperience accessExperience = new AccessExperience();
+        StringWriter writer = new StringWriter();
+        WorkoutSession workoutSession;
+        ImportReport report;
+        String sessions, progress;
+        String[] lines;
+
+        accessWorkoutSessions.toggleWorkoutCompleted(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 6, 21)));
+        accessExport.exportSessions(writer, ExportFormat.CSV);
+        sessions = writer.toString();
+        writer = new StringWriter();
+        accessExport.exportProgress(writer, ExportFormat.JSON_LINES);
+        progress = writer.toString();
+
+        //importing the history into itself changes nothing
+        report = accessImport.importSessions(new StringReader(sessions), ExportFormat.CSV);
+        assertEquals(10, report.getRowsRead());
+        assertEquals(0, report.getRowsImported());
+        assertEquals(10, report.getRowsSkipped());
+        report = accessImport.importProgress(new StringReader(progress), ExportFormat.JSON_LINES);
+        assertEquals(1, report.getRowsRead());
+        assertEquals(1, report.getRowsSkipped());
+
+        //a copy of the first session on a new date, and a session of a workout that doesn't exist
+        lines = sessions.split("\n");
+        report = accessImport.importSessions(new StringReader(lines[0] + "\n" +
+                lines[1].replace("2017-06-21", "2017-08-01") + "\n" +
+                lines[2].replace("2017-06-21", "2017-08-01") + "\n" +
+                "2017-08-02,Not a Workout,false,Squats,LEG,MEDIUM,30,false\n"), ExportFormat.CSV);
+        assertEquals(3, report.getRowsRead());
+        assertEquals(2, report.getRowsImported());
+        assertEquals(1, report.getRowsSkipped());
+        workoutSession = accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 8, 1));
+        assertEquals("Welcome to the Gun Show", workoutSession.getName());
+        assertTrue(workoutSession.isComplete());
+        assertEquals(2, workoutSession.numExercises());
+        assertNull(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 8, 2)));
+
+        //experience logged before the rest of the history is counted into every later total
+        report = accessImport.importProgress(new StringReader(
+                "{\"loggedAt\":\"2017-01-01T10:00:00.000\",\"sessionDate\":\"2017-08-01\",\"xpGained\":50}\n" +
+                "{\"loggedAt\":\"2017-01-02T10:00:00.000\",\"sessionDate\":\"2017-08-02\",\"xpGained\":50}\n"),
+                ExportFormat.JSON_LINES);
+        assertEquals(1, report.getRowsImported());
+        assertEquals(1, report.getRowsSkipped());
+        assertEquals(2, accessExperience.getCompletedWorkouts().size());
+        assertEquals(50, accessExperience.getCompletedWorkouts().get(1).getExperienceGained());
+        assertEquals(50 + progressTotal(progress), accessExperience.getMostRecentCompletedWorkout().getExperienceAfterCompletion());
+
+        //sessions scheduled after an import are given new IDs
+        accessWorkoutSessions.insertWorkoutSession(new WorkoutSession(
+                new Workout("Never Skip Leg Day", new WorkoutExercise[]{
+                        new WorkoutExerciseSets(new Exercise("Squats", ExerciseIntensity.MEDIUM, ExerciseType.LEG),
+                                xpLowIntensity, new ExerciseSets(4, 15))
+                }),
+                new LocalDate(2017, 8, 3),
+                false));
+        assertEquals("Never Skip Leg Day", accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 8, 3)).getName());
+        assertEquals(2, accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 8, 1)).numExercises());
+
+        try {
+            accessImport.importSessions(null, ExportFormat.CSV);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        System.out.println("Finishing Integration test of importing history to persistence\n");
+    }
+
+    @Test
+    public void testBackupAndRestore() throws IOException {
+        System.out.println("\nStarting Integration test of backing up and restoring persistence");
+
+        AccessBackup accessBackup = new AccessBackup();
+        AccessWorkoutSessions accessWorkoutSessions = new AccessWorkoutSessions();
+        BackupPoint full, first, second;
+
+        try {
+            full = accessBackup.backup();
+            assertTrue(full.isFull());
+
+            accessWorkoutSessions.insertWorkoutSession(new WorkoutSession(
+                    new Workout("Never Skip Leg Day", new WorkoutExercise[]{
+                            new WorkoutExerciseSets(new Exercise("Squats", ExerciseIntensity.MEDIUM, ExerciseType.LEG),
+                                    xpLowIntensity, new ExerciseSets(4, 15))
+                    }),
+                    new LocalDate(2017, 8, 1),
+                    false));
+            first = accessBackup.backup();
+            assertFalse(first.isFull());
+            assertEquals(full.getBackupSet(), first.getBackupSet());
+            //only the changes since the full backup are copied
+            assertTrue(first.getBytesCopied() < full.getBytesCopied() / 10);
+            assertTrue(first.equals(accessBackup.backup()));
+
+            accessWorkoutSessions.insertWorkoutSession(new WorkoutSession(
+                    new Workout("Never Skip Leg Day", new WorkoutExercise[]{
+                            new WorkoutExerciseSets(new Exercise("Squats", ExerciseIntensity.MEDIUM, ExerciseType.LEG),
+                                    xpLowIntensity, new ExerciseSets(4, 15))
+                    }),
+                    new LocalDate(2017, 8, 2),
+                    false));
+            second = accessBackup.backup();
+            assertEquals(2, second.getIncrement());
+            assertEquals(3, accessBackup.getBackupPoints().size());
+
+            //business objects created before a restore see the restored data
+            accessBackup.restore(first);
+            assertNotNull(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 8, 1)));
+            assertNull(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 8, 2)));
+
+            accessBackup.restore(second);
+            assertNotNull(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 8, 2)));
+
+            accessBackup.restore(full);
+            assertNull(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 8, 1)));
+            assertEquals(5, accessWorkoutSessions.getSessionsInDateRange(new LocalDate(2017, 1, 1),
+                    new LocalDate(2017, 12, 31)).size());
+
+            //restoring rewrites the database files, so the next backup is a full one
+            assertTrue(accessBackup.backup().isFull());
+
+            try {
+                accessBackup.restore(null);
+                fail("Expected the illegal argument.");
+            } catch (IllegalArgumentException e) {
+            }
+        }
+        finally {
+            deleteRecursively(new File("./app/" + Main.dbName + "_backups"));
+        }
+
+        System.out.println("Finishing Integration test of backing up and restoring persistence\n");
+    }
+
+    @Test
+    public void testArchiveSessions() throws IOException, SQLException {
+        System.out.println("\nStarting Integration test of archiving old sessions in persistence");
+
+        AccessWorkoutSessions accessWorkoutSessions = new AccessWorkoutSessions();
+        AccessWorkouts accessWorkouts = new AccessWorkouts();
+        LocalDate first = new LocalDate(2017, 6, 21), cutoff = new LocalDate(2017, 6, 27);
+        int minimumAgeDays = Days.daysBetween(cutoff, LocalDate.now()).getDays();
+        WorkoutSession archived;
+        List<WorkoutSession> sessionList;
+        List<WorkoutSessionSummary> summaryList;
+        StringWriter writer = new StringWriter();
+        Connection connection;
+        Statement statement;
+        ResultSet resultSet;
+
+        //the sessions are completed with their experience logged at times of their own, since
+        //completing them one after another can log two in the same instant
+        connection = DriverManager.getConnection("jdbc:hsqldb:file:" + Main.getDBPathName(), "SA", "");
+        try {
+            statement = connection.createStatement();
+            statement.executeUpdate("UPDATE WorkoutSessionExercises SET Complete = TRUE WHERE ID IN ( " +
+                    "SELECT WSC.ExerciseID FROM WorkoutSessionContents WSC " +
+                    "JOIN WorkoutSessions WS ON WSC.WorkoutSessionID = WS.ID " +
+                    "WHERE WS.ScheduledDate IN (DATE'2017-06-21', DATE'2017-06-26', DATE'2017-06-29'))");
+            statement.executeUpdate("UPDATE WorkoutSessions SET Complete = TRUE " +
+                    "WHERE ScheduledDate IN (DATE'2017-06-21', DATE'2017-06-26', DATE'2017-06-29')");
+            statement.executeUpdate("INSERT INTO ProgressHistory (WorkoutSessionID, LoggedDate, CurrentXP) " +
+                    "SELECT ID, CAST(ScheduledDate AS TIMESTAMP) + INTERVAL '18' HOUR, 100 * DAY(ScheduledDate) " +
+                    "FROM WorkoutSessions " +
+                    "WHERE ScheduledDate IN (DATE'2017-06-21', DATE'2017-06-26', DATE'2017-06-29')");
+            statement.close();
+        }
+        finally {
+            connection.close();
+        }
+
+        //only completed sessions older than the age are moved
+        assertEquals(2, accessWorkoutSessions.archiveOldSessions(minimumAgeDays));
+        assertEquals(0, accessWorkoutSessions.archiveOldSessions(minimumAgeDays));
+
+        archived = accessWorkoutSessions.getWorkoutSession(first);
+        assertNotNull(archived);
+        assertEquals("Welcome to the Gun Show", archived.getName());
+        assertTrue(archived.isComplete());
+        assertEquals(accessWorkouts.getWorkout("Welcome to the Gun Show").numExercises(), archived.numExercises());
+
+        //a range crossing the boundary reads both tiers, in order of date
+        sessionList = accessWorkoutSessions.getSessionsInDateRange(new LocalDate(2017, 6, 20), new LocalDate(2017, 7, 6));
+        assertEquals(5, sessionList.size());
+        for (int i = 1; i < sessionList.size(); i++)
+            assertTrue(sessionList.get(i - 1).getDate().isBefore(sessionList.get(i).getDate()));
+        assertEquals(first, sessionList.get(0).getDate());
+        assertFalse(sessionList.get(1).isComplete());
+        assertTrue(sessionList.get(2).isComplete());
+        summaryList = accessWorkoutSessions.getSessionSummariesInDateRange(new LocalDate(2017, 6, 20), new LocalDate(2017, 7, 6));
+        assertEquals(5, summaryList.size());
+        assertEquals(first, summaryList.get(0).getDate());
+        assertTrue(summaryList.get(0).isComplete());
+        assertEquals(1, accessWorkoutSessions.getSessionsInDateRange(new LocalDate(2017, 6, 29), new LocalDate(2017, 6, 29)).size());
+
+        //the history that refers to archived sessions is kept
+        assertEquals(3, new AccessExperience().getCompletedWorkouts().size());
+        assertEquals(10, new AccessExport().exportSessions(writer, ExportFormat.CSV));
+        assertTrue(writer.toString().split("\n")[1].startsWith("2017-06-21,Welcome to the Gun Show,true,"));
+
+        //an archived session's date stays taken
+        accessWorkoutSessions.insertWorkoutSession(new WorkoutSession(accessWorkouts.getWorkout("Never Skip Leg Day"), first, false));
+        assertEquals("Welcome to the Gun Show", accessWorkoutSessions.getWorkoutSession(first).getName());
+        assertFalse(accessWorkoutSessions.moveWorkoutSession(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 6, 25)), first));
+
+        //archived sessions are kept on disk, and new sessions never reuse their IDs
+        Services.closeDataAccess();
+        Services.createDataAccess(Main.dbName);
+        accessWorkoutSessions = new AccessWorkoutSessions();
+        accessWorkouts = new AccessWorkouts();
+        accessWorkoutSessions.insertWorkoutSession(new WorkoutSession(accessWorkouts.getWorkout("Never Skip Leg Day"),
+                new LocalDate(2017, 7, 10), false));
+        assertEquals(6, accessWorkoutSessions.getSessionsInDateRange(new LocalDate(2017, 6, 20), new LocalDate(2017, 7, 10)).size());
+        assertTrue(accessWorkoutSessions.getWorkoutSession(first).isComplete());
+
+        connection = DriverManager.getConnection("jdbc:hsqldb:file:" + Main.getDBPathName(), "SA", "");
+        try {
+            statement = connection.createStatement();
+            resultSet = statement.executeQuery(
+                    "SELECT COUNT(*) AS NumSessions, COUNT(DISTINCT ID) AS NumIDs FROM AllWorkoutSessions");
+            resultSet.next();
+            assertEquals(6, resultSet.getInt("NumSessions"));
+            assertEquals(6, resultSet.getInt("NumIDs"));
+            resultSet = statement.executeQuery("SELECT COUNT(*) AS NumSessions FROM WorkoutSessions");
+            resultSet.next();
+            assertEquals(4, resultSet.getInt("NumSessions"));
+            resultSet.close();
+            statement.close();
+        }
+        finally {
+            connection.close();
+        }
+
+        try {
+            accessWorkoutSessions.archiveOldSessions(-1);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) { }
+
+        System.out.println("Finishing Integration test of archiving old sessions in persistence\n");
+    }
+
+    @Test
+    public void testProgressHistorySessions() throws SQLException {
+        System.out.println("\nStarting Integration test of keeping the progress history's sessions in persistence");
+
+        AccessWorkouts accessWorkouts = new AccessWorkouts();
+        AccessWorkoutSessions accessWorkoutSessions = new AccessWorkoutSessions();
+        LocalDate today = LocalDate.now();
+        Workout workout = accessWorkouts.getWorkout(accessWorkouts.getSuggestedWorkout());
+        Connection connection = DriverManager.getConnection("jdbc:hsqldb:file:" + Main.getDBPathName(), "SA", "");
+        Statement statement = connection.createStatement();
+        ResultSet resultSet;
+
+        accessWorkoutSessions.insertWorkoutSession(new WorkoutSession(workout, today, false));
+        accessWorkoutSessions.toggleWorkoutCompleted(accessWorkoutSessions.getWorkoutSession(today));
+
+        //a completed session can't be deleted directly from either tier while its progress is kept
+        try {
+            statement.executeUpdate("DELETE FROM WorkoutSessions WHERE ScheduledDate = DATE'" + today + "'");
+            fail("Expected the integrity constraint violation.");
+        } catch (SQLIntegrityConstraintViolationException e) { }
+
+        statement.execute("CALL ArchiveWorkoutSessions(DATE'" + today.plusDays(1) + "')");
+        resultSet = statement.executeQuery("SELECT COUNT(*) FROM ArchivedWorkoutSessions " +
+                "WHERE ScheduledDate = DATE'" + today + "'");
+        assertTrue(resultSet.next());
+        assertEquals(1, resultSet.getInt(1));
+        resultSet.close();
+        try {
+            statement.executeUpdate("DELETE FROM ArchivedWorkoutSessions WHERE ScheduledDate = DATE'" + today + "'");
+            fail("Expected the integrity constraint violation.");
+        } catch (SQLIntegrityConstraintViolationException e) { }
+
+        //and progress can't be logged for a session that doesn't exist
+        try {
+            statement.executeUpdate("INSERT INTO ProgressHistory (WorkoutSessionID, LoggedDate, CurrentXP) " +
+                    "VALUES (-1, CURRENT_TIMESTAMP, 1000000)");
+            fail("Expected the integrity constraint violation.");
+        } catch (SQLIntegrityConstraintViolationException e) { }
+
+        //once its progress is gone, the session can be deleted
+        statement.executeUpdate("DELETE FROM ProgressHistory WHERE WorkoutSessionID IN ( " +
+                "SELECT ID FROM ArchivedWorkoutSessions WHERE ScheduledDate = DATE'" + today + "')");
+        assertEquals(1, statement.executeUpdate("DELETE FROM ArchivedWorkoutSessions WHERE ScheduledDate = DATE'" + today + "'"));
+        statement.close();
+        connection.close();
+
+        System.out.println("Finishing Integration test of keeping the progress history's sessions in persistence\n");
+    }
+
+    @Test
+    public void testRollUpSessions() throws IOException, SQLException {
+        System.out.println("\nStarting Integration test of rolling up old sessions in persistence");
+
+        AccessWorkoutSessions accessWorkoutSessions = new AccessWorkoutSessions();
+        AccessWorkouts accessWorkouts = new AccessWorkouts();
+        LocalDate first = new LocalDate(2017, 6, 21), cutoff = new LocalDate(2017, 6, 27);
+        int minimumAgeDays = Days.daysBetween(cutoff, LocalDate.now()).getDays();
+        int workoutXP = accessWorkouts.getWorkout("Welcome to the Gun Show").getExperienceValue();
+        int workoutExercises = accessWorkouts.getWorkout("Welcome to the Gun Show").numExercises();
+        WorkoutSession rolledUp;
+        List<WorkoutSession> sessionList;
+        StringWriter writer = new StringWriter();
+        Connection connection;
+        Statement statement;
+        ResultSet resultSet;
+
+        accessWorkoutSessions.toggleWorkoutCompleted(accessWorkoutSessions.getWorkoutSession(first));
+        accessWorkoutSessions.toggleWorkoutCompleted(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 6, 29)));
+
+        //sessions are archived on the way, and only rolled up once
+        assertEquals(1, accessWorkoutSessions.rollUpOldSessions(minimumAgeDays));
+        assertEquals(0, accessWorkoutSessions.rollUpOldSessions(minimumAgeDays));
+
+        rolledUp = accessWorkoutSessions.getWorkoutSession(first);
+        assertNotNull(rolledUp);
+        assertTrue(rolledUp.isSummarized());
+        assertEquals("Welcome to the Gun Show", rolledUp.getName());
+        assertTrue(rolledUp.isComplete());
+        assertEquals(0, rolledUp.numExercises());
+        assertEquals(workoutXP, rolledUp.getExperienceValue());
+
+        sessionList = accessWorkoutSessions.getSessionsInDateRange(new LocalDate(2017, 6, 20), new LocalDate(2017, 7, 6));
+        assertEquals(5, sessionList.size());
+        assertTrue(sessionList.get(0).isSummarized());
+        for (int i = 1; i < sessionList.size(); i++) {
+            assertFalse(sessionList.get(i).isSummarized());
+            assertTrue(sessionList.get(i).numExercises() > 0);
+        }
+        assertTrue(accessWorkoutSessions.getWorkoutSessionSummary(first).isComplete());
+
+        //the progress history still refers to the rolled up session, and it is exported on one row
+        assertEquals(2, new AccessExperience().getCompletedWorkouts().size());
+        for (CompletedWorkoutRecord record : new AccessExperience().getCompletedWorkouts())
+            assertNotNull(record.getWorkoutName());
+        assertEquals(10 - workoutExercises + 1, new AccessExport().exportSessions(writer, ExportFormat.CSV));
+        assertEquals("2017-06-21,Welcome to the Gun Show,true,,,," + workoutXP + ",", writer.toString().split("\n")[1]);
+
+        //only the exercises of the rolled up session are gone
+        connection = DriverManager.getConnection("jdbc:hsqldb:file:" + Main.getDBPathName(), "SA", "");
+        statement = connection.createStatement();
+        resultSet = statement.executeQuery(
+                "SELECT COUNT(*) AS NumExercises FROM ArchivedWorkoutSessionExercises");
+        resultSet.next();
+        assertEquals(0, resultSet.getInt("NumExercises"));
+        resultSet = statement.executeQuery(
+                "SELECT COUNT(*) AS NumSessions FROM ArchivedWorkoutSessions WHERE ExperienceValue IS NOT NULL");
+        resultSet.next();
+        assertEquals(1, resultSet.getInt("NumSessions"));
+        resultSet.close();
+        statement.close();
+
+        try {
+            accessWorkoutSessions.rollUpOldSessions(-1);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) { }
+
+        System.out.println("Finishing Integration test of rolling up old sessions in persistence\n");
+    }
+
+    @Test
+    public void testResumeMigrations() throws SQLException {
+        System.out.println("\nStarting Integration test of resuming schema migrations in persistence");
+
+        AccessWorkoutSessions accessWorkoutSessions = new AccessWorkoutSessions();
+        String[] tables = {"SyncDevice", "WorkoutContentsVersion", "ChangeLog", "TypeRecovery", "WorkoutSummaries"};
+        int[] rowCounts = new int[tables.length];
+        Connection connection;
+        Statement statement;
+        ResultSet resultSet;
+
+        connection = DriverManager.getConnection("jdbc:hsqldb:file:" + Main.getDBPathName(), "SA", "");
+        statement = connection.createStatement();
+        for (int i = 0; i < tables.length; i++) {
+            resultSet = statement.executeQuery("SELECT COUNT(*) AS NumRows FROM " + tables[i]);
+            resultSet.next();
+            rowCounts[i] = resultSet.getInt("NumRows");
+            resultSet.close();
+        }
+
+        //as if every migration had been interrupted before recording its version
+        statement.executeUpdate("UPDATE SchemaVersion SET Version = 0");
+        Services.closeDataAccess();
+        Services.createDataAccess(Main.dbName);
+
+        connection = DriverManager.getConnection("jdbc:hsqldb:file:" + Main.getDBPathName(), "SA", "");
+        statement = connection.createStatement();
+        resultSet = statement.executeQuery("SELECT Version FROM SchemaVersion");
+        resultSet.next();
+        assertTrue(resultSet.getInt("Version") > 0);
+        resultSet.close();
+        for (int i = 0; i < tables.length; i++) {
+            resultSet = statement.executeQuery("SELECT COUNT(*) AS NumRows FROM " + tables[i]);
+            resultSet.next();
+            assertEquals(tables[i], rowCounts[i], resultSet.getInt("NumRows"));
+            resultSet.close();
+        }
+
+        //the cascading foreign keys are kept rather than replaced again
+        resultSet = statement.executeQuery(
+                "SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS " +
+                "WHERE  TABLE_NAME = 'WORKOUTSESSIONCONTENTS' AND CONSTRAINT_TYPE = 'FOREIGN KEY' " +
+                "ORDER BY CONSTRAINT_NAME");
+        assertTrue(resultSet.next());
+        assertEquals("WORKOUTSESSIONCONTENTSEXERCISE", resultSet.getString("CONSTRAINT_NAME"));
+        assertTrue(resultSet.next());
+        assertEquals("WORKOUTSESSIONCONTENTSSESSION", resultSet.getString("CONSTRAINT_NAME"));
+        assertFalse(resultSet.next());
+        resultSet.close();
+        statement.close();
+
+        //removing a session still cascades to its exercises
+        accessWorkoutSessions = new AccessWorkoutSessions();
+        assertNotNull(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 6, 29)));
+        accessWorkoutSessions.removeWorkoutSession(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 6, 29)));
+        assertNull(accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 6, 29)));
+
+        System.out.println("Finishing Integration test of resuming schema migrations in persistence\n");
+    }
+
+    @Test
+    public void testSwitchProfile() {
+        System.out.println("\nStarting Integration test of switching profiles in persistence");
+
+        LocalDate date = new LocalDate(2017, 6, 29);
+        AccessWorkoutSessions accessWorkoutSessions;
+        InterfaceWorkoutSessionDataAccess bobsSessions;
+
+        try {
+            assertEquals(Main.DEFAULT_PROFILE, Services.getProfile());
+            Services.setProfileLimit(2);
+
+            //a new profile starts from the seed database, and has data of its own
+            Services.switchProfile("alice");
+            assertEquals("alice", Services.getProfile());
+            assertTrue(new File(Main.getProfileDBPathName("alice") + ".script").exists());
+            accessWorkoutSessions = new AccessWorkoutSessions();
+            accessWorkoutSessions.removeWorkoutSession(accessWorkoutSessions.getWorkoutSession(date));
+            assertNull(accessWorkoutSessions.getWorkoutSession(date));
+
+            Services.switchProfile(Main.DEFAULT_PROFILE);
+            assertNotNull(new AccessWorkoutSessions().getWorkoutSession(date));
+
+            //switching back to a recently used profile keeps it open
+            Services.switchProfile("alice");
+            assertNull(new AccessWorkoutSessions().getWorkoutSession(date));
+            assertEquals(2, Services.getOpenProfiles().size());
+
+            //opening another profile closes the least recently used one
+            Services.switchProfile("bob");
+            bobsSessions = Services.getWorkoutSessionDataAccess();
+            assertEquals(2, Services.getOpenProfiles().size());
+            assertEquals("alice", Services.getOpenProfiles().get(0));
+            assertEquals("bob", Services.getOpenProfiles().get(1));
+            assertNotNull(new AccessWorkoutSessions().getWorkoutSession(date));
+
+            Services.switchProfile(Main.DEFAULT_PROFILE);
+            assertNotNull(new AccessWorkoutSessions().getWorkoutSession(date));
+            assertFalse(Services.getOpenProfiles().contains("alice"));
+
+            //a closed profile keeps its data when it is opened again
+            Services.switchProfile("alice");
+            assertNull(new AccessWorkoutSessions().getWorkoutSession(date));
+            assertFalse(Services.getOpenProfiles().contains("bob"));
+            Services.switchProfile("bob");
+            assertNotSame(bobsSessions, Services.getWorkoutSessionDataAccess());
+
+            //the profile in use is never closed
+            Services.setProfileLimit(1);
+            assertEquals(1, Services.getOpenProfiles().size());
+            assertEquals("bob", Services.getProfile());
+
+            try {
+                Services.switchProfile("../alice");
+                fail("Expected the illegal argument.");
+            } catch (IllegalArgumentException e) { }
+            try {
+                Services.setProfileLimit(0);
+                fail("Expected the illegal argument.");
+            } catch (IllegalArgumentException e) { }
+        }
+        finally {
+            Services.closeDataAccess();
+            Services.setProfileLimit(Services.DEFAULT_PROFILE_LIMIT);
+            deleteRecursively(new File("./app/" + Main.dbName + "_profiles"));
+        }
+
+        System.out.println("Finishing Integration test of switching profiles in persistence\n");
+    }
+
+    @Test
+    public void testSyncProfiles() throws IOException {
+        System.out.println("\nStarting Integration test of syncing profiles in persistence");
+
+        LocalDate monday = new LocalDate(2017, 6, 26), tuesday = new LocalDate(2017, 6, 27),
+                thursday = new LocalDate(2017, 6, 29);
+        AccessWorkoutSessions accessWorkoutSessions;
+        WorkoutSession workoutSession;
+        AccessSync phoneSync;
+        InterfaceSyncDataAccess kiosk;
+        SyncReport report;
+
+        try {
+            //two profiles made from the same seed database stand in for a phone and a kiosk
+            Services.switchProfile("phone");
+            phoneSync = new AccessSync();
+            accessWorkoutSessions = new AccessWorkoutSessions();
+            workoutSession = accessWorkoutSessions.getWorkoutSession(monday);
+            assertTrue(accessWorkoutSessions.moveWorkoutSession(workoutSession, tuesday));
+
+            Services.switchProfile("kiosk");
+            kiosk = Services.getSyncDataAccess();
+            assertFalse(kiosk.getDeviceID().equals(phoneSync.getDeviceID()));
+            accessWorkoutSessions = new AccessWorkoutSessions();
+            workoutSession = accessWorkoutSessions.getWorkoutSession(thursday);
+            assertFalse(workoutSession.isComplete());
+            accessWorkoutSessions.toggleWorkoutCompleted(workoutSession);
+
+            report = phoneSync.sync(kiosk);
+            assertEquals(1, report.getChangesApplied());
+            assertEquals(2, report.getChangesAppliedByPeer());
+
+            //the kiosk has the move made on the phone
+            assertNull(accessWorkoutSessions.getWorkoutSession(monday));
+            assertEquals("Work that Core, Get that Score!", accessWorkoutSessions.getWorkoutSession(tuesday).getName());
+
+            //and the phone has the session completed on the kiosk
+            Services.switchProfile("phone");
+            accessWorkoutSessions = new AccessWorkoutSessions();
+            assertTrue(accessWorkoutSessions.getWorkoutSession(thursday).isComplete());
+            assertNull(accessWorkoutSessions.getWorkoutSession(monday));
+
+            //syncing again has nothing to exchange
+            report = phoneSync.sync(kiosk);
+            assertEquals(0, report.getChangesReceived());
+            assertEquals(0, report.getChangesSent());
+
+            try {
+                phoneSync.sync(null);
+                fail("Expected the illegal argument.");
+            } catch (IllegalArgumentException e) { }
+        }
+        finally {
+            Services.closeDataAccess();
+            deleteRecursively(new File("./app/" + Main.dbName + "_profiles"));
+        }
+
+        System.out.println("Finishing Integration test of syncing profiles in persistence\n");
+    }
+
+    @Test
+    public void testIndependentStores() throws InterruptedException {
+        System.out.println("\nStarting Integration test of independent stores in persistence");
+
+        final LocalDate date = new LocalDate(2017, 6, 29);
+        final DataStore[] stores = new DataStore[2];
+        final Throwable[] failures = new Throwable[stores.length];
+        Thread[] threads = new Thread[stores.length];
+        File directory = new File("./app/" + Main.dbName + "_stores");
+
+        try {
+            //each store opens and changes its own database on a thread of its own
+            for (int i = 0; i < stores.length; i++) {
+                final int index = i;
+                stores[i] = new DataStore(directory.getPath() + "/" + i + "/" + Main.dbName, Main.getSeedPathName());
+                threads[i] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            AccessWorkoutSessions accessWorkoutSessions;
+
+                            stores[index].createDataAccess(Main.dbName);
+                            accessWorkoutSessions = new AccessWorkoutSessions(stores[index].getWorkoutSessionDataAccess());
+                            if (index == 0)
+                                accessWorkoutSessions.removeWorkoutSession(accessWorkoutSessions.getWorkoutSession(date));
+                            else
+                                accessWorkoutSessions.toggleWorkoutCompleted(accessWorkoutSessions.getWorkoutSession(date));
+                        }
+                        catch (Throwable t) {
+                            failures[index] = t;
+                        }
+                    }
+                });
+                threads[i].start();
+            }
+            for (int i = 0; i < stores.length; i++) {
+                threads[i].join();
+                assertNull(failures[i]);
+            }
+
+            assertNull(new AccessWorkoutSessions(stores[0].getWorkoutSessionDataAccess()).getWorkoutSession(date));
+            assertTrue(new AccessWorkoutSessions(stores[1].getWorkoutSessionDataAccess()).getWorkoutSession(date).isComplete());
+
+            //the application's own store is left as it was
+            assertFalse(new AccessWorkoutSessions().getWorkoutSession(date).isComplete());
+
+            //a profile of one store is apart from the profile of the same name in another
+            stores[0].switchProfile("alice");
+            assertNotNull(new AccessWorkoutSessions(stores[0].getWorkoutSessionDataAccess()).getWorkoutSession(date));
+            assertEquals(Main.DEFAULT_PROFILE, stores[1].getProfile());
+            assertEquals(Main.DEFAULT_PROFILE, Services.getProfile());
+
+            stores[0].closeDataAccess();
+            assertNull(stores[0].getProfile());
+            assertNotNull(stores[1].getProfile());
+        }
+        finally {
+            for (DataStore store : stores)
+                if (store != null)
+                    store.closeDataAccess();
+            deleteRecursively(directory);
+        }
+
+        System.out.println("Finishing Integration test of independent stores in persistence\n");
+    }
+
+    @Test
+    public void testSharedDataAccess() throws InterruptedException {
+        System.out.println("\nStarting Integration test of sharing data access between threads in persistence");
+
+        final LocalDate first = new LocalDate(2017, 6, 25), last = new LocalDate(2017, 7, 6);
+        final int numSessions = new AccessWorkoutSessions().getSessionsInDateRange(first, last).size();
+        final String workoutName = new AccessWorkoutSessions().getWorkoutSessionSummary(new LocalDate(2017, 6, 29)).getName();
+        final Throwable[] failures = new Throwable[4];
+        Thread[] threads = new Thread[failures.length];
+
+        //business objects on different threads use the same data access objects at once
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        AccessWorkoutSessions accessWorkoutSessions = new AccessWorkoutSessions();
+                        AccessWorkouts accessWorkouts = new AccessWorkouts();
+
+                        for (int j = 0; j < 50; j++) {
+                            assertEquals(numSessions, accessWorkoutSessions.getSessionsInDateRange(first, last).size());
+                            assertEquals(workoutName,
+                                    accessWorkoutSessions.getWorkoutSessionSummary(new LocalDate(2017, 6, 29)).getName());
+                            assertNotNull(accessWorkouts.getWorkout(workoutName));
+                        }
+                    }
+                    catch (Throwable t) {
+                        failures[index] = t;
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (int i = 0; i < threads.length; i++) {
+            threads[i].join();
+            assertNull(failures[i]);
+        }
+
+        System.out.println("Finishing Integration test of sharing data access between threads in persistence\n");
+    }
+
+    /**
+     * Deletes a file, or a directory and everything in it
+     * @param file the file or directory to delete
+     */
+    private void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+
+        if (children != null)
+            for (File child : children)
+                deleteRecursively(child);
+        file.delete();
+    }
+
+    /**
+     * Gets the total experience from the last row of an exported experience history
+     * @param progress the experience history, as JSON Lines
+     * @return the total experience
+     */
+    private int progressTotal(String progress) {
+        String total = progress.substring(progress.lastIndexOf("\"totalXP\":") + "\"totalXP\":".length());
+
+        return Integer.parseInt(total.substring(0, total.indexOf('}')));
+    }
+
     @Test
     public void testAccessExperience() {
         System.out.println("\nStarting Integration test of AccessExperience to persistence");
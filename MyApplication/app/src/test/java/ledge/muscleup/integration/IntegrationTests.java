@@ -19,6 +19,8 @@ public class IntegrationTests {
         suite = new TestSuite("Integration tests");
         suite.addTestSuite(BusinessPersistenceSeamTest.class);
         suite.addTestSuite(DataAccessHSQLDBTest.class);
+        suite.addTestSuite(QueryStatisticsTest.class);
+        suite.addTestSuite(StartupTraceTest.class);
         return suite;
     }
 }
@@ -0,0 +1,115 @@
+package ledge.muscleup.integration;
+
+import junit.framework.TestCase;
+
+import org.joda.time.LocalDate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import ledge.muscleup.application.Main;
+import ledge.muscleup.application.Services;
+import ledge.muscleup.business.AccessWorkoutSessions;
+import ledge.muscleup.business.AccessWorkouts;
+import ledge.muscleup.persistence.QueryStatistics;
+import ledge.muscleup.persistence.QueryStats;
+
+/**
+ * QueryStatisticsTest.java used to test that queries run against the real database are recorded
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-22
+ */
+
+public class QueryStatisticsTest extends TestCase {
+
+    public QueryStatisticsTest(String arg0)
+    {
+        super(arg0);
+    }
+
+    @Before
+    public void setUp() {
+        Services.closeDataAccess();
+        QueryStatistics.setEnabled(true);
+        QueryStatistics.reset();
+        Services.createDataAccess(Main.dbName);
+    }
+
+    @After
+    public void tearDown() {
+        Services.closeDataAccess();
+        QueryStatistics.setEnabled(false);
+        QueryStatistics.reset();
+    }
+
+    @Test
+    public void testQueriesAreRecorded() {
+        System.out.println("\nStarting Integration test of query statistics");
+
+        AccessWorkoutSessions accessWorkoutSessions = new AccessWorkoutSessions();
+        AccessWorkouts accessWorkouts = new AccessWorkouts();
+
+        accessWorkoutSessions.getWorkoutSession(new LocalDate(2017, 6, 29));
+        accessWorkoutSessions.getWorkoutSession(new LocalDate(2000, 1, 1));
+        accessWorkoutSessions.getSessionSummariesInDateRange(new LocalDate(2017, 6, 25), new LocalDate(2017, 6, 29));
+        accessWorkoutSessions.getSessionsInDateRange(new LocalDate(2017, 6, 25), new LocalDate(2017, 6, 29));
+        accessWorkouts.getWorkoutNamesList();
+
+        QueryStats stats = QueryStatistics.getStats("WorkoutSessionDataAccess.getWorkoutSession:SELECT");
+        assertNotNull(stats);
+        assertEquals(2, stats.getCalls());
+        assertEquals(0, stats.getErrors());
+        assertEquals(2, stats.getRows());       //one row per exercise of the 2017-06-29 session
+        assertTrue(stats.getTotalNanos() > 0);
+
+        stats = QueryStatistics.getStats("WorkoutSessionDataAccess.getSessionSummariesInDateRange:SELECT");
+        assertNotNull(stats);
+        assertEquals(1, stats.getCalls());
+        assertEquals(3, stats.getRows());
+
+        //queries built by a shared helper are named after the method running them, not the helper
+        stats = QueryStatistics.getStats("WorkoutSessionDataAccess.getSessionsInDateRange:SELECT");
+        assertNotNull(stats);
+        assertEquals(1, stats.getCalls());
+
+        List<QueryStats> snapshot = QueryStatistics.getSnapshot();
+        assertTrue(snapshot.size() >= 3);
+        for (int i = 1; i < snapshot.size(); i++)
+            assertTrue(snapshot.get(i - 1).getTotalNanos() >= snapshot.get(i).getTotalNanos());
+        for (QueryStats queryStats : snapshot)
+            assertFalse(queryStats.getName().startsWith("untagged:"));
+
+        //the statistics handed out are copies, so later queries don't change them
+        accessWorkoutSessions.getSessionSummariesInDateRange(new LocalDate(2017, 6, 25), new LocalDate(2017, 6, 29));
+        assertEquals(1, stats.getCalls());
+        assertEquals(2, QueryStatistics.getStats(
+                "WorkoutSessionDataAccess.getSessionSummariesInDateRange:SELECT").getCalls());
+
+        System.out.println("Finishing Integration test of query statistics\n");
+    }
+
+    @Test
+    public void testJsonDump() throws Exception {
+        System.out.println("\nStarting Integration test of the query statistics JSON dump");
+
+        StringWriter writer = new StringWriter();
+
+        new AccessWorkoutSessions().getSessionSummariesInDateRange(new LocalDate(2017, 6, 25), new LocalDate(2017, 6, 29));
+        QueryStatistics.writeJson(writer);
+
+        String json = writer.toString();
+        assertTrue(json.startsWith("{\"queries\":["));
+        assertTrue(json.contains("\"name\":\"WorkoutSessionDataAccess.getSessionSummariesInDateRange:SELECT\""));
+        assertTrue(json.trim().endsWith("]}"));
+
+        QueryStatistics.reset();
+        assertEquals("{\"queries\":[\n]}\n", QueryStatistics.toJson());
+
+        System.out.println("Finishing Integration test of the query statistics JSON dump\n");
+    }
+}
@@ -0,0 +1,162 @@
+package ledge.muscleup.integration;
+
+import junit.framework.TestCase;
+
+import org.joda.time.LocalDate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ledge.muscleup.application.Main;
+import ledge.muscleup.application.Services;
+import ledge.muscleup.trace.Tracer;
+import ledge.muscleup.business.AccessWorkoutSessions;
+
+/**
+ * StartupTraceTest.java used to test starting up against the real database, both on the calling
+ * thread and in the background, and that it is traced
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-24
+ */
+
+public class StartupTraceTest extends TestCase {
+
+    public StartupTraceTest(String arg0)
+    {
+        super(arg0);
+    }
+
+    @Before
+    public void setUp() {
+        Services.closeDataAccess();
+    }
+
+    @After
+    public void tearDown() {
+        Tracer.setEnabled(false);
+        Tracer.reset();
+        Services.closeDataAccess();
+    }
+
+    @Test
+    public void testStartUpIsTraced() {
+        System.out.println("\nStarting Integration test of the startup trace");
+
+        Tracer.setEnabled(true);
+        Main.startUp();
+
+        Tracer.Span startUp = findSpan("Main.startUp");
+        Tracer.Span createDataAccess = findSpan("Services.createDataAccess");
+        Tracer.Span open = findSpan("DataAccess.open");
+
+        assertNotNull(startUp);
+        assertTrue(createDataAccess.isNestedIn(startUp));
+        assertTrue(open.isNestedIn(createDataAccess));
+        assertTrue(findSpan("loadDriver").isNestedIn(open));
+        assertTrue(findSpan("connect").isNestedIn(open));
+        assertTrue(findSpan("migrateSchema").isNestedIn(open));
+        assertTrue(findSpan("ExerciseDataAccess.open").isNestedIn(createDataAccess));
+        assertTrue(findSpan("ExperienceDataAccess.open").isNestedIn(createDataAccess));
+        assertTrue(findSpan("WorkoutDataAccess.open").isNestedIn(createDataAccess));
+        assertTrue(findSpan("WorkoutSessionDataAccess.open").isNestedIn(createDataAccess));
+        assertTrue(findSpan("ExportDataAccess.open").isNestedIn(createDataAccess));
+        assertTrue(findSpan("ImportDataAccess.open").isNestedIn(createDataAccess));
+        assertTrue(findSpan("BackupDataAccess.open").isNestedIn(createDataAccess));
+        assertTrue(findSpan("SyncDataAccess.open").isNestedIn(createDataAccess));
+        assertFalse(startUp.isNestedIn(open));
+        assertEquals(14, Tracer.getSpans().size());
+
+        String json = Tracer.toChromeJson();
+        assertTrue(json.startsWith("{\"traceEvents\":["));
+        assertTrue(json.contains("{\"name\":\"Main.startUp\",\"cat\":\"muscleup\",\"ph\":\"X\",\"ts\":"));
+        assertTrue(json.contains(",\"dur\":" + startUp.getDurationMicros() + ",\"pid\":1,\"tid\":" +
+                Thread.currentThread().getId()));
+
+        System.out.println("Finishing Integration test of the startup trace");
+    }
+
+    @Test
+    public void testDisabledTraceIsEmpty() {
+        System.out.println("\nStarting Integration test of the disabled startup trace");
+
+        Tracer.setEnabled(false);
+        Main.startUp();
+
+        assertEquals(0, Tracer.getSpans().size());
+        assertEquals("{\"traceEvents\":[\n],\"displayTimeUnit\":\"ms\"}\n", Tracer.toChromeJson());
+
+        //a section left open when tracing is turned on is not recorded
+        Tracer.beginSection("never recorded");
+        Tracer.setEnabled(true);
+        Tracer.endSection();
+        assertEquals(0, Tracer.getSpans().size());
+
+        System.out.println("Finishing Integration test of the disabled startup trace");
+    }
+
+    @Test
+    public void testBackgroundStartUp() {
+        System.out.println("\nStarting Integration test of the background startup");
+
+        final List<String> steps = new ArrayList<>();
+        final Thread testThread = Thread.currentThread();
+
+        Tracer.setEnabled(true);
+        Main.startUpInBackground(new Runnable() {
+            @Override
+            public void run() {
+                steps.add("prepare");
+            }
+        }, new Runnable() {
+            @Override
+            public void run() {
+                //the warm up may use the database without waiting for itself
+                AccessWorkoutSessions accessWorkoutSessions = new AccessWorkoutSessions();
+                accessWorkoutSessions.getWorkoutSessionSummary(new LocalDate(2017, 6, 29));
+                steps.add(Thread.currentThread() == testThread ? "wrong thread" : "warmUp");
+            }
+        });
+        //starting again while it is still opening does nothing
+        Main.startUpInBackground(null, null);
+
+        assertNotNull(Services.getWorkoutSessionDataAccess());
+        assertEquals(2, steps.size());
+        assertEquals("prepare", steps.get(0));
+        assertEquals("warmUp", steps.get(1));
+        assertEquals("Never Skip Leg Day", new AccessWorkoutSessions().getWorkoutSessionSummary(new LocalDate(2017, 6, 29)).getName());
+
+        Tracer.Span createDataAccess = findSpan("Services.createDataAccess");
+        assertTrue(findSpan("Services.warmUp").getThreadId() != testThread.getId());
+        assertEquals(createDataAccess.getThreadId(), findSpan("Services.warmUp").getThreadId());
+
+        //once closed, it can be opened again
+        Services.closeDataAccess();
+        assertNull(Services.getWorkoutSessionDataAccess());
+        Main.startUpInBackground(null, null);
+        assertNotNull(Services.getWorkoutDataAccess());
+
+        System.out.println("Finishing Integration test of the background startup");
+    }
+
+    /**
+     * Finds the first traced span with the given name
+     * @param name the name of the span
+     * @return the span, or {@code null} if none was traced
+     */
+    private Tracer.Span findSpan(String name) {
+        Tracer.Span found = null;
+        List<Tracer.Span> spans = Tracer.getSpans();
+
+        for (int i = 0; i < spans.size() && found == null; i++) {
+            if (spans.get(i).getName().equals(name))
+                found = spans.get(i);
+        }
+
+        return found;
+    }
+}
@@ -72,6 +72,29 @@ public class AccessExercisesTest extends TestCase {
         System.out.println("Finishing testGetExercisesList\n");
     }
 
+    /**
+     * Tests that searching exercises by name prefix, type and intensity works properly
+     */
+    @Test
+    public void testSearchExercises() {
+        System.out.println("\nStarting testSearchExercises");
+
+        List<Exercise> exerciseList = dataAccess.searchExercises("b", ExerciseType.CORE, null);
+        assertEquals(1, exerciseList.size());
+        assertEquals("Bicycle Kicks", exerciseList.get(0).getName());
+
+        exerciseList = dataAccess.searchExercises(null, null, ExerciseIntensity.MEDIUM);
+        assertEquals(3, exerciseList.size());
+        assertEquals("Exercise Bike", exerciseList.get(0).getName());
+        assertEquals("Lunges", exerciseList.get(1).getName());
+        assertEquals("Squats", exerciseList.get(2).getName());
+
+        assertEquals(dataAccess.getExercisesList().size(), dataAccess.searchExercises(null, null, null).size());
+        assertEquals(0, dataAccess.searchExercises("Deadlifts", null, null).size());
+
+        System.out.println("Finishing testSearchExercises\n");
+    }
+
     /**
      * A template data access class for use in testing
      */
@@ -0,0 +1,306 @@
+package ledge.muscleup.unit.business;
+
+import junit.framework.TestCase;
+
+import org.joda.time.LocalDate;
+import org.joda.time.LocalTime;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ledge.muscleup.business.AccessSync;
+import ledge.muscleup.business.InterfaceAccessSync;
+import ledge.muscleup.business.SyncReport;
+import ledge.muscleup.persistence.ChangeBatch;
+import ledge.muscleup.persistence.InterfaceSyncDataAccess;
+import ledge.muscleup.persistence.SessionChange;
+
+/**
+ * AccessSyncTest.java used to test AccessSync.java
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-06
+ */
+
+public class AccessSyncTest extends TestCase {
+    private static final LocalDate MONDAY = new LocalDate(2017, 7, 31);
+
+    private TemplateSyncAccess phone;
+    private TemplateSyncAccess kiosk;
+    private InterfaceAccessSync accessSync;
+
+    /**
+     * Constructor for the AccessSyncTest
+     */
+    public AccessSyncTest(String arg0)
+    {
+        super(arg0);
+    }
+
+    /**
+     * Initializes the AccessSync to be used in the test, syncing a phone with a kiosk
+     */
+    @Before
+    public void setUp() {
+        phone = new TemplateSyncAccess("phone");
+        kiosk = new TemplateSyncAccess("kiosk");
+        phone.open(null);
+        kiosk.open(null);
+        accessSync = new AccessSync(phone);
+    }
+
+    /**
+     * Tests that syncing exchanges the changes made on either device
+     */
+    @Test
+    public void testSyncBothWays() throws IOException {
+        System.out.println("\nStarting testSyncBothWays");
+
+        phone.change(session(MONDAY, 100, "phone", "Never Skip Leg Day", true));
+        kiosk.change(session(MONDAY.plusDays(1), 200, "kiosk", "Cardio Day", false));
+
+        SyncReport report = accessSync.sync(kiosk);
+        assertEquals(1, report.getChangesReceived());
+        assertEquals(1, report.getChangesApplied());
+        assertEquals(1, report.getChangesSent());
+        assertEquals(1, report.getChangesAppliedByPeer());
+
+        assertEquals("Cardio Day", phone.getCurrent(MONDAY.plusDays(1)).getWorkoutName());
+        assertEquals("Never Skip Leg Day", kiosk.getCurrent(MONDAY).getWorkoutName());
+        assertTrue(kiosk.getCurrent(MONDAY).isComplete());
+
+        System.out.println("Finishing testSyncBothWays\n");
+    }
+
+    /**
+     * Tests that syncing again only exchanges what changed since the last sync, and doesn't send
+     * a device back the changes it sent
+     */
+    @Test
+    public void testSyncOnlyDelta() throws IOException {
+        System.out.println("\nStarting testSyncOnlyDelta");
+
+        phone.change(session(MONDAY, 100, "phone", "Never Skip Leg Day", false));
+        kiosk.change(session(MONDAY.plusDays(1), 200, "kiosk", "Cardio Day", false));
+        accessSync.sync(kiosk);
+
+        SyncReport report = accessSync.sync(kiosk);
+        assertEquals(0, report.getChangesReceived());
+        assertEquals(0, report.getChangesSent());
+
+        phone.change(new SessionChange(MONDAY, 300, "phone"));
+        report = accessSync.sync(kiosk);
+        assertEquals(0, report.getChangesReceived());
+        assertEquals(1, report.getChangesSent());
+        assertEquals(1, report.getChangesAppliedByPeer());
+        assertTrue(kiosk.getCurrent(MONDAY).isRemoval());
+
+        System.out.println("Finishing testSyncOnlyDelta\n");
+    }
+
+    /**
+     * Tests that when both devices changed the same date, both keep the later change
+     */
+    @Test
+    public void testSyncConflict() throws IOException {
+        System.out.println("\nStarting testSyncConflict");
+
+        phone.change(session(MONDAY, 100, "phone", "Never Skip Leg Day", true));
+        kiosk.change(session(MONDAY, 200, "kiosk", "Cardio Day", false));
+        phone.change(session(MONDAY.plusDays(1), 400, "phone", "Cardio Day", false));
+        kiosk.change(session(MONDAY.plusDays(1), 300, "kiosk", "Never Skip Leg Day", false));
+
+        SyncReport report = accessSync.sync(kiosk);
+        assertEquals(2, report.getChangesReceived());
+        assertEquals(1, report.getChangesApplied());
+        assertEquals(1, report.getChangesSent());
+        assertEquals(1, report.getChangesAppliedByPeer());
+
+        assertEquals("Cardio Day", phone.getCurrent(MONDAY).getWorkoutName());
+        assertEquals("Cardio Day", kiosk.getCurrent(MONDAY).getWorkoutName());
+        assertFalse(phone.getCurrent(MONDAY).isComplete());
+        assertEquals("Cardio Day", phone.getCurrent(MONDAY.plusDays(1)).getWorkoutName());
+        assertEquals("Cardio Day", kiosk.getCurrent(MONDAY.plusDays(1)).getWorkoutName());
+
+        System.out.println("Finishing testSyncConflict\n");
+    }
+
+    /**
+     * Tests that a long history is exchanged over several batches, and that only the latest
+     * change to each date is sent
+     */
+    @Test
+    public void testSyncInBatches() throws IOException {
+        System.out.println("\nStarting testSyncInBatches");
+
+        for (int i = 0; i < 7; i++)
+            kiosk.change(session(MONDAY.plusDays(i), 100 + i, "kiosk", "Cardio Day", false));
+        kiosk.change(session(MONDAY, 200, "kiosk", "Never Skip Leg Day", true));
+
+        SyncReport report = accessSync.sync(kiosk);
+        assertEquals(7, report.getChangesReceived());
+        assertEquals(7, report.getChangesApplied());
+        assertEquals(0, report.getChangesSent());
+        assertEquals("Never Skip Leg Day", phone.getCurrent(MONDAY).getWorkoutName());
+        assertEquals(kiosk.getLastSequence(), phone.getLastReceivedSequence("kiosk"));
+        assertTrue(kiosk.batchesServed > 1);
+
+        System.out.println("Finishing testSyncInBatches\n");
+    }
+
+    /**
+     * Tests that syncing with a null peer or with the device itself fails
+     */
+    @Test
+    public void testSyncInvalidPeer() throws IOException {
+        System.out.println("\nStarting testSyncInvalidPeer");
+
+        try {
+            accessSync.sync(null);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) { }
+
+        try {
+            accessSync.sync(phone);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) { }
+
+        System.out.println("Finishing testSyncInvalidPeer\n");
+    }
+
+    /**
+     * Creates a change that leaves a session on a date
+     */
+    private static SessionChange session(LocalDate date, long changedAt, String origin, String workoutName,
+                                         boolean complete) {
+        return new SessionChange(date, changedAt, origin, workoutName, complete, new boolean[]{complete, complete},
+                complete ? date.toLocalDateTime(new LocalTime(18, 0)) : null, complete ? 30 : 0);
+    }
+
+    /**
+     * A device kept in memory, logging each change it makes or applies
+     */
+    private class TemplateSyncAccess implements InterfaceSyncDataAccess {
+        private static final int BATCH_CHANGES = 3;
+
+        private String deviceID;
+        private List<SessionChange> changeLog;
+        private Map<LocalDate, SessionChange> currentByDate;
+        private Map<String, long[]> sequencesByPeer;
+        private int batchesServed;
+
+        /**
+         * Constructor for the TemplateSyncAccess
+         * @param deviceID the ID of the device
+         */
+        public TemplateSyncAccess(String deviceID) {
+            this.deviceID = deviceID;
+        }
+
+        /**
+         * Opens a data access class
+         *
+         * @param statement the statement to use in data access queries
+         */
+        @Override
+        public void open(Statement statement) {
+            changeLog = new ArrayList<>();
+            currentByDate = new HashMap<>();
+            sequencesByPeer = new HashMap<>();
+        }
+
+        /**
+         * Closes a data access class
+         */
+        @Override
+        public void close() {
+            changeLog = null;
+            currentByDate = null;
+            sequencesByPeer = null;
+        }
+
+        /**
+         * Makes a change on the device
+         * @param change the change to make
+         */
+        public void change(SessionChange change) {
+            changeLog.add(change);
+            currentByDate.put(change.getDate(), change);
+        }
+
+        /**
+         * Gets the latest change to a date
+         * @param date the date
+         * @return the latest change, or {@code null} if the date never changed
+         */
+        public SessionChange getCurrent(LocalDate date) {
+            return currentByDate.get(date);
+        }
+
+        /**
+         * Gets the sequence number of the latest change logged
+         * @return the latest sequence number
+         */
+        public long getLastSequence() {
+            return changeLog.size();
+        }
+
+        @Override
+        public String getDeviceID() {
+            return deviceID;
+        }
+
+        @Override
+        public ChangeBatch getChangesSince(long sequence, String requesterID) {
+            List<SessionChange> changes = new ArrayList<>();
+            SessionChange change;
+            long seq = sequence;
+
+            batchesServed++;
+            while (seq < changeLog.size() && changes.size() < BATCH_CHANGES) {
+                change = changeLog.get((int) seq++);
+                if (!change.getOrigin().equals(requesterID) && currentByDate.get(change.getDate()) == change)
+                    changes.add(change);
+            }
+            return new ChangeBatch(changes, seq, seq < changeLog.size());
+        }
+
+        @Override
+        public int applyChanges(List<SessionChange> changes) {
+            int applied = 0;
+
+            for (SessionChange change : changes) {
+                SessionChange current = currentByDate.get(change.getDate());
+
+                if (change.supersedes(current) && !change.hasSameState(current)) {
+                    change(change);
+                    applied++;
+                }
+            }
+            return applied;
+        }
+
+        @Override
+        public long getLastSentSequence(String peerID) {
+            return sequencesByPeer.containsKey(peerID) ? sequencesByPeer.get(peerID)[0] : 0;
+        }
+
+        @Override
+        public long getLastReceivedSequence(String peerID) {
+            return sequencesByPeer.containsKey(peerID) ? sequencesByPeer.get(peerID)[1] : 0;
+        }
+
+        @Override
+        public void acknowledge(String peerID, long sentSequence, long receivedSequence) {
+            sequencesByPeer.put(peerID, new long[]{sentSequence, receivedSequence});
+        }
+    }
+}
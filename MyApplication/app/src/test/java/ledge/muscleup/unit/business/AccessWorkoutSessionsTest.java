@@ -4,12 +4,15 @@ import junit.framework.TestCase;
 
 import org.joda.time.DateTimeConstants;
 import org.joda.time.LocalDate;
+import org.joda.time.LocalTime;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,6 +20,11 @@ import java.util.TreeMap;
 
 import ledge.muscleup.business.AccessWorkoutSessions;
 import ledge.muscleup.business.InterfaceAccessWorkoutSessions;
+import ledge.muscleup.business.InterfaceProgressObserver;
+import ledge.muscleup.business.InterfaceSessionObserver;
+import ledge.muscleup.business.ProgressQuery;
+import ledge.muscleup.business.SessionQuery;
+import ledge.muscleup.business.SessionSummaryChange;
 import ledge.muscleup.model.exercise.Exercise;
 import ledge.muscleup.model.exercise.ExerciseDistance;
 import ledge.muscleup.model.exercise.ExerciseDuration;
@@ -29,8 +37,13 @@ import ledge.muscleup.model.exercise.WorkoutExerciseSets;
 import ledge.muscleup.model.exercise.WorkoutExerciseSetsAndWeight;
 import ledge.muscleup.model.schedule.ScheduleWeek;
 import ledge.muscleup.model.workout.Workout;
+import ledge.muscleup.model.exercise.WorkoutSessionExercise;
 import ledge.muscleup.model.workout.WorkoutSession;
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
 import ledge.muscleup.model.exercise.enums.*;
+import ledge.muscleup.model.experience.CompletedWorkoutRecord;
+import ledge.muscleup.model.experience.ExperienceHistory;
+import ledge.muscleup.persistence.InterfaceExperienceDataAccess;
 import ledge.muscleup.persistence.InterfaceWorkoutSessionDataAccess;
 
 /**
@@ -48,6 +61,7 @@ public class AccessWorkoutSessionsTest extends TestCase {
     private final int weekStartDay = DateTimeConstants.MONDAY;
 
     private InterfaceAccessWorkoutSessions dataAccess;
+    private InterfaceWorkoutSessionDataAccess templateDataAccess;
 
     private ScheduleWeek scheduleWeek;
 
@@ -64,7 +78,7 @@ public class AccessWorkoutSessionsTest extends TestCase {
      */
     @Before
     public void setUp() {
-        InterfaceWorkoutSessionDataAccess templateDataAccess = new TemplateWorkoutSessionsAccess();
+        templateDataAccess = new TemplateWorkoutSessionsAccess();
 
         templateDataAccess.open(null);
         dataAccess = new AccessWorkoutSessions(templateDataAccess);
@@ -234,6 +248,46 @@ public class AccessWorkoutSessionsTest extends TestCase {
         System.out.println("Finishing testNewScheduledWeek\n");
     }
 
+    /**
+     * Tests that getting workout session summaries works properly
+     */
+    @Test
+    public void testGetSessionSummaries() {
+        System.out.println("\nStarting testGetSessionSummaries");
+
+        LocalDate tuesday = new LocalDate().withDayOfWeek(DateTimeConstants.TUESDAY);
+        WorkoutSessionSummary summary = dataAccess.getWorkoutSessionSummary(tuesday);
+        assertNotNull(summary);
+        assertEquals("Never Skip Leg Day", summary.getName());
+        assertEquals(tuesday, summary.getDate());
+        assertFalse(summary.isComplete());
+        assertTrue(summary.equals(dataAccess.getWorkoutSession(tuesday).getSummary()));
+        assertNull(dataAccess.getWorkoutSessionSummary(new LocalDate(2000, 1, 1)));
+
+        List<WorkoutSessionSummary> summaryList = dataAccess.getSessionSummariesInDateRange(
+                LocalDate.now().withDayOfWeek(DateTimeConstants.MONDAY), LocalDate.now().withDayOfWeek(DateTimeConstants.SUNDAY));
+        assertEquals(3, summaryList.size());
+        assertEquals("Never Skip Leg Day", summaryList.get(0).getName());
+        assertEquals("Work that Core, Get that Score!", summaryList.get(1).getName());
+        assertEquals(new LocalDate().withDayOfWeek(DateTimeConstants.FRIDAY), summaryList.get(2).getDate());
+
+        summaryList = dataAccess.getWeekSessionSummaries(weekStartDay, LocalDate.now());
+        assertEquals(DateTimeConstants.DAYS_PER_WEEK, summaryList.size());
+        assertEquals(new LocalDate().withDayOfWeek(DateTimeConstants.MONDAY), summaryList.get(0).getDate());
+        assertTrue(summaryList.get(0).isEmpty());
+        assertEquals("Never Skip Leg Day", summaryList.get(1).getName());
+        assertEquals("Work that Core, Get that Score!", summaryList.get(2).getName());
+        assertTrue(summaryList.get(3).isEmpty());
+        assertEquals("Never Skip Leg Day", summaryList.get(4).getName());
+        assertEquals(new LocalDate().withDayOfWeek(DateTimeConstants.SUNDAY), summaryList.get(6).getDate());
+
+        dataAccess.removeWorkoutSession(summaryList.get(1));
+        assertNull(dataAccess.getWorkoutSession(tuesday));
+        assertTrue(dataAccess.getWeekSessionSummaries(weekStartDay, LocalDate.now()).get(1).isEmpty());
+
+        System.out.println("Finishing testGetSessionSummaries\n");
+    }
+
     /**
      * Tests that inserting a workout sessions works properly
      */
@@ -346,6 +400,37 @@ public class AccessWorkoutSessionsTest extends TestCase {
         System.out.println("Finishing testRemoveWorkoutSession\n");
     }
 
+    /**
+     * Tests that moving a workout session works properly
+     */
+    @Test
+    public void testMoveWorkoutSession() {
+        System.out.println("\nStarting testMoveWorkoutSession");
+
+        LocalDate wednesday = new LocalDate().withDayOfWeek(DateTimeConstants.WEDNESDAY);
+        LocalDate thursday = new LocalDate().withDayOfWeek(DateTimeConstants.THURSDAY);
+        LocalDate friday = new LocalDate().withDayOfWeek(DateTimeConstants.FRIDAY);
+
+        // Move to an empty day
+        WorkoutSession workoutSession = dataAccess.getWorkoutSession(wednesday);
+        assertTrue(dataAccess.moveWorkoutSession(workoutSession, thursday));
+        assertEquals(thursday, workoutSession.getDate());
+        assertNull(dataAccess.getWorkoutSession(wednesday));
+        assertEquals("Work that Core, Get that Score!", dataAccess.getWorkoutSession(thursday).getName());
+        assertEquals(2, dataAccess.getWorkoutSession(thursday).numExercises());
+
+        // Trying to move onto a day that already has a session
+        assertFalse(dataAccess.moveWorkoutSession(workoutSession, friday));
+        assertEquals(thursday, workoutSession.getDate());
+        assertEquals("Never Skip Leg Day", dataAccess.getWorkoutSession(friday).getName());
+
+        // Trying to move a session that isn't in the database
+        assertFalse(dataAccess.moveWorkoutSession(new WorkoutSession(wednesday), wednesday.plusWeeks(2)));
+        assertNull(dataAccess.getWorkoutSession(wednesday.plusWeeks(2)));
+
+        System.out.println("Finishing testMoveWorkoutSession\n");
+    }
+
     /**
      * Tests that toggling workout completed works properly
      */
@@ -365,6 +450,190 @@ public class AccessWorkoutSessionsTest extends TestCase {
         System.out.println("Finishing testToggleWorkoutCompleted\n");
     }
 
+    /**
+     * Tests that toggling a single exercise completed works properly
+     */
+    @Test
+    public void testToggleExerciseCompleted() {
+        System.out.println("\nStarting testToggleExerciseCompleted");
+
+        LocalDate localDate = new LocalDate(LocalDate.now().withDayOfWeek(DateTimeConstants.TUESDAY));
+
+        WorkoutSession workoutSession1 = dataAccess.getWorkoutSession(localDate);
+        WorkoutSessionExercise exercise = workoutSession1.getWorkoutSessionExercises().get(0);
+        assertFalse(exercise.isComplete());
+        assertTrue(dataAccess.toggleExerciseCompleted(workoutSession1, exercise));
+        assertTrue(exercise.isComplete());
+        assertTrue(dataAccess.getWorkoutSession(localDate).getExercise(exercise.getName()).isComplete());
+        assertFalse(workoutSession1.isComplete());
+        assertTrue(dataAccess.toggleExerciseCompleted(workoutSession1, exercise));
+        assertFalse(exercise.isComplete());
+
+        assertFalse(dataAccess.toggleExerciseCompleted(new WorkoutSession(localDate), exercise));
+
+        try {
+            dataAccess.toggleExerciseCompleted(null, exercise);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) { }
+
+        System.out.println("Finishing testToggleExerciseCompleted\n");
+    }
+
+    /**
+     * Tests that an observed week is told only about the days written in it, whichever business
+     * object wrote them, until it is closed, and never on the thread that wrote them
+     */
+    @Test
+    public void testObserveWeek() throws InterruptedException {
+        System.out.println("\nStarting testObserveWeek");
+
+        final List<List<SessionSummaryChange>> notifications = new ArrayList<>();
+        final List<Thread> notifyingThreads = new ArrayList<>();
+        InterfaceAccessWorkoutSessions otherAccess = new AccessWorkoutSessions(templateDataAccess);
+        LocalDate monday = LocalDate.now().withDayOfWeek(DateTimeConstants.MONDAY);
+        SessionQuery query = dataAccess.observeWeek(DateTimeConstants.MONDAY, LocalDate.now());
+        WorkoutSession workoutSession;
+
+        assertEquals(monday, query.getFirstDate());
+        assertEquals(7, query.getSummaries().size());
+        assertEquals("Never Skip Leg Day", query.getSummaries().get(1).getName());
+        assertTrue(query.getSummaries().get(3).isEmpty());
+        assertNull(query.getSummary(monday.plusWeeks(1)));
+
+        query.subscribe(new InterfaceSessionObserver() {
+            @Override
+            public void onSessionsChanged(SessionQuery query, List<SessionSummaryChange> changes) {
+                notifications.add(changes);
+                notifyingThreads.add(Thread.currentThread());
+            }
+        });
+
+        //a move changes both days, in one notification
+        workoutSession = otherAccess.getWorkoutSession(monday.plusDays(2));
+        assertTrue(otherAccess.moveWorkoutSession(workoutSession, monday.plusDays(3)));
+        query.awaitWrites();
+        assertEquals(1, notifications.size());
+        assertFalse(notifyingThreads.contains(Thread.currentThread()));
+        assertEquals(2, notifications.get(0).size());
+        assertEquals(2, notifications.get(0).get(0).getPosition());
+        assertTrue(notifications.get(0).get(0).getCurrent().isEmpty());
+        assertEquals(3, notifications.get(0).get(1).getPosition());
+        assertEquals("Work that Core, Get that Score!", notifications.get(0).get(1).getCurrent().getName());
+        assertEquals("Work that Core, Get that Score!", query.getSummary(monday.plusDays(3)).getName());
+
+        dataAccess.toggleWorkoutCompleted(workoutSession);
+        query.awaitWrites();
+        assertEquals(2, notifications.size());
+        assertTrue(notifications.get(1).get(0).getCurrent().isComplete());
+        assertFalse(notifications.get(1).get(0).getPrevious().isComplete());
+
+        dataAccess.removeWorkoutSession(query.getSummaries().get(4));
+        query.awaitWrites();
+        assertEquals(3, notifications.size());
+        assertTrue(query.getSummaries().get(4).isEmpty());
+
+        //writes that leave the summaries as they were, or are outside the week, aren't told
+        workoutSession = dataAccess.getWorkoutSession(monday.plusDays(1));
+        dataAccess.toggleExerciseCompleted(workoutSession, workoutSession.getWorkoutSessionExercises().get(0));
+        dataAccess.removeWorkoutSession(new WorkoutSession(monday.plusDays(5)));
+        dataAccess.removeWorkoutSession(dataAccess.getWorkoutSession(monday.plusWeeks(1).plusDays(1)));
+        query.awaitWrites();
+        assertEquals(3, notifications.size());
+
+        //a closed query keeps what it read last
+        query.close();
+        dataAccess.removeWorkoutSession(workoutSession);
+        query.awaitWrites();
+        assertEquals(3, notifications.size());
+        assertEquals("Never Skip Leg Day", query.getSummaries().get(1).getName());
+
+        try {
+            dataAccess.observeSessionRange(monday, monday.minusDays(1));
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) { }
+
+        System.out.println("Finishing testObserveWeek\n");
+    }
+
+    /**
+     * Tests that an observed progress summary is re-read when a workout session is completed or
+     * uncompleted, whichever business object wrote it, but not after other writes, and never on
+     * the thread that wrote them
+     */
+    @Test
+    public void testObserveProgress() throws InterruptedException {
+        System.out.println("\nStarting testObserveProgress");
+
+        final List<ExperienceHistory[]> notifications = new ArrayList<>();
+        final List<Thread> notifyingThreads = new ArrayList<>();
+        InterfaceAccessWorkoutSessions progressAccess = new AccessWorkoutSessions(templateDataAccess,
+                new TemplateExperienceAccess());
+        LocalDate monday = LocalDate.now().withDayOfWeek(DateTimeConstants.MONDAY);
+        ProgressQuery query = progressAccess.observeProgress();
+        WorkoutSession workoutSession = dataAccess.getWorkoutSession(monday.plusDays(1));
+        int numCompleted = countCompleted(query.getHistory());
+
+        query.subscribe(new InterfaceProgressObserver() {
+            @Override
+            public void onProgressChanged(ProgressQuery query, ExperienceHistory previous,
+                                          ExperienceHistory current) {
+                notifications.add(new ExperienceHistory[]{previous, current});
+                notifyingThreads.add(Thread.currentThread());
+            }
+        });
+
+        dataAccess.toggleWorkoutCompleted(workoutSession);
+        query.awaitWrites();
+        assertEquals(1, notifications.size());
+        assertFalse(notifyingThreads.contains(Thread.currentThread()));
+        assertEquals(numCompleted, countCompleted(notifications.get(0)[0]));
+        assertEquals(workoutSession.isComplete() ? numCompleted + 1 : numCompleted - 1,
+                countCompleted(notifications.get(0)[1]));
+        assertSame(notifications.get(0)[1], query.getHistory());
+
+        //writes that don't complete a session aren't told
+        dataAccess.toggleExerciseCompleted(workoutSession, workoutSession.getWorkoutSessionExercises().get(0));
+        dataAccess.removeWorkoutSession(new WorkoutSession(monday.plusDays(5)));
+        query.awaitWrites();
+        assertEquals(1, notifications.size());
+
+        dataAccess.toggleWorkoutCompleted(workoutSession);
+        query.awaitWrites();
+        assertEquals(2, notifications.size());
+        assertEquals(numCompleted, countCompleted(query.getHistory()));
+
+        //a closed query keeps what it read last
+        query.close();
+        progressAccess.toggleWorkoutCompleted(workoutSession);
+        query.awaitWrites();
+        assertEquals(2, notifications.size());
+        assertEquals(numCompleted, countCompleted(query.getHistory()));
+
+        try {
+            dataAccess.observeProgress();
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) { }
+
+        System.out.println("Finishing testObserveProgress\n");
+    }
+
+    /**
+     * Counts the completed workouts in an experience history
+     * @param history the experience history
+     * @return the number of completed workouts
+     */
+    private int countCompleted(ExperienceHistory history) {
+        Enumeration<CompletedWorkoutRecord> records = history.getCompletedWorkoutsEnumeration();
+        int numCompleted = 0;
+
+        while (records.hasMoreElements()) {
+            records.nextElement();
+            numCompleted++;
+        }
+
+        return numCompleted;
+    }
+
     /**
      * Tests that set to next week works properly
      */
@@ -570,6 +839,38 @@ public class AccessWorkoutSessionsTest extends TestCase {
             return sessionsInDateRange;
         }
 
+        /**
+         * Retrieves the summary of the workout session scheduled on the given date, without loading
+         * its exercises. If no workout session is found for that date, returns null.
+         * @param dateOfSession the date to get the workout session summary for
+         * @return the summary of the workout session scheduled on the given date
+         */
+        @Override
+        public WorkoutSessionSummary getWorkoutSessionSummary(LocalDate dateOfSession) {
+            WorkoutSession workoutSession = workoutSessionsByDate.get(dateOfSession);
+
+            return workoutSession == null ? null : workoutSession.getSummary();
+        }
+
+        /**
+         * A method that returns the summaries of the workout sessions scheduled in a date range,
+         * without loading their exercises
+         * @param startDate the first date of the date range
+         * @param endDate the last date of the date range
+         * @return a list of summaries of the workout sessions scheduled between startDate and
+         * endDate, inclusive, ordered by date
+         */
+        @Override
+        public List<WorkoutSessionSummary> getSessionSummariesInDateRange(LocalDate startDate,
+                                                                   LocalDate endDate) {
+            List<WorkoutSessionSummary> summariesInDateRange = new ArrayList<>();
+
+            for (WorkoutSession workoutSession : getSessionsInDateRange(startDate, endDate))
+                summariesInDateRange.add(workoutSession.getSummary());
+
+            return summariesInDateRange;
+        }
+
         /**
          * Inserts a new workout session into the database
          *
@@ -590,6 +891,45 @@ public class AccessWorkoutSessionsTest extends TestCase {
             workoutSessionsByDate.remove(workoutSession.getDate());
         }
 
+        /**
+         * Moves a workout session to a new date in the database, keeping its exercises and completed
+         * state. Nothing is moved if there is no session on fromDate or toDate is already taken
+         *
+         * @param fromDate the date the workout session is currently scheduled on
+         * @param toDate the date to move the workout session to
+         * @return a boolean representing whether a workout session was moved
+         */
+        @Override
+        public boolean moveWorkoutSession(LocalDate fromDate, LocalDate toDate) {
+            WorkoutSession workoutSession;
+            boolean sessionMoved = false;
+
+            if (workoutSessionsByDate.containsKey(fromDate) && !workoutSessionsByDate.containsKey(toDate)) {
+                workoutSession = workoutSessionsByDate.remove(fromDate);
+                workoutSession.setDate(toDate);
+                workoutSessionsByDate.put(toDate, workoutSession);
+                sessionMoved = true;
+            }
+
+            return sessionMoved;
+        }
+
+        /**
+         * Sets whether an exercise in a workout session is complete
+         *
+         * @param sessionDate the date of the workout session
+         * @param exerciseName the name of the exercise
+         * @param complete whether the exercise is complete
+         */
+        @Override
+        public void setExerciseComplete(LocalDate sessionDate, String exerciseName, boolean complete) {
+            WorkoutSession workoutSession = workoutSessionsByDate.get(sessionDate);
+
+            if (workoutSession != null && workoutSession.getExercise(exerciseName) != null &&
+                    workoutSession.getExercise(exerciseName).isComplete() != complete)
+                workoutSession.getExercise(exerciseName).toggleCompleted();
+        }
+
         /**
          * Toggles the completed state of a workout in the database
          *
@@ -599,5 +939,105 @@ public class AccessWorkoutSessionsTest extends TestCase {
         public void toggleWorkoutComplete(WorkoutSession workoutSession) {
             workoutSessionsByDate.get(workoutSession.getDate()).toggleCompleted();
         }
+
+        /**
+         * Counts the completed workout sessions scheduled before a date, which stay where they are
+         * since the template has no archive
+         *
+         * @param cutoffDate the date before which completed sessions are archived
+         * @return the number of workout sessions archived
+         */
+        @Override
+        public int archiveSessions(LocalDate cutoffDate) {
+            int numArchived = 0;
+
+            for (WorkoutSession workoutSession : workoutSessionsByDate.values())
+                if (workoutSession.isComplete() && workoutSession.getDate().isBefore(cutoffDate))
+                    numArchived++;
+
+            return numArchived;
+        }
+
+        /**
+         * Replaces the completed workout sessions scheduled before a date that aren't summarized yet
+         * with summarized sessions of the same experience value
+         *
+         * @param cutoffDate the date before which completed sessions are rolled up
+         * @return the number of workout sessions rolled up
+         */
+        @Override
+        public int rollUpSessions(LocalDate cutoffDate) {
+            int numRolledUp = 0;
+            WorkoutSession workoutSession;
+
+            for (Map.Entry<LocalDate, WorkoutSession> entry : workoutSessionsByDate.entrySet()) {
+                workoutSession = entry.getValue();
+                if (workoutSession.isComplete() && !workoutSession.isSummarized()
+                        && workoutSession.getDate().isBefore(cutoffDate)) {
+                    entry.setValue(new WorkoutSession(workoutSession.getName(), workoutSession.getDate(),
+                            true, workoutSession.getExperienceValue()));
+                    numRolledUp++;
+                }
+            }
+
+            return numRolledUp;
+        }
+    }
+
+    /**
+     * A template experience data access class for use in testing, which reads the completed
+     * workouts from the template workout sessions
+     */
+    private class TemplateExperienceAccess implements InterfaceExperienceDataAccess {
+        /**
+         * Opens a data access class
+         *
+         * @param statement the statement to use in data access queries
+         */
+        @Override
+        public void open(Statement statement) { }
+
+        /**
+         * Closes a data access class
+         */
+        @Override
+        public void close() { }
+
+        /**
+         * Returns a record of each completed workout session within a year of today, the most
+         * recent first
+         *
+         * @return a list of all completed workout records
+         */
+        @Override
+        public List<CompletedWorkoutRecord> getCompletedWorkouts() {
+            List<CompletedWorkoutRecord> completedWorkouts = new ArrayList<>();
+            int experience = 0;
+
+            for (WorkoutSession workoutSession : templateDataAccess.getSessionsInDateRange(
+                    LocalDate.now().minusYears(1), LocalDate.now().plusYears(1))) {
+                if (workoutSession.isComplete()) {
+                    completedWorkouts.add(new CompletedWorkoutRecord(workoutSession.getName(), experience,
+                            experience + workoutSession.getExperienceValue(),
+                            workoutSession.getDate().toLocalDateTime(LocalTime.MIDNIGHT)));
+                    experience += workoutSession.getExperienceValue();
+                }
+            }
+            Collections.reverse(completedWorkouts);
+
+            return completedWorkouts;
+        }
+
+        /**
+         * Returns the most recent completed workout
+         *
+         * @return the most recent completed workout, or {@code null} if there is none
+         */
+        @Override
+        public CompletedWorkoutRecord getMostRecentCompletedWorkout() {
+            List<CompletedWorkoutRecord> completedWorkouts = getCompletedWorkouts();
+
+            return completedWorkouts.isEmpty() ? null : completedWorkouts.get(0);
+        }
     }
 }
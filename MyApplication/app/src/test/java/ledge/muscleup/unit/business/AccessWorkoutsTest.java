@@ -5,6 +5,8 @@ import junit.framework.TestCase;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.joda.time.LocalDate;
+
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -13,6 +15,7 @@ import java.util.Map;
 
 import ledge.muscleup.business.AccessWorkouts;
 import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.ExerciseTypeRecovery;
 import ledge.muscleup.model.exercise.WorkoutExerciseDistance;
 import ledge.muscleup.model.exercise.WorkoutExerciseDuration;
 import ledge.muscleup.model.exercise.WorkoutExerciseSets;
@@ -26,6 +29,7 @@ import ledge.muscleup.model.exercise.ExerciseSets;
 import ledge.muscleup.model.exercise.ExerciseSetsAndWeight;
 import ledge.muscleup.model.exercise.WorkoutExercise;
 import ledge.muscleup.model.workout.Workout;
+import ledge.muscleup.model.workout.WorkoutSummary;
 import ledge.muscleup.persistence.InterfaceWorkoutDataAccess;
 
 /**
@@ -42,6 +46,7 @@ public class AccessWorkoutsTest extends TestCase {
     private final int XP_LOW_INTENSITY = (ExerciseIntensity.LOW.ordinal() + 1) * 15;
 
     private InterfaceAccessWorkouts dataAccess;
+    private TemplateWorkoutDataAccess templateDataAccess;
 
     /**
      * Constructor for the AccessWorkoutsTest
@@ -55,8 +60,7 @@ public class AccessWorkoutsTest extends TestCase {
      */
     @Before
     public void setUp() {
-        InterfaceWorkoutDataAccess templateDataAccess = new TemplateWorkoutDataAccess();
-
+        templateDataAccess = new TemplateWorkoutDataAccess();
         templateDataAccess.open(null);
         dataAccess = new AccessWorkouts(templateDataAccess);
     }
@@ -160,14 +164,116 @@ public class AccessWorkoutsTest extends TestCase {
     public void testGetRecommendedWorkout() {
         System.out.println("\nStarting testGetRecommendedWorkout");
 
-        assertEquals("Never Skip Leg Day", dataAccess.getSuggestedWorkout());
+        LocalDate today = new LocalDate();
+
+        //with every type rested, the workout with the most load is suggested
+        assertEquals("Marathon Training Starts Here", dataAccess.getSuggestedWorkout());
+
+        //types trained today are avoided
+        templateDataAccess.typeRecoveries.add(new ExerciseTypeRecovery(ExerciseType.CARDIO, today, 5));
+        templateDataAccess.typeRecoveries.add(new ExerciseTypeRecovery(ExerciseType.ARM, today, 4));
+        templateDataAccess.typeRecoveries.add(new ExerciseTypeRecovery(ExerciseType.LEG, today, 4));
+        assertEquals("Work that Core, Get that Score!", dataAccess.getSuggestedWorkout());
+
+        //a partly recovered type is preferred to types trained today
+        templateDataAccess.typeRecoveries.set(0, new ExerciseTypeRecovery(ExerciseType.CARDIO, today.minusDays(1), 5));
+        templateDataAccess.typeRecoveries.add(new ExerciseTypeRecovery(ExerciseType.CORE, today, 4));
+        assertEquals("Marathon Training Starts Here", dataAccess.getSuggestedWorkout());
+
+        //light training needs less rest than hard training
+        templateDataAccess.typeRecoveries.set(1, new ExerciseTypeRecovery(ExerciseType.ARM, today.minusDays(1), 1));
+        assertEquals("Welcome to the Gun Show", dataAccess.getSuggestedWorkout());
 
         System.out.println("Finishing testGetRecommendedWorkout\n");
     }
 
+    /**
+     * Tests that workout summaries match the workouts they summarize
+     */
+    @Test
+    public void testGetWorkoutSummaries() {
+        System.out.println("\nStarting testGetWorkoutSummaries");
+
+        List<WorkoutSummary> summaryList = dataAccess.getWorkoutSummaries();
+        assertEquals(dataAccess.getWorkoutNamesList().size(), summaryList.size());
+        for (WorkoutSummary summary : summaryList)
+            assertTrue(summary.equals(dataAccess.getWorkout(summary.getName()).getSummary()));
+
+        WorkoutSummary summary = dataAccess.getWorkoutSummary("Never Skip Leg Day");
+        assertEquals(2, summary.numExercises());
+        assertEquals(ExerciseType.LEG, summary.getDominantType());
+        assertEquals(2, summary.getIntensityCount(ExerciseIntensity.MEDIUM));
+        assertNull(dataAccess.getWorkoutSummary("Not a workout"));
+
+        try {
+            dataAccess.getWorkoutSummary(null);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        System.out.println("Finishing testGetWorkoutSummaries\n");
+    }
+
+    /**
+     * Tests that finding workouts by the exercises and types they contain works properly
+     */
+    @Test
+    public void testFindWorkoutNames() {
+        System.out.println("\nStarting testFindWorkoutNames");
+
+        List<String> nameList = dataAccess.findWorkoutNames("Squats", null);
+        assertEquals(1, nameList.size());
+        assertEquals("Never Skip Leg Day", nameList.get(0));
+
+        nameList = dataAccess.findWorkoutNames(null, ExerciseType.ARM);
+        assertEquals(1, nameList.size());
+        assertEquals("Welcome to the Gun Show", nameList.get(0));
+
+        assertEquals(1, dataAccess.findWorkoutNames("Crunches", ExerciseType.CORE).size());
+        assertEquals(0, dataAccess.findWorkoutNames("Crunches", ExerciseType.LEG).size());
+        assertEquals(0, dataAccess.findWorkoutNames("Deadlifts", null).size());
+        assertEquals(0, dataAccess.findWorkoutNames(null, ExerciseType.FULL_BODY).size());
+        assertEquals(dataAccess.getWorkoutNamesList().size(), dataAccess.findWorkoutNames(null, null).size());
+
+        System.out.println("Finishing testFindWorkoutNames\n");
+    }
+
+    /**
+     * Tests that the business objects on the same data access share the index of the workout
+     * contents, and index them again only when the contents change
+     */
+    @Test
+    public void testSharedContentsIndex() {
+        System.out.println("\nStarting testSharedContentsIndex");
+
+        InterfaceAccessWorkouts otherAccess = new AccessWorkouts(templateDataAccess);
+        TemplateWorkoutDataAccess otherTemplate = new TemplateWorkoutDataAccess();
+
+        assertEquals(dataAccess.findWorkoutNames("Squats", null), otherAccess.findWorkoutNames("Squats", null));
+        assertEquals(dataAccess.getSuggestedWorkout(), otherAccess.getSuggestedWorkout());
+        assertEquals(1, templateDataAccess.contentsReads);
+
+        //a change to the contents indexes them again, once for every business object
+        templateDataAccess.contentsVersion++;
+        assertEquals(1, otherAccess.findWorkoutNames("Squats", null).size());
+        assertEquals(1, dataAccess.findWorkoutNames("Squats", null).size());
+        assertEquals(2, templateDataAccess.contentsReads);
+
+        //another data access keeps an index of its own
+        otherTemplate.open(null);
+        assertEquals(1, new AccessWorkouts(otherTemplate).findWorkoutNames("Squats", null).size());
+        assertEquals(1, otherTemplate.contentsReads);
+        assertEquals(2, templateDataAccess.contentsReads);
+
+        System.out.println("Finishing testSharedContentsIndex\n");
+    }
+
     private class TemplateWorkoutDataAccess implements InterfaceWorkoutDataAccess {
         private Map<String, Exercise> exercisesByName;
         private Map<String, Workout> workoutsByName;
+        private List<ExerciseTypeRecovery> typeRecoveries = new ArrayList<>();
+        private int contentsVersion = 0;
+        private int contentsReads = 0;
 
         /**
          * Opens a data access class
@@ -286,6 +392,75 @@ public class AccessWorkoutsTest extends TestCase {
             return workoutsByName.get(workoutName);
         }
 
+        /**
+         * Gets the summaries of all workouts in the database
+         *
+         * @return a list of the summaries of all workouts in the database
+         */
+        @Override
+        public List<WorkoutSummary> getWorkoutSummaries() {
+            List<WorkoutSummary> summaryList = new ArrayList<>();
+
+            for (Workout workout : workoutsByName.values())
+                summaryList.add(workout.getSummary());
+
+            return summaryList;
+        }
+
+        /**
+         * Retrieves the summary of the workout with the name given as parameter
+         *
+         * @param workoutName the name of the workout to summarize
+         * @return the summary of the workout, or null if no workout exists with that name
+         */
+        @Override
+        public WorkoutSummary getWorkoutSummary(String workoutName) {
+            Workout workout = workoutsByName.get(workoutName);
+            return workout == null ? null : workout.getSummary();
+        }
+
+        /**
+         * Gets the exercises each workout in the database contains, without their quantities
+         *
+         * @return a map from the name of each workout to the exercises it contains
+         */
+        @Override
+        public Map<String, List<Exercise>> getWorkoutContents() {
+            Map<String, List<Exercise>> contents = new HashMap<>();
+            List<Exercise> exerciseList;
+
+            contentsReads++;
+            for (Workout workout : workoutsByName.values()) {
+                exerciseList = new ArrayList<>();
+                for (WorkoutExercise exercise : workout.getExerciseList())
+                    exerciseList.add(new Exercise(exercise.getName(), exercise.getIntensity(), exercise.getType()));
+                contents.put(workout.getName(), exerciseList);
+            }
+
+            return contents;
+        }
+
+        /**
+         * Gets a number that changes whenever what the workouts contain changes, which is set by
+         * the tests
+         *
+         * @return the current version of the workout contents
+         */
+        @Override
+        public int getWorkoutContentsVersion() {
+            return contentsVersion;
+        }
+
+        /**
+         * Gets how rested each exercise type is, which is set by the tests
+         *
+         * @return the recovery of each exercise type that has been trained
+         */
+        @Override
+        public List<ExerciseTypeRecovery> getTypeRecoveries() {
+            return typeRecoveries;
+        }
+
         /**
          * Retrieves the name of a the workout that has been completed the least amount of times
          *
@@ -21,6 +21,11 @@ public class BusinessTests {
         suite.addTestSuite(AccessWorkoutsTest.class);
         suite.addTestSuite(AccessWorkoutSessionsTest.class);
         suite.addTestSuite(AccessExperienceTest.class);
+        suite.addTestSuite(MainThreadDetectorTest.class);
+        suite.addTestSuite(ExerciseSearchIndexTest.class);
+        suite.addTestSuite(WorkoutContentsIndexTest.class);
+        suite.addTestSuite(WorkoutRecommenderTest.class);
+        suite.addTestSuite(AccessSyncTest.class);
         return suite;
     }
 }
@@ -0,0 +1,137 @@
+package ledge.muscleup.unit.business;
+
+import junit.framework.TestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ledge.muscleup.business.ExerciseSearchIndex;
+import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
+
+/**
+ * ExerciseSearchIndexTest.java used to test ExerciseSearchIndex.java
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-26
+ */
+public class ExerciseSearchIndexTest extends TestCase {
+    private ExerciseSearchIndex index;
+
+    /**
+     * Constructor for the ExerciseSearchIndexTest
+     */
+    public ExerciseSearchIndexTest(String arg0) {
+        super(arg0);
+    }
+
+    /**
+     * Initializes the index to be searched
+     */
+    @Before
+    public void setUp() {
+        List<Exercise> exerciseList = new ArrayList<>();
+
+        exerciseList.add(new Exercise("Squats", ExerciseIntensity.MEDIUM, ExerciseType.LEG));
+        exerciseList.add(new Exercise("Bicep Curls", ExerciseIntensity.LOW, ExerciseType.ARM));
+        exerciseList.add(new Exercise("Push-Ups", ExerciseIntensity.HIGH, ExerciseType.ARM));
+        exerciseList.add(new Exercise("Bicycle Kicks", ExerciseIntensity.HIGH, ExerciseType.CORE));
+        exerciseList.add(new Exercise("Running", ExerciseIntensity.HIGH, ExerciseType.CARDIO));
+        exerciseList.add(new Exercise("Exercise Bike", ExerciseIntensity.MEDIUM, ExerciseType.CARDIO));
+        exerciseList.add(new Exercise("Crunches", ExerciseIntensity.LOW, ExerciseType.CORE));
+
+        index = new ExerciseSearchIndex(exerciseList);
+    }
+
+    /**
+     * Tests searching by name prefix, type and intensity, alone and combined
+     */
+    @Test
+    public void testSearch() {
+        System.out.println("\nStarting testSearch");
+
+        assertEquals(7, index.size());
+        assertEquals("[Bicep Curls, Bicycle Kicks, Crunches, Exercise Bike, Push-Ups, Running, Squats]",
+                names(index.search(null, null, null)));
+        assertEquals(7, index.search("  ", null, null).size());
+
+        //prefixes match the start of any word, ignoring case
+        assertEquals("[Bicep Curls, Bicycle Kicks, Exercise Bike]", names(index.search("bi", null, null)));
+        assertEquals("[Bicycle Kicks]", names(index.search("Bicy", null, null)));
+        assertEquals("[Bicep Curls]", names(index.search("CURL", null, null)));
+        assertEquals("[Push-Ups]", names(index.search("ups", null, null)));
+        assertEquals("[]", names(index.search("url", null, null)));
+        assertEquals("[]", names(index.search("Bicep Curls and more", null, null)));
+
+        assertEquals("[Bicep Curls, Push-Ups]", names(index.search(null, ExerciseType.ARM, null)));
+        assertEquals("[Bicycle Kicks, Push-Ups, Running]", names(index.search(null, null, ExerciseIntensity.HIGH)));
+        assertEquals("[Push-Ups]", names(index.search(null, ExerciseType.ARM, ExerciseIntensity.HIGH)));
+        assertEquals("[Bicycle Kicks]", names(index.search("b", ExerciseType.CORE, ExerciseIntensity.HIGH)));
+        assertEquals("[]", names(index.search("b", ExerciseType.LEG, null)));
+        assertEquals("[]", names(index.search(null, ExerciseType.FULL_BODY, null)));
+
+        //searching doesn't change the index
+        assertEquals(7, index.search(null, null, null).size());
+
+        try {
+            new ExerciseSearchIndex(null);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        System.out.println("Finishing testSearch");
+    }
+
+    /**
+     * Tests that searching a catalog of a thousand exercises takes well under a millisecond
+     */
+    @Test
+    public void testSearchLargeCatalog() {
+        System.out.println("\nStarting testSearchLargeCatalog");
+
+        final int numExercises = 1000;
+        final int numSearches = 1000;
+        List<Exercise> exerciseList = new ArrayList<>();
+        ExerciseType[] types = ExerciseType.values();
+        ExerciseIntensity[] intensities = ExerciseIntensity.values();
+        long start, elapsed;
+        int found = 0;
+
+        for (int i = 0; i < numExercises; i++)
+            exerciseList.add(new Exercise("Custom Exercise " + i, intensities[i % intensities.length],
+                    types[i % types.length]));
+        index = new ExerciseSearchIndex(exerciseList);
+
+        assertEquals(111, index.search("exercise 1", null, null).size());
+        assertEquals(numExercises / types.length, index.search("custom", ExerciseType.CORE, null).size());
+
+        start = System.nanoTime();
+        for (int i = 0; i < numSearches; i++)
+            found += index.search("exercise " + (i % 100), types[i % types.length], intensities[i % intensities.length]).size();
+        elapsed = System.nanoTime() - start;
+
+        assertTrue(found > 0);
+        assertTrue("Average search took " + (elapsed / numSearches) + " ns", elapsed / numSearches < 1000000);
+
+        System.out.println("Finishing testSearchLargeCatalog");
+    }
+
+    /**
+     * Gets the names of a list of exercises
+     * @param exerciseList the list of exercises
+     * @return the names of the exercises, as a String
+     */
+    private String names(List<Exercise> exerciseList) {
+        List<String> nameList = new ArrayList<>();
+
+        for (Exercise exercise : exerciseList)
+            nameList.add(exercise.getName());
+
+        return nameList.toString();
+    }
+}
@@ -0,0 +1,184 @@
+package ledge.muscleup.unit.business;
+
+import junit.framework.TestCase;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+
+import ledge.muscleup.business.MainThreadDetector;
+import ledge.muscleup.business.MainThreadViolation;
+
+/**
+ * Tests for detecting business calls that block the main thread
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-23
+ */
+public class MainThreadDetectorTest extends TestCase {
+    private static final long NEVER_MILLIS = 60 * 60 * 1000;
+
+    /**
+     * Constructor for the MainThreadDetectorTest
+     */
+    public MainThreadDetectorTest(String arg0) {
+        super(arg0);
+    }
+
+    /**
+     * Turns detection back off after each test
+     */
+    @After
+    public void tearDown() {
+        MainThreadDetector.disable();
+        MainThreadDetector.clearViolations();
+    }
+
+    /**
+     * Tests that slow calls on the main thread are recorded with their call site and duration,
+     * and that other calls are not. Rather than sleeping past a budget, a slow call waits for
+     * another thread with a budget of zero, and a fast call is made with a budget far longer than
+     * any call could take, so the results don't depend on how loaded the machine is
+     */
+    @Test
+    public void testRecordViolations() throws InterruptedException {
+        System.out.println("\nStarting testRecordViolations");
+
+        MainThreadDetector.enable(Thread.currentThread(), NEVER_MILLIS, false);
+        InterfaceSlowAccess access = MainThreadDetector.wrap(InterfaceSlowAccess.class, new SlowAccess());
+
+        assertEquals(5, access.echo(5));
+        assertTrue(access.waitFor(newWorker()));
+        assertEquals(0, MainThreadDetector.getViolations().size());
+
+        MainThreadDetector.enable(Thread.currentThread(), 0, false);
+        access = MainThreadDetector.wrap(InterfaceSlowAccess.class, new SlowAccess());
+
+        assertTrue(access.waitFor(newWorker()));
+        List<MainThreadViolation> violations = MainThreadDetector.getViolations();
+        assertEquals(1, violations.size());
+        assertEquals("SlowAccess.waitFor", violations.get(0).getMethodName());
+        assertTrue(violations.get(0).getDurationNanos() > 0);
+        assertEquals(0, violations.get(0).getBudgetNanos());
+        assertEquals(MainThreadDetectorTest.class.getName(), violations.get(0).getCallSite().getClassName());
+        assertEquals("testRecordViolations", violations.get(0).getCallSite().getMethodName());
+
+        //exceptions thrown by the business object are passed through untouched
+        MainThreadDetector.clearViolations();
+        try {
+            access.waitFor(null);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        MainThreadDetector.clearViolations();
+        assertEquals(0, MainThreadDetector.getViolations().size());
+
+        System.out.println("Finishing testRecordViolations");
+    }
+
+    /**
+     * Tests that slow calls fail when configured to, and that calls on other threads or with
+     * detection off are never timed
+     */
+    @Test
+    public void testFailViolations() throws InterruptedException {
+        System.out.println("\nStarting testFailViolations");
+
+        assertFalse(MainThreadDetector.isEnabled());
+        SlowAccess unwrapped = new SlowAccess();
+        assertSame(unwrapped, MainThreadDetector.wrap(InterfaceSlowAccess.class, unwrapped));
+
+        MainThreadDetector.enable(Thread.currentThread(), 0, true);
+        final InterfaceSlowAccess access = MainThreadDetector.wrap(InterfaceSlowAccess.class, new SlowAccess());
+
+        try {
+            access.waitFor(newWorker());
+            fail("Expected a main thread violation.");
+        } catch (MainThreadViolation e) {
+            assertEquals("SlowAccess.waitFor", e.getMethodName());
+        }
+        assertEquals(1, MainThreadDetector.getViolations().size());
+
+        Thread worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                access.waitFor(newWorker());
+            }
+        });
+        worker.start();
+        worker.join();
+        assertEquals(1, MainThreadDetector.getViolations().size());
+
+        MainThreadDetector.disable();
+        assertTrue(access.waitFor(newWorker()));
+        assertEquals(1, MainThreadDetector.getViolations().size());
+
+        try {
+            MainThreadDetector.enable(null, 5, false);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        System.out.println("Finishing testFailViolations");
+    }
+
+    /**
+     * Creates a thread for a slow call to wait for
+     * @return a thread that hasn't been started
+     */
+    private static Thread newWorker() {
+        return new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Thread.yield();
+            }
+        });
+    }
+
+    /**
+     * A business interface used to test the detector
+     */
+    public interface InterfaceSlowAccess {
+        /**
+         * Returns the value it is given, without blocking
+         * @param value the value to return
+         * @return the value
+         */
+        int echo(int value);
+
+        /**
+         * Blocks until another thread has run
+         * @param other the thread to start and wait for
+         * @return {@code true} if the other thread finished
+         */
+        boolean waitFor(Thread other);
+    }
+
+    /**
+     * A business object that blocks for as long as another thread takes to run
+     */
+    private static class SlowAccess implements InterfaceSlowAccess {
+        @Override
+        public int echo(int value) {
+            return value;
+        }
+
+        @Override
+        public boolean waitFor(Thread other) {
+            if (other == null)
+                throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+            other.start();
+            try {
+                other.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return !other.isAlive();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ledge.muscleup.unit.business;
+
+import junit.framework.TestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import ledge.muscleup.business.WorkoutContentsIndex;
+import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
+
+/**
+ * WorkoutContentsIndexTest.java used to test WorkoutContentsIndex.java
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-27
+ */
+public class WorkoutContentsIndexTest extends TestCase {
+    private WorkoutContentsIndex index;
+
+    /**
+     * Constructor for the WorkoutContentsIndexTest
+     */
+    public WorkoutContentsIndexTest(String arg0) {
+        super(arg0);
+    }
+
+    /**
+     * Initializes the index to be searched
+     */
+    @Before
+    public void setUp() {
+        Map<String, List<Exercise>> workoutContents = new LinkedHashMap<>();
+        Exercise squats = new Exercise("Squats", ExerciseIntensity.MEDIUM, ExerciseType.LEG);
+        Exercise curls = new Exercise("Bicep Curls", ExerciseIntensity.LOW, ExerciseType.ARM);
+        Exercise pushUps = new Exercise("Push-Ups", ExerciseIntensity.HIGH, ExerciseType.ARM);
+        Exercise crunches = new Exercise("Crunches", ExerciseIntensity.LOW, ExerciseType.CORE);
+        Exercise running = new Exercise("Running", ExerciseIntensity.HIGH, ExerciseType.CARDIO);
+
+        workoutContents.put("Welcome to the Gun Show", Arrays.asList(curls, pushUps));
+        workoutContents.put("Never Skip Leg Day", Arrays.asList(squats, crunches));
+        workoutContents.put("Get Your 6 Pack Abs", Arrays.asList(crunches, pushUps));
+        workoutContents.put("Marathon Training Starts Here", Arrays.asList(running));
+        workoutContents.put("Rest Day", new ArrayList<Exercise>());
+
+        index = new WorkoutContentsIndex(workoutContents);
+    }
+
+    /**
+     * Tests finding workouts by exercise and type, alone and combined
+     */
+    @Test
+    public void testFindWorkouts() {
+        System.out.println("\nStarting testFindWorkouts");
+
+        assertEquals(5, index.size());
+        assertEquals("[Welcome to the Gun Show, Never Skip Leg Day, Get Your 6 Pack Abs, " +
+                "Marathon Training Starts Here, Rest Day]", index.findWorkouts(null, null).toString());
+
+        assertEquals("[Welcome to the Gun Show, Get Your 6 Pack Abs]", index.findWorkouts("Push-Ups", null).toString());
+        assertEquals("[Never Skip Leg Day]", index.findWorkouts("Squats", null).toString());
+        assertEquals("[]", index.findWorkouts("Deadlifts", null).toString());
+
+        assertEquals("[Welcome to the Gun Show, Get Your 6 Pack Abs]", index.findWorkouts(null, ExerciseType.ARM).toString());
+        assertEquals("[Never Skip Leg Day, Get Your 6 Pack Abs]", index.findWorkouts(null, ExerciseType.CORE).toString());
+        assertEquals("[]", index.findWorkouts(null, ExerciseType.FULL_BODY).toString());
+
+        //both filters must match, although not necessarily through the same exercise
+        assertEquals("[Never Skip Leg Day]", index.findWorkouts("Crunches", ExerciseType.LEG).toString());
+        assertEquals("[Get Your 6 Pack Abs]", index.findWorkouts("Crunches", ExerciseType.ARM).toString());
+        assertEquals("[]", index.findWorkouts("Running", ExerciseType.ARM).toString());
+
+        //finding workouts doesn't change the index
+        assertEquals(5, index.findWorkouts(null, null).size());
+
+        try {
+            new WorkoutContentsIndex(null);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        System.out.println("Finishing testFindWorkouts");
+    }
+}
@@ -0,0 +1,148 @@
+package ledge.muscleup.unit.business;
+
+import junit.framework.TestCase;
+
+import org.joda.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import ledge.muscleup.business.WorkoutRecommender;
+import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.ExerciseTypeRecovery;
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
+
+/**
+ * WorkoutRecommenderTest.java used to test WorkoutRecommender.java
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-28
+ */
+public class WorkoutRecommenderTest extends TestCase {
+    private final LocalDate today = new LocalDate(2017, 7, 28);
+    private WorkoutRecommender recommender;
+
+    /**
+     * Constructor for the WorkoutRecommenderTest
+     */
+    public WorkoutRecommenderTest(String arg0) {
+        super(arg0);
+    }
+
+    /**
+     * Initializes the recommender to be tested
+     */
+    @Before
+    public void setUp() {
+        Map<String, List<Exercise>> workoutContents = new LinkedHashMap<>();
+        Exercise squats = new Exercise("Squats", ExerciseIntensity.MEDIUM, ExerciseType.LEG);
+        Exercise curls = new Exercise("Bicep Curls", ExerciseIntensity.LOW, ExerciseType.ARM);
+        Exercise pushUps = new Exercise("Push-Ups", ExerciseIntensity.HIGH, ExerciseType.ARM);
+        Exercise crunches = new Exercise("Crunches", ExerciseIntensity.LOW, ExerciseType.CORE);
+        Exercise running = new Exercise("Running", ExerciseIntensity.HIGH, ExerciseType.CARDIO);
+
+        workoutContents.put("Rest Day", new ArrayList<Exercise>());
+        workoutContents.put("Welcome to the Gun Show", Arrays.asList(curls, pushUps));
+        workoutContents.put("Never Skip Leg Day", Arrays.asList(squats, crunches));
+        workoutContents.put("Marathon Training Starts Here", Arrays.asList(running, squats));
+
+        recommender = new WorkoutRecommender(workoutContents);
+    }
+
+    /**
+     * Tests that suggestions follow how rested each exercise type is
+     */
+    @Test
+    public void testSuggest() {
+        System.out.println("\nStarting testSuggest");
+
+        //with every type rested, the workout with the most load is suggested
+        assertNull(recommender.getRecovery(ExerciseType.LEG).getLastTrained());
+        assertEquals("Marathon Training Starts Here", recommender.suggest(today));
+
+        //the tired type counts against every workout training it
+        recommender.setRecovery(new ExerciseTypeRecovery(ExerciseType.CARDIO, today, 3));
+        assertEquals("Welcome to the Gun Show", recommender.suggest(today));
+        assertEquals(today, recommender.getRecovery(ExerciseType.CARDIO).getLastTrained());
+
+        //a light exercise on a tired type matters less than a hard one
+        recommender.setRecovery(new ExerciseTypeRecovery(ExerciseType.ARM, today, 4));
+        recommender.setRecovery(new ExerciseTypeRecovery(ExerciseType.CORE, today, 1));
+        assertEquals("Never Skip Leg Day", recommender.suggest(today));
+
+        //once everything has rested, the most load is suggested again
+        assertEquals("Marathon Training Starts Here", recommender.suggest(today.plusDays(2)));
+
+        //a workout with no exercises is only suggested when there is nothing else
+        recommender.setRecovery(new ExerciseTypeRecovery(ExerciseType.LEG, today, 5));
+        assertEquals("Marathon Training Starts Here", recommender.suggest(today.plusDays(1)));
+        assertFalse(recommender.suggest(today).equals("Rest Day"));
+        assertEquals("Rest Day", new WorkoutRecommender(
+                Collections.singletonMap("Rest Day", (List<Exercise>) new ArrayList<Exercise>())).suggest(today));
+        assertNull(new WorkoutRecommender(new LinkedHashMap<String, List<Exercise>>()).suggest(today));
+
+        try {
+            new WorkoutRecommender(null);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            recommender.setRecovery(null);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            recommender.suggest(null);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        System.out.println("Finishing testSuggest");
+    }
+
+    /**
+     * Tests that suggesting from a thousand workouts takes well under a millisecond
+     */
+    @Test
+    public void testSuggestManyWorkouts() {
+        System.out.println("\nStarting testSuggestManyWorkouts");
+
+        final int numWorkouts = 1000;
+        final int numSuggestions = 1000;
+        Map<String, List<Exercise>> workoutContents = new LinkedHashMap<>();
+        ExerciseType[] types = ExerciseType.values();
+        ExerciseIntensity[] intensities = ExerciseIntensity.values();
+        List<Exercise> exerciseList;
+        long start, elapsed;
+
+        for (int i = 0; i < numWorkouts; i++) {
+            exerciseList = new ArrayList<>();
+            for (int j = 0; j < 6; j++)
+                exerciseList.add(new Exercise("Exercise " + (i + j), intensities[(i + j) % intensities.length],
+                        types[(i * j) % types.length]));
+            workoutContents.put("Custom Workout " + i, exerciseList);
+        }
+        recommender = new WorkoutRecommender(workoutContents);
+        for (int i = 0; i < types.length; i++)
+            recommender.setRecovery(new ExerciseTypeRecovery(types[i], today.minusDays(i), 3 * i));
+
+        start = System.nanoTime();
+        for (int i = 0; i < numSuggestions; i++)
+            assertNotNull(recommender.suggest(today));
+        elapsed = System.nanoTime() - start;
+
+        assertTrue("Average suggestion took " + (elapsed / numSuggestions) + " ns", elapsed / numSuggestions < 1000000);
+
+        System.out.println("Finishing testSuggestManyWorkouts");
+    }
+}
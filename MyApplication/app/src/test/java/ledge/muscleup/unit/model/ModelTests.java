@@ -9,6 +9,8 @@ import ledge.muscleup.unit.model.exercise.ExerciseQuantityTest;
 import ledge.muscleup.unit.model.exercise.ExerciseSetsAndWeightTest;
 import ledge.muscleup.unit.model.exercise.ExerciseSetsTest;
 import ledge.muscleup.unit.model.exercise.ExerciseTest;
+import ledge.muscleup.unit.model.exercise.ExerciseTypeRecoveryTest;
+import ledge.muscleup.unit.model.exercise.IndexedExerciseListTest;
 import ledge.muscleup.unit.model.exercise.WorkoutExerciseDurationTest;
 import ledge.muscleup.unit.model.exercise.WorkoutExerciseSubsTest;
 import ledge.muscleup.unit.model.exercise.WorkoutExerciseTest;
@@ -17,6 +19,8 @@ import ledge.muscleup.unit.model.experience.CompletedWorkoutRecordTest;
 import ledge.muscleup.unit.model.experience.ExperienceHistoryTest;
 import ledge.muscleup.unit.model.experience.LevelProgressTest;
 import ledge.muscleup.unit.model.schedule.ScheduleWeekTest;
+import ledge.muscleup.unit.model.workout.WorkoutSessionSummaryTest;
+import ledge.muscleup.unit.model.workout.WorkoutSummaryTest;
 import ledge.muscleup.unit.model.workout.WorkoutSessionTest;
 import ledge.muscleup.unit.model.workout.WorkoutTest;
 
@@ -40,11 +44,15 @@ public class ModelTests {
         suite.addTestSuite(ExerciseSetsAndWeightTest.class);
         suite.addTestSuite(ExerciseSetsTest.class);
         suite.addTestSuite(ExerciseTest.class);
+        suite.addTestSuite(ExerciseTypeRecoveryTest.class);
+        suite.addTestSuite(IndexedExerciseListTest.class);
         suite.addTestSuite(WorkoutExerciseDurationTest.class);
         suite.addTestSuite(WorkoutExerciseTest.class);
         suite.addTestSuite(WorkoutSessionExerciseTest.class);
         suite.addTestSuite(WorkoutExerciseSubsTest.class);
         suite.addTestSuite(WorkoutSessionTest.class);
+        suite.addTestSuite(WorkoutSessionSummaryTest.class);
+        suite.addTestSuite(WorkoutSummaryTest.class);
         suite.addTestSuite(WorkoutTest.class);
         suite.addTestSuite(CompletedWorkoutRecordTest.class);
         suite.addTestSuite(ExperienceHistoryTest.class);
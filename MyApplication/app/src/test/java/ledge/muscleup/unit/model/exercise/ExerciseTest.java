@@ -56,6 +56,10 @@ public class ExerciseTest extends TestCase {
         assertTrue(exercise1.equals(exercise3));
         assertTrue(exercise3.equals(exercise1));
 
+        assertTrue(exercise1.equals((Object) exercise3));
+        assertFalse(exercise1.equals((Object) "Bicep Curls ;)"));
+        assertEquals(exercise1.hashCode(), exercise3.hashCode());
+
         System.out.println("Finished testExercise");
     }
 }
@@ -0,0 +1,80 @@
+package ledge.muscleup.unit.model.exercise;
+
+import junit.framework.TestCase;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+
+import ledge.muscleup.model.exercise.ExerciseTypeRecovery;
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
+
+/**
+ * ExerciseTypeRecoveryTest.java used to test ExerciseTypeRecovery.java
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-28
+ */
+public class ExerciseTypeRecoveryTest extends TestCase {
+
+    /**
+     * Tests the getters and equals checking of ExerciseTypeRecovery, as well as how recovery
+     * grows with rest
+     */
+    @Test
+    public void testExerciseTypeRecovery() {
+        System.out.println("\nStarting testExerciseTypeRecovery");
+
+        LocalDate trained = new LocalDate(2017, 7, 10);
+        ExerciseTypeRecovery recovery = new ExerciseTypeRecovery(ExerciseType.LEG, trained, 6);
+
+        assertEquals(ExerciseType.LEG, recovery.getType());
+        assertEquals(trained, recovery.getLastTrained());
+        assertEquals(6, recovery.getLoad());
+        assertEquals(1, ExerciseTypeRecovery.getLoadWeight(ExerciseIntensity.LOW));
+        assertEquals(3, ExerciseTypeRecovery.getLoadWeight(ExerciseIntensity.HIGH));
+
+        //a load of 6 needs two days of rest
+        assertEquals(0.0, recovery.getRecovery(trained), 0.0001);
+        assertEquals(0.0, recovery.getRecovery(trained.minusDays(3)), 0.0001);
+        assertEquals(0.5, recovery.getRecovery(trained.plusDays(1)), 0.0001);
+        assertEquals(1.0, recovery.getRecovery(trained.plusDays(2)), 0.0001);
+        assertEquals(1.0, recovery.getRecovery(trained.plusDays(30)), 0.0001);
+
+        //any training needs at least a day of rest
+        assertEquals(0.0, new ExerciseTypeRecovery(ExerciseType.ARM, trained, 1).getRecovery(trained), 0.0001);
+        assertEquals(1.0, new ExerciseTypeRecovery(ExerciseType.ARM, trained, 1).getRecovery(trained.plusDays(1)), 0.0001);
+
+        ExerciseTypeRecovery neverTrained = new ExerciseTypeRecovery(ExerciseType.CORE, null, 5);
+        assertNull(neverTrained.getLastTrained());
+        assertEquals(0, neverTrained.getLoad());
+        assertEquals(1.0, neverTrained.getRecovery(trained), 0.0001);
+
+        assertTrue(recovery.equals(new ExerciseTypeRecovery(ExerciseType.LEG, new LocalDate(2017, 7, 10), 6)));
+        assertFalse(recovery.equals(new ExerciseTypeRecovery(ExerciseType.LEG, trained, 5)));
+        assertFalse(recovery.equals(neverTrained));
+        assertTrue(neverTrained.equals(new ExerciseTypeRecovery(ExerciseType.CORE, null, 0)));
+        assertFalse(recovery.equals(null));
+
+        try {
+            new ExerciseTypeRecovery(null, trained, 1);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            new ExerciseTypeRecovery(ExerciseType.LEG, trained, -1);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            recovery.getRecovery(null);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        System.out.println("Finishing testExerciseTypeRecovery");
+    }
+}
@@ -0,0 +1,147 @@
+package ledge.muscleup.unit.model.exercise;
+
+import junit.framework.TestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.ExerciseSets;
+import ledge.muscleup.model.exercise.IndexedExerciseList;
+import ledge.muscleup.model.exercise.WorkoutExercise;
+import ledge.muscleup.model.exercise.WorkoutExerciseSets;
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
+
+/**
+ * IndexedExerciseListTest.java used to test IndexedExerciseList.java
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-01
+ */
+public class IndexedExerciseListTest extends TestCase {
+    private IndexedExerciseList<WorkoutExercise> exerciseList;
+    private WorkoutExercise crunches, russianTwists, sitUps;
+
+    /**
+     * Constructor for the IndexedExerciseListTest
+     */
+    public IndexedExerciseListTest(String arg0) {
+        super(arg0);
+    }
+
+    /**
+     * Creates a list holding three exercises
+     */
+    @Before
+    public void setUp() {
+        crunches = createExercise("Crunches", 20);
+        russianTwists = createExercise("Russian Twists", 20);
+        sitUps = createExercise("Sit-ups", 20);
+
+        exerciseList = new IndexedExerciseList<>();
+        exerciseList.add(crunches);
+        exerciseList.add(russianTwists);
+        exerciseList.add(sitUps);
+    }
+
+    /**
+     * Tests that exercises are found by name as the list is added to, moved around and removed from
+     */
+    @Test
+    public void testIndexOfName() {
+        System.out.println("\nStarting testIndexOfName");
+
+        assertEquals(0, exerciseList.indexOfName("Crunches"));
+        assertEquals(1, exerciseList.indexOfName("Russian Twists"));
+        assertEquals(2, exerciseList.indexOfName("Sit-ups"));
+        assertEquals(-1, exerciseList.indexOfName("Burpees"));
+
+        exerciseList.move(0, 2);
+        assertEquals(russianTwists, exerciseList.get(0));
+        assertEquals(2, exerciseList.indexOfName("Crunches"));
+        assertEquals(0, exerciseList.indexOfName("Russian Twists"));
+        assertEquals(1, exerciseList.indexOfName("Sit-ups"));
+
+        exerciseList.move(2, 0);
+        assertEquals(0, exerciseList.indexOfName("Crunches"));
+        assertEquals(2, exerciseList.indexOfName("Sit-ups"));
+
+        exerciseList.add(1, createExercise("Burpees", 10));
+        assertEquals(1, exerciseList.indexOfName("Burpees"));
+        assertEquals(3, exerciseList.indexOfName("Sit-ups"));
+
+        exerciseList.remove(0);
+        assertEquals(-1, exerciseList.indexOfName("Crunches"));
+        assertEquals(0, exerciseList.indexOfName("Burpees"));
+        assertEquals(2, exerciseList.indexOfName("Sit-ups"));
+
+        exerciseList.set(0, crunches);
+        assertEquals(-1, exerciseList.indexOfName("Burpees"));
+        assertEquals(0, exerciseList.indexOfName("Crunches"));
+
+        exerciseList.clear();
+        assertEquals(-1, exerciseList.indexOfName("Crunches"));
+
+        System.out.println("Finished testIndexOfName");
+    }
+
+    /**
+     * Tests that an exercise in the list more than once is found at its first position, until
+     * that one is removed
+     */
+    @Test
+    public void testRepeatedExercise() {
+        System.out.println("\nStarting testRepeatedExercise");
+
+        exerciseList.add(createExercise("Crunches", 10));
+        assertEquals(0, exerciseList.indexOfName("Crunches"));
+
+        exerciseList.move(3, 1);
+        assertEquals(0, exerciseList.indexOfName("Crunches"));
+
+        exerciseList.remove(0);
+        assertEquals(0, exerciseList.indexOfName("Crunches"));
+        assertEquals(1, exerciseList.indexOfName("Russian Twists"));
+
+        try {
+            exerciseList.add(null);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) { }
+
+        System.out.println("Finished testRepeatedExercise");
+    }
+
+    /**
+     * Tests that workout exercises can be kept in a hash set, where exercises with the same name
+     * and quantity are the same
+     */
+    @Test
+    public void testHashedExercises() {
+        Set<WorkoutExercise> exercises = new HashSet<>(exerciseList);
+
+        System.out.println("\nStarting testHashedExercises");
+
+        assertTrue(exercises.contains(createExercise("Crunches", 20)));
+        assertFalse(exercises.contains(createExercise("Crunches", 10)));
+        assertFalse(exercises.add(createExercise("Sit-ups", 20)));
+        assertEquals(3, exercises.size());
+
+        System.out.println("Finished testHashedExercises");
+    }
+
+    /**
+     * Creates an exercise of three sets
+     * @param name the name of the exercise
+     * @param reps the reps in each set
+     * @return the exercise
+     */
+    private WorkoutExercise createExercise(String name, int reps) {
+        return new WorkoutExerciseSets(new Exercise(name, ExerciseIntensity.HIGH, ExerciseType.FULL_BODY),
+                45, new ExerciseSets(3, reps));
+    }
+}
@@ -32,6 +32,7 @@ import ledge.muscleup.model.exercise.WorkoutExercise;
 import ledge.muscleup.model.schedule.ScheduleWeek;
 import ledge.muscleup.model.workout.Workout;
 import ledge.muscleup.model.workout.WorkoutSession;
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
 import ledge.muscleup.persistence.InterfaceWorkoutSessionDataAccess;
 
 /**
@@ -344,6 +345,38 @@ public class ScheduleWeekTest extends TestCase {
             return sessionsInDateRange;
         }
 
+        /**
+         * Retrieves the summary of the workout session scheduled on the given date, without loading
+         * its exercises. If no workout session is found for that date, returns null.
+         * @param dateOfSession the date to get the workout session summary for
+         * @return the summary of the workout session scheduled on the given date
+         */
+        @Override
+        public WorkoutSessionSummary getWorkoutSessionSummary(LocalDate dateOfSession) {
+            WorkoutSession workoutSession = workoutSessionsByDate.get(dateOfSession);
+
+            return workoutSession == null ? null : workoutSession.getSummary();
+        }
+
+        /**
+         * A method that returns the summaries of the workout sessions scheduled in a date range,
+         * without loading their exercises
+         * @param startDate the first date of the date range
+         * @param endDate the last date of the date range
+         * @return a list of summaries of the workout sessions scheduled between startDate and
+         * endDate, inclusive, ordered by date
+         */
+        @Override
+        public List<WorkoutSessionSummary> getSessionSummariesInDateRange(LocalDate startDate,
+                                                                   LocalDate endDate) {
+            List<WorkoutSessionSummary> summariesInDateRange = new ArrayList<>();
+
+            for (WorkoutSession workoutSession : getSessionsInDateRange(startDate, endDate))
+                summariesInDateRange.add(workoutSession.getSummary());
+
+            return summariesInDateRange;
+        }
+
         /**
          * Inserts a new workout session into the database
          *
@@ -364,6 +397,45 @@ public class ScheduleWeekTest extends TestCase {
             workoutSessionsByDate.remove(workoutSession.getDate());
         }
 
+        /**
+         * Moves a workout session to a new date in the database, keeping its exercises and completed
+         * state. Nothing is moved if there is no session on fromDate or toDate is already taken
+         *
+         * @param fromDate the date the workout session is currently scheduled on
+         * @param toDate the date to move the workout session to
+         * @return a boolean representing whether a workout session was moved
+         */
+        @Override
+        public boolean moveWorkoutSession(LocalDate fromDate, LocalDate toDate) {
+            WorkoutSession workoutSession;
+            boolean sessionMoved = false;
+
+            if (workoutSessionsByDate.containsKey(fromDate) && !workoutSessionsByDate.containsKey(toDate)) {
+                workoutSession = workoutSessionsByDate.remove(fromDate);
+                workoutSession.setDate(toDate);
+                workoutSessionsByDate.put(toDate, workoutSession);
+                sessionMoved = true;
+            }
+
+            return sessionMoved;
+        }
+
+        /**
+         * Sets whether an exercise in a workout session is complete
+         *
+         * @param sessionDate the date of the workout session
+         * @param exerciseName the name of the exercise
+         * @param complete whether the exercise is complete
+         */
+        @Override
+        public void setExerciseComplete(LocalDate sessionDate, String exerciseName, boolean complete) {
+            WorkoutSession workoutSession = workoutSessionsByDate.get(sessionDate);
+
+            if (workoutSession != null && workoutSession.getExercise(exerciseName) != null &&
+                    workoutSession.getExercise(exerciseName).isComplete() != complete)
+                workoutSession.getExercise(exerciseName).toggleCompleted();
+        }
+
         /**
          * Toggles the completed state of a workout in the database
          *
@@ -373,6 +445,49 @@ public class ScheduleWeekTest extends TestCase {
         public void toggleWorkoutComplete(WorkoutSession workoutSession) {
             workoutSessionsByDate.get(workoutSession.getDate()).toggleCompleted();
         }
+
+        /**
+         * Counts the completed workout sessions scheduled before a date, which stay where they are
+         * since the template has no archive
+         *
+         * @param cutoffDate the date before which completed sessions are archived
+         * @return the number of workout sessions archived
+         */
+        @Override
+        public int archiveSessions(LocalDate cutoffDate) {
+            int numArchived = 0;
+
+            for (WorkoutSession workoutSession : workoutSessionsByDate.values())
+                if (workoutSession.isComplete() && workoutSession.getDate().isBefore(cutoffDate))
+                    numArchived++;
+
+            return numArchived;
+        }
+
+        /**
+         * Replaces the completed workout sessions scheduled before a date that aren't summarized yet
+         * with summarized sessions of the same experience value
+         *
+         * @param cutoffDate the date before which completed sessions are rolled up
+         * @return the number of workout sessions rolled up
+         */
+        @Override
+        public int rollUpSessions(LocalDate cutoffDate) {
+            int numRolledUp = 0;
+            WorkoutSession workoutSession;
+
+            for (Map.Entry<LocalDate, WorkoutSession> entry : workoutSessionsByDate.entrySet()) {
+                workoutSession = entry.getValue();
+                if (workoutSession.isComplete() && !workoutSession.isSummarized()
+                        && workoutSession.getDate().isBefore(cutoffDate)) {
+                    entry.setValue(new WorkoutSession(workoutSession.getName(), workoutSession.getDate(),
+                            true, workoutSession.getExperienceValue()));
+                    numRolledUp++;
+                }
+            }
+
+            return numRolledUp;
+        }
 }
 
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package ledge.muscleup.unit.model.workout;
+
+import junit.framework.TestCase;
+
+import org.joda.time.LocalDate;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.ExerciseSets;
+import ledge.muscleup.model.exercise.WorkoutExerciseSets;
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
+import ledge.muscleup.model.workout.Workout;
+import ledge.muscleup.model.workout.WorkoutSession;
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
+
+/**
+ * WorkoutSessionSummaryTest.java used to test WorkoutSessionSummary.java
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-21
+ */
+public class WorkoutSessionSummaryTest extends TestCase {
+    private WorkoutSession workoutSession;
+    private final int xpHighIntensity = (ExerciseIntensity.HIGH.ordinal() + 1) * 15;
+
+    /**
+     * Initializes a WorkoutSession to summarize
+     */
+    @Before
+    public void setUp() {
+        Workout workout = new Workout("Get Your 6 Pack Abs", new WorkoutExerciseSets[]{
+                new WorkoutExerciseSets(new Exercise("Crunches", ExerciseIntensity.HIGH, ExerciseType.FULL_BODY), xpHighIntensity, new ExerciseSets(3, 20)),
+                new WorkoutExerciseSets(new Exercise("Sit-ups", ExerciseIntensity.HIGH, ExerciseType.FULL_BODY), xpHighIntensity, new ExerciseSets(3, 20))
+        });
+
+        workoutSession = new WorkoutSession(workout, LocalDate.now(), true);
+    }
+
+    /**
+     * Tests the getters, the empty day constructor and equals checking of WorkoutSessionSummary,
+     * as well as summarizing a WorkoutSession
+     */
+    @Test
+    public void testWorkoutSessionSummary() {
+        System.out.println("\nStarting testWorkoutSessionSummary");
+
+        WorkoutSessionSummary summary = new WorkoutSessionSummary("Get Your 6 Pack Abs", LocalDate.now(), true);
+        assertEquals("Get Your 6 Pack Abs", summary.getName());
+        assertEquals(LocalDate.now(), summary.getDate());
+        assertTrue(summary.isComplete());
+        assertFalse(summary.isEmpty());
+
+        assertTrue(summary.equals(workoutSession.getSummary()));
+        assertTrue(workoutSession.getSummary().equals(summary));
+        assertFalse(summary.equals(new WorkoutSessionSummary("Get Your 6 Pack Abs", LocalDate.now(), false)));
+        assertFalse(summary.equals(new WorkoutSessionSummary("Get Your 6 Pack Abs", LocalDate.now().plusDays(1), true)));
+        assertFalse(summary.equals(null));
+
+        WorkoutSessionSummary emptySummary = new WorkoutSessionSummary(LocalDate.now());
+        assertNull(emptySummary.getName());
+        assertFalse(emptySummary.isComplete());
+        assertTrue(emptySummary.isEmpty());
+        assertTrue(emptySummary.equals(new WorkoutSession(LocalDate.now()).getSummary()));
+        assertFalse(emptySummary.equals(summary));
+        assertFalse(summary.equals(emptySummary));
+
+        try {
+            new WorkoutSessionSummary(null, LocalDate.now(), false);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            new WorkoutSessionSummary(null);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        System.out.println("Finishing testWorkoutSessionSummary");
+    }
+}
@@ -7,6 +7,7 @@ import org.joda.time.LocalDate;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Enumeration;
 
 import ledge.muscleup.model.exercise.Exercise;
@@ -135,4 +136,37 @@ public class WorkoutSessionTest extends TestCase {
 
         System.out.println("Finishing testWorkoutSession");
     }
+
+    /**
+     * Tests a summarized WorkoutSession, which keeps the experience value of its exercises
+     * without the exercises themselves
+     */
+    @Test
+    public void testSummarizedWorkoutSession() {
+        System.out.println("\nStarting testSummarizedWorkoutSession");
+
+        WorkoutSession summarized = new WorkoutSession("Get Your 6 Pack Abs", LocalDate.now(), true,
+                workoutSession1.getExperienceValue());
+
+        assertTrue(summarized.isSummarized());
+        assertFalse(workoutSession1.isSummarized());
+        assertEquals(0, summarized.numExercises());
+        assertEquals(3 * xpHighIntensity, summarized.getExperienceValue());
+        assertEquals("Get Your 6 Pack Abs", summarized.getName());
+        assertTrue(summarized.isComplete());
+        assertTrue(summarized.getSummary().isComplete());
+
+        assertTrue(summarized.equals(new WorkoutSession("Get Your 6 Pack Abs", LocalDate.now(), true,
+                3 * xpHighIntensity)));
+        assertFalse(summarized.equals(new WorkoutSession("Get Your 6 Pack Abs", LocalDate.now(), true, 0)));
+        assertFalse(summarized.equals(new WorkoutSession("Get Your 6 Pack Abs", LocalDate.now(), true,
+                new ArrayList<WorkoutSessionExercise>())));
+
+        try {
+            new WorkoutSession("Get Your 6 Pack Abs", LocalDate.now(), true, -1);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) { }
+
+        System.out.println("Finishing testSummarizedWorkoutSession");
+    }
 }
@@ -0,0 +1,98 @@
+package ledge.muscleup.unit.model.workout;
+
+import junit.framework.TestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.ExerciseSets;
+import ledge.muscleup.model.exercise.WorkoutExerciseSets;
+import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
+import ledge.muscleup.model.exercise.enums.ExerciseType;
+import ledge.muscleup.model.workout.Workout;
+import ledge.muscleup.model.workout.WorkoutSummary;
+
+/**
+ * WorkoutSummaryTest.java used to test WorkoutSummary.java
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-25
+ */
+public class WorkoutSummaryTest extends TestCase {
+    private Workout workout;
+    private final int xpHighIntensity = (ExerciseIntensity.HIGH.ordinal() + 1) * 15;
+    private final int xpLowIntensity = (ExerciseIntensity.LOW.ordinal() + 1) * 15;
+
+    /**
+     * Initializes a Workout to summarize
+     */
+    @Before
+    public void setUp() {
+        workout = new Workout("Get Your 6 Pack Abs", new WorkoutExerciseSets[]{
+                new WorkoutExerciseSets(new Exercise("Crunches", ExerciseIntensity.HIGH, ExerciseType.CORE), xpHighIntensity, new ExerciseSets(3, 20)),
+                new WorkoutExerciseSets(new Exercise("Push-Ups", ExerciseIntensity.LOW, ExerciseType.ARM), xpLowIntensity, new ExerciseSets(3, 20)),
+                new WorkoutExerciseSets(new Exercise("Sit-ups", ExerciseIntensity.HIGH, ExerciseType.CORE), xpHighIntensity, new ExerciseSets(3, 20))
+        });
+    }
+
+    /**
+     * Tests the getters and equals checking of WorkoutSummary, as well as summarizing a Workout
+     */
+    @Test
+    public void testWorkoutSummary() {
+        System.out.println("\nStarting testWorkoutSummary");
+
+        WorkoutSummary summary = new WorkoutSummary("Get Your 6 Pack Abs", 3,
+                2 * xpHighIntensity + xpLowIntensity, ExerciseType.CORE, 1, 0, 2);
+        assertEquals("Get Your 6 Pack Abs", summary.getName());
+        assertEquals(3, summary.numExercises());
+        assertEquals(workout.getExperienceValue(), summary.getExperienceValue());
+        assertEquals(ExerciseType.CORE, summary.getDominantType());
+        assertEquals(1, summary.getIntensityCount(ExerciseIntensity.LOW));
+        assertEquals(0, summary.getIntensityCount(ExerciseIntensity.MEDIUM));
+        assertEquals(2, summary.getIntensityCount(ExerciseIntensity.HIGH));
+
+        assertTrue(summary.equals(workout.getSummary()));
+        assertTrue(workout.getSummary().equals(summary));
+        assertFalse(summary.equals(new WorkoutSummary("Get Your 6 Pack Abs", 3,
+                2 * xpHighIntensity + xpLowIntensity, ExerciseType.CORE, 0, 1, 2)));
+        assertFalse(summary.equals(null));
+
+        //ties go to the type declared first
+        workout.removeExercise(workout.getExerciseList().get(2));
+        assertEquals(ExerciseType.ARM, workout.getSummary().getDominantType());
+
+        WorkoutSummary emptySummary = new Workout("Nothing does in this.").getSummary();
+        assertEquals(0, emptySummary.numExercises());
+        assertEquals(0, emptySummary.getExperienceValue());
+        assertNull(emptySummary.getDominantType());
+
+        try {
+            new WorkoutSummary(null, 0, 0, null, 0, 0, 0);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            new WorkoutSummary("Leg Day", 2, 30, ExerciseType.LEG, 1, 0, 0);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            new WorkoutSummary("Leg Day", 1, 15, null, 1, 0, 0);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            summary.getIntensityCount(null);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        System.out.println("Finishing testWorkoutSummary");
+    }
+}
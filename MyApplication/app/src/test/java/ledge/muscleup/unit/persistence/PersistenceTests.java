@@ -21,6 +21,7 @@ public class PersistenceTests {
         suite.addTestSuite(WorkoutDataAccessTest.class);
         suite.addTestSuite(WorkoutSessionDataAccessTest.class);
         suite.addTestSuite(ExperienceDataAccessTest.class);
+        suite.addTestSuite(QueryStatsTest.class);
         return suite;
     }
 }
@@ -0,0 +1,117 @@
+package ledge.muscleup.unit.persistence;
+
+import junit.framework.TestCase;
+
+import org.junit.Test;
+
+import ledge.muscleup.persistence.QueryStats;
+
+/**
+ * Used for testing the statistics recorded for a query
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-07-22
+ */
+public class QueryStatsTest extends TestCase {
+
+    /**
+     * Constructor for the QueryStatsTest
+     */
+    public QueryStatsTest(String arg0) {
+        super(arg0);
+    }
+
+    /**
+     * Tests that calls, errors and rows are counted and that latencies land in the right buckets
+     */
+    @Test
+    public void testRecordCall() {
+        System.out.println("\nStarting testRecordCall");
+
+        QueryStats stats = new QueryStats("WorkoutSessionDataAccess.getWorkoutSession:SELECT");
+        assertEquals(0, stats.getCalls());
+        assertEquals(0, stats.getPercentileMicros(50));
+
+        stats.recordCall(500, false);           //0.5 us
+        stats.recordCall(3000, false);          //3 us
+        stats.recordCall(1000000, true);        //1 ms
+        stats.recordRows(7);
+
+        assertEquals(3, stats.getCalls());
+        assertEquals(1, stats.getErrors());
+        assertEquals(7, stats.getRows());
+        assertEquals(1003500, stats.getTotalNanos());
+        assertEquals(1000000, stats.getMaxNanos());
+
+        assertEquals(1, stats.getBucketCount(0));
+        assertEquals(1, stats.getBucketCount(1));
+        assertEquals(1, stats.getBucketCount(9));
+        assertEquals(2, stats.getPercentileMicros(0));
+        assertEquals(4, stats.getPercentileMicros(50));
+        assertEquals(1024, stats.getPercentileMicros(100));
+
+        try {
+            stats.getBucketCount(QueryStats.NUM_BUCKETS);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            stats.getPercentileMicros(101);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        System.out.println("Finishing testRecordCall");
+    }
+
+    /**
+     * Tests that very slow calls are kept in the last bucket and that copies don't change
+     */
+    @Test
+    public void testCopy() {
+        System.out.println("\nStarting testCopy");
+
+        QueryStats stats = new QueryStats("slow");
+        stats.recordCall(60L * 1000000000L, false);     //one minute
+        assertEquals(1, stats.getBucketCount(QueryStats.NUM_BUCKETS - 1));
+        assertEquals(60L * 1000000, stats.getPercentileMicros(99));
+
+        QueryStats copy = stats.copy();
+        stats.recordCall(1000, false);
+        stats.recordRows(1);
+        assertEquals(1, copy.getCalls());
+        assertEquals(0, copy.getRows());
+        assertEquals(2, stats.getCalls());
+        assertEquals("slow", copy.getName());
+
+        System.out.println("Finishing testCopy");
+    }
+
+    /**
+     * Tests that the statistics are written as valid JSON, escaping the query name
+     */
+    @Test
+    public void testToJson() {
+        System.out.println("\nStarting testToJson");
+
+        QueryStats stats = new QueryStats("a \"quoted\" name");
+        stats.recordCall(2000, false);
+        stats.recordRows(3);
+
+        String json = stats.toJson();
+        assertTrue(json.startsWith("{\"name\":\"a \\\"quoted\\\" name\","));
+        assertTrue(json.contains("\"calls\":1,"));
+        assertTrue(json.contains("\"rows\":3,"));
+        assertTrue(json.contains("\"histogram\":[0,1,0,"));
+        assertTrue(json.endsWith("]}"));
+
+        try {
+            new QueryStats(null);
+            fail("Expected the illegal argument.");
+        } catch (IllegalArgumentException e) {
+        }
+
+        System.out.println("Finishing testToJson");
+    }
+}
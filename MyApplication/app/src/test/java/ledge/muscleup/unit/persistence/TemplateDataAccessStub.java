@@ -6,6 +6,7 @@ import org.joda.time.LocalDateTime;
 
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,11 +17,13 @@ import ledge.muscleup.model.exercise.ExerciseDistance;
 import ledge.muscleup.model.exercise.ExerciseDuration;
 import ledge.muscleup.model.exercise.ExerciseSets;
 import ledge.muscleup.model.exercise.ExerciseSetsAndWeight;
+import ledge.muscleup.model.exercise.ExerciseTypeRecovery;
 import ledge.muscleup.model.exercise.WorkoutExercise;
 import ledge.muscleup.model.exercise.WorkoutExerciseDistance;
 import ledge.muscleup.model.exercise.WorkoutExerciseDuration;
 import ledge.muscleup.model.exercise.WorkoutExerciseSets;
 import ledge.muscleup.model.exercise.WorkoutExerciseSetsAndWeight;
+import ledge.muscleup.model.exercise.WorkoutSessionExercise;
 import ledge.muscleup.model.exercise.enums.DistanceUnit;
 import ledge.muscleup.model.exercise.enums.ExerciseIntensity;
 import ledge.muscleup.model.exercise.enums.ExerciseType;
@@ -29,6 +32,8 @@ import ledge.muscleup.model.exercise.enums.WeightUnit;
 import ledge.muscleup.model.experience.CompletedWorkoutRecord;
 import ledge.muscleup.model.workout.Workout;
 import ledge.muscleup.model.workout.WorkoutSession;
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
+import ledge.muscleup.model.workout.WorkoutSummary;
 import ledge.muscleup.persistence.InterfaceDataAccess;
 import ledge.muscleup.persistence.InterfaceExerciseDataAccess;
 import ledge.muscleup.persistence.InterfaceExperienceDataAccess;
@@ -236,6 +241,88 @@ class TemplateDataAccessStub implements InterfaceDataAccess, InterfaceExerciseDa
         return workoutsByName.get(workoutName);
     }
 
+    /**
+     * Gets the summaries of all workouts in the database
+     * @return a list of the summaries of all workouts in the database
+     */
+    public List<WorkoutSummary> getWorkoutSummaries() {
+        List<WorkoutSummary> summaryList = new ArrayList<>();
+
+        for (Workout workout : workoutsByName.values())
+            summaryList.add(workout.getSummary());
+
+        return summaryList;
+    }
+
+    /**
+     * Retrieves the summary of the workout with the name given as parameter
+     * @param workoutName the name of the workout to summarize
+     * @return the summary of the workout, or null if no workout exists with that name
+     */
+    public WorkoutSummary getWorkoutSummary(String workoutName) {
+        Workout workout = workoutsByName.get(workoutName);
+        return workout == null ? null : workout.getSummary();
+    }
+
+    /**
+     * Gets the exercises each workout in the database contains, without their quantities
+     * @return a map from the name of each workout to the exercises it contains
+     */
+    public Map<String, List<Exercise>> getWorkoutContents() {
+        Map<String, List<Exercise>> contents = new HashMap<>();
+        List<Exercise> exerciseList;
+
+        for (Workout workout : workoutsByName.values()) {
+            exerciseList = new ArrayList<>();
+            for (WorkoutExercise exercise : workout.getExerciseList())
+                exerciseList.add(new Exercise(exercise.getName(), exercise.getIntensity(), exercise.getType()));
+            contents.put(workout.getName(), exerciseList);
+        }
+
+        return contents;
+    }
+
+    /**
+     * Gets a number that changes whenever what the workouts contain changes, which never happens
+     * in the stub
+     * @return the current version of the workout contents
+     */
+    public int getWorkoutContentsVersion() {
+        return 0;
+    }
+
+    /**
+     * Gets how rested each exercise type is, from the most recent completed session that
+     * trained it
+     * @return the recovery of each exercise type
+     */
+    public List<ExerciseTypeRecovery> getTypeRecoveries() {
+        Map<ExerciseType, ExerciseTypeRecovery> recoveries = new EnumMap<>(ExerciseType.class);
+        Map<ExerciseType, Integer> sessionLoads;
+        ExerciseTypeRecovery recovery;
+
+        for (ExerciseType type : ExerciseType.values())
+            recoveries.put(type, new ExerciseTypeRecovery(type, null, 0));
+
+        for (WorkoutSession session : workoutSessionsByDate.values()) {
+            if (session.isComplete()) {
+                sessionLoads = new EnumMap<>(ExerciseType.class);
+                for (WorkoutSessionExercise exercise : session.getWorkoutSessionExercises()) {
+                    sessionLoads.put(exercise.getType(), ExerciseTypeRecovery.getLoadWeight(exercise.getIntensity()) +
+                            (sessionLoads.containsKey(exercise.getType()) ? sessionLoads.get(exercise.getType()) : 0));
+                }
+
+                for (ExerciseType type : sessionLoads.keySet()) {
+                    recovery = recoveries.get(type);
+                    if (recovery.getLastTrained() == null || !recovery.getLastTrained().isAfter(session.getDate()))
+                        recoveries.put(type, new ExerciseTypeRecovery(type, session.getDate(), sessionLoads.get(type)));
+                }
+            }
+        }
+
+        return new ArrayList<>(recoveries.values());
+    }
+
     /**
      * Retrieves the name of a the workout that has been completed the least amount of times
      *
@@ -312,6 +399,36 @@ class TemplateDataAccessStub implements InterfaceDataAccess, InterfaceExerciseDa
         return workoutSessionsByDate.get(dateOfSession);
     }
 
+    /**
+     * Retrieves the summary of the workout session scheduled on the given date, without loading
+     * its exercises. If no workout session is found for that date, returns null.
+     * @param dateOfSession the date to get the workout session summary for
+     * @return the summary of the workout session scheduled on the given date
+     */
+    public WorkoutSessionSummary getWorkoutSessionSummary(LocalDate dateOfSession) {
+        WorkoutSession workoutSession = workoutSessionsByDate.get(dateOfSession);
+
+        return workoutSession == null ? null : workoutSession.getSummary();
+    }
+
+    /**
+     * A method that returns the summaries of the workout sessions scheduled in a date range,
+     * without loading their exercises
+     * @param startDate the first date of the date range
+     * @param endDate the last date of the date range
+     * @return a list of summaries of the workout sessions scheduled between startDate and
+     * endDate, inclusive, ordered by date
+     */
+    public List<WorkoutSessionSummary> getSessionSummariesInDateRange(LocalDate startDate,
+                                                               LocalDate endDate) {
+        List<WorkoutSessionSummary> summariesInDateRange = new ArrayList<>();
+
+        for (WorkoutSession workoutSession : getSessionsInDateRange(startDate, endDate))
+            summariesInDateRange.add(workoutSession.getSummary());
+
+        return summariesInDateRange;
+    }
+
     /**
      * Inserts a new workout session into the database
      * @param workoutSession the new workout session to insert into the database
@@ -328,6 +445,44 @@ class TemplateDataAccessStub implements InterfaceDataAccess, InterfaceExerciseDa
         workoutSessionsByDate.remove(workoutSession.getDate());
     }
 
+    /**
+     * Moves a workout session to a new date in the database, keeping its exercises and completed
+     * state. Nothing is moved if there is no session on fromDate or toDate is already taken
+     *
+     * @param fromDate the date the workout session is currently scheduled on
+     * @param toDate the date to move the workout session to
+     * @return a boolean representing whether a workout session was moved
+     */
+    @Override
+    public boolean moveWorkoutSession(LocalDate fromDate, LocalDate toDate) {
+        WorkoutSession workoutSession;
+        boolean sessionMoved = false;
+
+        if (workoutSessionsByDate.containsKey(fromDate) && !workoutSessionsByDate.containsKey(toDate)) {
+            workoutSession = workoutSessionsByDate.remove(fromDate);
+            workoutSession.setDate(toDate);
+            workoutSessionsByDate.put(toDate, workoutSession);
+            sessionMoved = true;
+        }
+
+        return sessionMoved;
+    }
+
+    /**
+     * Sets whether an exercise in a workout session is complete
+     *
+     * @param sessionDate the date of the workout session
+     * @param exerciseName the name of the exercise
+     * @param complete whether the exercise is complete
+     */
+    public void setExerciseComplete(LocalDate sessionDate, String exerciseName, boolean complete) {
+        WorkoutSession workoutSession = workoutSessionsByDate.get(sessionDate);
+        WorkoutSessionExercise exercise = workoutSession == null ? null : workoutSession.getExercise(exerciseName);
+
+        if (exercise != null && exercise.isComplete() != complete)
+            exercise.toggleCompleted();
+    }
+
     /**
      * Toggles the completed state of a workout in the database
      *
@@ -355,6 +510,49 @@ class TemplateDataAccessStub implements InterfaceDataAccess, InterfaceExerciseDa
         completedWorkoutRecords.add(0, completedWorkoutRecord);
     }
 
+    /**
+     * Counts the completed workout sessions scheduled before a date, which stay where they are
+     * since the stub has no archive
+     *
+     * @param cutoffDate the date before which completed sessions are archived
+     * @return the number of workout sessions archived
+     */
+    @Override
+    public int archiveSessions(LocalDate cutoffDate) {
+        int numArchived = 0;
+
+        for (WorkoutSession workoutSession : workoutSessionsByDate.values())
+            if (workoutSession.isComplete() && workoutSession.getDate().isBefore(cutoffDate))
+                numArchived++;
+
+        return numArchived;
+    }
+
+    /**
+     * Replaces the completed workout sessions scheduled before a date that aren't summarized yet
+     * with summarized sessions of the same experience value
+     *
+     * @param cutoffDate the date before which completed sessions are rolled up
+     * @return the number of workout sessions rolled up
+     */
+    @Override
+    public int rollUpSessions(LocalDate cutoffDate) {
+        int numRolledUp = 0;
+        WorkoutSession workoutSession;
+
+        for (Map.Entry<LocalDate, WorkoutSession> entry : workoutSessionsByDate.entrySet()) {
+            workoutSession = entry.getValue();
+            if (workoutSession.isComplete() && !workoutSession.isSummarized()
+                    && workoutSession.getDate().isBefore(cutoffDate)) {
+                entry.setValue(new WorkoutSession(workoutSession.getName(), workoutSession.getDate(),
+                        true, workoutSession.getExperienceValue()));
+                numRolledUp++;
+            }
+        }
+
+        return numRolledUp;
+    }
+
     /**
      * Returns the list of all completed workout records
      *
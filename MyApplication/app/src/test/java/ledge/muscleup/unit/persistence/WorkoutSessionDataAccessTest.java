@@ -27,6 +27,7 @@ import ledge.muscleup.model.exercise.enums.TimeUnit;
 import ledge.muscleup.model.schedule.ScheduleWeek;
 import ledge.muscleup.model.workout.Workout;
 import ledge.muscleup.model.workout.WorkoutSession;
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
 
 /**
  * Used for testing the InterfaceWorkoutSessionDataAccess persistence interface
@@ -174,6 +175,37 @@ public class WorkoutSessionDataAccessTest extends TestCase {
         System.out.println("Finishing testGetSessionsInDateRange\n");
     }
 
+    /**
+     * Tests getting workout session summaries in a specified date range works properly
+     */
+    @Test
+    public static void testGetSessionSummariesInDateRange() {
+        System.out.println("\nStarting testGetSessionSummariesInDateRange");
+
+        List<WorkoutSessionSummary> summaryList = dataAccess
+                .getSessionSummariesInDateRange(new LocalDate(2017, 06, 24), new LocalDate(2017, 06, 30));
+        assertNotNull(summaryList);
+        assertEquals(3, summaryList.size());
+        assertTrue(summaryList.get(0).equals(
+                new WorkoutSessionSummary("Never Skip Leg Day", new LocalDate(2017, 06, 25), false)));
+        assertTrue(summaryList.get(1).equals(
+                new WorkoutSessionSummary("Work that Core, Get that Score!", new LocalDate(2017, 06, 26), false)));
+        assertTrue(summaryList.get(2).equals(
+                new WorkoutSessionSummary("Never Skip Leg Day", new LocalDate(2017, 06, 29), false)));
+
+        // No WorkoutSession in range
+        summaryList = dataAccess
+                .getSessionSummariesInDateRange(new LocalDate(2017, 06, 27), new LocalDate(2017, 06, 27));
+        assertNotNull(summaryList);
+        assertEquals(0, summaryList.size());
+
+        assertEquals("Work that Core, Get that Score!",
+                dataAccess.getWorkoutSessionSummary(new LocalDate(2017, 06, 26)).getName());
+        assertNull(dataAccess.getWorkoutSessionSummary(new LocalDate(2017, 06, 27)));
+
+        System.out.println("Finishing testGetSessionSummariesInDateRange\n");
+    }
+
 
     /**
      * Tests that inserting a workout session works properly
@@ -282,6 +314,37 @@ public class WorkoutSessionDataAccessTest extends TestCase {
         System.out.println("Finishing testRemoveWorkoutSession\n");
     }
 
+    /**
+     * Tests that moving a workout session works properly
+     */
+    @Test
+    public static void testMoveWorkoutSession() {
+        System.out.println("\nStarting testMoveWorkoutSession");
+
+        // Move to an empty day
+        assertTrue(dataAccess.moveWorkoutSession(new LocalDate(2017, 06, 26), new LocalDate(2017, 06, 27)));
+        assertNull(dataAccess.getWorkoutSession(new LocalDate(2017, 06, 26)));
+        WorkoutSession workoutSession = dataAccess.getWorkoutSession(new LocalDate(2017, 06, 27));
+        assertNotNull(workoutSession);
+        assertEquals("Work that Core, Get that Score!", workoutSession.getName());
+        assertEquals(2, workoutSession.numExercises());
+        assertEquals(5, dataAccess.getWorkoutSessionsList().size());
+
+        // Trying to move onto a day that already has a session
+        assertFalse(dataAccess.moveWorkoutSession(new LocalDate(2017, 06, 27), new LocalDate(2017, 06, 29)));
+        assertEquals("Never Skip Leg Day", dataAccess.getWorkoutSession(new LocalDate(2017, 06, 29)).getName());
+
+        // Trying to move from a day where nothing exists
+        assertFalse(dataAccess.moveWorkoutSession(new LocalDate(2017, 06, 26), new LocalDate(2017, 06, 28)));
+        assertNull(dataAccess.getWorkoutSession(new LocalDate(2017, 06, 28)));
+
+        // Move back to the original day
+        assertTrue(dataAccess.moveWorkoutSession(new LocalDate(2017, 06, 27), new LocalDate(2017, 06, 26)));
+        assertEquals("Work that Core, Get that Score!", dataAccess.getWorkoutSession(new LocalDate(2017, 06, 26)).getName());
+
+        System.out.println("Finishing testMoveWorkoutSession\n");
+    }
+
     /**
      * Tests that toggling workout completed works properly
      */
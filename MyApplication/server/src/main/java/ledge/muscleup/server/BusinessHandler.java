@@ -0,0 +1,480 @@
+package ledge.muscleup.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ledge.muscleup.model.exercise.Exercise;
+import ledge.muscleup.model.exercise.WorkoutExercise;
+import ledge.muscleup.model.exercise.WorkoutSessionExercise;
+import ledge.muscleup.model.experience.CompletedWorkoutRecord;
+import ledge.muscleup.model.experience.LevelProgress;
+import ledge.muscleup.model.workout.Workout;
+import ledge.muscleup.model.workout.WorkoutSession;
+import ledge.muscleup.model.workout.WorkoutSessionSummary;
+import ledge.muscleup.model.workout.WorkoutSummary;
+
+/**
+ * Handles the requests of the HTTP API, each of which is for one tenant, answering in JSON:
+ * <pre>
+ * GET    /tenants/{tenant}/exercises
+ * GET    /tenants/{tenant}/workouts
+ * GET    /tenants/{tenant}/workouts/{name}
+ * GET    /tenants/{tenant}/suggested-workout
+ * GET    /tenants/{tenant}/sessions?from={date}&amp;to={date}
+ * GET    /tenants/{tenant}/sessions/{date}
+ * PUT    /tenants/{tenant}/sessions/{date}?workout={name}
+ * DELETE /tenants/{tenant}/sessions/{date}
+ * POST   /tenants/{tenant}/sessions/{date}/complete
+ * GET    /tenants/{tenant}/experience
+ * </pre>
+ * Dates are written as yyyy-MM-dd. Requests for the same tenant are handled one at a time, and
+ * requests for different tenants at the same time
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-05
+ */
+final class BusinessHandler implements HttpHandler {
+    static final String CONTEXT = "/tenants/";
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private final TenantStores tenants;
+
+    /**
+     * The constructor for the BusinessHandler
+     * @param tenants the tenants to handle requests for
+     */
+    BusinessHandler(TenantStores tenants) {
+        this.tenants = tenants;
+    }
+
+    /**
+     * Handles a request, always sending a response and closing the exchange
+     * @param exchange the request and its response
+     * @throws IOException if the response could not be sent
+     */
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        Response response;
+
+        try {
+            response = route(exchange);
+        }
+        catch (IllegalArgumentException e) {
+            response = Response.error(400, "Invalid request");
+        }
+        catch (RuntimeException e) {
+            response = Response.error(500, e.toString());
+        }
+
+        try {
+            send(exchange, response);
+        }
+        finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Finds the tenant and resource a request is for, and handles it
+     * @param exchange the request
+     * @return the response to send
+     * @throws IllegalArgumentException if the request has an invalid tenant name or date
+     */
+    private Response route(HttpExchange exchange) throws IllegalArgumentException {
+        String method = exchange.getRequestMethod();
+        String[] path = decodePath(exchange.getRequestURI().getRawPath().substring(CONTEXT.length()));
+        Map<String, String> query = decodeQuery(exchange.getRequestURI().getRawQuery());
+        Tenant tenant;
+
+        if (path.length < 2)
+            return Response.error(404, "Not found");
+
+        tenant = tenants.get(path[0]);
+        if (tenant == null)
+            return Response.error(503, "Too many tenants");
+
+        synchronized (tenant) {
+            tenant.open();
+            if (path[1].equals("exercises") && path.length == 2)
+                return "GET".equals(method) ? getExercises(tenant) : Response.notAllowed();
+            if (path[1].equals("workouts") && path.length == 2)
+                return "GET".equals(method) ? getWorkouts(tenant) : Response.notAllowed();
+            if (path[1].equals("workouts") && path.length == 3)
+                return "GET".equals(method) ? getWorkout(tenant, path[2]) : Response.notAllowed();
+            if (path[1].equals("suggested-workout") && path.length == 2)
+                return "GET".equals(method) ? getSuggestedWorkout(tenant) : Response.notAllowed();
+            if (path[1].equals("sessions") && path.length == 2)
+                return "GET".equals(method) ? getSessions(tenant, query) : Response.notAllowed();
+            if (path[1].equals("sessions") && path.length == 3)
+                return handleSession(tenant, method, LocalDate.parse(path[2]), query);
+            if (path[1].equals("sessions") && path.length == 4 && path[3].equals("complete"))
+                return "POST".equals(method) ? completeSession(tenant, LocalDate.parse(path[2])) : Response.notAllowed();
+            if (path[1].equals("experience") && path.length == 2)
+                return "GET".equals(method) ? getExperience(tenant) : Response.notAllowed();
+        }
+
+        return Response.error(404, "Not found");
+    }
+
+    /**
+     * Lists every exercise
+     * @param tenant the tenant
+     * @return the exercises
+     */
+    private Response getExercises(Tenant tenant) {
+        JsonWriter json = new JsonWriter().beginArray();
+
+        for (Exercise exercise : tenant.getAccessExercises().getExercisesList()) {
+            json.beginObject()
+                    .name("name").value(exercise.getName())
+                    .name("type").value(exercise.getType().name())
+                    .name("intensity").value(exercise.getIntensity().name())
+                    .endObject();
+        }
+
+        return Response.ok(json.endArray());
+    }
+
+    /**
+     * Lists the summary of every workout
+     * @param tenant the tenant
+     * @return the workout summaries
+     */
+    private Response getWorkouts(Tenant tenant) {
+        JsonWriter json = new JsonWriter().beginArray();
+
+        for (WorkoutSummary summary : tenant.getAccessWorkouts().getWorkoutSummaries()) {
+            json.beginObject()
+                    .name("name").value(summary.getName())
+                    .name("exercises").value(summary.numExercises())
+                    .name("xp").value(summary.getExperienceValue())
+                    .name("dominantType").value(summary.getDominantType() == null ? null
+                            : summary.getDominantType().name())
+                    .endObject();
+        }
+
+        return Response.ok(json.endArray());
+    }
+
+    /**
+     * Gets a workout with its exercises
+     * @param tenant the tenant
+     * @param name the name of the workout
+     * @return the workout, or not found
+     */
+    private Response getWorkout(Tenant tenant, String name) {
+        Workout workout = tenant.getAccessWorkouts().getWorkout(name);
+        JsonWriter json = new JsonWriter();
+        Enumeration<WorkoutExercise> exercises;
+        WorkoutExercise exercise;
+
+        if (workout == null)
+            return Response.error(404, "No workout named " + name);
+
+        json.beginObject()
+                .name("name").value(workout.getName())
+                .name("xp").value(workout.getExperienceValue())
+                .name("exercises").beginArray();
+        exercises = workout.getExerciseEnumeration();
+        while (exercises.hasMoreElements()) {
+            exercise = exercises.nextElement();
+            json.beginObject()
+                    .name("name").value(exercise.getName())
+                    .name("type").value(exercise.getType().name())
+                    .name("intensity").value(exercise.getIntensity().name())
+                    .name("xp").value(exercise.getExperienceValue())
+                    .name("quantity").value(String.valueOf(exercise.getQuantity()))
+                    .endObject();
+        }
+
+        return Response.ok(json.endArray().endObject());
+    }
+
+    /**
+     * Gets the name of the workout suggested next
+     * @param tenant the tenant
+     * @return the suggested workout
+     */
+    private Response getSuggestedWorkout(Tenant tenant) {
+        return Response.ok(new JsonWriter().beginObject()
+                .name("name").value(tenant.getAccessWorkouts().getSuggestedWorkout())
+                .endObject());
+    }
+
+    /**
+     * Lists the summaries of the workout sessions in a date range of at most a year
+     * @param tenant the tenant
+     * @param query the query, holding the first and last dates of the range as from and to
+     * @return the session summaries, in order of date
+     * @throws IllegalArgumentException if a date is missing or invalid
+     */
+    private Response getSessions(Tenant tenant, Map<String, String> query) throws IllegalArgumentException {
+        LocalDate from, to;
+        JsonWriter json = new JsonWriter().beginArray();
+        List<WorkoutSessionSummary> summaries;
+
+        if (query.get("from") == null || query.get("to") == null)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        from = LocalDate.parse(query.get("from"));
+        to = LocalDate.parse(query.get("to"));
+        if (to.isBefore(from) || Days.daysBetween(from, to).getDays() >= MAX_RANGE_DAYS)
+            return Response.error(400, "The range must be at most " + MAX_RANGE_DAYS + " days");
+
+        summaries = tenant.getAccessWorkoutSessions().getSessionSummariesInDateRange(from, to);
+        for (WorkoutSessionSummary summary : summaries) {
+            json.beginObject()
+                    .name("date").value(summary.getDate().toString())
+                    .name("workout").value(summary.getName())
+                    .name("complete").value(summary.isComplete())
+                    .endObject();
+        }
+
+        return Response.ok(json.endArray());
+    }
+
+    /**
+     * Gets, schedules or removes the workout session on a date
+     * @param tenant the tenant
+     * @param method the method of the request
+     * @param date the date of the session
+     * @param query the query, holding the workout to schedule for PUT
+     * @return the session, or why it could not be changed
+     */
+    private Response handleSession(Tenant tenant, String method, LocalDate date, Map<String, String> query) {
+        WorkoutSession session = tenant.getAccessWorkoutSessions().getWorkoutSession(date);
+        Workout workout;
+
+        if ("GET".equals(method)) {
+            return session == null ? Response.error(404, "No session on " + date) : Response.ok(sessionJson(session));
+        }
+        else if ("PUT".equals(method)) {
+            if (session != null)
+                return Response.error(409, "There is already a session on " + date);
+            workout = query.get("workout") == null ? null : tenant.getAccessWorkouts().getWorkout(query.get("workout"));
+            if (workout == null)
+                return Response.error(404, "No workout named " + query.get("workout"));
+
+            tenant.getAccessWorkoutSessions().insertWorkoutSession(new WorkoutSession(workout, date, false));
+            session = tenant.getAccessWorkoutSessions().getWorkoutSession(date);
+            return session == null ? Response.error(409, "The session could not be scheduled")
+                    : new Response(201, sessionJson(session).toString());
+        }
+        else if ("DELETE".equals(method)) {
+            if (session == null)
+                return Response.error(404, "No session on " + date);
+
+            //the progress history keeps completed sessions from being removed
+            tenant.getAccessWorkoutSessions().removeWorkoutSession(session);
+            return tenant.getAccessWorkoutSessions().getWorkoutSessionSummary(date) == null
+                    ? new Response(204, null) : Response.error(409, "A completed session can't be removed");
+        }
+
+        return Response.notAllowed();
+    }
+
+    /**
+     * Completes the workout session on a date, logging the experience it is worth
+     * @param tenant the tenant
+     * @param date the date of the session
+     * @return the completed session, or why it could not be completed
+     */
+    private Response completeSession(Tenant tenant, LocalDate date) {
+        WorkoutSession session = tenant.getAccessWorkoutSessions().getWorkoutSession(date);
+
+        if (session == null)
+            return Response.error(404, "No session on " + date);
+        if (session.isComplete())
+            return Response.error(409, "The session on " + date + " is already complete");
+
+        tenant.getAccessWorkoutSessions().toggleWorkoutCompleted(session);
+        return Response.ok(sessionJson(tenant.getAccessWorkoutSessions().getWorkoutSession(date)));
+    }
+
+    /**
+     * Gets the level reached and the completed workouts, most recent first
+     * @param tenant the tenant
+     * @return the experience
+     */
+    private Response getExperience(Tenant tenant) {
+        List<CompletedWorkoutRecord> records = tenant.getAccessExperience().getCompletedWorkouts();
+        LevelProgress progress = new LevelProgress(records.isEmpty() ? null : records.get(0));
+        JsonWriter json = new JsonWriter();
+
+        json.beginObject()
+                .name("level").value(progress.getCurrLevel())
+                .name("levelXP").value(progress.getNextLevelXPProgress())
+                .name("nextLevelXP").value(progress.getNextLevelXPTotal())
+                .name("completed").beginArray();
+        for (CompletedWorkoutRecord record : records) {
+            json.beginObject()
+                    .name("workout").value(record.getWorkoutName())
+                    .name("date").value(record.getDateOfCompletion().toString())
+                    .name("xpGained").value(record.getExperienceGained())
+                    .name("totalXP").value(record.getExperienceAfterCompletion())
+                    .endObject();
+        }
+
+        return Response.ok(json.endArray().endObject());
+    }
+
+    /**
+     * Writes a workout session with its exercises as JSON
+     * @param session the workout session
+     * @return the JSON of the session
+     */
+    private static JsonWriter sessionJson(WorkoutSession session) {
+        JsonWriter json = new JsonWriter();
+        Enumeration<WorkoutSessionExercise> exercises = session.getExerciseEnumeration();
+        WorkoutSessionExercise exercise;
+
+        json.beginObject()
+                .name("date").value(session.getDate().toString())
+                .name("workout").value(session.getName())
+                .name("complete").value(session.isComplete())
+                .name("summarized").value(session.isSummarized())
+                .name("xp").value(session.getExperienceValue())
+                .name("exercises").beginArray();
+        while (exercises.hasMoreElements()) {
+            exercise = exercises.nextElement();
+            json.beginObject()
+                    .name("name").value(exercise.getName())
+                    .name("type").value(exercise.getType().name())
+                    .name("intensity").value(exercise.getIntensity().name())
+                    .name("xp").value(exercise.getExperienceValue())
+                    .name("quantity").value(String.valueOf(exercise.getRecommendedQuantity()))
+                    .name("complete").value(exercise.isComplete())
+                    .endObject();
+        }
+
+        return json.endArray().endObject();
+    }
+
+    /**
+     * Splits a path into its decoded segments
+     * @param rawPath the path, without the context, as sent
+     * @return the segments of the path
+     */
+    private static String[] decodePath(String rawPath) {
+        String[] segments = rawPath.split("/");
+
+        for (int i = 0; i < segments.length; i++)
+            segments[i] = decode(segments[i].replace("+", "%2B"));
+
+        return segments;
+    }
+
+    /**
+     * Splits a query into its decoded parameters
+     * @param rawQuery the query as sent, or {@code null}
+     * @return the value of each parameter, by name
+     */
+    private static Map<String, String> decodeQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        int equals;
+
+        if (rawQuery != null) {
+            for (String parameter : rawQuery.split("&")) {
+                equals = parameter.indexOf('=');
+                if (equals > 0)
+                    parameters.put(decode(parameter.substring(0, equals)), decode(parameter.substring(equals + 1)));
+            }
+        }
+
+        return parameters;
+    }
+
+    /**
+     * Decodes a part of a URL, in which '+' stands for a space
+     * @param encoded the part as sent
+     * @return the decoded part
+     */
+    private static String decode(String encoded) {
+        try {
+            return URLDecoder.decode(encoded, "UTF-8");
+        }
+        catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Sends a response
+     * @param exchange the request to respond to
+     * @param response the response
+     * @throws IOException if the response could not be sent
+     */
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] body;
+        OutputStream out;
+
+        if (response.body == null) {
+            exchange.sendResponseHeaders(response.status, -1);
+        }
+        else {
+            body = response.body.getBytes("UTF-8");
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(response.status, body.length);
+            out = exchange.getResponseBody();
+            out.write(body);
+            out.close();
+        }
+    }
+
+    /**
+     * A response, with its status and JSON body
+     */
+    private static final class Response {
+        private final int status;
+        private final String body;
+
+        /**
+         * The constructor for the Response
+         * @param status the HTTP status
+         * @param body the JSON body, or {@code null} if there is none
+         */
+        private Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        /**
+         * Creates a successful response
+         * @param json the JSON body
+         * @return the response
+         */
+        private static Response ok(JsonWriter json) {
+            return new Response(200, json.toString());
+        }
+
+        /**
+         * Creates an error response, whose body holds the error
+         * @param status the HTTP status
+         * @param message what went wrong
+         * @return the response
+         */
+        private static Response error(int status, String message) {
+            return new Response(status, new JsonWriter().beginObject().name("error").value(message).endObject().toString());
+        }
+
+        /**
+         * Creates the response to a method the resource doesn't allow
+         * @return the response
+         */
+        private static Response notAllowed() {
+            return error(405, "Method not allowed");
+        }
+    }
+}
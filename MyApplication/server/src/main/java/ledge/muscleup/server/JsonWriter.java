@@ -0,0 +1,151 @@
+package ledge.muscleup.server;
+
+/**
+ * Builds a JSON document a value at a time. Commas and escaping are taken care of, but the
+ * caller is trusted to begin and end objects and arrays in a sensible order
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-05
+ */
+final class JsonWriter {
+    private final StringBuilder json = new StringBuilder();
+    private boolean needsComma = false;
+
+    /**
+     * Begins an object
+     * @return this writer
+     */
+    JsonWriter beginObject() {
+        separate();
+        json.append('{');
+        needsComma = false;
+        return this;
+    }
+
+    /**
+     * Ends the current object
+     * @return this writer
+     */
+    JsonWriter endObject() {
+        json.append('}');
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Begins an array
+     * @return this writer
+     */
+    JsonWriter beginArray() {
+        separate();
+        json.append('[');
+        needsComma = false;
+        return this;
+    }
+
+    /**
+     * Ends the current array
+     * @return this writer
+     */
+    JsonWriter endArray() {
+        json.append(']');
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes the name of the next member of the current object
+     * @param name the name of the member
+     * @return this writer
+     */
+    JsonWriter name(String name) {
+        separate();
+        appendString(name);
+        json.append(':');
+        needsComma = false;
+        return this;
+    }
+
+    /**
+     * Writes a string, or null
+     * @param value the string, or {@code null}
+     * @return this writer
+     */
+    JsonWriter value(String value) {
+        separate();
+        if (value == null)
+            json.append("null");
+        else
+            appendString(value);
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes a number
+     * @param value the number
+     * @return this writer
+     */
+    JsonWriter value(long value) {
+        separate();
+        json.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes a boolean
+     * @param value the boolean
+     * @return this writer
+     */
+    JsonWriter value(boolean value) {
+        separate();
+        json.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Returns the JSON written so far
+     * @return the JSON document
+     */
+    @Override
+    public String toString() {
+        return json.toString();
+    }
+
+    /**
+     * Writes the comma that separates a value from the one before it, if there is one
+     */
+    private void separate() {
+        if (needsComma)
+            json.append(',');
+    }
+
+    /**
+     * Writes a quoted string, escaping the characters JSON doesn't allow in one
+     * @param value the string
+     */
+    private void appendString(String value) {
+        char c;
+
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            c = value.charAt(i);
+            if (c == '"' || c == '\\')
+                json.append('\\').append(c);
+            else if (c == '\n')
+                json.append("\\n");
+            else if (c == '\r')
+                json.append("\\r");
+            else if (c == '\t')
+                json.append("\\t");
+            else if (c < 0x20)
+                json.append(String.format("\\u%04x", (int) c));
+            else
+                json.append(c);
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,324 @@
+package ledge.muscleup.server;
+
+import org.joda.time.LocalDate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+
+import ledge.muscleup.application.Main;
+
+/**
+ * Measures how many requests a server handles each second, and how long they take, with a number
+ * of clients sending requests as fast as they can for a while. Each client uses one tenant, and
+ * mostly reads the sessions of a few weeks, a session, the workouts and the experience of it, but
+ * also schedules and removes a session on a date of its own. If no server is given, one is started
+ * on a scratch directory for the test. Each tenant is used once before the test starts
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-05
+ */
+public final class LoadTest {
+    public static final int DEFAULT_TENANTS = 8;
+    public static final int DEFAULT_CLIENTS = 32;
+    public static final int DEFAULT_SECONDS = 20;
+    private static final String WORKOUT = "Welcome to the Gun Show";
+    private static final String FIRST_CLIENT_DATE = "2030-01-01";
+    private static final int OPERATIONS = 10;
+
+    /**
+     * Runs a load test against a server
+     * @param baseUrl the address of the server, such as http://localhost:8080
+     * @param numTenants how many tenants the clients are spread over
+     * @param numClients how many clients send requests at the same time
+     * @param durationMillis how long the clients send requests for
+     * @return the requests made and how long they took
+     * @throws InterruptedException if interrupted while waiting for the clients
+     */
+    public static Result run(String baseUrl, int numTenants, int numClients, long durationMillis)
+            throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(numClients);
+        final Client[] clients = new Client[numClients];
+        long startTime, endTime;
+
+        //opening a tenant for the first time creates its database, which isn't what is measured
+        for (int i = 0; i < Math.min(numTenants, numClients); i++) {
+            try {
+                send("GET", new URL(baseUrl + BusinessHandler.CONTEXT + "kiosk-" + i + "/workouts"), null);
+            }
+            catch (IOException e) {
+                //the clients count the errors
+            }
+        }
+
+        startTime = System.nanoTime();
+        endTime = startTime + durationMillis * 1000000;
+        for (int i = 0; i < numClients; i++) {
+            clients[i] = new Client(baseUrl + BusinessHandler.CONTEXT + "kiosk-" + (i % numTenants),
+                    new LocalDate(FIRST_CLIENT_DATE).plusDays(i).toString(), endTime, done);
+            clients[i].start();
+        }
+        done.await();
+
+        return new Result(clients, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Runs a load test and prints its results. Takes the options --url, --seed, --tenants,
+     * --clients and --seconds, each followed by its value
+     * @param args the options
+     * @throws Exception if the server could not be started
+     */
+    public static void main(String[] args) throws Exception {
+        String baseUrl = null, seedPathName = "app/" + Main.dbName;
+        int numTenants = DEFAULT_TENANTS, numClients = DEFAULT_CLIENTS, seconds = DEFAULT_SECONDS;
+        MuscleUpServer server = null;
+        File dataDirectory;
+        Result result;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--url"))
+                baseUrl = args[i + 1];
+            else if (args[i].equals("--seed"))
+                seedPathName = args[i + 1];
+            else if (args[i].equals("--tenants"))
+                numTenants = Integer.parseInt(args[i + 1]);
+            else if (args[i].equals("--clients"))
+                numClients = Integer.parseInt(args[i + 1]);
+            else if (args[i].equals("--seconds"))
+                seconds = Integer.parseInt(args[i + 1]);
+            else
+                throw new IllegalArgumentException("Unknown option " + args[i]);
+        }
+
+        if (baseUrl == null) {
+            dataDirectory = File.createTempFile("muscleup-load", "");
+            if (!dataDirectory.delete() || !dataDirectory.mkdir())
+                throw new IOException("Unable to create " + dataDirectory);
+            server = new MuscleUpServer(new InetSocketAddress("127.0.0.1", 0), dataDirectory, seedPathName,
+                    MuscleUpServer.DEFAULT_WORKERS, MuscleUpServer.DEFAULT_QUEUE_CAPACITY, numTenants);
+            server.start();
+            baseUrl = "http://127.0.0.1:" + server.getPort();
+        }
+
+        try {
+            System.out.println("Load test of " + baseUrl + " with " + numClients + " clients on " + numTenants +
+                    " tenants for " + seconds + " s");
+            result = run(baseUrl, numTenants, numClients, seconds * 1000L);
+            System.out.println(result);
+        }
+        finally {
+            if (server != null)
+                server.stop();
+        }
+    }
+
+    /**
+     * Sends a request and reads the whole response, so the connection can be kept alive
+     * @param method the method of the request
+     * @param url the address to send it to
+     * @param body where to put the body of the response, or {@code null} if it isn't needed
+     * @return the status of the response
+     * @throws IOException if the request could not be sent
+     */
+    static int send(String method, URL url, StringBuilder body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        InputStream in;
+        int status, count;
+
+        connection.setRequestMethod(method);
+        status = connection.getResponseCode();
+        in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        if (in != null) {
+            count = in.read(buffer);
+            while (count != -1) {
+                bytes.write(buffer, 0, count);
+                count = in.read(buffer);
+            }
+            in.close();
+        }
+        if (body != null)
+            body.append(bytes.toString("UTF-8"));
+
+        return status;
+    }
+
+    /**
+     * The results of a load test
+     */
+    public static final class Result {
+        private final long numRequests;
+        private final long numErrors;
+        private final long elapsedNanos;
+        private final long[] sortedLatencies;
+
+        /**
+         * The constructor for the Result, which gathers what each client measured
+         * @param clients the clients, once they are done
+         * @param elapsedNanos how long the test took
+         */
+        private Result(Client[] clients, long elapsedNanos) {
+            int numLatencies = 0, next = 0;
+            long errors = 0;
+
+            for (Client client : clients) {
+                numLatencies += client.numRequests;
+                errors += client.numErrors;
+            }
+            sortedLatencies = new long[numLatencies];
+            for (Client client : clients) {
+                System.arraycopy(client.latencies, 0, sortedLatencies, next, client.numRequests);
+                next += client.numRequests;
+            }
+            Arrays.sort(sortedLatencies);
+
+            this.numRequests = numLatencies;
+            this.numErrors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Gets the number of requests made
+         * @return the number of requests
+         */
+        public long getNumRequests() {
+            return numRequests;
+        }
+
+        /**
+         * Gets the number of requests that failed or got an unexpected response
+         * @return the number of errors
+         */
+        public long getNumErrors() {
+            return numErrors;
+        }
+
+        /**
+         * Gets the number of requests handled each second
+         * @return the requests per second
+         */
+        public double getRequestsPerSecond() {
+            return numRequests * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Gets the time that the given share of requests took at most
+         * @param percentile the share of requests, from 0 to 100
+         * @return the latency, in milliseconds, or 0 if no requests were made
+         */
+        public double getLatencyMillis(double percentile) {
+            int index;
+
+            if (sortedLatencies.length == 0)
+                return 0;
+            index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))] / 1e6;
+        }
+
+        /**
+         * Returns the results as a String
+         * @return the results as a String
+         */
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "Completed %d requests (%d errors): %.1f requests/s, " +
+                            "p50 %.2f ms, p99 %.2f ms, max %.2f ms", numRequests, numErrors,
+                    getRequestsPerSecond(), getLatencyMillis(50), getLatencyMillis(99), getLatencyMillis(100));
+        }
+    }
+
+    /**
+     * A client sending requests for one tenant until the test ends, timing each of them
+     */
+    private static final class Client extends Thread {
+        private final String tenantUrl;
+        private final String ownDate;
+        private final long endTime;
+        private final CountDownLatch done;
+        private long[] latencies = new long[1024];
+        private int numRequests = 0;
+        private long numErrors = 0;
+
+        /**
+         * The constructor for the Client
+         * @param tenantUrl the address of the tenant to send requests for
+         * @param ownDate the date the client schedules and removes its session on
+         * @param endTime when to stop, as a System.nanoTime()
+         * @param done counted down when the client stops
+         */
+        private Client(String tenantUrl, String ownDate, long endTime, CountDownLatch done) {
+            super("LoadTest-client");
+            this.tenantUrl = tenantUrl;
+            this.ownDate = ownDate;
+            this.endTime = endTime;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            long start;
+            int operation = 0;
+
+            try {
+                while ((start = System.nanoTime()) < endTime) {
+                    if (!request(operation))
+                        numErrors++;
+                    record(System.nanoTime() - start);
+                    operation = (operation + 1) % OPERATIONS;
+                }
+            }
+            finally {
+                done.countDown();
+            }
+        }
+
+        /**
+         * Sends one request of the mix
+         * @param operation which request to send
+         * @return whether the request got the response it should have
+         */
+        private boolean request(int operation) {
+            try {
+                switch (operation) {
+                    case 0: case 1: case 2: case 3:
+                        return send("GET", new URL(tenantUrl + "/sessions?from=2017-06-19&to=2017-07-09"), null) == 200;
+                    case 4: case 5:
+                        return send("GET", new URL(tenantUrl + "/sessions/2017-06-26"), null) == 200;
+                    case 6:
+                        return send("GET", new URL(tenantUrl + "/workouts"), null) == 200;
+                    case 7:
+                        return send("GET", new URL(tenantUrl + "/experience"), null) == 200;
+                    case 8:
+                        return send("PUT", new URL(tenantUrl + "/sessions/" + ownDate + "?workout=" +
+                                URLEncoder.encode(WORKOUT, "UTF-8")), null) == 201;
+                    default:
+                        return send("DELETE", new URL(tenantUrl + "/sessions/" + ownDate), null) == 204;
+                }
+            }
+            catch (IOException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Records how long a request took
+         * @param latencyNanos how long the request took, in nanoseconds
+         */
+        private void record(long latencyNanos) {
+            if (numRequests == latencies.length)
+                latencies = Arrays.copyOf(latencies, 2 * latencies.length);
+            latencies[numRequests++] = latencyNanos;
+        }
+    }
+}
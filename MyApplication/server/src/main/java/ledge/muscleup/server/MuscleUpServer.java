@@ -0,0 +1,158 @@
+package ledge.muscleup.server;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import ledge.muscleup.application.Main;
+
+/**
+ * Runs the business layer without the app, behind a small HTTP API answering in JSON, for a fleet
+ * of kiosks that each use the server as a tenant. Every tenant has a database of its own, created
+ * from the seed database the first time the tenant is used, and kept next to the others in the
+ * data directory. Requests are handled by a bounded pool of workers, and when every worker is
+ * busy and the queue is full, the thread accepting connections handles the request itself, which
+ * slows down accepting more. The database paths are set through Main, so only one server may run
+ * in a JVM
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-05
+ */
+public final class MuscleUpServer {
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_WORKERS = 2 * Runtime.getRuntime().availableProcessors();
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+    public static final int DEFAULT_MAX_TENANTS = 64;
+    private static final int STOP_DELAY_SECONDS = 1;
+
+    static {
+        //the JDK server writes the headers and body of a response separately, so without this
+        //every response waits for the client's delayed acknowledgement
+        if (System.getProperty("sun.net.httpserver.nodelay") == null)
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer httpServer;
+    private final ThreadPoolExecutor workers;
+    private final TenantStores tenants;
+
+    /**
+     * The constructor for the MuscleUpServer, which is started separately
+     * @param address the address to listen on, with port 0 for any free port
+     * @param dataDirectory the directory to keep the databases of the tenants in
+     * @param seedPathName the path of the database that new tenants start with a copy of
+     * @param numWorkers the number of threads handling requests
+     * @param queueCapacity how many requests may wait for a worker
+     * @param maxTenants the most tenants there may be
+     * @throws IOException if the address could not be listened on
+     * @throws IllegalArgumentException if passed a {@code null} or non-positive parameter
+     */
+    public MuscleUpServer(InetSocketAddress address, File dataDirectory, String seedPathName, int numWorkers,
+                          int queueCapacity, int maxTenants) throws IOException, IllegalArgumentException {
+        if (address == null || dataDirectory == null || seedPathName == null || numWorkers < 1 || queueCapacity < 1)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        Main.setDBPathName(new File(dataDirectory, Main.dbName).getPath());
+        Main.setSeedPathName(seedPathName);
+
+        tenants = new TenantStores(maxTenants);
+        workers = new ThreadPoolExecutor(numWorkers, numWorkers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity), new WorkerThreadFactory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        httpServer = HttpServer.create(address, 0);
+        httpServer.createContext(BusinessHandler.CONTEXT, new BusinessHandler(tenants));
+        httpServer.setExecutor(workers);
+    }
+
+    /**
+     * Starts accepting requests
+     */
+    public void start() {
+        httpServer.start();
+    }
+
+    /**
+     * Stops accepting requests, waits for the requests being handled to finish, and then closes
+     * the database of every tenant
+     */
+    public void stop() {
+        httpServer.stop(STOP_DELAY_SECONDS);
+        workers.shutdown();
+        try {
+            workers.awaitTermination(STOP_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        tenants.closeAll();
+    }
+
+    /**
+     * Gets the port the server is listening on
+     * @return the port
+     */
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Starts a server, stopping it when the JVM shuts down. Takes the options --port, --data,
+     * --seed, --workers, --queue and --max-tenants, each followed by its value
+     * @param args the options
+     * @throws IOException if the server could not be started
+     */
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT, numWorkers = DEFAULT_WORKERS, queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        int maxTenants = DEFAULT_MAX_TENANTS;
+        String dataDirectory = "tenants", seedPathName = "app/" + Main.dbName;
+        final MuscleUpServer server;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--port"))
+                port = Integer.parseInt(args[i + 1]);
+            else if (args[i].equals("--data"))
+                dataDirectory = args[i + 1];
+            else if (args[i].equals("--seed"))
+                seedPathName = args[i + 1];
+            else if (args[i].equals("--workers"))
+                numWorkers = Integer.parseInt(args[i + 1]);
+            else if (args[i].equals("--queue"))
+                queueCapacity = Integer.parseInt(args[i + 1]);
+            else if (args[i].equals("--max-tenants"))
+                maxTenants = Integer.parseInt(args[i + 1]);
+            else
+                throw new IllegalArgumentException("Unknown option " + args[i]);
+        }
+
+        server = new MuscleUpServer(new InetSocketAddress(port), new File(dataDirectory), seedPathName,
+                numWorkers, queueCapacity, maxTenants);
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                server.stop();
+            }
+        }));
+        server.start();
+        System.out.println("MuscleUp server listening on port " + server.getPort() + " with " + numWorkers + " workers");
+    }
+
+    /**
+     * Names the worker threads, so they can be told apart in thread dumps
+     */
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger numThreads = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, "MuscleUpServer-worker-" + numThreads.incrementAndGet());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package ledge.muscleup.server;
+
+import ledge.muscleup.application.Main;
+import ledge.muscleup.application.ProfileStore;
+import ledge.muscleup.business.AccessExercises;
+import ledge.muscleup.business.AccessExperience;
+import ledge.muscleup.business.AccessWorkoutSessions;
+import ledge.muscleup.business.AccessWorkouts;
+
+/**
+ * One tenant of the server, such as a gym kiosk, with a database of its own and the business
+ * objects that use it. The data access objects each share a single statement, so a tenant must
+ * only be used by one thread at a time, which callers ensure by synchronizing on it. The database
+ * is opened by the first request for the tenant rather than when the tenant is created, so that
+ * other tenants don't wait for it to open
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-05
+ */
+final class Tenant {
+    private final ProfileStore store;
+    private boolean open = false;
+    private AccessExercises accessExercises;
+    private AccessExperience accessExperience;
+    private AccessWorkouts accessWorkouts;
+    private AccessWorkoutSessions accessWorkoutSessions;
+
+    /**
+     * The constructor for the Tenant
+     * @param name the name of the tenant, which is also the name of its profile
+     */
+    Tenant(String name) {
+        store = new ProfileStore(Main.dbName, name);
+    }
+
+    /**
+     * Opens the database of the tenant, creating it from the seed database first if needed, if it
+     * isn't open already. Must be called while synchronized on the tenant
+     */
+    void open() {
+        if (!open) {
+            store.open();
+            accessExercises = new AccessExercises(store.getExerciseDataAccess());
+            accessExperience = new AccessExperience(store.getExperienceDataAccess());
+            accessWorkouts = new AccessWorkouts(store.getWorkoutDataAccess());
+            accessWorkoutSessions = new AccessWorkoutSessions(store.getWorkoutSessionDataAccess(),
+                    store.getExperienceDataAccess());
+            open = true;
+        }
+    }
+
+    /**
+     * Closes the database of the tenant, if it is open
+     */
+    synchronized void close() {
+        if (open) {
+            store.close();
+            open = false;
+        }
+    }
+
+    /**
+     * Gets the name of the tenant
+     * @return the name of the tenant
+     */
+    String getName() {
+        return store.getProfile();
+    }
+
+    /**
+     * Gets the access to the exercises of the tenant
+     * @return access to exercises
+     */
+    AccessExercises getAccessExercises() {
+        return accessExercises;
+    }
+
+    /**
+     * Gets the access to the experience of the tenant
+     * @return access to experience
+     */
+    AccessExperience getAccessExperience() {
+        return accessExperience;
+    }
+
+    /**
+     * Gets the access to the workouts of the tenant
+     * @return access to workouts
+     */
+    AccessWorkouts getAccessWorkouts() {
+        return accessWorkouts;
+    }
+
+    /**
+     * Gets the access to the workout sessions of the tenant
+     * @return access to workout sessions
+     */
+    AccessWorkoutSessions getAccessWorkoutSessions() {
+        return accessWorkoutSessions;
+    }
+}
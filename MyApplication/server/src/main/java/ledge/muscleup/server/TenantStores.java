@@ -0,0 +1,68 @@
+package ledge.muscleup.server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ledge.muscleup.application.Services;
+
+/**
+ * The tenants of the server. A tenant is created the first time it is asked for, and kept open
+ * until the server stops, up to a limit on how many there may be
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-05
+ */
+final class TenantStores {
+    private final Map<String, Tenant> tenants = new HashMap<>();
+    private final int maxTenants;
+
+    /**
+     * The constructor for the TenantStores
+     * @param maxTenants the most tenants there may be
+     * @throws IllegalArgumentException if the limit is less than 1
+     */
+    TenantStores(int maxTenants) throws IllegalArgumentException {
+        if (maxTenants < 1)
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+        this.maxTenants = maxTenants;
+    }
+
+    /**
+     * Gets a tenant, creating it if there isn't one with that name yet. The database of a new
+     * tenant isn't open until the tenant is opened
+     * @param name the name of the tenant, made of letters, digits, '_' and '-'
+     * @return the tenant, or {@code null} if it would be one tenant too many
+     * @throws IllegalArgumentException if the name isn't a valid tenant name
+     */
+    synchronized Tenant get(String name) throws IllegalArgumentException {
+        Tenant tenant;
+
+        if (name == null || !name.matches(Services.PROFILE_NAME_PATTERN))
+            throw(new IllegalArgumentException("Invalid or null data passed to a method!!!"));
+
+        tenant = tenants.get(name);
+        if (tenant == null && tenants.size() < maxTenants) {
+            tenant = new Tenant(name);
+            tenants.put(name, tenant);
+        }
+
+        return tenant;
+    }
+
+    /**
+     * Closes every tenant, waiting for any request using one to finish first
+     */
+    void closeAll() {
+        List<Tenant> toClose;
+
+        synchronized (this) {
+            toClose = new ArrayList<>(tenants.values());
+            tenants.clear();
+        }
+        for (Tenant tenant : toClose)
+            tenant.close();
+    }
+}
@@ -0,0 +1,167 @@
+package ledge.muscleup.server;
+
+import junit.framework.TestCase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URL;
+
+import ledge.muscleup.application.Main;
+
+/**
+ * Tests the HTTP API of the server against tenants created from the application database
+ *
+ * @author Cole Kehler
+ * @version 1.0
+ * @since 2017-08-05
+ */
+public class MuscleUpServerTest extends TestCase {
+    private static final String SEED_PATH_NAME = "../app/" + Main.dbName;
+
+    private File dataDirectory;
+    private MuscleUpServer server;
+    private String baseUrl;
+
+    /**
+     * Constructor for the MuscleUpServerTest
+     */
+    public MuscleUpServerTest(String arg0) {
+        super(arg0);
+    }
+
+    /**
+     * Starts a server on any free port, keeping its tenants in a new temporary directory
+     */
+    @Before
+    public void setUp() throws IOException {
+        dataDirectory = File.createTempFile("muscleup-server", "");
+        assertTrue(dataDirectory.delete() && dataDirectory.mkdir());
+
+        server = new MuscleUpServer(new InetSocketAddress("127.0.0.1", 0), dataDirectory, SEED_PATH_NAME, 4, 16, 4);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getPort() + BusinessHandler.CONTEXT;
+    }
+
+    /**
+     * Stops the server and deletes the databases of its tenants
+     */
+    @After
+    public void tearDown() {
+        server.stop();
+        deleteRecursively(dataDirectory);
+    }
+
+    @Test
+    public void testReadRequests() throws IOException {
+        System.out.println("\nStarting testReadRequests");
+
+        StringBuilder body = new StringBuilder();
+
+        assertEquals(200, LoadTest.send("GET", new URL(baseUrl + "kiosk-1/workouts"), body));
+        assertTrue(body.toString().startsWith("[{"));
+        assertTrue(body.toString().contains("\"name\":\"Welcome to the Gun Show\""));
+
+        body.setLength(0);
+        assertEquals(200, LoadTest.send("GET", new URL(baseUrl + "kiosk-1/workouts/Welcome%20to%20the%20Gun%20Show"), body));
+        assertTrue(body.toString().contains("\"exercises\":[{"));
+
+        body.setLength(0);
+        assertEquals(200, LoadTest.send("GET", new URL(baseUrl + "kiosk-1/sessions?from=2017-06-19&to=2017-06-25"), body));
+        assertTrue(body.toString().contains("\"date\":\"2017-06-21\""));
+        assertFalse(body.toString().contains("\"date\":\"2017-06-26\""));
+
+        body.setLength(0);
+        assertEquals(200, LoadTest.send("GET", new URL(baseUrl + "kiosk-1/sessions/2017-06-21"), body));
+        assertTrue(body.toString().contains("\"workout\":\"Welcome to the Gun Show\""));
+        assertTrue(body.toString().contains("\"complete\":false"));
+
+        assertEquals(200, LoadTest.send("GET", new URL(baseUrl + "kiosk-1/exercises"), null));
+        assertEquals(200, LoadTest.send("GET", new URL(baseUrl + "kiosk-1/experience"), null));
+        assertEquals(200, LoadTest.send("GET", new URL(baseUrl + "kiosk-1/suggested-workout"), null));
+
+        assertEquals(404, LoadTest.send("GET", new URL(baseUrl + "kiosk-1/sessions/2030-01-01"), null));
+        assertEquals(404, LoadTest.send("GET", new URL(baseUrl + "kiosk-1/workouts/Nothing"), null));
+        assertEquals(404, LoadTest.send("GET", new URL(baseUrl + "kiosk-1/nothing"), null));
+        assertEquals(400, LoadTest.send("GET", new URL(baseUrl + "kiosk-1/sessions/yesterday"), null));
+        assertEquals(400, LoadTest.send("GET", new URL(baseUrl + "kiosk-1/sessions?from=2017-06-19"), null));
+        assertEquals(400, LoadTest.send("GET", new URL(baseUrl + "kiosk-1/sessions?from=2017-01-01&to=2018-06-01"), null));
+        assertEquals(400, LoadTest.send("GET", new URL(baseUrl + "kiosk.1/workouts"), null));
+        assertEquals(405, LoadTest.send("POST", new URL(baseUrl + "kiosk-1/workouts"), null));
+
+        System.out.println("Finishing testReadRequests\n");
+    }
+
+    @Test
+    public void testTenantsAreSeparate() throws IOException {
+        System.out.println("\nStarting testTenantsAreSeparate");
+
+        URL session = new URL(baseUrl + "kiosk-1/sessions/2030-01-01");
+        StringBuilder body = new StringBuilder();
+
+        assertEquals(201, LoadTest.send("PUT", new URL(session + "?workout=Welcome+to+the+Gun+Show"), null));
+        assertEquals(409, LoadTest.send("PUT", new URL(session + "?workout=Welcome+to+the+Gun+Show"), null));
+        assertEquals(404, LoadTest.send("PUT", new URL(baseUrl + "kiosk-1/sessions/2030-01-02?workout=Nothing"), null));
+        assertEquals(200, LoadTest.send("GET", session, null));
+        assertEquals(404, LoadTest.send("GET", new URL(baseUrl + "kiosk-2/sessions/2030-01-01"), null));
+
+        //completing a session logs its experience for that tenant only
+        assertEquals(200, LoadTest.send("POST", new URL(session + "/complete"), body));
+        assertTrue(body.toString().contains("\"complete\":true"));
+        assertEquals(409, LoadTest.send("POST", new URL(session + "/complete"), null));
+        body.setLength(0);
+        assertEquals(200, LoadTest.send("GET", new URL(baseUrl + "kiosk-1/experience"), body));
+        assertTrue(body.toString().contains("\"workout\":\"Welcome to the Gun Show\""));
+        body.setLength(0);
+        assertEquals(200, LoadTest.send("GET", new URL(baseUrl + "kiosk-2/experience"), body));
+        assertTrue(body.toString().contains("\"completed\":[]"));
+
+        assertEquals(409, LoadTest.send("DELETE", session, null));
+        assertEquals(201, LoadTest.send("PUT", new URL(baseUrl + "kiosk-2/sessions/2030-01-01?workout=Welcome+to+the+Gun+Show"), null));
+        assertEquals(204, LoadTest.send("DELETE", new URL(baseUrl + "kiosk-2/sessions/2030-01-01"), null));
+        assertEquals(404, LoadTest.send("DELETE", new URL(baseUrl + "kiosk-2/sessions/2030-01-01"), null));
+
+        assertTrue(new File(dataDirectory, Main.dbName + "_profiles/kiosk-1/" + Main.dbName + ".script").exists());
+        assertTrue(new File(dataDirectory, Main.dbName + "_profiles/kiosk-2/" + Main.dbName + ".script").exists());
+
+        //the server is limited to 4 tenants
+        assertEquals(200, LoadTest.send("GET", new URL(baseUrl + "kiosk-3/workouts"), null));
+        assertEquals(200, LoadTest.send("GET", new URL(baseUrl + "kiosk-4/workouts"), null));
+        assertEquals(503, LoadTest.send("GET", new URL(baseUrl + "kiosk-5/workouts"), null));
+
+        System.out.println("Finishing testTenantsAreSeparate\n");
+    }
+
+    @Test
+    public void testLoadTest() throws InterruptedException {
+        System.out.println("\nStarting testLoadTest");
+
+        LoadTest.Result result = LoadTest.run("http://127.0.0.1:" + server.getPort(), 2, 4, 2000);
+
+        System.out.println(result);
+        assertTrue(result.getNumRequests() > 0);
+        assertEquals(0, result.getNumErrors());
+        assertTrue(result.getRequestsPerSecond() > 0);
+        assertTrue(result.getLatencyMillis(99) >= result.getLatencyMillis(50));
+        assertTrue(result.getLatencyMillis(100) >= result.getLatencyMillis(99));
+
+        System.out.println("Finishing testLoadTest\n");
+    }
+
+    /**
+     * Deletes a file, or a directory and everything in it
+     * @param file the file or directory to delete
+     */
+    private void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+
+        if (children != null)
+            for (File child : children)
+                deleteRecursively(child);
+        file.delete();
+    }
+}